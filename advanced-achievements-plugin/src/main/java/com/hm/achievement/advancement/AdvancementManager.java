@@ -1,11 +1,26 @@
 package com.hm.achievement.advancement;
 
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Supplier;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -17,6 +32,7 @@ import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.UnsafeValues;
 import org.bukkit.advancement.Advancement;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.inventory.ItemStack;
 
 import com.hm.achievement.AdvancedAchievements;
@@ -56,6 +72,7 @@ public class AdvancementManager implements Reloadable {
 	private static final String METHOD_GET_ITEM = "getItem";
 	private static final String METHOD_GET_KEY = "getKey";
 	private static final String METHOD_B = "b";
+	private static final String ADVANCEMENT_HASHES_FILE = "advancement-hashes.yml";
 
 	private final CommentedYamlConfiguration mainConfig;
 	private final CommentedYamlConfiguration guiConfig;
@@ -66,18 +83,32 @@ public class AdvancementManager implements Reloadable {
 	private final MaterialHelper materialHelper;
 	private final int serverVersion;
 	private final UnsafeValues unsafeValues;
+	private final Map<String, String> namesToDisplayNames;
+	// Internal Minecraft names of advancement icons, keyed by material and metadata.
+	private final Map<String, String> internalNames = new HashMap<>();
 
 	private boolean configRegisterAdvancementDescriptions;
 	private boolean configHideAdvancements;
 	private String configRootAdvancementTitle;
 	private String configBackgroundTexture;
 	private int generatedAdvancements;
+	// Reflective handles used to compute the internal Minecraft names of advancement icons, resolved lazily.
+	private Method asNmsCopyMethod;
+	private Method getItemMethod;
+	private Method registryKeyMethod;
+	private Method getKeyMethod;
+	private Object itemRegistry;
+
+	// Handles of the generated advancements, refreshed after each generation and each reload.
+	private Advancement parentAdvancement;
+	private List<Advancement> advancements = Collections.emptyList();
+	private Map<String, Integer> achievementNamesToIndexes = Collections.emptyMap();
 
 	@Inject
 	public AdvancementManager(@Named("main") CommentedYamlConfiguration mainConfig,
 			@Named("gui") CommentedYamlConfiguration guiConfig, AdvancedAchievements advancedAchievements, Logger logger,
 			Map<String, List<Long>> sortedThresholds, Set<Category> disabledCategories, MaterialHelper materialHelper,
-			int serverVersion) {
+			int serverVersion, @Named("ntd") Map<String, String> namesToDisplayNames) {
 		this.mainConfig = mainConfig;
 		this.guiConfig = guiConfig;
 		this.advancedAchievements = advancedAchievements;
@@ -86,6 +117,7 @@ public class AdvancementManager implements Reloadable {
 		this.disabledCategories = disabledCategories;
 		this.materialHelper = materialHelper;
 		this.serverVersion = serverVersion;
+		this.namesToDisplayNames = namesToDisplayNames;
 		unsafeValues = Bukkit.getUnsafe();
 	}
 
@@ -95,6 +127,10 @@ public class AdvancementManager implements Reloadable {
 		configHideAdvancements = mainConfig.getBoolean("HideAdvancements");
 		configRootAdvancementTitle = mainConfig.getString("RootAdvancementTitle", "Advanced Achievements");
 		configBackgroundTexture = parseBackgroundTexture();
+		// Advancements introduced in Minecraft 1.12.
+		if (serverVersion >= 12) {
+			refreshAdvancementHandles();
+		}
 	}
 
 	public static String getKey(String achName) {
@@ -102,12 +138,88 @@ public class AdvancementManager implements Reloadable {
 	}
 
 	/**
-	 * Registers all achievements as advancements.
+	 * Registers all achievements as advancements. Only the advancements which changed since the previous generation
+	 * are removed or loaded again: the contents of the generated advancements are compared to hashes stored on disk.
+	 * JSON strings are built and hashed asynchronously, advancements are then loaded on the main server thread.
+	 * 
+	 * @param onCompletion run on the main server thread once advancements have been generated, even if the generation
+	 *            failed
+	 */
+	public void registerAdvancements(Runnable onCompletion) {
+		Map<String, Supplier<String>> keysToJsonSuppliers = new LinkedHashMap<>();
+		collectParentAdvancement(keysToJsonSuppliers);
+		collectOtherAdvancements(keysToJsonSuppliers);
+		Bukkit.getScheduler().runTaskAsynchronously(advancedAchievements, () -> {
+			Map<String, String> keysToJson = keysToJsonSuppliers.entrySet().parallelStream()
+					.collect(Collectors.toMap(Entry::getKey, e -> e.getValue().get()));
+			Map<String, String> keysToHashes = keysToJson.entrySet().parallelStream()
+					.collect(Collectors.toMap(Entry::getKey, e -> hash(e.getValue())));
+			Bukkit.getScheduler().runTask(advancedAchievements, () -> {
+				try {
+					loadChangedAdvancements(keysToJsonSuppliers.keySet(), keysToJson, keysToHashes);
+					refreshAdvancementHandles();
+				} finally {
+					onCompletion.run();
+				}
+			});
+		});
+	}
+
+	/**
+	 * @return the parent of all advancements generated by the plugin, or null if /aach generate was never called
+	 */
+	public Advancement getParentAdvancement() {
+		return parentAdvancement;
+	}
+
+	/**
+	 * Returns the advancement corresponding to an achievement.
+	 *
+	 * @param achName
+	 * @return the advancement, or null if the matching advancement was not generated
+	 */
+	public Advancement getAdvancement(String achName) {
+		Integer index = achievementNamesToIndexes.get(achName);
+		return index == null ? null : advancements.get(index);
+	}
+
+	/**
+	 * Returns the index of the advancement corresponding to an achievement in the list returned by
+	 * {@link #getAdvancements()}.
+	 *
+	 * @param achName
+	 * @return the index of the advancement, or -1 if the matching advancement was not generated
+	 */
+	public int getAdvancementIndex(String achName) {
+		return achievementNamesToIndexes.getOrDefault(achName, -1);
+	}
+
+	/**
+	 * @return an immutable list of the generated advancements, replaced by a new list when the handles are refreshed
+	 */
+	public List<Advancement> getAdvancements() {
+		return advancements;
+	}
+
+	/**
+	 * Looks up the advancements matching the achievements once, so that advancement keys do not need to be derived
+	 * and resolved every time an advancement is awarded.
 	 */
-	public void registerAdvancements() {
-		cleanupOldAchievementAdvancements();
-		registerParentAdvancement();
-		registerOtherAdvancements();
+	private void refreshAdvancementHandles() {
+		parentAdvancement = Bukkit
+				.getAdvancement(new NamespacedKey(advancedAchievements, ADVANCED_ACHIEVEMENTS_PARENT));
+		List<Advancement> handles = new ArrayList<>();
+		Map<String, Integer> namesToIndexes = new HashMap<>();
+		for (String achName : namesToDisplayNames.keySet()) {
+			Advancement advancement = Bukkit.getAdvancement(new NamespacedKey(advancedAchievements, getKey(achName)));
+			// Matching advancement might not exist if user has not called /aach generate.
+			if (advancement != null) {
+				namesToIndexes.put(achName, handles.size());
+				handles.add(advancement);
+			}
+		}
+		advancements = Collections.unmodifiableList(handles);
+		achievementNamesToIndexes = namesToIndexes;
 	}
 
 	/**
@@ -125,78 +237,135 @@ public class AdvancementManager implements Reloadable {
 	}
 
 	/**
-	 * Removes all advancements previously generated by the plugin.
+	 * Removes the advancements previously generated by the plugin which are no longer relevant or whose contents
+	 * changed, and loads the new or changed advancements. Server data is reloaded at most once, only if advancements
+	 * were removed. Reloading data also drops the descendants of removed advancements, which are then loaded again.
+	 * 
+	 * @param orderedKeys advancement keys, parents before their children
+	 * @param keysToJson
+	 * @param keysToHashes
 	 */
-	private void cleanupOldAchievementAdvancements() {
+	private void loadChangedAdvancements(Set<String> orderedKeys, Map<String, String> keysToJson,
+			Map<String, String> keysToHashes) {
+		File hashesFile = new File(advancedAchievements.getDataFolder(), ADVANCEMENT_HASHES_FILE);
+		YamlConfiguration previousHashes = YamlConfiguration.loadConfiguration(hashesFile);
+
+		Set<String> existingKeys = getExistingKeys();
 		int achievementsCleaned = 0;
-		Iterator<Advancement> advancements = Bukkit.advancementIterator();
-		while (advancements.hasNext()) {
-			NamespacedKey namespacedKey = advancements.next().getKey();
-			if ("advancedachievements".equals(namespacedKey.getNamespace())) {
+		Iterator<String> existingKeysIterator = existingKeys.iterator();
+		while (existingKeysIterator.hasNext()) {
+			String existingKey = existingKeysIterator.next();
+			String hash = keysToHashes.get(existingKey);
+			// Advancements which no longer match an achievement or whose contents changed are removed.
+			if (hash == null || !hash.equals(previousHashes.getString(existingKey))) {
 				++achievementsCleaned;
-				unsafeValues.removeAdvancement(namespacedKey);
+				unsafeValues.removeAdvancement(new NamespacedKey(advancedAchievements, existingKey));
+				existingKeysIterator.remove();
 			}
 		}
-		Bukkit.reloadData();
+		// Removed advancements are only unregistered when server data is reloaded, which must happen before changed
+		// advancements can be loaded again under the same keys. Loaded advancements are available straight away and
+		// do not require another reload.
+		if (achievementsCleaned > 0) {
+			Bukkit.reloadData();
+			// Unchanged advancements whose parent was removed could not be registered again by the server.
+			existingKeys = getExistingKeys();
+		}
+
+		generatedAdvancements = 0;
+		YamlConfiguration hashes = new YamlConfiguration();
+		for (String key : orderedKeys) {
+			if (!existingKeys.contains(key)) {
+				unsafeValues.loadAdvancement(new NamespacedKey(advancedAchievements, key), keysToJson.get(key));
+				++generatedAdvancements;
+			}
+			hashes.set(key, keysToHashes.get(key));
+		}
+
+		try {
+			hashes.save(hashesFile);
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Failed to save advancement hashes, advancements will be fully regenerated.", e);
+		}
 		logger.info("Cleaned " + achievementsCleaned + " old advancements.");
+		logger.info("Generated " + generatedAdvancements + " new advancements, "
+				+ (orderedKeys.size() - generatedAdvancements) + " left unchanged.");
 	}
 
 	/**
-	 * Registers an "Advanced Achievements" advancement, which will be used as the parent of all advancements generated
-	 * by Advanced Achievements.
+	 * @return the keys of the advancements generated by the plugin which are currently registered by the server
 	 */
-	private void registerParentAdvancement() {
-		NamespacedKey namespacedKey = new NamespacedKey(advancedAchievements, ADVANCED_ACHIEVEMENTS_PARENT);
-		if (Bukkit.getAdvancement(namespacedKey) == null) {
-			if (configHideAdvancements) {
-				unsafeValues.loadAdvancement(namespacedKey, AdvancementJsonHelper.toHiddenJson(configBackgroundTexture));
-			} else {
-				AchievementAdvancementBuilder builder = new AchievementAdvancementBuilder()
-						.iconItem(MINECRAFT_BOOK_KEY)
-						.title(configRootAdvancementTitle)
-						.description("")
-						.background(configBackgroundTexture)
-						.type(AdvancementType.GOAL);
-
-				AchievementAdvancement aa = (serverVersion == 12 ? builder.iconData(Integer.toString(0)) : builder).build();
-				unsafeValues.loadAdvancement(namespacedKey, AdvancementJsonHelper.toJson(aa));
+	private Set<String> getExistingKeys() {
+		Set<String> existingKeys = new HashSet<>();
+		Iterator<Advancement> iterator = Bukkit.advancementIterator();
+		while (iterator.hasNext()) {
+			NamespacedKey namespacedKey = iterator.next().getKey();
+			if ("advancedachievements".equals(namespacedKey.getNamespace())) {
+				existingKeys.add(namespacedKey.getKey());
 			}
 		}
+		return existingKeys;
 	}
 
 	/**
-	 * Registers all non parent advancements.
+	 * Collects an "Advanced Achievements" advancement, which will be used as the parent of all advancements generated
+	 * by Advanced Achievements.
+	 * 
+	 * @param keysToJsonSuppliers
 	 */
-	private void registerOtherAdvancements() {
-		generatedAdvancements = 1; // Already generated 1 for parent.
+	private void collectParentAdvancement(Map<String, Supplier<String>> keysToJsonSuppliers) {
+		if (configHideAdvancements) {
+			String background = configBackgroundTexture;
+			keysToJsonSuppliers.put(ADVANCED_ACHIEVEMENTS_PARENT,
+					() -> AdvancementJsonHelper.toHiddenJson(background));
+		} else {
+			AchievementAdvancementBuilder builder = new AchievementAdvancementBuilder()
+					.iconItem(MINECRAFT_BOOK_KEY)
+					.title(configRootAdvancementTitle)
+					.description("")
+					.background(configBackgroundTexture)
+					.type(AdvancementType.GOAL);
+
+			AchievementAdvancement aa = (serverVersion == 12 ? builder.iconData(Integer.toString(0)) : builder)
+					.build();
+			keysToJsonSuppliers.put(ADVANCED_ACHIEVEMENTS_PARENT, () -> AdvancementJsonHelper.toJson(aa));
+		}
+	}
+
+	/**
+	 * Collects all non parent advancements.
+	 * 
+	 * @param keysToJsonSuppliers
+	 */
+	private void collectOtherAdvancements(Map<String, Supplier<String>> keysToJsonSuppliers) {
 		if (!disabledCategories.contains(CommandAchievements.COMMANDS)) {
 			String parentKey = ADVANCED_ACHIEVEMENTS_PARENT;
 			for (String ach : mainConfig.getShallowKeys(CommandAchievements.COMMANDS.toString())) {
-				parentKey = registerAdvancement(CommandAchievements.COMMANDS, CommandAchievements.COMMANDS + "." + ach,
-						parentKey, true);
+				parentKey = collectAdvancement(CommandAchievements.COMMANDS, CommandAchievements.COMMANDS + "." + ach,
+						parentKey, true, keysToJsonSuppliers);
 			}
 		}
 
 		for (NormalAchievements category : NormalAchievements.values()) {
-			registerCategoryAdvancements(category, "");
+			collectCategoryAdvancements(category, "", keysToJsonSuppliers);
 		}
 
 		for (MultipleAchievements category : MultipleAchievements.values()) {
 			for (String section : mainConfig.getShallowKeys(category.toString())) {
-				registerCategoryAdvancements(category, "." + section);
+				collectCategoryAdvancements(category, "." + section, keysToJsonSuppliers);
 			}
 		}
-		Bukkit.reloadData();
-		logger.info("Generated " + generatedAdvancements + " new advancements.");
 	}
 
 	/**
-	 * Registers all advancements for a given category or subcategory.
+	 * Collects all advancements for a given category or subcategory.
 	 * 
 	 * @param category
 	 * @param subcategory
+	 * @param keysToJsonSuppliers
 	 */
-	private void registerCategoryAdvancements(Category category, String subcategory) {
+	private void collectCategoryAdvancements(Category category, String subcategory,
+			Map<String, Supplier<String>> keysToJsonSuppliers) {
 		if (disabledCategories.contains(category)) {
 			// Ignore this type.
 			return;
@@ -208,22 +377,23 @@ public class AdvancementManager implements Reloadable {
 		// Advancements are registered as a branch with increasing threshold values.
 		for (int i = 0; i < orderedThresholds.size(); ++i) {
 			boolean last = (i == orderedThresholds.size() - 1);
-			parentKey = registerAdvancement(category, category + subcategory + "." + orderedThresholds.get(i), parentKey,
-					last);
+			String configAchievement = category + subcategory + "." + orderedThresholds.get(i);
+			parentKey = collectAdvancement(category, configAchievement, parentKey, last, keysToJsonSuppliers);
 		}
 	}
 
 	/**
-	 * Registers an individual advancement.
+	 * Collects an individual advancement.
 	 * 
 	 * @param category
 	 * @param configAchievement
 	 * @param parentKey
 	 * @param lastAchievement
-	 * @return the key of the registered achievement
+	 * @param keysToJsonSuppliers
+	 * @return the key of the collected achievement
 	 */
-	private String registerAdvancement(Category category, String configAchievement, String parentKey,
-			boolean lastAchievement) {
+	private String collectAdvancement(Category category, String configAchievement, String parentKey,
+			boolean lastAchievement, Map<String, Supplier<String>> keysToJsonSuppliers) {
 		String achName = mainConfig.getString(configAchievement + ".Name", "");
 		String achDisplayName = mainConfig.getString(configAchievement + ".DisplayName", "");
 		if (StringUtils.isEmpty(achDisplayName)) {
@@ -233,7 +403,6 @@ public class AdvancementManager implements Reloadable {
 		achDisplayName = StringHelper.removeFormattingCodes(achDisplayName);
 
 		String achKey = getKey(achName);
-		NamespacedKey namespacedKey = new NamespacedKey(advancedAchievements, achKey);
 		int metadata = guiConfig.getInt(category + ".Metadata");
 		String description = "";
 		if (configRegisterAdvancementDescriptions) {
@@ -248,7 +417,10 @@ public class AdvancementManager implements Reloadable {
 
 		String path = category + ".Item";
 		Material material = materialHelper.matchMaterial(guiConfig.getString(path), Material.BOOK, "gui.yml (" + path + ")");
-		String icon = serverVersion == 12 ? getInternalName(new ItemStack(material, 1, (short) metadata))
+		// All the achievements of a category share the same icon, which is only resolved once.
+		String icon = serverVersion == 12
+				? internalNames.computeIfAbsent(material + ":" + metadata,
+						k -> getInternalName(new ItemStack(material, 1, (short) metadata)))
 				: material.name().toLowerCase();
 		AchievementAdvancementBuilder builder = new AchievementAdvancementBuilder()
 				.iconItem(icon)
@@ -258,11 +430,30 @@ public class AdvancementManager implements Reloadable {
 				.type(lastAchievement ? AdvancementType.CHALLENGE : AdvancementType.TASK);
 
 		AchievementAdvancement aa = (serverVersion == 12 ? builder.iconData(Integer.toString(metadata)) : builder).build();
-		unsafeValues.loadAdvancement(namespacedKey, AdvancementJsonHelper.toJson(aa));
-		++generatedAdvancements;
+		keysToJsonSuppliers.put(achKey, () -> AdvancementJsonHelper.toJson(aa));
 		return achKey;
 	}
 
+	/**
+	 * Computes a hash of the JSON contents of an advancement.
+	 * 
+	 * @param json
+	 * @return the hexadecimal representation of the SHA-256 hash
+	 */
+	private static String hash(String json) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hash = new StringBuilder(2 * digest.length);
+			for (byte b : digest) {
+				hash.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return hash.toString();
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-256 is supported by all Java platforms, fall back to a weaker hash nonetheless.
+			return Integer.toHexString(json.hashCode());
+		}
+	}
+
 	/**
 	 * Gets the internal item used by Vanilla Minecraft. These are the only names supported by advancements. Material
 	 * and internal names can differ quite significantly (for instance: book_and_quill vs. writable_book).
@@ -272,15 +463,18 @@ public class AdvancementManager implements Reloadable {
 	 */
 	private String getInternalName(ItemStack item) {
 		try {
-			Object nmsItemStack = PackageType.CRAFTBUKKIT.getClass(PACKAGE_INVENTORY + "." + CLASS_CRAFT_ITEM_STACK)
-					.getMethod(METHOD_AS_NMS_COPY, ItemStack.class).invoke(null, item);
-			Object nmsItem = PackageType.MINECRAFT_SERVER.getClass(CLASS_ITEM_STACK).getMethod(METHOD_GET_ITEM)
-					.invoke(nmsItemStack);
-			Object registry = PackageType.MINECRAFT_SERVER.getClass(CLASS_ITEM).getField(FIELD_REGISTRY).get(null);
-			Object minecraftKey = PackageType.MINECRAFT_SERVER.getClass(CLASS_REGISTRY_MATERIALS)
-					.getMethod(METHOD_B, Object.class).invoke(registry, nmsItem);
-			return "minecraft:" + PackageType.MINECRAFT_SERVER.getClass(CLASS_MINECRAFT_KEY).getMethod(METHOD_GET_KEY)
-					.invoke(minecraftKey);
+			if (itemRegistry == null) {
+				asNmsCopyMethod = PackageType.CRAFTBUKKIT.getClass(PACKAGE_INVENTORY + "." + CLASS_CRAFT_ITEM_STACK)
+						.getMethod(METHOD_AS_NMS_COPY, ItemStack.class);
+				getItemMethod = PackageType.MINECRAFT_SERVER.getClass(CLASS_ITEM_STACK).getMethod(METHOD_GET_ITEM);
+				registryKeyMethod = PackageType.MINECRAFT_SERVER.getClass(CLASS_REGISTRY_MATERIALS).getMethod(METHOD_B,
+						Object.class);
+				getKeyMethod = PackageType.MINECRAFT_SERVER.getClass(CLASS_MINECRAFT_KEY).getMethod(METHOD_GET_KEY);
+				itemRegistry = PackageType.MINECRAFT_SERVER.getClass(CLASS_ITEM).getField(FIELD_REGISTRY).get(null);
+			}
+			Object nmsItem = getItemMethod.invoke(asNmsCopyMethod.invoke(null, item));
+			Object minecraftKey = registryKeyMethod.invoke(itemRegistry, nmsItem);
+			return "minecraft:" + getKeyMethod.invoke(minecraftKey);
 		} catch (Exception e) {
 			logger.warning("Failed to get internal " + item.getType().name().toLowerCase() + " name for advancement icon."
 					+ "Using book instead.");
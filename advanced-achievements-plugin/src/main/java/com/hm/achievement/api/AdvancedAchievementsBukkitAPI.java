@@ -23,6 +23,7 @@ import com.hm.achievement.AdvancedAchievements;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.AbstractDatabaseManager;
+import com.hm.achievement.db.AwardHistoryCache;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.db.data.AwardedDBAchievement;
 
@@ -36,16 +37,19 @@ public class AdvancedAchievementsBukkitAPI implements AdvancedAchievementsAPI {
 
 	private final AdvancedAchievements advancedAchievements;
 	private final CacheManager cacheManager;
+	private final AwardHistoryCache awardHistoryCache;
 	private final AbstractDatabaseManager databaseManager;
 	private final Map<String, String> namesToDisplayNames;
 	private final Logger logger;
 
 	@Inject
 	AdvancedAchievementsBukkitAPI(AdvancedAchievements advancedAchievements, Logger logger, CacheManager cacheManager,
-			AbstractDatabaseManager databaseManager, @Named("ntd") Map<String, String> namesToDisplayNames) {
+			AwardHistoryCache awardHistoryCache, AbstractDatabaseManager databaseManager,
+			@Named("ntd") Map<String, String> namesToDisplayNames) {
 		this.advancedAchievements = advancedAchievements;
 		this.logger = logger;
 		this.cacheManager = cacheManager;
+		this.awardHistoryCache = awardHistoryCache;
 		this.databaseManager = databaseManager;
 		this.namesToDisplayNames = namesToDisplayNames;
 	}
@@ -101,8 +105,11 @@ public class AdvancedAchievementsBukkitAPI implements AdvancedAchievementsAPI {
 	@Override
 	public List<Achievement> getPlayerAchievementsList(UUID player) {
 		validateNotNull(player, "Player");
-		return databaseManager.getPlayerAchievementsList(player).stream().map(AwardedDBAchievement::toAPIAchievement)
-				.collect(Collectors.toList());
+		// Only use cached data if player is online and the history was already loaded.
+		List<AwardedDBAchievement> achievements = isPlayerOnline(player) && awardHistoryCache.isLoaded(player)
+				? awardHistoryCache.getAchievementsList(player)
+				: databaseManager.getPlayerAchievementsList(player);
+		return achievements.stream().map(AwardedDBAchievement::toAPIAchievement).collect(Collectors.toList());
 	}
 
 	@Override
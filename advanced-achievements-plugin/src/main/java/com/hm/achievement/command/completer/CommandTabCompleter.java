@@ -1,6 +1,5 @@
 package com.hm.achievement.command.completer;
 
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -25,18 +24,21 @@ import com.hm.achievement.command.executable.EasterEggCommand;
 import com.hm.achievement.command.executable.GenerateCommand;
 import com.hm.achievement.command.executable.ResetCommand;
 import com.hm.achievement.command.executable.Upgrade13Command;
+import com.hm.achievement.lifecycle.Reloadable;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
  * Class in charge of handling auto-completion for achievements and categories when using /aach check, /aach reset,
- * /aach give or /aach delete commands.
+ * /aach give or /aach delete commands. Achievement names, display names and categories are indexed when the plugin is
+ * loaded or reloaded.
  *
  * @author Pyves
  */
 @Singleton
-public class CommandTabCompleter implements TabCompleter {
+public class CommandTabCompleter implements TabCompleter, Reloadable {
 
 	private static final int MAX_LIST_LENGTH = 50;
+	private static final PrefixIndex EMPTY_INDEX = new PrefixIndex(Collections.emptySet());
 
 	private final CommentedYamlConfiguration mainConfig;
 	private final Map<String, String> namesToDisplayNames;
@@ -45,6 +47,12 @@ public class CommandTabCompleter implements TabCompleter {
 	private final Set<CommandSpec> commandSpecs;
 	private final int serverVersion;
 
+	private PrefixIndex namesIndex = EMPTY_INDEX;
+	private PrefixIndex namesWithWildcardIndex = EMPTY_INDEX;
+	private PrefixIndex displayNamesIndex = EMPTY_INDEX;
+	private PrefixIndex categoriesIndex = EMPTY_INDEX;
+	private PrefixIndex categoriesWithWildcardIndex = EMPTY_INDEX;
+
 	@Inject
 	public CommandTabCompleter(@Named("main") CommentedYamlConfiguration mainConfig,
 			@Named("ntd") Map<String, String> namesToDisplayNames, @Named("dtn") Map<String, String> displayNamesToNames,
@@ -61,6 +69,19 @@ public class CommandTabCompleter implements TabCompleter {
 				.collect(Collectors.toSet());
 	}
 
+	@Override
+	public void extractConfigurationParameters() {
+		namesIndex = new PrefixIndex(namesToDisplayNames.keySet());
+		Set<String> namesWithWildcard = new HashSet<>(namesToDisplayNames.keySet());
+		namesWithWildcard.add(DeleteCommand.WILDCARD);
+		namesWithWildcardIndex = new PrefixIndex(namesWithWildcard);
+		displayNamesIndex = new PrefixIndex(displayNamesToNames.keySet());
+		categoriesIndex = new PrefixIndex(enabledCategoriesWithSubcategories);
+		Set<String> categoriesWithWildcard = new HashSet<>(enabledCategoriesWithSubcategories);
+		categoriesWithWildcard.add(ResetCommand.WILDCARD);
+		categoriesWithWildcardIndex = new PrefixIndex(categoriesWithWildcard);
+	}
+
 	@Override
 	public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
 		if (shouldReturnPlayerList(command, args)) {
@@ -68,49 +89,42 @@ public class CommandTabCompleter implements TabCompleter {
 		}
 
 		String aachCommand = args[0];
-		Collection<String> options = Collections.emptyList();
+		PrefixIndex options = EMPTY_INDEX;
 		if (args.length == 2 && "reset".equalsIgnoreCase(aachCommand)) {
-			options = new HashSet<>(enabledCategoriesWithSubcategories);
-			options.add(ResetCommand.WILDCARD);
+			options = categoriesWithWildcardIndex;
 		} else if (args.length == 2 && "give".equalsIgnoreCase(aachCommand)) {
-			options = mainConfig.getShallowKeys(CommandAchievements.COMMANDS.toString());
+			options = new PrefixIndex(mainConfig.getShallowKeys(CommandAchievements.COMMANDS.toString()));
 		} else if (args.length == 2 && "check".equalsIgnoreCase(aachCommand)) {
-			options = namesToDisplayNames.keySet();
+			options = namesIndex;
 		} else if (args.length == 2 && "delete".equalsIgnoreCase(aachCommand)) {
-			options = new HashSet<>(namesToDisplayNames.keySet());
-			options.add(DeleteCommand.WILDCARD);
+			options = namesWithWildcardIndex;
 		} else if (args.length == 2 && "inspect".equalsIgnoreCase(aachCommand)) {
-			options = displayNamesToNames.keySet();
+			options = displayNamesIndex;
 		} else if (args.length == 2 && "add".equalsIgnoreCase(aachCommand)) {
-			options = Collections.singleton("1");
+			options = new PrefixIndex(Collections.singleton("1"));
 		} else if (args.length == 3 && "add".equalsIgnoreCase(aachCommand)) {
-			options = enabledCategoriesWithSubcategories;
+			options = categoriesIndex;
 		} else if (args.length == 1) {
-			options = commandSpecs.stream()
+			options = new PrefixIndex(commandSpecs.stream()
 					.filter(cs -> cs.permission().isEmpty() || sender.hasPermission("achievement." + cs.permission()))
-					.map(CommandSpec::name).collect(Collectors.toSet());
+					.map(CommandSpec::name).collect(Collectors.toSet()));
 		}
 		return getPartialList(options, args[args.length - 1]);
 	}
 
 	/**
-	 * Returns a partial list based on the input set. Members of the returned list must start with what the player has
-	 * types so far. The list also has a limited length prior to Minecraft 1.13 to avoid filling the player's screen.
+	 * Returns a partial list based on the input index. Members of the returned list must start with what the player
+	 * has types so far. The list also has a limited length prior to Minecraft 1.13 to avoid filling the player's
+	 * screen.
 	 *
 	 * @param options
 	 * @param prefix
 	 * @return a list limited in length, containing elements matching the prefix.
 	 */
-	private List<String> getPartialList(Collection<String> options, String prefix) {
-		// Find matching options
-		// Replace spaces with an Open Box character to prevent completing wrong word. Prevented Behaviour:
-		// T -> Tamer -> Teleport Man -> Teleport The Avener -> Teleport The The Smelter
-		// Sort matching elements by alphabetical order.
-		List<String> allOptions = options.stream()
-				.filter(s1 -> s1.toLowerCase().startsWith(prefix.toLowerCase()))
-				.map(s -> s.replace(' ', '\u2423'))
-				.sorted()
-				.collect(Collectors.toList());
+	private List<String> getPartialList(PrefixIndex options, String prefix) {
+		// One extra element is retrieved to determine whether the list must be truncated.
+		List<String> allOptions = options.getMatches(prefix,
+				serverVersion < 13 ? MAX_LIST_LENGTH + 1 : Integer.MAX_VALUE);
 
 		if (serverVersion < 13 && allOptions.size() > MAX_LIST_LENGTH) {
 			allOptions = allOptions.subList(0, MAX_LIST_LENGTH - 1);
@@ -0,0 +1,65 @@
+package com.hm.achievement.command.completer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Case-insensitive index of a fixed set of options, sorted so that all the options starting with a given prefix can be
+ * found with a binary search rather than by filtering and sorting the entire set.
+ * 
+ * @author Pyves
+ */
+public class PrefixIndex {
+
+	// Lower case options, sorted in increasing order.
+	private final String[] keys;
+	// Options as displayed to the player, in the same order as the keys.
+	private final String[] completions;
+
+	public PrefixIndex(Collection<String> options) {
+		List<String[]> entries = new ArrayList<>(options.size());
+		// Replace spaces with an Open Box character to prevent completing wrong word. Prevented Behaviour:
+		// T -> Tamer -> Teleport Man -> Teleport The Avener -> Teleport The The Smelter
+		options.forEach(o -> entries.add(new String[] { o.toLowerCase(), o.replace(' ', '\u2423') }));
+		entries.sort(Comparator.<String[], String> comparing(e -> e[0]).thenComparing(e -> e[1]));
+		keys = new String[entries.size()];
+		completions = new String[entries.size()];
+		for (int i = 0; i < entries.size(); ++i) {
+			keys[i] = entries.get(i)[0];
+			completions[i] = entries.get(i)[1];
+		}
+	}
+
+	/**
+	 * Returns the options starting with a prefix, ignoring case, sorted by alphabetical order.
+	 * 
+	 * @param prefix
+	 * @param limit maximum number of options to return
+	 * @return a modifiable list containing up to limit options
+	 */
+	public List<String> getMatches(String prefix, int limit) {
+		String lowerCasePrefix = prefix.toLowerCase();
+		List<String> matches = new ArrayList<>();
+		for (int i = getFirstIndexNotBefore(lowerCasePrefix); i < keys.length && matches.size() < limit
+				&& keys[i].startsWith(lowerCasePrefix); ++i) {
+			matches.add(completions[i]);
+		}
+		return matches;
+	}
+
+	private int getFirstIndexNotBefore(String key) {
+		int low = 0;
+		int high = keys.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (keys[middle].compareTo(key) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+}
@@ -0,0 +1,126 @@
+package com.hm.achievement.command.executable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.db.AbstractDatabaseManager;
+import com.hm.achievement.db.data.PlayerSelection;
+import com.hm.achievement.lang.LangHelper;
+import com.hm.achievement.lang.MessageTemplate;
+import com.hm.achievement.lang.command.CmdLang;
+import com.hm.mcshared.file.CommentedYamlConfiguration;
+
+/**
+ * Abstract class in charge of factoring out common functionality for administration commands that can target several
+ * players at once, including offline ones (/aach add, delete and reset). The statistics or achievements of the
+ * selected players are updated with set-based statements on the database thread pool, whereas online players and
+ * cached values are handled on the main server thread.
+ *
+ * @author Pyves
+ */
+public abstract class AbstractBulkCommand extends AbstractParsableCommand {
+
+	private static final int PROGRESS_REPORTS = 10;
+
+	final AbstractDatabaseManager databaseManager;
+	private final AdvancedAchievements advancedAchievements;
+
+	private MessageTemplate langBulkOperationProgress;
+	private MessageTemplate langBulkOperationCompleted;
+
+	AbstractBulkCommand(CommentedYamlConfiguration mainConfig, CommentedYamlConfiguration langConfig,
+			StringBuilder pluginHeader, AbstractDatabaseManager databaseManager,
+			AdvancedAchievements advancedAchievements) {
+		super(mainConfig, langConfig, pluginHeader);
+		this.databaseManager = databaseManager;
+		this.advancedAchievements = advancedAchievements;
+	}
+
+	@Override
+	public void extractConfigurationParameters() {
+		super.extractConfigurationParameters();
+
+		langBulkOperationProgress = MessageTemplate.compile(
+				pluginHeader + LangHelper.get(CmdLang.BULK_OPERATION_PROGRESS, langConfig), "PLAYERS", "STEP", "TOTAL");
+		langBulkOperationCompleted = MessageTemplate.compile(
+				pluginHeader + LangHelper.get(CmdLang.BULK_OPERATION_COMPLETED, langConfig), "PLAYERS", "AMOUNT");
+	}
+
+	/**
+	 * Executes actions specific to the class extending this abstract class for a selection of players.
+	 *
+	 * @param sender
+	 * @param args
+	 * @param players
+	 */
+	abstract void onExecuteForPlayers(CommandSender sender, String[] args, PlayerSelection players);
+
+	@Override
+	void onExecute(CommandSender sender, String[] args) {
+		Set<UUID> onlinePlayers = Bukkit.getOnlinePlayers().stream().map(Player::getUniqueId)
+				.collect(Collectors.toSet());
+		PlayerSelection players = PlayerSelection.parse(args[args.length - 1], onlinePlayers);
+		if (players == null) {
+			super.onExecute(sender, args);
+		} else {
+			onExecuteForPlayers(sender, args, players);
+		}
+	}
+
+	/**
+	 * Returns the online players that are part of a selection.
+	 *
+	 * @param players
+	 * @return the online players
+	 */
+	List<Player> getOnlinePlayers(PlayerSelection players) {
+		return Bukkit.getOnlinePlayers().stream().filter(p -> players.contains(p.getUniqueId()))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Runs the database steps of a bulk operation and reports their progress to the sender. The selection of players is
+	 * partitioned, and each operation is run once per partition, so that even single statements are split into
+	 * several steps of bounded size.
+	 *
+	 * @param sender
+	 * @param players
+	 * @param operations database operations for a partition of the players, each returning the number of affected
+	 *            entries
+	 */
+	void executeBulkOperation(CommandSender sender, PlayerSelection players,
+			List<ToIntFunction<PlayerSelection>> operations) {
+		List<PlayerSelection> partitions = players.partition(AbstractDatabaseManager.MAX_LIST_PARAMETERS);
+		List<IntSupplier> steps = new ArrayList<>();
+		for (ToIntFunction<PlayerSelection> operation : operations) {
+			for (PlayerSelection partition : partitions) {
+				steps.add(() -> operation.applyAsInt(partition));
+			}
+		}
+		int reportInterval = Math.max(1, steps.size() / PROGRESS_REPORTS);
+		databaseManager.executeBulkOperation(steps, (completedSteps, affectedEntries) -> {
+			boolean completed = completedSteps == steps.size();
+			if ((completed || completedSteps % reportInterval == 0) && advancedAchievements.isEnabled()) {
+				Bukkit.getScheduler().runTask(advancedAchievements, () -> {
+					if (completed) {
+						sender.sendMessage(langBulkOperationCompleted.render(players.getDescription(),
+								Integer.toString(affectedEntries)));
+					} else {
+						sender.sendMessage(langBulkOperationProgress.render(players.getDescription(),
+								Integer.toString(completedSteps), Integer.toString(steps.size())));
+					}
+				});
+			}
+		});
+	}
+}
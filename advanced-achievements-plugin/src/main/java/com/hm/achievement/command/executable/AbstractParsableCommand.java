@@ -1,12 +1,12 @@
 package com.hm.achievement.command.executable;
 
 import com.hm.achievement.command.external.CommandUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 
 import com.hm.achievement.lang.LangHelper;
+import com.hm.achievement.lang.MessageTemplate;
 import com.hm.achievement.lang.command.CmdLang;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
@@ -18,8 +18,8 @@ import com.hm.mcshared.file.CommentedYamlConfiguration;
  */
 public abstract class AbstractParsableCommand extends AbstractCommand {
 
-	private String langPlayerOffline;
-	private String langEntityNotPlayer;
+	private MessageTemplate langPlayerOffline;
+	private MessageTemplate langEntityNotPlayer;
 
 	AbstractParsableCommand(CommentedYamlConfiguration mainConfig, CommentedYamlConfiguration langConfig,
 			StringBuilder pluginHeader) {
@@ -30,8 +30,10 @@ public abstract class AbstractParsableCommand extends AbstractCommand {
 	public void extractConfigurationParameters() {
 		super.extractConfigurationParameters();
 
-		langPlayerOffline = LangHelper.get(CmdLang.PLAYER_OFFLINE, langConfig);
-		langEntityNotPlayer = LangHelper.get(CmdLang.NOT_A_PLAYER, langConfig);
+		langPlayerOffline = MessageTemplate.compile(pluginHeader + LangHelper.get(CmdLang.PLAYER_OFFLINE, langConfig),
+				"PLAYER");
+		langEntityNotPlayer = MessageTemplate
+				.compile(pluginHeader + LangHelper.get(CmdLang.NOT_A_PLAYER, langConfig), "ENTITY");
 	}
 
 	/**
@@ -48,19 +50,18 @@ public abstract class AbstractParsableCommand extends AbstractCommand {
 		String searchedName = args[args.length - 1];
 		Entity[] entities = CommandUtils.getTargets(sender, searchedName);
 		if (entities == null) {
-			sender.sendMessage(pluginHeader + langEntityNotPlayer);
+			sender.sendMessage(langEntityNotPlayer.render(searchedName));
 			return;
 		}
 		for (int i = 0; i < entities.length; i++) {
 			if (entities[i] == null) {
-				sender.sendMessage(pluginHeader + StringUtils.replaceOnce(langPlayerOffline, "PLAYER", searchedName));
+				sender.sendMessage(langPlayerOffline.render(searchedName));
 				break;
 			}
 			if (entities[i] instanceof Player) {
 				onExecuteForPlayer(sender, args, (Player) entities[i]);
 			} else {
-				sender.sendMessage(
-						pluginHeader + StringUtils.replaceOnce(langEntityNotPlayer, "ENTITY", entities[i].getType().name()));
+				sender.sendMessage(langEntityNotPlayer.render(entities[i].getType().name()));
 			}
 		}
 	}
@@ -2,21 +2,21 @@ package com.hm.achievement.command.executable;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
 import java.util.UUID;
 import java.util.logging.Logger;
 
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.text.StringEscapeUtils;
-import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Particle;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
 import com.hm.achievement.command.pagination.CommandPagination;
-import com.hm.achievement.db.AbstractDatabaseManager;
+import com.hm.achievement.db.PlayerNameCache;
+import com.hm.achievement.db.RankingCache;
+import com.hm.achievement.db.data.Ranking;
 import com.hm.achievement.lang.Lang;
 import com.hm.achievement.lang.LangHelper;
 import com.hm.achievement.lang.command.CmdLang;
@@ -31,7 +31,6 @@ import com.hm.mcshared.particle.ParticleEffect;
  */
 public abstract class AbstractRankingCommand extends AbstractCommand {
 
-	private static final int CACHE_EXPIRATION_DELAY = 60000;
 	private static final int DECIMAL_CIRCLED_ONE = Integer.parseInt("2780", 16);
 	private static final int DECIMAL_CIRCLED_ELEVEN = Integer.parseInt("246A", 16);
 	private static final int DECIMAL_CIRCLED_TWENTY_ONE = Integer.parseInt("3251", 16);
@@ -42,8 +41,10 @@ public abstract class AbstractRankingCommand extends AbstractCommand {
 	private final Logger logger;
 	private final int serverVersion;
 	private final Lang languageHeader;
-	private final AbstractDatabaseManager databaseManager;
+	private final RankingCache.Period rankingPeriod;
+	private final RankingCache rankingCache;
 	private final SoundPlayer soundPlayer;
+	private final PlayerNameCache playerNameCache;
 
 	private ChatColor configColor;
 	private int configTopList;
@@ -53,20 +54,19 @@ public abstract class AbstractRankingCommand extends AbstractCommand {
 	private String langPeriodAchievement;
 	private String langPlayerRank;
 	private String langNotRanked;
-	// Used for caching.
-	private Map<String, Integer> cachedSortedRankings;
-	private List<Integer> cachedAchievementCounts;
-	private long lastCacheUpdate = 0L;
 
 	AbstractRankingCommand(CommentedYamlConfiguration mainConfig, CommentedYamlConfiguration langConfig,
 			StringBuilder pluginHeader, Logger logger, int serverVersion, Lang languageHeader,
-			AbstractDatabaseManager databaseManager, SoundPlayer soundPlayer) {
+			RankingCache.Period rankingPeriod, RankingCache rankingCache, SoundPlayer soundPlayer,
+			PlayerNameCache playerNameCache) {
 		super(mainConfig, langConfig, pluginHeader);
 		this.logger = logger;
 		this.serverVersion = serverVersion;
 		this.languageHeader = languageHeader;
-		this.databaseManager = databaseManager;
+		this.rankingPeriod = rankingPeriod;
+		this.rankingCache = rankingCache;
 		this.soundPlayer = soundPlayer;
+		this.playerNameCache = playerNameCache;
 	}
 
 	@Override
@@ -86,16 +86,12 @@ public abstract class AbstractRankingCommand extends AbstractCommand {
 
 	@Override
 	public void onExecute(CommandSender sender, String[] args) {
-		if (System.currentTimeMillis() - lastCacheUpdate >= CACHE_EXPIRATION_DELAY) {
-			// Update cached data structures.
-			cachedSortedRankings = databaseManager.getTopList(getRankingStartTime());
-			cachedAchievementCounts = new ArrayList<>(cachedSortedRankings.values());
-			lastCacheUpdate = System.currentTimeMillis();
-		}
+		// Rankings are periodically computed asynchronously, simply use the last available snapshot.
+		Ranking ranking = rankingCache.getRanking(rankingPeriod);
 
 		sender.sendMessage(langPeriodAchievement);
 
-		List<String> rankingMessages = getRankingMessages(sender);
+		List<String> rankingMessages = getRankingMessages(sender, ranking);
 
 		// If config has top set at less than one page, don't use pagination.
 		if (configTopList < PER_PAGE) {
@@ -107,19 +103,17 @@ public abstract class AbstractRankingCommand extends AbstractCommand {
 		}
 
 		if (sender instanceof Player) {
-			Integer achievementsCount = cachedSortedRankings.get(((Player) sender).getUniqueId().toString());
-			// If not entry in the map, player has not yet received an achievement for this period, not ranked.
-			if (achievementsCount == null) {
+			int playerRank = ranking.getRank(((Player) sender).getUniqueId().toString());
+			// If no rank, player has not yet received an achievement for this period, not ranked.
+			if (playerRank == 0) {
 				sender.sendMessage(langNotRanked);
 			} else {
-				// Rank is the first index in the list that has received as many achievements as the player.
-				int playerRank = cachedAchievementCounts.indexOf(achievementsCount) + 1;
 				// Launch effect if player is in top list.
 				if (playerRank <= configTopList) {
 					launchEffects((Player) sender);
 				}
 				sender.sendMessage(
-						langPlayerRank + playerRank + ChatColor.GRAY + "/" + configColor + cachedSortedRankings.size());
+						langPlayerRank + playerRank + ChatColor.GRAY + "/" + configColor + ranking.size());
 			}
 		}
 	}
@@ -128,16 +122,16 @@ public abstract class AbstractRankingCommand extends AbstractCommand {
 		return args.length > 1 && NumberUtils.isDigits(args[1]) ? Integer.parseInt(args[1]) : 1;
 	}
 
-	private List<String> getRankingMessages(CommandSender sender) {
+	private List<String> getRankingMessages(CommandSender sender, Ranking ranking) {
 		List<String> rankingMessages = new ArrayList<>();
 		int currentRank = 1;
-		for (Entry<String, Integer> ranking : cachedSortedRankings.entrySet()) {
-			String playerName = Bukkit.getOfflinePlayer(UUID.fromString(ranking.getKey())).getName();
+		for (Entry<String, Integer> entry : ranking.getSortedRankings().entrySet()) {
+			String playerName = playerNameCache.getPlayerName(UUID.fromString(entry.getKey()));
 			if (playerName != null) {
 				// Color the name of the player if he is in the top list.
 				ChatColor color = playerName.equals(sender.getName()) ? configColor : ChatColor.GRAY;
 				rankingMessages.add(color + " " + getRankingSymbol(currentRank) + " " + playerName + " - "
-						+ ranking.getValue());
+						+ entry.getValue());
 			} else {
 				logger.warning("Ranking command: could not find player's name using a database UUID.");
 			}
@@ -170,13 +164,6 @@ public abstract class AbstractRankingCommand extends AbstractCommand {
 		return StringEscapeUtils.unescapeJava("\\u" + Integer.toHexString(decimalRankSymbol));
 	}
 
-	/**
-	 * Returns start time for a specific ranking period.
-	 *
-	 * @return time (epoch) in millis
-	 */
-	abstract long getRankingStartTime();
-
 	/**
 	 * Launches sound and particle effects if player is in a top list.
 	 *
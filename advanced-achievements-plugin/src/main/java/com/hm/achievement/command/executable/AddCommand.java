@@ -1,7 +1,10 @@
 package com.hm.achievement.command.executable;
 
+import java.util.Collections;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -9,16 +12,21 @@ import javax.inject.Singleton;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
+import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import com.hm.achievement.AdvancedAchievements;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.db.AbstractDatabaseManager;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.db.data.PlayerSelection;
 import com.hm.achievement.lang.LangHelper;
+import com.hm.achievement.lang.MessageTemplate;
 import com.hm.achievement.lang.command.CmdLang;
+import com.hm.achievement.utils.BKTree;
 import com.hm.achievement.utils.StatisticIncreaseHandler;
-import com.hm.achievement.utils.StringHelper;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -28,23 +36,25 @@ import com.hm.mcshared.file.CommentedYamlConfiguration;
  */
 @Singleton
 @CommandSpec(name = "add", permission = "add", minArgs = 4, maxArgs = 4)
-public class AddCommand extends AbstractParsableCommand {
+public class AddCommand extends AbstractBulkCommand {
 
 	private static final long MILLIS_PER_HOUR = TimeUnit.HOURS.toMillis(1);
 
 	private final CacheManager cacheManager;
 	private final StatisticIncreaseHandler statisticIncreaseHandler;
 
-	private String langErrorValue;
-	private String langStatisticIncreased;
-	private String langCategoryDoesNotExist;
+	private MessageTemplate langErrorValue;
+	private MessageTemplate langStatisticIncreased;
+	private MessageTemplate langCategoryDoesNotExist;
 	private final Set<String> enabledCategoriesWithSubcategories;
+	private BKTree categoriesTree;
 
 	@Inject
 	public AddCommand(@Named("main") CommentedYamlConfiguration mainConfig,
 			@Named("lang") CommentedYamlConfiguration langConfig, StringBuilder pluginHeader, CacheManager cacheManager,
-			StatisticIncreaseHandler statisticIncreaseHandler, Set<String> enabledCategoriesWithSubcategories) {
-		super(mainConfig, langConfig, pluginHeader);
+			StatisticIncreaseHandler statisticIncreaseHandler, Set<String> enabledCategoriesWithSubcategories,
+			AbstractDatabaseManager databaseManager, AdvancedAchievements advancedAchievements) {
+		super(mainConfig, langConfig, pluginHeader, databaseManager, advancedAchievements);
 		this.cacheManager = cacheManager;
 		this.statisticIncreaseHandler = statisticIncreaseHandler;
 		this.enabledCategoriesWithSubcategories = enabledCategoriesWithSubcategories;
@@ -54,45 +64,97 @@ public class AddCommand extends AbstractParsableCommand {
 	public void extractConfigurationParameters() {
 		super.extractConfigurationParameters();
 
-		langErrorValue = pluginHeader + LangHelper.get(CmdLang.ERROR_VALUE, langConfig);
-		langStatisticIncreased = pluginHeader + LangHelper.get(CmdLang.STATISTIC_INCREASED, langConfig);
-		langCategoryDoesNotExist = pluginHeader + LangHelper.get(CmdLang.CATEGORY_DOES_NOT_EXIST, langConfig);
+		langErrorValue = MessageTemplate.compile(pluginHeader + LangHelper.get(CmdLang.ERROR_VALUE, langConfig),
+				"VALUE");
+		langStatisticIncreased = MessageTemplate.compile(
+				pluginHeader + LangHelper.get(CmdLang.STATISTIC_INCREASED, langConfig), "ACH", "AMOUNT", "PLAYER");
+		langCategoryDoesNotExist = MessageTemplate.compile(
+				pluginHeader + LangHelper.get(CmdLang.CATEGORY_DOES_NOT_EXIST, langConfig), "CAT", "CLOSEST_MATCH");
+
+		categoriesTree = new BKTree(enabledCategoriesWithSubcategories);
 	}
 
 	@Override
 	void onExecuteForPlayer(CommandSender sender, String[] args, Player player) {
-		if (!NumberUtils.isCreatable(args[1])) {
-			sender.sendMessage(StringUtils.replaceOnce(langErrorValue, "VALUE", args[1]));
-			return;
+		if (isValidStatistic(sender, args)) {
+			long amount = increaseCachedStatistic(player.getUniqueId(), args[2], Integer.parseInt(args[1]));
+			statisticIncreaseHandler.checkThresholdsAndAchievements(player, args[2], amount);
+			sender.sendMessage(langStatisticIncreased.render(args[2], args[1], args[3]));
 		}
+	}
 
+	@Override
+	void onExecuteForPlayers(CommandSender sender, String[] args, PlayerSelection players) {
+		if (!isValidStatistic(sender, args)) {
+			return;
+		}
+		String categoryWithSubcategory = args[2];
 		int valueToAdd = Integer.parseInt(args[1]);
-		if (enabledCategoriesWithSubcategories.contains(args[2])) {
-			if (args[2].contains(".")) {
-				MultipleAchievements category = MultipleAchievements.getByName(StringUtils.substringBefore(args[2], "."));
-				long amount = cacheManager.getAndIncrementStatisticAmount(category, StringUtils.substringAfter(args[2], "."),
-						player.getUniqueId(), valueToAdd);
-				statisticIncreaseHandler.checkThresholdsAndAchievements(player, args[2], amount);
-				sender.sendMessage(StringUtils.replaceEach(langStatisticIncreased,
-						new String[] { "ACH", "AMOUNT", "PLAYER" }, new String[] { args[2], args[1], args[3] }));
-			} else if (!NormalAchievements.CONNECTIONS.toString().equals(args[2])) {
-				NormalAchievements category = NormalAchievements.getByName(args[2]);
-				long amount;
-				if (category == NormalAchievements.PLAYEDTIME) {
-					// Thresholds in the configuration are in hours, underlying statistics are millis.
-					valueToAdd = (int) (valueToAdd * MILLIS_PER_HOUR);
-					amount = cacheManager.getAndIncrementStatisticAmount(category, player.getUniqueId(), valueToAdd)
-							/ MILLIS_PER_HOUR;
-				} else {
-					amount = cacheManager.getAndIncrementStatisticAmount(category, player.getUniqueId(), valueToAdd);
-				}
-				statisticIncreaseHandler.checkThresholdsAndAchievements(player, category.toString(), amount);
-				sender.sendMessage(StringUtils.replaceEach(langStatisticIncreased,
-						new String[] { "ACH", "AMOUNT", "PLAYER" }, new String[] { args[2], args[1], args[3] }));
-			}
+		// Thresholds of online players are checked in the same way as when targeting a single player.
+		for (Player player : getOnlinePlayers(players)) {
+			long amount = increaseCachedStatistic(player.getUniqueId(), categoryWithSubcategory, valueToAdd);
+			statisticIncreaseHandler.checkThresholdsAndAchievements(player, categoryWithSubcategory, amount);
+		}
+		// Cached values take precedence over the database, they are increased in memory and the corresponding players
+		// are left out of the database statements.
+		Set<UUID> cachedPlayers = cacheManager.getCachedPlayers(categoryWithSubcategory);
+		cachedPlayers.stream().filter(uuid -> players.contains(uuid) && Bukkit.getPlayer(uuid) == null)
+				.forEach(uuid -> increaseCachedStatistic(uuid, categoryWithSubcategory, valueToAdd));
+
+		ToIntFunction<PlayerSelection> operation;
+		if (categoryWithSubcategory.contains(".")) {
+			MultipleAchievements category = MultipleAchievements
+					.getByName(StringUtils.substringBefore(categoryWithSubcategory, "."));
+			String subcategory = StringUtils.substringAfter(categoryWithSubcategory, ".");
+			operation = partition -> databaseManager.increaseStatistics(partition, category, subcategory, valueToAdd);
 		} else {
-			sender.sendMessage(StringUtils.replaceEach(langCategoryDoesNotExist, new String[] { "CAT", "CLOSEST_MATCH" },
-					new String[] { args[2], StringHelper.getClosestMatch(args[2], enabledCategoriesWithSubcategories) }));
+			NormalAchievements category = NormalAchievements.getByName(categoryWithSubcategory);
+			long databaseValue = category == NormalAchievements.PLAYEDTIME ? valueToAdd * MILLIS_PER_HOUR : valueToAdd;
+			operation = partition -> databaseManager.increaseStatistics(partition, category, databaseValue);
+		}
+		executeBulkOperation(sender, players.excluding(cachedPlayers), Collections.singletonList(operation));
+	}
+
+	/**
+	 * Checks whether the value and the category of the command are valid, and informs the sender otherwise.
+	 *
+	 * @param sender
+	 * @param args
+	 * @return true if the statistic can be increased
+	 */
+	private boolean isValidStatistic(CommandSender sender, String[] args) {
+		if (!NumberUtils.isCreatable(args[1])) {
+			sender.sendMessage(langErrorValue.render(args[1]));
+			return false;
+		} else if (!enabledCategoriesWithSubcategories.contains(args[2])) {
+			sender.sendMessage(langCategoryDoesNotExist.render(args[2], categoriesTree.getClosestMatch(args[2])));
+			return false;
+		}
+		// Connections cannot be increased by command.
+		return !NormalAchievements.CONNECTIONS.toString().equals(args[2]);
+	}
+
+	/**
+	 * Increases a statistic in the cache, loading it from the database if needed.
+	 *
+	 * @param uuid
+	 * @param categoryWithSubcategory
+	 * @param valueToAdd
+	 * @return the updated statistic value, in the unit of the thresholds in the configuration
+	 */
+	private long increaseCachedStatistic(UUID uuid, String categoryWithSubcategory, int valueToAdd) {
+		if (categoryWithSubcategory.contains(".")) {
+			MultipleAchievements category = MultipleAchievements
+					.getByName(StringUtils.substringBefore(categoryWithSubcategory, "."));
+			return cacheManager.getAndIncrementStatisticAmount(category,
+					StringUtils.substringAfter(categoryWithSubcategory, "."), uuid, valueToAdd);
+		}
+		NormalAchievements category = NormalAchievements.getByName(categoryWithSubcategory);
+		if (category == NormalAchievements.PLAYEDTIME) {
+			// Thresholds in the configuration are in hours, underlying statistics are millis.
+			return cacheManager.getAndIncrementStatisticAmount(category, uuid, (int) (valueToAdd * MILLIS_PER_HOUR))
+					/ MILLIS_PER_HOUR;
 		}
+		return cacheManager.getAndIncrementStatisticAmount(category, uuid, valueToAdd);
 	}
 }
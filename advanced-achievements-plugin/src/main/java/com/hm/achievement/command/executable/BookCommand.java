@@ -1,12 +1,16 @@
 package com.hm.achievement.command.executable;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.text.DateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Logger;
 
@@ -14,7 +18,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
-import org.apache.commons.lang3.StringUtils;
+import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.Particle;
 import org.bukkit.command.CommandSender;
@@ -22,9 +26,11 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.BookMeta;
 
-import com.hm.achievement.db.AbstractDatabaseManager;
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.db.AwardHistoryCache;
 import com.hm.achievement.db.data.AwardedDBAchievement;
 import com.hm.achievement.lang.LangHelper;
+import com.hm.achievement.lang.MessageTemplate;
 import com.hm.achievement.lang.command.CmdLang;
 import com.hm.achievement.lifecycle.Cleanable;
 import com.hm.achievement.utils.SoundPlayer;
@@ -34,7 +40,8 @@ import com.hm.mcshared.particle.ReflectionUtils.PackageType;
 
 /**
  * Class in charge of handling the /aach book command, which creates and gives a book containing the player's
- * achievements.
+ * achievements. Achievements are retrieved and pages are rendered asynchronously, the result is then cached until the
+ * player receives or loses an achievement.
  *
  * @author Pyves
  */
@@ -52,11 +59,21 @@ public class BookCommand extends AbstractCommand implements Cleanable {
 
 	// Corresponds to times at which players have received their books. Cooldown structure.
 	private final HashMap<UUID, Long> playersBookTime = new HashMap<>();
+	// Rendered pages of the players' books, only accessed by the main server thread. Texts are cached rather than
+	// CraftBukkit chat components, as the latter are mutable and must not be shared between books.
+	private final Map<UUID, List<String>> playersBookPages = new HashMap<>();
+	// Players for which pages are being rendered asynchronously.
+	private final Set<UUID> playersBookRendering = new HashSet<>();
 	private final Logger logger;
 	private final int serverVersion;
-	private final AbstractDatabaseManager databaseManager;
+	private final AdvancedAchievements advancedAchievements;
+	private final AwardHistoryCache awardHistoryCache;
 	private final SoundPlayer soundPlayer;
 
+	// Resolved once, used to bypass the Spigot limits on book pages.
+	private MethodHandle pagesGetter;
+	private MethodHandle fromStringMethod;
+
 	private int configTimeBook;
 	private String configBookSeparator;
 	private boolean configAdditionalEffects;
@@ -64,7 +81,7 @@ public class BookCommand extends AbstractCommand implements Cleanable {
 	private String configSoundBook;
 	private String langBookDelay;
 	private String langBookNotReceived;
-	private String langBookDate;
+	private MessageTemplate langBookDate;
 	private String langBookName;
 	private String langBookReceived;
 	private DateFormat dateFormat;
@@ -72,11 +89,13 @@ public class BookCommand extends AbstractCommand implements Cleanable {
 	@Inject
 	public BookCommand(@Named("main") CommentedYamlConfiguration mainConfig,
 			@Named("lang") CommentedYamlConfiguration langConfig, StringBuilder pluginHeader, Logger logger,
-			int serverVersion, AbstractDatabaseManager databaseManager, SoundPlayer soundPlayer) {
+			int serverVersion, AdvancedAchievements advancedAchievements, AwardHistoryCache awardHistoryCache,
+			SoundPlayer soundPlayer) {
 		super(mainConfig, langConfig, pluginHeader);
 		this.logger = logger;
 		this.serverVersion = serverVersion;
-		this.databaseManager = databaseManager;
+		this.advancedAchievements = advancedAchievements;
+		this.awardHistoryCache = awardHistoryCache;
 		this.soundPlayer = soundPlayer;
 	}
 
@@ -93,17 +112,37 @@ public class BookCommand extends AbstractCommand implements Cleanable {
 		langBookDelay = pluginHeader + LangHelper.getReplacedOnce(CmdLang.BOOK_DELAY, "TIME",
 				Integer.toString(configTimeBook / 1000), langConfig);
 		langBookNotReceived = pluginHeader + LangHelper.get(CmdLang.BOOK_NOT_RECEIVED, langConfig);
-		langBookDate = translateColorCodes("&8" + LangHelper.get(CmdLang.BOOK_DATE, langConfig));
+		langBookDate = MessageTemplate.compileColored("&8" + LangHelper.get(CmdLang.BOOK_DATE, langConfig), "DATE");
 		langBookName = LangHelper.get(CmdLang.BOOK_NAME, langConfig);
 		langBookReceived = pluginHeader + LangHelper.get(CmdLang.BOOK_RECEIVED, langConfig);
 
 		String localeString = mainConfig.getString("DateLocale", "en");
 		dateFormat = DateFormat.getDateInstance(DateFormat.MEDIUM, new Locale(localeString));
+
+		// Separator or date format may have changed.
+		playersBookPages.clear();
+		playersBookRendering.clear();
+		if (serverVersion >= 11 && pagesGetter == null) {
+			resolveBookMethods();
+		}
 	}
 
 	@Override
 	public void cleanPlayerData(UUID uuid) {
 		playersBookTime.remove(uuid);
+		playersBookPages.remove(uuid);
+		// Pages being rendered for a disconnected player will not be cached.
+		playersBookRendering.remove(uuid);
+	}
+
+	/**
+	 * Invalidates the cached book pages of a player, for instance after receiving or losing an achievement.
+	 *
+	 * @param uuid
+	 */
+	public void invalidateBookPages(UUID uuid) {
+		playersBookPages.remove(uuid);
+		playersBookRendering.remove(uuid);
 	}
 
 	@Override
@@ -114,61 +153,96 @@ public class BookCommand extends AbstractCommand implements Cleanable {
 
 		Player player = (Player) sender;
 
-		if (!isInCooldownPeriod(player)) {
-			List<AwardedDBAchievement> playerAchievementsList = databaseManager
-					.getPlayerAchievementsList(player.getUniqueId());
-			if (playerAchievementsList.isEmpty()) {
-				player.sendMessage(langBookNotReceived);
-				return;
-			}
-			// Play special particle effect when receiving the book.
-			if (configAdditionalEffects) {
-				if (serverVersion >= 13) {
-					player.spawnParticle(Particle.ENCHANTMENT_TABLE, player.getLocation(), 1000, 0, 2, 0, 1);
-				} else {
-					try {
-						ParticleEffect.ENCHANTMENT_TABLE.display(0, 2, 0, 1, 1000, player.getLocation(), 100);
-					} catch (Exception e) {
-						logger.warning("Failed to display additional particle effects for books.");
+		if (isInCooldownPeriod(player)) {
+			player.sendMessage(langBookDelay);
+			return;
+		}
+
+		UUID uuid = player.getUniqueId();
+		List<String> bookPages = playersBookPages.get(uuid);
+		if (bookPages != null) {
+			giveBook(bookPages, player);
+		} else if (playersBookRendering.add(uuid)) {
+			Bukkit.getScheduler().runTaskAsynchronously(advancedAchievements, () -> {
+				List<String> renderedPages = renderBookPages(awardHistoryCache.getAchievementsList(uuid));
+				Bukkit.getScheduler().runTask(advancedAchievements, () -> {
+					boolean stillValid = playersBookRendering.remove(uuid);
+					// Pages of players who disconnected in the meantime are discarded.
+					if (player.isOnline()) {
+						// Only cache the pages if they were not invalidated in the meantime.
+						if (stillValid) {
+							playersBookPages.put(uuid, renderedPages);
+						}
+						giveBook(renderedPages, player);
 					}
-				}
-			}
+				});
+			});
+		}
+	}
 
-			// Play special sound when receiving the book.
-			if (configSound) {
-				soundPlayer.play(player, configSoundBook, "ENTITY_PLAYER_LEVELUP", "ENTITY_PLAYER_LEVELUP", "LEVEL_UP");
+	/**
+	 * Gives the book to the player, alongside sound and particle effects.
+	 *
+	 * @param bookPages
+	 * @param player
+	 */
+	private void giveBook(List<String> bookPages, Player player) {
+		if (bookPages.isEmpty()) {
+			player.sendMessage(langBookNotReceived);
+			return;
+		}
+		// Play special particle effect when receiving the book.
+		if (configAdditionalEffects) {
+			if (serverVersion >= 13) {
+				player.spawnParticle(Particle.ENCHANTMENT_TABLE, player.getLocation(), 1000, 0, 2, 0, 1);
+			} else {
+				try {
+					ParticleEffect.ENCHANTMENT_TABLE.display(0, 2, 0, 1, 1000, player.getLocation(), 100);
+				} catch (Exception e) {
+					logger.warning("Failed to display additional particle effects for books.");
+				}
 			}
+		}
 
-			fillBook(playerAchievementsList, player);
-		} else {
-			player.sendMessage(langBookDelay);
+		// Play special sound when receiving the book.
+		if (configSound) {
+			soundPlayer.play(player, configSoundBook, "ENTITY_PLAYER_LEVELUP", "ENTITY_PLAYER_LEVELUP", "LEVEL_UP");
 		}
+
+		fillBook(bookPages, player);
 	}
 
 	/**
-	 * Constructs the pages of a book.
+	 * Renders the pages of a book. Can be called asynchronously.
 	 *
 	 * @param achievements
-	 * @param player
+	 * @return the rendered pages
 	 */
-	private void fillBook(List<AwardedDBAchievement> achievements, Player player) {
-		ItemStack book = new ItemStack(Material.WRITTEN_BOOK);
-		List<String> bookPages = new ArrayList<>(achievements.size());
-		BookMeta bookMeta = (BookMeta) book.getItemMeta();
-
+	private List<String> renderBookPages(List<AwardedDBAchievement> achievements) {
+		List<String> texts = new ArrayList<>(achievements.size());
 		for (AwardedDBAchievement achievement : achievements) {
 			String currentAchievement = "&0" + achievement.getName() + configBookSeparator + achievement.getMessage()
 					+ configBookSeparator + achievement.getFormattedDate();
-			currentAchievement = translateColorCodes(currentAchievement);
-			bookPages.add(currentAchievement);
+			texts.add(translateColorCodes(currentAchievement));
 		}
+		return texts;
+	}
+
+	/**
+	 * Constructs a book and gives it to the player.
+	 *
+	 * @param bookPages
+	 * @param player
+	 */
+	private void fillBook(List<String> bookPages, Player player) {
+		ItemStack book = new ItemStack(Material.WRITTEN_BOOK);
+		BookMeta bookMeta = (BookMeta) book.getItemMeta();
 
 		// Set the pages and other elements of the book (author, title and date of reception).
 		setBookPages(bookPages, bookMeta);
 		bookMeta.setAuthor(player.getName());
 		bookMeta.setTitle(langBookName);
-		bookMeta.setLore(
-				Arrays.asList(StringUtils.replaceOnce(langBookDate, "DATE", dateFormat.format(System.currentTimeMillis()))));
+		bookMeta.setLore(Arrays.asList(langBookDate.render(dateFormat.format(System.currentTimeMillis()))));
 		book.setItemMeta(bookMeta);
 
 		// Check whether player has room in his inventory, else drop book on the ground.
@@ -200,6 +274,26 @@ public class BookCommand extends AbstractCommand implements Cleanable {
 		return true;
 	}
 
+	/**
+	 * Resolves the CraftBukkit accessors used to bypass the Spigot limits on book pages. Reflection is only performed
+	 * once, method handles are then reused for every book.
+	 */
+	private void resolveBookMethods() {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			Class<?> craftMetaBookClass = PackageType.CRAFTBUKKIT
+					.getClass(PACKAGE_INVENTORY + "." + CLASS_CRAFT_META_BOOK);
+			pagesGetter = lookup.unreflectGetter(craftMetaBookClass.getField(FIELD_PAGES));
+			fromStringMethod = lookup.unreflect(PackageType.CRAFTBUKKIT
+					.getClass(PACKAGE_UTIL + "." + CLASS_CRAFT_CHAT_MESSAGE)
+					.getMethod(METHOD_FROM_STRING, String.class, boolean.class));
+		} catch (Exception e) {
+			logger.warning("Error while resolving book methods. Your achievements book may be trimmed down.");
+			pagesGetter = null;
+			fromStringMethod = null;
+		}
+	}
+
 	/**
 	 * Adds pages to the BookMeta. A Spigot commit in the late days of Minecraft 1.11.2 started enforcing extremely low
 	 * limits (why? If it's not broken, don't fix it.), with books limited in page size and total number of pages, as
@@ -212,25 +306,20 @@ public class BookCommand extends AbstractCommand implements Cleanable {
 	 */
 	@SuppressWarnings("unchecked")
 	private void setBookPages(List<String> bookPages, BookMeta bookMeta) {
-		if (serverVersion >= 11) {
+		if (pagesGetter != null) {
 			try {
 				// Code we're trying to execute: this.pages.add(CraftChatMessage.fromString(page, true)[0]); in
-				// CraftMetaBook.java.
-				Class<?> craftMetaBookClass = PackageType.CRAFTBUKKIT
-						.getClass(PACKAGE_INVENTORY + "." + CLASS_CRAFT_META_BOOK);
-				List<Object> pages = (List<Object>) craftMetaBookClass.getField(FIELD_PAGES)
-						.get(craftMetaBookClass.cast(bookMeta));
-				Method fromStringMethod = PackageType.CRAFTBUKKIT.getClass(PACKAGE_UTIL + "." + CLASS_CRAFT_CHAT_MESSAGE)
-						.getMethod(METHOD_FROM_STRING, String.class, boolean.class);
-				for (String bookPage : bookPages) {
-					pages.add(((Object[]) fromStringMethod.invoke(null, bookPage, true))[0]);
+				// CraftMetaBook.java. Components are created for each book, as they are mutable.
+				List<Object> components = new ArrayList<>(bookPages.size());
+				for (String page : bookPages) {
+					components.add(((Object[]) fromStringMethod.invoke(page, true))[0]);
 				}
-			} catch (Exception e) {
+				((List<Object>) pagesGetter.invoke(bookMeta)).addAll(components);
+				return;
+			} catch (Throwable e) {
 				logger.warning("Error while creating book pages. Your achievements book may be trimmed down to 50 pages.");
-				bookMeta.setPages(bookPages);
 			}
-		} else {
-			bookMeta.setPages(bookPages);
 		}
+		bookMeta.setPages(bookPages);
 	}
 }
@@ -4,12 +4,12 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
-import org.apache.commons.lang3.StringUtils;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.lang.LangHelper;
+import com.hm.achievement.lang.MessageTemplate;
 import com.hm.achievement.lang.command.CmdLang;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
@@ -24,8 +24,8 @@ public class CheckCommand extends AbstractParsableCommand {
 
 	private final CacheManager cacheManager;
 
-	private String langCheckAchievementTrue;
-	private String langCheckAchievementFalse;
+	private MessageTemplate langCheckAchievementTrue;
+	private MessageTemplate langCheckAchievementFalse;
 
 	@Inject
 	public CheckCommand(@Named("main") CommentedYamlConfiguration mainConfig,
@@ -38,8 +38,10 @@ public class CheckCommand extends AbstractParsableCommand {
 	public void extractConfigurationParameters() {
 		super.extractConfigurationParameters();
 
-		langCheckAchievementTrue = pluginHeader + LangHelper.get(CmdLang.CHECK_ACHIEVEMENT_TRUE, langConfig);
-		langCheckAchievementFalse = pluginHeader + LangHelper.get(CmdLang.CHECK_ACHIEVEMENTS_FALSE, langConfig);
+		langCheckAchievementTrue = MessageTemplate
+				.compile(pluginHeader + LangHelper.get(CmdLang.CHECK_ACHIEVEMENT_TRUE, langConfig), "PLAYER", "ACH");
+		langCheckAchievementFalse = MessageTemplate.compile(
+				pluginHeader + LangHelper.get(CmdLang.CHECK_ACHIEVEMENTS_FALSE, langConfig), "PLAYER", "ACH");
 	}
 
 	@Override
@@ -48,11 +50,9 @@ public class CheckCommand extends AbstractParsableCommand {
 
 		// Check if achievement exists in database and display message accordingly.
 		if (cacheManager.hasPlayerAchievement(player.getUniqueId(), achievementName)) {
-			sender.sendMessage(StringUtils.replaceEach(langCheckAchievementTrue, new String[] { "PLAYER", "ACH" },
-					new String[] { args[args.length - 1], achievementName }));
+			sender.sendMessage(langCheckAchievementTrue.render(args[args.length - 1], achievementName));
 		} else {
-			sender.sendMessage(StringUtils.replaceEach(langCheckAchievementFalse, new String[] { "PLAYER", "ACH" },
-					new String[] { args[args.length - 1], achievementName }));
+			sender.sendMessage(langCheckAchievementFalse.render(args[args.length - 1], achievementName));
 		}
 	}
 }
@@ -2,47 +2,55 @@ package com.hm.achievement.command.executable;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.UUID;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
-import org.apache.commons.lang3.StringUtils;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import com.hm.achievement.AdvancedAchievements;
 import com.hm.achievement.db.AbstractDatabaseManager;
+import com.hm.achievement.db.AwardHistoryCache;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.db.data.PlayerSelection;
 import com.hm.achievement.lang.LangHelper;
+import com.hm.achievement.lang.MessageTemplate;
 import com.hm.achievement.lang.command.CmdLang;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
- * Class in charge of handling the /aach delete command, which deletes an achievement from a player.
+ * Class in charge of handling the /aach delete command, which deletes an achievement from a player or a selection of
+ * players.
  * 
  * @author Pyves
  */
 @Singleton
 @CommandSpec(name = "delete", permission = "delete", minArgs = 3, maxArgs = Integer.MAX_VALUE)
-public class DeleteCommand extends AbstractParsableCommand {
+public class DeleteCommand extends AbstractBulkCommand {
 
 	public static final String WILDCARD = "*";
 
 	private final CacheManager cacheManager;
-	private final AbstractDatabaseManager databaseManager;
+	private final AwardHistoryCache awardHistoryCache;
+	private final BookCommand bookCommand;
 
-	private String langCheckAchievementFalse;
-	private String langDeleteAchievements;
-	private String langAllDeleteAchievements;
+	private MessageTemplate langCheckAchievementFalse;
+	private MessageTemplate langDeleteAchievements;
+	private MessageTemplate langAllDeleteAchievements;
 	private final Map<String, String> namesToDisplayNames;
 
 	@Inject
 	public DeleteCommand(@Named("main") CommentedYamlConfiguration mainConfig,
 			@Named("lang") CommentedYamlConfiguration langConfig, StringBuilder pluginHeader, CacheManager cacheManager,
-			AbstractDatabaseManager databaseManager, @Named("ntd") Map<String, String> namesToDisplayNames) {
-		super(mainConfig, langConfig, pluginHeader);
+			AwardHistoryCache awardHistoryCache, BookCommand bookCommand, AbstractDatabaseManager databaseManager,
+			@Named("ntd") Map<String, String> namesToDisplayNames, AdvancedAchievements advancedAchievements) {
+		super(mainConfig, langConfig, pluginHeader, databaseManager, advancedAchievements);
 		this.cacheManager = cacheManager;
-		this.databaseManager = databaseManager;
+		this.awardHistoryCache = awardHistoryCache;
+		this.bookCommand = bookCommand;
 		this.namesToDisplayNames = namesToDisplayNames;
 	}
 
@@ -50,9 +58,12 @@ public class DeleteCommand extends AbstractParsableCommand {
 	public void extractConfigurationParameters() {
 		super.extractConfigurationParameters();
 
-		langCheckAchievementFalse = pluginHeader + LangHelper.get(CmdLang.CHECK_ACHIEVEMENTS_FALSE, langConfig);
-		langDeleteAchievements = pluginHeader + LangHelper.get(CmdLang.DELETE_ACHIEVEMENTS, langConfig);
-		langAllDeleteAchievements = pluginHeader + LangHelper.get(CmdLang.DELETE_ALL_ACHIEVEMENTS, langConfig);
+		langCheckAchievementFalse = MessageTemplate.compile(
+				pluginHeader + LangHelper.get(CmdLang.CHECK_ACHIEVEMENTS_FALSE, langConfig), "PLAYER", "ACH");
+		langDeleteAchievements = MessageTemplate
+				.compile(pluginHeader + LangHelper.get(CmdLang.DELETE_ACHIEVEMENTS, langConfig), "PLAYER", "ACH");
+		langAllDeleteAchievements = MessageTemplate
+				.compile(pluginHeader + LangHelper.get(CmdLang.DELETE_ALL_ACHIEVEMENTS, langConfig), "PLAYER");
 	}
 
 	@Override
@@ -60,18 +71,44 @@ public class DeleteCommand extends AbstractParsableCommand {
 		String achievementName = parseAchievementName(args);
 
 		if (WILDCARD.equals(achievementName)) {
-			cacheManager.removePreviouslyReceivedAchievements(player.getUniqueId(), namesToDisplayNames.keySet());
+			removeFromCaches(player.getUniqueId(), achievementName);
 			databaseManager.deleteAllPlayerAchievements(player.getUniqueId());
-			sender.sendMessage(StringUtils.replace(langAllDeleteAchievements, "PLAYER", args[args.length - 1]));
+			sender.sendMessage(langAllDeleteAchievements.render(args[args.length - 1]));
 		} else if (cacheManager.hasPlayerAchievement(player.getUniqueId(), achievementName)) {
-			cacheManager.removePreviouslyReceivedAchievements(player.getUniqueId(),
-					Collections.singletonList(achievementName));
+			removeFromCaches(player.getUniqueId(), achievementName);
 			databaseManager.deletePlayerAchievement(player.getUniqueId(), achievementName);
-			sender.sendMessage(StringUtils.replaceEach(langDeleteAchievements, new String[] { "PLAYER", "ACH" },
-					new String[] { args[args.length - 1], achievementName }));
+			sender.sendMessage(langDeleteAchievements.render(args[args.length - 1], achievementName));
 		} else {
-			sender.sendMessage(StringUtils.replaceEach(langCheckAchievementFalse, new String[] { "PLAYER", "ACH" },
-					new String[] { args[args.length - 1], achievementName }));
+			sender.sendMessage(langCheckAchievementFalse.render(args[args.length - 1], achievementName));
 		}
 	}
+
+	@Override
+	void onExecuteForPlayers(CommandSender sender, String[] args, PlayerSelection players) {
+		String achievementName = parseAchievementName(args);
+		boolean wildcard = WILDCARD.equals(achievementName);
+		// Only online players have cached achievements.
+		getOnlinePlayers(players).stream().map(Player::getUniqueId)
+				.filter(uuid -> wildcard || cacheManager.hasPlayerAchievement(uuid, achievementName))
+				.forEach(uuid -> removeFromCaches(uuid, achievementName));
+		executeBulkOperation(sender, players, Collections.singletonList(
+				partition -> databaseManager.deleteAchievements(partition, wildcard ? null : achievementName)));
+	}
+
+	/**
+	 * Removes an achievement, or all achievements, from the caches of a player.
+	 *
+	 * @param uuid
+	 * @param achievementName the name of the achievement, or the wildcard
+	 */
+	private void removeFromCaches(UUID uuid, String achievementName) {
+		if (WILDCARD.equals(achievementName)) {
+			cacheManager.removePreviouslyReceivedAchievements(uuid, namesToDisplayNames.keySet());
+			awardHistoryCache.removeAllAchievements(uuid);
+		} else {
+			cacheManager.removePreviouslyReceivedAchievements(uuid, Collections.singletonList(achievementName));
+			awardHistoryCache.removeAchievements(uuid, Collections.singletonList(achievementName));
+		}
+		bookCommand.invalidateBookPages(uuid);
+	}
 }
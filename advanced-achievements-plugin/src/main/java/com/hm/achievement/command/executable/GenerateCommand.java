@@ -47,9 +47,7 @@ public class GenerateCommand extends AbstractCommand {
 	@Override
 	void onExecute(CommandSender sender, String[] args) {
 		if (serverVersion >= 12) {
-			advancementManager.registerAdvancements();
-
-			sender.sendMessage(langAdvancementsGenerated);
+			advancementManager.registerAdvancements(() -> sender.sendMessage(langAdvancementsGenerated));
 		} else {
 			sender.sendMessage(langMinecraftNotSupported);
 		}
@@ -4,7 +4,6 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
-import org.apache.commons.lang3.StringUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -12,10 +11,11 @@ import org.bukkit.entity.Player;
 import com.hm.achievement.category.CommandAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.lang.LangHelper;
+import com.hm.achievement.lang.MessageTemplate;
 import com.hm.achievement.lang.command.CmdLang;
+import com.hm.achievement.utils.BKTree;
 import com.hm.achievement.utils.PlayerAdvancedAchievementEvent.PlayerAdvancedAchievementEventBuilder;
 import com.hm.achievement.utils.RewardParser;
-import com.hm.achievement.utils.StringHelper;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -31,10 +31,11 @@ public class GiveCommand extends AbstractParsableCommand {
 	private final RewardParser rewardParser;
 
 	private boolean configMultiCommand;
-	private String langAchievementAlreadyReceived;
+	private BKTree commandsTree;
+	private MessageTemplate langAchievementAlreadyReceived;
 	private String langAchievementGiven;
-	private String langAchievementNotFound;
-	private String langAchievementNoPermission;
+	private MessageTemplate langAchievementNotFound;
+	private MessageTemplate langAchievementNoPermission;
 
 	@Inject
 	public GiveCommand(@Named("main") CommentedYamlConfiguration mainConfig,
@@ -50,11 +51,15 @@ public class GiveCommand extends AbstractParsableCommand {
 		super.extractConfigurationParameters();
 
 		configMultiCommand = mainConfig.getBoolean("MultiCommand", true);
+		commandsTree = new BKTree(mainConfig.getShallowKeys(CommandAchievements.COMMANDS.toString()));
 
-		langAchievementAlreadyReceived = pluginHeader + LangHelper.get(CmdLang.ACHIEVEMENT_ALREADY_RECEIVED, langConfig);
+		langAchievementAlreadyReceived = MessageTemplate
+				.compile(pluginHeader + LangHelper.get(CmdLang.ACHIEVEMENT_ALREADY_RECEIVED, langConfig), "PLAYER");
 		langAchievementGiven = pluginHeader + LangHelper.get(CmdLang.ACHIEVEMENT_GIVEN, langConfig);
-		langAchievementNotFound = pluginHeader + LangHelper.get(CmdLang.ACHIEVEMENT_NOT_FOUND, langConfig);
-		langAchievementNoPermission = pluginHeader + LangHelper.get(CmdLang.ACHIEVEMENT_NO_PERMISSION, langConfig);
+		langAchievementNotFound = MessageTemplate
+				.compile(pluginHeader + LangHelper.get(CmdLang.ACHIEVEMENT_NOT_FOUND, langConfig), "CLOSEST_MATCH");
+		langAchievementNoPermission = MessageTemplate
+				.compile(pluginHeader + LangHelper.get(CmdLang.ACHIEVEMENT_NO_PERMISSION, langConfig), "PLAYER");
 	}
 
 	@Override
@@ -65,10 +70,10 @@ public class GiveCommand extends AbstractParsableCommand {
 			// Check whether player has already received achievement and cannot receive it again.
 			String achievementName = mainConfig.getString(achievementPath + ".Name");
 			if (!configMultiCommand && cacheManager.hasPlayerAchievement(player.getUniqueId(), achievementName)) {
-				sender.sendMessage(StringUtils.replaceOnce(langAchievementAlreadyReceived, "PLAYER", args[2]));
+				sender.sendMessage(langAchievementAlreadyReceived.render(args[2]));
 				return;
 			} else if (!player.hasPermission("achievement." + achievementName)) {
-				sender.sendMessage(StringUtils.replaceOnce(langAchievementNoPermission, "PLAYER", args[2]));
+				sender.sendMessage(langAchievementNoPermission.render(args[2]));
 				return;
 			}
 
@@ -89,9 +94,7 @@ public class GiveCommand extends AbstractParsableCommand {
 
 			sender.sendMessage(langAchievementGiven);
 		} else {
-			sender.sendMessage(StringUtils.replaceOnce(langAchievementNotFound, "CLOSEST_MATCH",
-					StringHelper.getClosestMatch(args[1],
-							mainConfig.getShallowKeys(CommandAchievements.COMMANDS.toString()))));
+			sender.sendMessage(langAchievementNotFound.render(commandsTree.getClosestMatch(args[1])));
 		}
 	}
 }
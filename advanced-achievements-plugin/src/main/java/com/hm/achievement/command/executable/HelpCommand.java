@@ -52,6 +52,8 @@ public class HelpCommand extends AbstractCommand {
 	private String langCommandReloadHover;
 	private String langCommandGenerate;
 	private String langCommandGenerateHover;
+	private String langCommandRetroactive;
+	private String langCommandRetroactiveHover;
 	private String langCommandInspect;
 	private String langCommandInspectHover;
 	private String langCommandGive;
@@ -102,6 +104,8 @@ public class HelpCommand extends AbstractCommand {
 		langCommandReloadHover = LangHelper.get(HelpLang.Hover.RELOAD, langConfig);
 		langCommandGenerate = header("/aach generate") + LangHelper.get(HelpLang.GENERATE, langConfig);
 		langCommandGenerateHover = LangHelper.get(HelpLang.Hover.GENERATE, langConfig);
+		langCommandRetroactive = header("/aach retroactive") + LangHelper.get(HelpLang.RETROACTIVE, langConfig);
+		langCommandRetroactiveHover = LangHelper.get(HelpLang.Hover.RETROACTIVE, langConfig);
 		langCommandGive = header("/aach give &oach player") + translateColorCodes(LangHelper.getEachReplaced(HelpLang.GIVE,
 				langConfig, new String[] { "ACH", "NAME" }, new String[] { "&oach&7", "&oplayer&7" }));
 		langCommandInspect = header("/aach inspect &oach")
@@ -172,6 +176,11 @@ public class HelpCommand extends AbstractCommand {
 			sendJsonClickableHoverableMessage(sender, langCommandGenerate, "/aach generate", langCommandGenerateHover);
 		}
 
+		if (sender.hasPermission("achievement.retroactive")) {
+			sendJsonClickableHoverableMessage(sender, langCommandRetroactive, "/aach retroactive",
+					langCommandRetroactiveHover);
+		}
+
 		if (sender.hasPermission("achievement.inspect")) {
 			sendJsonClickableHoverableMessage(sender, langCommandInspect, "/aach inspect ach", langCommandInspectHover);
 		}
@@ -2,14 +2,13 @@ package com.hm.achievement.command.executable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Map.Entry;
 import java.util.UUID;
-import java.util.function.Supplier;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -17,16 +16,16 @@ import javax.inject.Singleton;
 
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.text.TextStringBuilder;
-import org.bukkit.OfflinePlayer;
+import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 
 import com.hm.achievement.AdvancedAchievements;
-import com.hm.achievement.command.pagination.SupplierCommandPagination;
 import com.hm.achievement.db.AbstractDatabaseManager;
+import com.hm.achievement.db.PlayerNameCache;
 import com.hm.achievement.db.data.AwardedDBAchievement;
 import com.hm.achievement.lang.LangHelper;
 import com.hm.achievement.lang.command.CmdLang;
-import com.hm.achievement.utils.StringHelper;
+import com.hm.achievement.utils.BKTree;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -40,31 +39,49 @@ public class InspectCommand extends AbstractCommand {
 
 	private static final int CACHE_EXPIRATION_DELAY = 60000;
 	private static final int PER_PAGE = 16;
+	private static final int MAX_CACHED_PAGES = 100;
 
 	private final AdvancedAchievements advancedAchievements;
 	private final AbstractDatabaseManager databaseManager;
 	private final Map<String, String> displayNamesToNames;
+	private final PlayerNameCache playerNameCache;
 
-	private final Map<String, Long> lastCached;
-	private final Map<String, SupplierCommandPagination> cachedPaginations;
+	// Pages and counts are accessed by asynchronous tasks. Pages are keyed by achievement name and page number, and the
+	// least recently used ones are evicted.
+	private final Map<String, CachedValue<List<AwardedDBAchievement>>> cachedPages;
+	private final Map<String, CachedValue<Integer>> cachedRecipientsAmounts;
+
+	private BKTree displayNamesTree;
 
 	@Inject
 	public InspectCommand(@Named("main") CommentedYamlConfiguration mainConfig,
 			@Named("lang") CommentedYamlConfiguration langConfig, StringBuilder pluginHeader,
 			AdvancedAchievements advancedAchievements, AbstractDatabaseManager databaseManager,
-			@Named("dtn") Map<String, String> displayNamesToNames) {
+			@Named("dtn") Map<String, String> displayNamesToNames, PlayerNameCache playerNameCache) {
 		super(mainConfig, langConfig, pluginHeader);
 		this.advancedAchievements = advancedAchievements;
 		this.databaseManager = databaseManager;
 		this.displayNamesToNames = displayNamesToNames;
+		this.playerNameCache = playerNameCache;
+
+		this.cachedPages = Collections.synchronizedMap(new LinkedHashMap<String, CachedValue<List<AwardedDBAchievement>>>(
+				MAX_CACHED_PAGES, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
 
-		this.lastCached = new HashMap<>();
-		this.cachedPaginations = new HashMap<>();
+			@Override
+			protected boolean removeEldestEntry(Entry<String, CachedValue<List<AwardedDBAchievement>>> eldest) {
+				return size() > MAX_CACHED_PAGES;
+			}
+		});
+		this.cachedRecipientsAmounts = new ConcurrentHashMap<>();
 	}
 
 	@Override
 	public void extractConfigurationParameters() {
 		super.extractConfigurationParameters();
+
+		displayNamesTree = new BKTree(displayNamesToNames.keySet());
 	}
 
 	private int getPage(String[] args) {
@@ -79,20 +96,30 @@ public class InspectCommand extends AbstractCommand {
 		String achievementName = getAchievementName(achievementDisplayName);
 		if (achievementName == null) {
 			sender.sendMessage(pluginHeader + LangHelper.getEachReplaced(CmdLang.ACHIEVEMENT_NOT_RECOGNIZED, langConfig,
-					new String[] { "NAME", "CLOSEST_MATCH" }, new String[] { achievementDisplayName, StringHelper
-							.getClosestMatch(achievementDisplayName, displayNamesToNames.keySet()) }));
+					new String[] { "NAME", "CLOSEST_MATCH" }, new String[] { achievementDisplayName,
+							displayNamesTree.getClosestMatch(achievementDisplayName) }));
 			return;
 		}
 		int page = getPage(args);
 
 		advancedAchievements.getServer().getScheduler().runTaskAsynchronously(advancedAchievements, () -> {
-			// Cleaning the cache & caching desired pagination
-			cleanUpCache();
-			checkAndCache(achievementName);
-
-			// Send pagination
-			SupplierCommandPagination pagination = cachedPaginations.get(achievementName);
-			pagination.sendPage(page, sender);
+			int recipientsAmount = getRecipientsAmount(achievementName);
+			int maxPage = (recipientsAmount + PER_PAGE - 1) / PER_PAGE;
+			int pageToSend = Math.min(Math.max(page, 1), maxPage);
+
+			sender.sendMessage(ChatColor.translateAlternateColorCodes('&',
+					LangHelper.getEachReplaced(CmdLang.PAGINATION_HEADER, langConfig, new String[] { "PAGE", "MAX" },
+							new String[] { Integer.toString(pageToSend), Integer.toString(maxPage) })));
+			if (pageToSend > 0) {
+				for (AwardedDBAchievement achievement : getRecipientsPage(achievementName, pageToSend)) {
+					UUID uuid = achievement.getAwardedTo();
+					String name = playerNameCache.getPlayerName(uuid);
+					String identifier = name != null ? name : uuid.toString();
+					sender.sendMessage("  " + identifier + " (" + achievement.getFormattedDate() + ")");
+				}
+			}
+			sender.sendMessage(
+					ChatColor.translateAlternateColorCodes('&', LangHelper.get(CmdLang.PAGINATION_FOOTER, langConfig)));
 		});
 	}
 
@@ -122,36 +149,68 @@ public class InspectCommand extends AbstractCommand {
 		return achievementName;
 	}
 
-	private void cleanUpCache() {
-		long time = System.currentTimeMillis();
-		Set<String> toRemove = new HashSet<>();
-		for (Map.Entry<String, Long> entry : lastCached.entrySet()) {
-			if (time - CACHE_EXPIRATION_DELAY > entry.getValue()) {
-				toRemove.add(entry.getKey());
-			}
-		}
-		for (String achievementName : toRemove) {
-			cachedPaginations.remove(achievementName);
-			lastCached.remove(achievementName);
+	/**
+	 * Retrieves the number of recipients of an achievement, using a cached value if recent enough.
+	 *
+	 * @param achievementName
+	 * @return the number of players who have received the achievement
+	 */
+	private int getRecipientsAmount(String achievementName) {
+		CachedValue<Integer> cachedAmount = cachedRecipientsAmounts.get(achievementName);
+		if (cachedAmount == null || cachedAmount.isExpired()) {
+			cachedAmount = new CachedValue<>(databaseManager.getAchievementRecipientsAmount(achievementName));
+			cachedRecipientsAmounts.put(achievementName, cachedAmount);
 		}
+		return cachedAmount.getValue();
+	}
 
+	/**
+	 * Retrieves a page of recipients of an achievement, using a cached page if recent enough. If the previous page is
+	 * cached, its last recipient is used as the starting point of the query, so that the database does not have to
+	 * skip over all the preceding recipients.
+	 *
+	 * @param achievementName
+	 * @param page
+	 * @return the recipients in the page
+	 */
+	private List<AwardedDBAchievement> getRecipientsPage(String achievementName, int page) {
+		CachedValue<List<AwardedDBAchievement>> cachedPage = cachedPages.get(achievementName + ":" + page);
+		if (cachedPage != null && !cachedPage.isExpired()) {
+			return cachedPage.getValue();
+		}
+		AwardedDBAchievement previousRecipient = null;
+		CachedValue<List<AwardedDBAchievement>> previousPage = cachedPages.get(achievementName + ":" + (page - 1));
+		if (previousPage != null && !previousPage.isExpired() && !previousPage.getValue().isEmpty()) {
+			List<AwardedDBAchievement> previousRecipients = previousPage.getValue();
+			previousRecipient = previousRecipients.get(previousRecipients.size() - 1);
+		}
+		List<AwardedDBAchievement> recipients = databaseManager.getAchievementRecipients(achievementName,
+				previousRecipient, (page - 1) * PER_PAGE, PER_PAGE);
+		cachedPages.put(achievementName + ":" + page, new CachedValue<>(recipients));
+		return recipients;
 	}
 
-	private void checkAndCache(String achievementName) {
-		if (System.currentTimeMillis() - CACHE_EXPIRATION_DELAY > lastCached.getOrDefault(achievementName, 0L)) {
-			List<AwardedDBAchievement> recipientList = databaseManager.getAchievementsRecipientList(achievementName);
-			// Use Suppliers to avoid huge work on getting UUID - name relations.
-			List<Supplier<String>> messages = recipientList.stream()
-					.map(achievement -> (Supplier<String>) () -> {
-						UUID uuid = achievement.getAwardedTo();
-						OfflinePlayer player = advancedAchievements.getServer().getOfflinePlayer(uuid);
-						String identifier = player.hasPlayedBefore() ? player.getName() : uuid.toString();
-						return "  " + identifier + " (" + achievement.getFormattedDate() + ")";
-					}).collect(Collectors.toList());
-
-			SupplierCommandPagination pagination = new SupplierCommandPagination(messages, PER_PAGE, langConfig);
-			cachedPaginations.put(achievementName, pagination);
-			lastCached.put(achievementName, System.currentTimeMillis());
+	/**
+	 * Small wrapper around a value retrieved from the database, which expires after a given delay.
+	 *
+	 * @param <T>
+	 */
+	private static final class CachedValue<T> {
+
+		private final T value;
+		private final long cachedTime;
+
+		CachedValue(T value) {
+			this.value = value;
+			this.cachedTime = System.currentTimeMillis();
+		}
+
+		T getValue() {
+			return value;
+		}
+
+		boolean isExpired() {
+			return System.currentTimeMillis() - cachedTime > CACHE_EXPIRATION_DELAY;
 		}
 	}
 }
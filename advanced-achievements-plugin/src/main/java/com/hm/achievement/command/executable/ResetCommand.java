@@ -1,7 +1,13 @@
 package com.hm.achievement.command.executable;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.ToIntFunction;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -11,36 +17,44 @@ import org.apache.commons.lang3.StringUtils;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.category.MultipleAchievements;
+import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.db.AbstractDatabaseManager;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.db.data.PlayerSelection;
 import com.hm.achievement.lang.LangHelper;
+import com.hm.achievement.lang.MessageTemplate;
 import com.hm.achievement.lang.command.CmdLang;
-import com.hm.achievement.utils.StringHelper;
+import com.hm.achievement.utils.BKTree;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
- * Class in charge of handling the /aach reset command, which resets the statistics for a given player and achievement
- * category.
+ * Class in charge of handling the /aach reset command, which resets the statistics for a given player or selection of
+ * players and achievement category.
  * 
  * @author Pyves
  */
 @Singleton
 @CommandSpec(name = "reset", permission = "reset", minArgs = 3, maxArgs = 3)
-public class ResetCommand extends AbstractParsableCommand {
+public class ResetCommand extends AbstractBulkCommand {
 
 	public static final String WILDCARD = "*";
 
 	private final CacheManager cacheManager;
 	private final Set<String> enabledCategoriesWithSubcategories;
 
-	private String langResetSuccessful;
-	private String langResetAllSuccessful;
-	private String langCategoryDoesNotExist;
+	private BKTree categoriesTree;
+	private MessageTemplate langResetSuccessful;
+	private MessageTemplate langResetAllSuccessful;
+	private MessageTemplate langCategoryDoesNotExist;
 
 	@Inject
 	public ResetCommand(@Named("main") CommentedYamlConfiguration mainConfig,
 			@Named("lang") CommentedYamlConfiguration langConfig, StringBuilder pluginHeader, CacheManager cacheManager,
-			Set<String> enabledCategoriesWithSubcategories) {
-		super(mainConfig, langConfig, pluginHeader);
+			Set<String> enabledCategoriesWithSubcategories, AbstractDatabaseManager databaseManager,
+			AdvancedAchievements advancedAchievements) {
+		super(mainConfig, langConfig, pluginHeader, databaseManager, advancedAchievements);
 		this.cacheManager = cacheManager;
 		this.enabledCategoriesWithSubcategories = enabledCategoriesWithSubcategories;
 	}
@@ -49,9 +63,14 @@ public class ResetCommand extends AbstractParsableCommand {
 	public void extractConfigurationParameters() {
 		super.extractConfigurationParameters();
 
-		langResetSuccessful = pluginHeader + LangHelper.get(CmdLang.RESET_SUCCESSFUL, langConfig);
-		langResetAllSuccessful = pluginHeader + LangHelper.get(CmdLang.RESET_ALL_SUCCESSFUL, langConfig);
-		langCategoryDoesNotExist = pluginHeader + LangHelper.get(CmdLang.CATEGORY_DOES_NOT_EXIST, langConfig);
+		langResetSuccessful = MessageTemplate
+				.compile(pluginHeader + LangHelper.get(CmdLang.RESET_SUCCESSFUL, langConfig), "CAT", "PLAYER");
+		langResetAllSuccessful = MessageTemplate
+				.compile(pluginHeader + LangHelper.get(CmdLang.RESET_ALL_SUCCESSFUL, langConfig), "PLAYER");
+		langCategoryDoesNotExist = MessageTemplate.compile(
+				pluginHeader + LangHelper.get(CmdLang.CATEGORY_DOES_NOT_EXIST, langConfig), "CAT", "CLOSEST_MATCH");
+
+		categoriesTree = new BKTree(enabledCategoriesWithSubcategories);
 	}
 
 	@Override
@@ -59,15 +78,51 @@ public class ResetCommand extends AbstractParsableCommand {
 		String categoryWithSubcategory = args[1];
 		if (WILDCARD.equals(categoryWithSubcategory)) {
 			cacheManager.resetPlayerStatistics(player.getUniqueId(), enabledCategoriesWithSubcategories);
-			sender.sendMessage(StringUtils.replace(langResetAllSuccessful, "PLAYER", player.getName()));
+			sender.sendMessage(langResetAllSuccessful.render(player.getName()));
 		} else if (enabledCategoriesWithSubcategories.contains(categoryWithSubcategory)) {
 			cacheManager.resetPlayerStatistics(player.getUniqueId(), Collections.singletonList(categoryWithSubcategory));
-			sender.sendMessage(StringUtils.replaceEach(langResetSuccessful, new String[] { "CAT", "PLAYER" },
-					new String[] { categoryWithSubcategory, player.getName() }));
+			sender.sendMessage(langResetSuccessful.render(categoryWithSubcategory, player.getName()));
+		} else {
+			sendCategoryDoesNotExist(sender, categoryWithSubcategory);
+		}
+	}
+
+	@Override
+	void onExecuteForPlayers(CommandSender sender, String[] args, PlayerSelection players) {
+		String categoryWithSubcategory = args[1];
+		Collection<String> categoriesWithSubcategories;
+		if (WILDCARD.equals(categoryWithSubcategory)) {
+			categoriesWithSubcategories = enabledCategoriesWithSubcategories;
+		} else if (enabledCategoriesWithSubcategories.contains(categoryWithSubcategory)) {
+			categoriesWithSubcategories = Collections.singletonList(categoryWithSubcategory);
 		} else {
-			sender.sendMessage(StringUtils.replaceEach(langCategoryDoesNotExist, new String[] { "CAT", "CLOSEST_MATCH" },
-					new String[] { categoryWithSubcategory,
-							StringHelper.getClosestMatch(categoryWithSubcategory, enabledCategoriesWithSubcategories) }));
+			sendCategoryDoesNotExist(sender, categoryWithSubcategory);
+			return;
 		}
+
+		// Cached values would otherwise overwrite the reset statistics when written to the database.
+		cacheManager.resetCachedStatistics(players::contains, categoriesWithSubcategories);
+
+		// A single statement per category and partition of players, regardless of the number of subcategories.
+		List<ToIntFunction<PlayerSelection>> operations = new ArrayList<>();
+		Map<MultipleAchievements, List<String>> categoriesToSubcategories = new HashMap<>();
+		for (String category : categoriesWithSubcategories) {
+			if (category.contains(".")) {
+				categoriesToSubcategories.computeIfAbsent(
+						MultipleAchievements.getByName(StringUtils.substringBefore(category, ".")),
+						c -> new ArrayList<>()).add(StringUtils.substringAfter(category, "."));
+			} else {
+				NormalAchievements normalCategory = NormalAchievements.getByName(category);
+				operations.add(partition -> databaseManager.deleteStatistics(partition, normalCategory));
+			}
+		}
+		categoriesToSubcategories.forEach((category, subcategories) -> operations
+				.add(partition -> databaseManager.deleteStatistics(partition, category, subcategories)));
+		executeBulkOperation(sender, players, operations);
+	}
+
+	private void sendCategoryDoesNotExist(CommandSender sender, String categoryWithSubcategory) {
+		sender.sendMessage(langCategoryDoesNotExist.render(categoryWithSubcategory,
+				categoriesTree.getClosestMatch(categoryWithSubcategory)));
 	}
 }
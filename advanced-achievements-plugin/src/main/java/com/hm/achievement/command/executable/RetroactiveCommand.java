@@ -0,0 +1,64 @@
+package com.hm.achievement.command.executable;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.bukkit.command.CommandSender;
+
+import com.hm.achievement.lang.LangHelper;
+import com.hm.achievement.lang.MessageTemplate;
+import com.hm.achievement.lang.command.CmdLang;
+import com.hm.achievement.utils.RetroactiveAwardEngine;
+import com.hm.mcshared.file.CommentedYamlConfiguration;
+
+/**
+ * Class in charge of handling the /aach retroactive command, which awards achievements to all players whose
+ * statistics already exceed their thresholds, for instance after new thresholds were added to the configuration.
+ *
+ * @author Pyves
+ */
+@Singleton
+@CommandSpec(name = "retroactive", permission = "retroactive", minArgs = 1, maxArgs = 1)
+public class RetroactiveCommand extends AbstractCommand {
+
+	private final RetroactiveAwardEngine retroactiveAwardEngine;
+
+	private String langRetroactiveStarted;
+	private String langRetroactiveAlreadyRunning;
+	private MessageTemplate langRetroactiveProgress;
+	private MessageTemplate langRetroactiveCompleted;
+
+	@Inject
+	public RetroactiveCommand(@Named("main") CommentedYamlConfiguration mainConfig,
+			@Named("lang") CommentedYamlConfiguration langConfig, StringBuilder pluginHeader,
+			RetroactiveAwardEngine retroactiveAwardEngine) {
+		super(mainConfig, langConfig, pluginHeader);
+		this.retroactiveAwardEngine = retroactiveAwardEngine;
+	}
+
+	@Override
+	public void extractConfigurationParameters() {
+		super.extractConfigurationParameters();
+
+		langRetroactiveStarted = pluginHeader + LangHelper.get(CmdLang.RETROACTIVE_STARTED, langConfig);
+		langRetroactiveAlreadyRunning = pluginHeader + LangHelper.get(CmdLang.RETROACTIVE_ALREADY_RUNNING, langConfig);
+		langRetroactiveProgress = MessageTemplate.compile(
+				pluginHeader + LangHelper.get(CmdLang.RETROACTIVE_PROGRESS, langConfig), "STEP", "TOTAL", "AMOUNT");
+		langRetroactiveCompleted = MessageTemplate
+				.compile(pluginHeader + LangHelper.get(CmdLang.RETROACTIVE_COMPLETED, langConfig), "AMOUNT");
+	}
+
+	@Override
+	void onExecute(CommandSender sender, String[] args) {
+		boolean started = retroactiveAwardEngine.startEvaluation((evaluatedCategories, totalCategories, amount) -> {
+			if (evaluatedCategories == totalCategories) {
+				sender.sendMessage(langRetroactiveCompleted.render(Integer.toString(amount)));
+			} else {
+				sender.sendMessage(langRetroactiveProgress.render(Integer.toString(evaluatedCategories),
+						Integer.toString(totalCategories), Integer.toString(amount)));
+			}
+		});
+		sender.sendMessage(started ? langRetroactiveStarted : langRetroactiveAlreadyRunning);
+	}
+}
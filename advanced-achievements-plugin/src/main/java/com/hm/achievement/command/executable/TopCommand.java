@@ -6,7 +6,8 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
-import com.hm.achievement.db.AbstractDatabaseManager;
+import com.hm.achievement.db.PlayerNameCache;
+import com.hm.achievement.db.RankingCache;
 import com.hm.achievement.lang.command.CmdLang;
 import com.hm.achievement.utils.SoundPlayer;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
@@ -23,14 +24,8 @@ public class TopCommand extends AbstractRankingCommand {
 	@Inject
 	public TopCommand(@Named("main") CommentedYamlConfiguration mainConfig,
 			@Named("lang") CommentedYamlConfiguration langConfig, StringBuilder pluginHeader, Logger logger,
-			int serverVersion, AbstractDatabaseManager databaseManager, SoundPlayer soundPlayer) {
-		super(mainConfig, langConfig, pluginHeader, logger, serverVersion, CmdLang.TOP_ACHIEVEMENT, databaseManager,
-				soundPlayer);
-	}
-
-	@Override
-	long getRankingStartTime() {
-		// All time ranking, no time start.
-		return 0L;
+			int serverVersion, RankingCache rankingCache, SoundPlayer soundPlayer, PlayerNameCache playerNameCache) {
+		super(mainConfig, langConfig, pluginHeader, logger, serverVersion, CmdLang.TOP_ACHIEVEMENT,
+				RankingCache.Period.ALL_TIME, rankingCache, soundPlayer, playerNameCache);
 	}
 }
@@ -1,5 +1,17 @@
 package com.hm.achievement.command.external;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiPredicate;
+
+import org.apache.commons.lang3.StringUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
@@ -14,11 +26,6 @@ import org.bukkit.entity.minecart.CommandMinecart;
 import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Team;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
-import java.util.concurrent.ThreadLocalRandom;
-
 public class CommandUtils {
 
 	/**
@@ -26,6 +33,21 @@ public class CommandUtils {
 	 * https://github.com/ZombieStriker/PsudoCommands/blob/master/src/me/zombie_striker/psudocommands/CommandUtils.java
 	 */
 
+	private static final int MAX_CACHED_SELECTORS = 100;
+	private static final BiPredicate<Entity, Location> NEVER = (e, l) -> false;
+
+	// Selectors compiled from previous arguments; the least recently used ones are evicted.
+	private static final Map<String, TargetSelector> COMPILED_SELECTORS = Collections
+			.synchronizedMap(new LinkedHashMap<String, TargetSelector>(MAX_CACHED_SELECTORS, 0.75f, true) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Entry<String, TargetSelector> eldest) {
+					return size() > MAX_CACHED_SELECTORS;
+				}
+			});
+
 	/**
 	 * Use this if you are unsure if a player provided the "@a" tag. This will allow multiple entities to be retrieved.
 	 * <p>
@@ -35,183 +57,32 @@ public class CommandUtils {
 	 * The may also be empty or null values at the end of the array. Once a null value has been reached, you do not need
 	 * to loop through any of the higher indexes
 	 * <p>
+	 * Selectors are parsed once into a chain of conditions with pre-computed values, which is then evaluated against
+	 * each candidate entity. Location based conditions are evaluated first, and candidates are restricted to the
+	 * relevant worlds, to the entities around the sender when a radius is specified, or to players when no entity type
+	 * is specified.
+	 * <p>
 	 * Currently supports the tags:
 	 *
 	 * @param arg the argument that we are testing for
 	 * @param sender the sender of the command
 	 * @return The entities that match the criteria
-	 * @p , @a , @e , @r
+	 * @p , @a , @e , @r , @s
 	 *    <p>
-	 *    Currently supports the selectors: [type=] [r=] [rm=] [c=] [w=] [m=] [name=] [l=] [lm=] [h=] [hm=] [rx=] [rxm=]
-	 *    [ry=] [rym=] [team=] [score_---=] [score_---_min=] [x] [y] [z] [limit=] [x_rotation] [y_rotation]
+	 *    Currently supports the selectors: [type=] [r=] [rm=] [distance=] [c=] [w=] [m=] [name=] [l=] [lm=] [level=]
+	 *    [h=] [hm=] [rx=] [rxm=] [ry=] [rym=] [team=] [tag=] [score_---=] [score_---_min=] [scores={}] [x] [y] [z]
+	 *    [limit=] [x_rotation] [y_rotation]
 	 *    <p>
 	 *    All selectors can be inverted.
 	 */
 	public static Entity[] getTargets(CommandSender sender, String arg) {
-		Entity[] ents;
-		Location loc = null;
-		if (sender instanceof Player) {
-			loc = ((Player) sender).getLocation();
-		} else if (sender instanceof BlockCommandSender) {
-			// Center of block.
-			loc = ((BlockCommandSender) sender).getBlock().getLocation().add(0.5, 0, 0.5);
-		} else if (sender instanceof CommandMinecart) {
-			loc = ((CommandMinecart) sender).getLocation();
-		}
-		String[] tags = getTags(arg);
-
-		// prefab fix
-		for (String s : tags) {
-			if (hasTag(SelectorType.X, s)) {
-				loc.setX(getInt(s));
-			} else if (hasTag(SelectorType.Y, s)) {
-				loc.setY(getInt(s));
-			} else if (hasTag(SelectorType.Z, s)) {
-				loc.setZ(getInt(s));
-			}
+		TargetSelector selector = arg.length() > 1 && arg.charAt(0) == '@'
+				? COMPILED_SELECTORS.computeIfAbsent(arg, TargetSelector::compile)
+				: null;
+		if (selector == null) {
+			return new Entity[] { Bukkit.getPlayer(arg) };
 		}
-
-		if (arg.startsWith("@s")) {
-			ents = new Entity[1];
-			if (sender instanceof Player) {
-				boolean good = true;
-				for (int b = 0; b < tags.length; b++) {
-					if (!canBeAccepted(tags[b], (Entity) sender, loc)) {
-						good = false;
-						break;
-					}
-				}
-				if (good) {
-					ents[0] = (Entity) sender;
-				}
-			} else {
-				return null;
-			}
-			return ents;
-		} else if (arg.startsWith("@a")) {
-			// ents = new Entity[maxEnts];
-			List<Entity> listOfValidEntities = new ArrayList<>();
-			int C = getLimit(arg);
-
-			boolean usePlayers = true;
-			for (String tag : tags) {
-				if (hasTag(SelectorType.TYPE, tag)) {
-					usePlayers = false;
-					break;
-				}
-			}
-			List<Entity> ea = new ArrayList<Entity>(Bukkit.getOnlinePlayers());
-			if (!usePlayers) {
-				ea.clear();
-				for (World w : getAcceptedWorldsFullString(loc, arg)) {
-					ea.addAll(w.getEntities());
-				}
-			}
-			for (Entity e : ea) {
-				if (listOfValidEntities.size() >= C)
-					break;
-				boolean isValid = true;
-				for (int b = 0; b < tags.length; b++) {
-					if (!canBeAccepted(tags[b], e, loc)) {
-						isValid = false;
-						break;
-					}
-				}
-				if (isValid) {
-					listOfValidEntities.add(e);
-				}
-			}
-
-			ents = listOfValidEntities.toArray(new Entity[listOfValidEntities.size()]);
-
-		} else if (arg.startsWith("@p")) {
-			ents = new Entity[1];
-			double closestInt = Double.MAX_VALUE;
-			Entity closest = null;
-
-			for (World w : getAcceptedWorldsFullString(loc, arg)) {
-				for (Player e : w.getPlayers()) {
-					if (e == sender)
-						continue;
-					Location temp = loc;
-					if (temp == null)
-						temp = e.getWorld().getSpawnLocation();
-					double distance = e.getLocation().distanceSquared(temp);
-					if (closestInt > distance) {
-						boolean good = true;
-						for (String tag : tags) {
-							if (!canBeAccepted(tag, e, temp)) {
-								good = false;
-								break;
-							}
-						}
-						if (good) {
-							closestInt = distance;
-							closest = e;
-						}
-					}
-				}
-			}
-			ents[0] = closest;
-		} else if (arg.startsWith("@e")) {
-			List<Entity> entities = new ArrayList<Entity>();
-			int C = getLimit(arg);
-			for (World w : getAcceptedWorldsFullString(loc, arg)) {
-				for (Entity e : w.getEntities()) {
-					if (entities.size() > C)
-						break;
-					if (e == sender)
-						continue;
-					boolean valid = true;
-					for (String tag : tags) {
-						if (!canBeAccepted(tag, e, loc)) {
-							valid = false;
-							break;
-						}
-					}
-					if (valid) {
-						entities.add(e);
-					}
-				}
-			}
-			ents = entities.toArray(new Entity[entities.size()]);
-		} else if (arg.startsWith("@r")) {
-			Random r = ThreadLocalRandom.current();
-			ents = new Entity[1];
-
-			List<Entity> validEntities = new ArrayList<>();
-			for (World w : getAcceptedWorldsFullString(loc, arg)) {
-				if (hasTag(SelectorType.TYPE, arg)) {
-					for (Entity e : w.getEntities()) {
-						boolean good = true;
-						for (String tag : tags) {
-							if (!canBeAccepted(tag, e, loc)) {
-								good = false;
-								break;
-							}
-						}
-						if (good)
-							validEntities.add(e);
-					}
-				} else {
-					for (Entity e : Bukkit.getOnlinePlayers()) {
-						boolean good = true;
-						for (String tag : tags) {
-							if (!canBeAccepted(tag, e, loc)) {
-								good = false;
-								break;
-							}
-						}
-						if (good)
-							validEntities.add(e);
-					}
-				}
-			}
-			ents[0] = validEntities.get(r.nextInt(validEntities.size()));
-		} else {
-			ents = new Entity[] { Bukkit.getPlayer(arg) };
-		}
-		return ents;
+		return selector.getTargets(sender);
 	}
 
 	/**
@@ -226,7 +97,7 @@ public class CommandUtils {
 	 */
 	public static Entity getTarget(CommandSender sender, String arg) {
 		Entity[] e = getTargets(sender, arg);
-		if (e.length == 0)
+		if (e == null || e.length == 0)
 			return null;
 		return e[0];
 	}
@@ -278,67 +149,8 @@ public class CommandUtils {
 		return 0;
 	}
 
-	private static boolean canBeAccepted(String arg, Entity e, Location loc) {
-		if (hasTag(SelectorType.X_ROTATION, arg) && isWithinYaw(arg, e))
-			return true;
-		if (hasTag(SelectorType.Y_ROTATION, arg) && isWithinPitch(arg, e))
-			return true;
-		if (hasTag(SelectorType.TYPE, arg) && isType(arg, e))
-			return true;
-		if (hasTag(SelectorType.NAME, arg) && isName(arg, e))
-			return true;
-		if (hasTag(SelectorType.TEAM, arg) && isTeam(arg, e))
-			return true;
-		if (hasTag(SelectorType.SCORE_FULL, arg) && isScore(arg, e))
-			return true;
-		if (hasTag(SelectorType.SCORE_MIN, arg) && isScoreMin(arg, e))
-			return true;
-		if (hasTag(SelectorType.SCORE_13, arg) && isScoreWithin(arg, e))
-			return true;
-		if (hasTag(SelectorType.DISTANCE, arg) && isWithinDistance(arg, loc, e))
-			return true;
-		if (hasTag(SelectorType.LEVEL, arg) && isWithinLevel(arg, e))
-			return true;
-		if (hasTag(SelectorType.TAG, arg) && isHasTags(arg, e))
-			return true;
-		if (hasTag(SelectorType.RYM, arg) && isRYM(arg, e))
-			return true;
-		if (hasTag(SelectorType.RXM, arg) && isRXM(arg, e))
-			return true;
-		if (hasTag(SelectorType.HM, arg) && isHM(arg, e))
-			return true;
-		if (hasTag(SelectorType.RY, arg) && isRY(arg, e))
-			return true;
-		if (hasTag(SelectorType.RX, arg) && isRX(arg, e))
-			return true;
-		if (hasTag(SelectorType.RM, arg) && isRM(arg, loc, e))
-			return true;
-		if (hasTag(SelectorType.LMax, arg) && isLM(arg, e))
-			return true;
-		if (hasTag(SelectorType.L, arg) && isL(arg, e))
-			return true;
-		if (hasTag(SelectorType.m, arg) && isM(arg, e))
-			return true;
-		if (hasTag(SelectorType.H, arg) && isH(arg, e))
-			return true;
-		if (hasTag(SelectorType.World, arg) && isW(arg, loc, e))
-			return true;
-		if (hasTag(SelectorType.R, arg) && isR(arg, loc, e))
-			return true;
-		if (hasTag(SelectorType.X, arg))
-			return true;
-		if (hasTag(SelectorType.Y, arg))
-			return true;
-		if (hasTag(SelectorType.Z, arg))
-			return true;
-		return false;
-	}
-
-	private static String[] getTags(String arg) {
-		if (!arg.contains("["))
-			return new String[0];
-		String tags = arg.split("\\[")[1].split("\\]")[0];
-		return tags.split(",");
+	public static String getString(String arg) {
+		return arg.split("=")[1].replaceAll("!", "");
 	}
 
 	private static int mathIt(String args, int relInt) {
@@ -397,400 +209,455 @@ public class CommandUtils {
 		return total;
 	}
 
-	private static int getLimit(String arg) {
-		if (hasTag(SelectorType.LIMIT, arg))
-			for (String s : getTags(arg)) {
-				if (hasTag(SelectorType.LIMIT, s)) {
-					return getInt(s);
-				}
-			}
-		if (hasTag(SelectorType.C, arg))
-			for (String s : getTags(arg)) {
-				if (hasTag(SelectorType.C, s)) {
-					return getInt(s);
-				}
+	/**
+	 * Splits the tags of a selector, ignoring the commas within scores={...} tags.
+	 *
+	 * @param arg
+	 * @return the tags of the selector
+	 */
+	private static List<String> getTags(String arg) {
+		List<String> tags = new ArrayList<>();
+		int start = arg.indexOf('[');
+		int end = arg.lastIndexOf(']');
+		if (start < 0 || end < start) {
+			return tags;
+		}
+		int depth = 0;
+		int tagStart = start + 1;
+		for (int i = tagStart; i < end; ++i) {
+			char c = arg.charAt(i);
+			if (c == '{') {
+				++depth;
+			} else if (c == '}') {
+				--depth;
+			} else if (c == ',' && depth == 0) {
+				tags.add(arg.substring(tagStart, i).trim());
+				tagStart = i + 1;
 			}
-		return Integer.MAX_VALUE;
-	}
-
-	private static String getType(String arg) {
-		if (hasTag(SelectorType.TYPE, arg))
-			return arg.toLowerCase().split("=")[1].replace("!", "");
-		return "Player";
-	}
-
-	private static String getName(String arg) {
-		String reparg = arg.replace(" ", "_");
-		return reparg.replace("!", "").split("=")[1];
-	}
-
-	private static World getW(String arg) {
-		return Bukkit.getWorld(getString(arg));
-	}
-
-	private static String getScoreMinName(String arg) {
-		return arg.split("=")[0].substring(0, arg.split("=")[0].length() - 1 - 4).replace("score_", "");
-	}
-
-	private static String getScoreName(String arg) {
-		return arg.split("=")[0].replace("score_", "");
+		}
+		tags.add(arg.substring(tagStart, end).trim());
+		return tags;
+	}
+
+	private static GameMode getGameMode(String value) {
+		switch (value.toLowerCase()) {
+			case "0":
+			case "s":
+			case "survival":
+				return GameMode.SURVIVAL;
+			case "1":
+			case "c":
+			case "creative":
+				return GameMode.CREATIVE;
+			case "2":
+			case "a":
+			case "adventure":
+				return GameMode.ADVENTURE;
+			case "3":
+			case "sp":
+			case "spectator":
+				return GameMode.SPECTATOR;
+			default:
+				return null;
+		}
 	}
 
-	private static String getTeam(String arg) {
-		return arg.toLowerCase().replace("!", "").split("=")[1];
+	private static boolean isInTeam(Entity e, String teamName) {
+		for (Team t : Bukkit.getScoreboardManager().getMainScoreboard().getTeams()) {
+			if (t.getName().equalsIgnoreCase(teamName) && t.getEntries().contains(e.getName())) {
+				return true;
+			}
+		}
+		return false;
 	}
 
-	private static float getValueAsFloat(String arg) {
-		return Float.parseFloat(arg.replace("!", "").split("=")[1]);
+	private static Integer getScore(Entity e, String objectiveName) {
+		Objective o = Bukkit.getScoreboardManager().getMainScoreboard().getObjective(objectiveName);
+		return o == null ? null : o.getScore(e.getName()).getScore();
 	}
 
-	private static int getValueAsInteger(String arg) {
-		return Integer.parseInt(arg.replace("!", "").split("=")[1]);
-	}
+	/**
+	 * Inclusive bounds parsed from values such as 5, 1..5, 1.. or ..5.
+	 */
+	private static final class Range {
 
-	private static GameMode getM(String arg) {
-		String[] split = arg.replace("!", "").toLowerCase().split("=");
-		String returnType = split[1];
-		if (returnType.equalsIgnoreCase("0") || returnType.equalsIgnoreCase("s")
-				|| returnType.equalsIgnoreCase("survival"))
-			return GameMode.SURVIVAL;
-		if (returnType.equalsIgnoreCase("1") || returnType.equalsIgnoreCase("c")
-				|| returnType.equalsIgnoreCase("creative"))
-			return GameMode.CREATIVE;
-		if (returnType.equalsIgnoreCase("2") || returnType.equalsIgnoreCase("a")
-				|| returnType.equalsIgnoreCase("adventure"))
-			return GameMode.ADVENTURE;
-		if (returnType.equalsIgnoreCase("3") || returnType.equalsIgnoreCase("sp")
-				|| returnType.equalsIgnoreCase("spectator"))
-			return GameMode.SPECTATOR;
-		return null;
-	}
+		private final double min;
+		private final double max;
 
-	private static List<World> getAcceptedWorldsFullString(Location loc, String fullString) {
-		String string = null;
-		for (String tag : getTags(fullString)) {
-			if (hasTag(SelectorType.World, tag)) {
-				string = tag;
-				break;
-			}
+		private Range(double min, double max) {
+			this.min = min;
+			this.max = max;
 		}
-		if (string == null) {
-			List<World> worlds = new ArrayList<World>();
-			if (loc == null || loc.getWorld() == null) {
-				worlds.addAll(Bukkit.getWorlds());
-			} else {
-				worlds.add(loc.getWorld());
+
+		private static Range parse(String value) {
+			if (!value.contains("..")) {
+				double exact = Double.parseDouble(value);
+				return new Range(exact, exact);
 			}
-			return worlds;
+			String lower = StringUtils.substringBefore(value, "..");
+			String upper = StringUtils.substringAfter(value, "..");
+			return new Range(lower.isEmpty() ? -Double.MAX_VALUE : Double.parseDouble(lower),
+					upper.isEmpty() ? Double.MAX_VALUE : Double.parseDouble(upper));
 		}
-		return getAcceptedWorlds(string);
-	}
 
-	private static List<World> getAcceptedWorlds(String string) {
-		List<World> worlds = new ArrayList<World>(Bukkit.getWorlds());
-		if (isInverted(string)) {
-			worlds.remove(getW(string));
-		} else {
-			worlds.clear();
-			worlds.add(getW(string));
+		private boolean contains(double value) {
+			return min <= value && value <= max;
 		}
-		return worlds;
 	}
 
-	private static boolean isTeam(String arg, Entity e) {
-		if (!(e instanceof Player))
-			return false;
-		for (Team t : Bukkit.getScoreboardManager().getMainScoreboard().getTeams()) {
-			if ((t.getName().equalsIgnoreCase(getTeam(arg)) != isInverted(arg))) {
-				if ((t.getEntries().contains(((Player) e).getName()) != isInverted(arg)))
-					return true;
-			}
+	/**
+	 * Selector compiled from an argument such as @a[r=10,tag=foo]. Immutable once compiled, and therefore shared
+	 * between all the commands using the same argument.
+	 */
+	private static final class TargetSelector {
+
+		private final char type;
+		// Conditions depending on the location of the entities, evaluated before the other conditions.
+		private final List<BiPredicate<Entity, Location>> locationConditions = new ArrayList<>();
+		private final List<BiPredicate<Entity, Location>> otherConditions = new ArrayList<>();
+		private Double x;
+		private Double y;
+		private Double z;
+		private int limit = Integer.MAX_VALUE;
+		private boolean entityTypeSpecified;
+		private String worldName;
+		private boolean worldInverted;
+		// Maximum distance to the sender, or a negative value if not specified.
+		private double maxRadius = -1.0;
+
+		private TargetSelector(char type) {
+			this.type = type;
 		}
-		return false;
-	}
 
-	private static boolean isWithinPitch(String arg, Entity e) {
-		float pitch = getValueAsFloat(arg);
-		return isWithinDoubleValue(isInverted(arg), arg, e.getLocation().getPitch());
-	}
-
-	private static boolean isWithinYaw(String arg, Entity e) {
-		float pitch = getValueAsFloat(arg);
-		return isWithinDoubleValue(isInverted(arg), arg, e.getLocation().getYaw());
-	}
-
-	private static boolean isWithinDistance(String arg, Location start, Entity e) {
-		double distanceMin = 0;
-		double distanceMax = Double.MAX_VALUE;
-		String distance = arg.split("=")[1];
-		if (e.getLocation().getWorld() != start.getWorld())
-			return false;
-		if (distance.contains("..")) {
-			String[] temp = distance.split("\\.\\.");
-			if (!temp[0].isEmpty()) {
-				distanceMin = Integer.parseInt(temp[0]);
+		/**
+		 * Parses a selector argument.
+		 *
+		 * @param arg
+		 * @return the compiled selector, or null if the argument does not correspond to a supported selector
+		 */
+		private static TargetSelector compile(String arg) {
+			if ("aeprs".indexOf(arg.charAt(1)) < 0) {
+				return null;
 			}
-			if (temp.length > 1 && !temp[1].isEmpty()) {
-				distanceMax = Double.parseDouble(temp[1]);
+			TargetSelector selector = new TargetSelector(arg.charAt(1));
+			for (String tag : getTags(arg)) {
+				try {
+					selector.addTag(tag);
+				} catch (RuntimeException e) {
+					// Malformed values match nothing, similarly to unknown tags.
+					selector.otherConditions.add(NEVER);
+				}
 			}
-			double actDis = start.distanceSquared(e.getLocation());
-			return actDis <= distanceMax * distanceMax && distanceMin * distanceMin <= actDis;
-		} else {
-			int mult = Integer.parseInt(distance);
-			mult *= mult;
-			return ((int) start.distanceSquared(e.getLocation())) == mult;
+			return selector;
 		}
-	}
 
-	private static boolean isWithinLevel(String arg, Entity e) {
-		if (!(e instanceof Player))
-			return false;
-		double distanceMin = 0;
-		double distanceMax = Double.MAX_VALUE;
-		String distance = arg.split("=")[1];
-		if (distance.contains("..")) {
-			String[] temp = distance.split("..");
-			if (!temp[0].isEmpty()) {
-				distanceMin = Integer.parseInt(temp[0]);
+		private void addTag(String tag) {
+			String key = StringUtils.substringBefore(tag, "=").trim();
+			String value = StringUtils.substringAfter(tag, "=").trim();
+			boolean inverted = value.startsWith("!");
+			if (inverted) {
+				value = value.substring(1);
 			}
-			if (temp[1] != null && !temp[1].isEmpty()) {
-				distanceMax = Double.parseDouble(temp[1]);
+			String stringValue = value;
+			switch (key.toLowerCase()) {
+				case "x":
+					x = Double.parseDouble(value);
+					break;
+				case "y":
+					y = Double.parseDouble(value);
+					break;
+				case "z":
+					z = Double.parseDouble(value);
+					break;
+				case "c":
+				case "limit":
+					limit = Integer.parseInt(value);
+					break;
+				case "type":
+					entityTypeSpecified = true;
+					String entityType = StringUtils.removeStartIgnoreCase(value, "minecraft:");
+					otherConditions.add((e, l) -> e.getType().name().equalsIgnoreCase(entityType) != inverted);
+					break;
+				case "name":
+					String name = value.replace(' ', '_');
+					otherConditions.add((e, l) -> (e.getCustomName() != null
+							&& e.getCustomName().replace(' ', '_').equals(name)
+							|| e instanceof Player && ((Player) e).getName().equalsIgnoreCase(name)) != inverted);
+					break;
+				case "team":
+					otherConditions.add((e, l) -> e instanceof Player && isInTeam(e, stringValue) != inverted);
+					break;
+				case "tag":
+					otherConditions.add((e, l) -> e.getScoreboardTags().contains(stringValue) != inverted);
+					break;
+				case "m":
+					GameMode gameMode = getGameMode(value);
+					if (gameMode != null) {
+						otherConditions.add((e, l) -> e instanceof HumanEntity
+								&& (((HumanEntity) e).getGameMode() == gameMode) != inverted);
+					}
+					break;
+				case "w":
+					worldName = value;
+					worldInverted = inverted;
+					locationConditions.add((e, l) -> e.getWorld().getName().equalsIgnoreCase(stringValue) != inverted);
+					break;
+				case "r":
+					addDistanceCondition(new Range(0.0, Double.parseDouble(value)), inverted);
+					break;
+				case "rm":
+					addDistanceCondition(new Range(Double.parseDouble(value), Double.MAX_VALUE), inverted);
+					break;
+				case "distance":
+					addDistanceCondition(Range.parse(value), inverted);
+					break;
+				case "level":
+					Range levels = Range.parse(value);
+					otherConditions.add((e, l) -> e instanceof Player
+							&& levels.contains(((Player) e).getLevel()) != inverted);
+					break;
+				case "l":
+					Range maxLevel = new Range(-Double.MAX_VALUE, Double.parseDouble(value));
+					otherConditions.add((e, l) -> e instanceof Player
+							&& maxLevel.contains(((Player) e).getLevel()) != inverted);
+					break;
+				case "lm":
+					Range minLevel = new Range(Double.parseDouble(value), Double.MAX_VALUE);
+					otherConditions.add((e, l) -> e instanceof Player
+							&& minLevel.contains(((Player) e).getLevel()) != inverted);
+					break;
+				case "h":
+					double minHealth = Double.parseDouble(value);
+					otherConditions.add((e, l) -> e instanceof Damageable
+							&& (((Damageable) e).getHealth() > minHealth) != inverted);
+					break;
+				case "hm":
+					double maxHealth = Double.parseDouble(value);
+					otherConditions.add((e, l) -> e instanceof Damageable
+							&& (((Damageable) e).getHealth() < maxHealth) != inverted);
+					break;
+				case "x_rotation":
+					addRotationCondition(Range.parse(value), inverted, true);
+					break;
+				case "rx":
+					addRotationCondition(new Range(-Double.MAX_VALUE, Double.parseDouble(value)), inverted, true);
+					break;
+				case "rxm":
+					addRotationCondition(new Range(Double.parseDouble(value), Double.MAX_VALUE), inverted, true);
+					break;
+				case "y_rotation":
+					addRotationCondition(Range.parse(value), inverted, false);
+					break;
+				case "ry":
+					addRotationCondition(new Range(-Double.MAX_VALUE, Double.parseDouble(value)), inverted, false);
+					break;
+				case "rym":
+					addRotationCondition(new Range(Double.parseDouble(value), Double.MAX_VALUE), inverted, false);
+					break;
+				case "scores":
+					addScoresCondition(value, inverted);
+					break;
+				default:
+					if (StringUtils.startsWithIgnoreCase(key, "score_")) {
+						addScoreCondition(key.substring("score_".length()), value, inverted);
+					} else {
+						// Unknown tags match nothing, a mistyped selector must not target every entity.
+						otherConditions.add(NEVER);
+					}
+					break;
 			}
-			double actDis = ((Player) e).getExpToLevel();
-			return actDis <= distanceMax * distanceMax && distanceMin * distanceMin <= actDis;
-		} else {
-			return ((Player) e).getExpToLevel() == Integer.parseInt(distance);
 		}
-	}
 
-	private static boolean isScore(String arg, Entity e) {
-		if (!(e instanceof Player))
-			return false;
-		for (Objective o : Bukkit.getScoreboardManager().getMainScoreboard().getObjectives()) {
-			if (o.getName().equalsIgnoreCase(getScoreName(arg))) {
-				if ((o.getScore(((Player) e).getName()).getScore() <= getValueAsInteger(arg) != isInverted(arg)))
-					return true;
+		private void addDistanceCondition(Range distances, boolean inverted) {
+			if (!inverted && distances.max < Double.MAX_VALUE) {
+				maxRadius = maxRadius < 0 ? distances.max : Math.min(maxRadius, distances.max);
 			}
-		}
-		return false;
-	}
-
-	private static boolean isScoreWithin(String arg, Entity e) {
-		if (!(e instanceof Player))
-			return false;
-		String[] scores = arg.split("\\{")[1].split("\\}")[0].split(",");
-		for (int i = 0; i < scores.length; i++) {
-			String[] s = scores[i].split("=");
-			String name = s[0];
-
-			for (Objective o : Bukkit.getScoreboardManager().getMainScoreboard().getObjectives()) {
-				if (o.getName().equalsIgnoreCase(name)) {
-					if (!isWithinDoubleValue(isInverted(arg), s[1], o.getScore(e.getName()).getScore()))
-						return false;
+			double minSquared = distances.min <= 0 ? -1.0 : distances.min * distances.min;
+			double maxSquared = distances.max == Double.MAX_VALUE ? Double.MAX_VALUE : distances.max * distances.max;
+			locationConditions.add((e, l) -> {
+				if (l == null || l.getWorld() != e.getWorld()) {
+					return false;
 				}
-			}
+				double distanceSquared = l.distanceSquared(e.getLocation());
+				return (minSquared <= distanceSquared && distanceSquared <= maxSquared) != inverted;
+			});
 		}
-		return true;
-
-	}
 
-	private static boolean isHasTags(String arg, Entity e) {
-		if (!(e instanceof Player))
-			return false;
-		return isInverted(arg) != e.getScoreboardTags().contains(getString(arg));
+		private void addRotationCondition(Range angles, boolean inverted, boolean pitch) {
+			otherConditions.add((e, l) -> {
+				Location entityLocation = e.getLocation();
+				return angles.contains(pitch ? entityLocation.getPitch() : entityLocation.getYaw()) != inverted;
+			});
+		}
 
-	}
+		private void addScoreCondition(String scoreKey, String value, boolean inverted) {
+			int bound = Integer.parseInt(value);
+			boolean minimum = StringUtils.endsWithIgnoreCase(scoreKey, "_min");
+			String objectiveName = minimum ? scoreKey.substring(0, scoreKey.length() - "_min".length()) : scoreKey;
+			otherConditions.add((e, l) -> {
+				if (!(e instanceof Player)) {
+					return false;
+				}
+				Integer score = getScore(e, objectiveName);
+				return score != null && (minimum ? score >= bound : score <= bound) != inverted;
+			});
+		}
 
-	private static boolean isScoreMin(String arg, Entity e) {
-		if (!(e instanceof Player))
-			return false;
-		for (Objective o : Bukkit.getScoreboardManager().getMainScoreboard().getObjectives()) {
-			if (o.getName().equalsIgnoreCase(getScoreMinName(arg))) {
-				if ((o.getScore(((Player) e).getName()).getScore() >= getValueAsInteger(arg) != isInverted(arg)))
-					return true;
+		private void addScoresCondition(String value, boolean inverted) {
+			Map<String, Range> objectivesToRanges = new HashMap<>();
+			for (String score : StringUtils.strip(value, "{}").split(",")) {
+				objectivesToRanges.put(StringUtils.substringBefore(score, "=").trim(),
+						Range.parse(StringUtils.substringAfter(score, "=").trim()));
 			}
+			otherConditions.add((e, l) -> {
+				for (Entry<String, Range> objectiveToRange : objectivesToRanges.entrySet()) {
+					Integer score = getScore(e, objectiveToRange.getKey());
+					// Objectives which do not exist are ignored.
+					if (score != null && !objectiveToRange.getValue().contains(score)) {
+						return inverted;
+					}
+				}
+				return !inverted;
+			});
 		}
-		return false;
-	}
 
-	private static boolean isRM(String arg, Location loc, Entity e) {
-		if (loc.getWorld() != e.getWorld())
-			return false;
-		return isGreaterThan(arg, loc.distance(e.getLocation()));
-	}
-
-	private static boolean isR(String arg, Location loc, Entity e) {
-		if (loc.getWorld() != e.getWorld())
-			return false;
-		return isLessThan(arg, loc.distance(e.getLocation()));
-
-	}
-
-	private static boolean isRXM(String arg, Entity e) {
-		return isLessThan(arg, e.getLocation().getYaw());
-	}
-
-	private static boolean isRX(String arg, Entity e) {
-		return isGreaterThan(arg, e.getLocation().getYaw());
-	}
-
-	private static boolean isRYM(String arg, Entity e) {
-		return isLessThan(arg, e.getLocation().getPitch());
-	}
-
-	private static boolean isRY(String arg, Entity e) {
-		return isGreaterThan(arg, e.getLocation().getPitch());
-	}
+		private Entity[] getTargets(CommandSender sender) {
+			Location location = getSenderLocation(sender);
+			if (location != null) {
+				if (x != null) {
+					location.setX(x);
+				}
+				if (y != null) {
+					location.setY(y);
+				}
+				if (z != null) {
+					location.setZ(z);
+				}
+			}
 
-	private static boolean isL(String arg, Entity e) {
-		if (e instanceof Player) {
-			isLessThan(arg, ((Player) e).getTotalExperience());
+			switch (type) {
+				case 's':
+					if (!(sender instanceof Player)) {
+						return null;
+					}
+					return new Entity[] { accepts((Entity) sender, location) ? (Entity) sender : null };
+				case 'p':
+					return new Entity[] { getClosestPlayer(sender, location) };
+				case 'r':
+					List<Entity> validEntities = getValidEntities(getCandidates(location, !entityTypeSpecified), null,
+							location, Integer.MAX_VALUE);
+					if (validEntities.isEmpty()) {
+						return new Entity[] { null };
+					}
+					// A single random entity is selected unless c or limit are specified.
+					Collections.shuffle(validEntities, ThreadLocalRandom.current());
+					int randomEntities = Math.min(limit == Integer.MAX_VALUE ? 1 : limit, validEntities.size());
+					return validEntities.subList(0, randomEntities).toArray(new Entity[0]);
+				case 'a':
+					return getValidEntities(getCandidates(location, !entityTypeSpecified), null, location, limit)
+							.toArray(new Entity[0]);
+				default:
+					return getValidEntities(getCandidates(location, false), sender, location, limit)
+							.toArray(new Entity[0]);
+			}
 		}
-		return false;
-	}
 
-	private static boolean isLM(String arg, Entity e) {
-		if (e instanceof Player) {
-			return isGreaterThan(arg, ((Player) e).getTotalExperience());
+		private Location getSenderLocation(CommandSender sender) {
+			if (sender instanceof Player) {
+				return ((Player) sender).getLocation();
+			} else if (sender instanceof BlockCommandSender) {
+				// Center of block.
+				return ((BlockCommandSender) sender).getBlock().getLocation().add(0.5, 0, 0.5);
+			} else if (sender instanceof CommandMinecart) {
+				return ((CommandMinecart) sender).getLocation();
+			}
+			return null;
 		}
-		return false;
-	}
-
-	private static boolean isH(String arg, Entity e) {
-		if (e instanceof Damageable)
-			return isGreaterThan(arg, ((Damageable) e).getHealth());
-		return false;
-	}
 
-	private static boolean isHM(String arg, Entity e) {
-		if (e instanceof Damageable)
-			return isLessThan(arg, ((Damageable) e).getHealth());
-		return false;
-	}
-
-	private static boolean isM(String arg, Entity e) {
-		if (getM(arg) == null)
-			return true;
-		if (e instanceof HumanEntity) {
-			if ((isInverted(arg) != (getM(arg) == ((HumanEntity) e).getGameMode())))
-				return true;
+		/**
+		 * Returns the entities which may match the selector. Only the entities around the location are returned if a
+		 * maximum distance is specified, and only players are returned if no entity type is specified.
+		 *
+		 * @param location
+		 * @param playersOnly
+		 * @return the candidate entities
+		 */
+		private Collection<? extends Entity> getCandidates(Location location, boolean playersOnly) {
+			if (maxRadius >= 0 && location != null && location.getWorld() != null) {
+				return playersOnly ? location.getWorld().getPlayers()
+						: location.getWorld().getNearbyEntities(location, maxRadius, maxRadius, maxRadius);
+			}
+			if (playersOnly) {
+				return Bukkit.getOnlinePlayers();
+			}
+			List<Entity> candidates = new ArrayList<>();
+			for (World world : getAcceptedWorlds(location)) {
+				candidates.addAll(world.getEntities());
+			}
+			return candidates;
 		}
-		return false;
-	}
-
-	private static boolean isW(String arg, Location loc, Entity e) {
-		if (getW(arg) == null) {
-			return true;
-		} else if ((isInverted(arg) != getAcceptedWorlds(arg).contains(getW(arg))))
-			return true;
-		return false;
-	}
-
-	private static boolean isName(String arg, Entity e) {
-		if (getName(arg) == null)
-			return true;
-		if ((isInverted(arg) != (e.getCustomName() != null) && isInverted(arg) != (getName(arg)
-				.equals(e.getCustomName().replace(" ", "_"))
-				|| (e instanceof Player && ((Player) e).getName().replace(" ", "_").equalsIgnoreCase(getName(arg))))))
-			return true;
-		return false;
-	}
-
-	private static boolean isType(String arg, Entity e) {
-		boolean invert = isInverted(arg);
-		String type = getType(arg);
-		if (invert != e.getType().name().equalsIgnoreCase(type))
-			return true;
-		return false;
-
-	}
 
-	private static boolean isInverted(String arg) {
-		return arg.toLowerCase().split("!").length != 1;
-	}
-
-	private static int getInt(String arg) {
-		int mult = Integer.parseInt(arg.split("=")[1]);
-		return mult;
-	}
-
-	public static String getString(String arg) {
-		return arg.split("=")[1].replaceAll("!", "");
-	}
-
-	private static boolean isLessThan(String arg, double value) {
-		boolean inverted = isInverted(arg);
-		double mult = Double.parseDouble(arg.split("=")[1]);
-		return (value < mult) != inverted;
-	}
-
-	private static boolean isGreaterThan(String arg, double value) {
-		boolean inverted = isInverted(arg);
-		double mult = Double.parseDouble(arg.split("=")[1]);
-		return (value > mult) != inverted;
-	}
-
-	private static boolean isWithinDoubleValue(boolean inverted, String arg, double value) {
-		double min = -Double.MAX_VALUE;
-		double max = Double.MAX_VALUE;
-		if (arg.contains("..")) {
-			String[] temp = arg.split("\\.\\.");
-			if (!temp[0].isEmpty()) {
-				min = Integer.parseInt(temp[0]);
+		private List<World> getAcceptedWorlds(Location location) {
+			if (worldName == null) {
+				if (location == null || location.getWorld() == null) {
+					return Bukkit.getWorlds();
+				}
+				return Collections.singletonList(location.getWorld());
 			}
-			if (temp.length > 1 && !temp[1].isEmpty()) {
-				max = Double.parseDouble(temp[1]);
+			List<World> worlds = new ArrayList<>();
+			for (World world : Bukkit.getWorlds()) {
+				if (world.getName().equalsIgnoreCase(worldName) != worldInverted) {
+					worlds.add(world);
+				}
 			}
-			return (value <= max * max && min * min <= value) != inverted;
-		} else {
-			double mult = Double.parseDouble(arg);
-			return (value == mult) != inverted;
+			return worlds;
 		}
-	}
 
-	private static boolean hasTag(SelectorType type, String arg) {
-		return arg.toLowerCase().startsWith(type.getName());
-	}
+		private List<Entity> getValidEntities(Collection<? extends Entity> candidates, CommandSender excluded,
+				Location location, int maxEntities) {
+			List<Entity> validEntities = new ArrayList<>();
+			for (Entity candidate : candidates) {
+				if (validEntities.size() >= maxEntities) {
+					break;
+				}
+				if (candidate != excluded && accepts(candidate, location)) {
+					validEntities.add(candidate);
+				}
+			}
+			return validEntities;
+		}
 
-	enum SelectorType {
-
-		LEVEL("level="),
-		DISTANCE("distance="),
-		TYPE("type="),
-		NAME("name="),
-		TEAM("team="),
-		LMax("lm="),
-		L("l="),
-		World("w="),
-		m("m="),
-		C("c="),
-		HM("hm="),
-		H("h="),
-		RM("rm="),
-		RYM("rym="),
-		RX("rx="),
-		SCORE_FULL("score="),
-		SCORE_MIN("score_min"),
-		SCORE_13("scores="),
-		R("r="),
-		RXM("rxm="),
-		RY("ry="),
-		TAG("tag="),
-		X("x="),
-		Y("y="),
-		Z("z="),
-		LIMIT("limit="),
-		Y_ROTATION("y_rotation"),
-		X_ROTATION("x_rotation");
-
-		String name;
-
-		SelectorType(String s) {
-			this.name = s;
+		private Player getClosestPlayer(CommandSender sender, Location location) {
+			double closestDistance = Double.MAX_VALUE;
+			Player closest = null;
+			for (World world : getAcceptedWorlds(location)) {
+				for (Player player : world.getPlayers()) {
+					if (player == sender) {
+						continue;
+					}
+					Location reference = location == null ? player.getWorld().getSpawnLocation() : location;
+					double distance = player.getLocation().distanceSquared(reference);
+					if (distance < closestDistance && accepts(player, reference)) {
+						closestDistance = distance;
+						closest = player;
+					}
+				}
+			}
+			return closest;
 		}
 
-		public String getName() {
-			return name;
+		private boolean accepts(Entity entity, Location location) {
+			for (BiPredicate<Entity, Location> condition : locationConditions) {
+				if (!condition.test(entity, location)) {
+					return false;
+				}
+			}
+			for (BiPredicate<Entity, Location> condition : otherConditions) {
+				if (!condition.test(entity, location)) {
+					return false;
+				}
+			}
+			return true;
 		}
 	}
 }
@@ -43,6 +43,7 @@ public class ConfigurationParser {
 	private final FileUpdater fileUpdater;
 	private final Map<String, String> namesToDisplayNames;
 	private final Map<String, String> displayNamesToNames;
+	private final Map<String, String> namesToCategories;
 	private final Map<String, List<Long>> sortedThresholds;
 	private final Set<Category> disabledCategories;
 	private final Set<String> enabledCategoriesWithSubcategories;
@@ -54,15 +55,17 @@ public class ConfigurationParser {
 	public ConfigurationParser(@Named("main") CommentedYamlConfiguration mainConfig,
 			@Named("lang") CommentedYamlConfiguration langConfig, @Named("gui") CommentedYamlConfiguration guiConfig,
 			FileUpdater fileUpdater, @Named("ntd") Map<String, String> namesToDisplayNames,
-			@Named("dtn") Map<String, String> displayNamesToNames, Map<String, List<Long>> sortedThresholds,
-			Set<Category> disabledCategories, Set<String> enabledCategoriesWithSubcategories, StringBuilder pluginHeader,
-			Logger logger, int serverVersion) {
+			@Named("dtn") Map<String, String> displayNamesToNames, @Named("ntc") Map<String, String> namesToCategories,
+			Map<String, List<Long>> sortedThresholds, Set<Category> disabledCategories,
+			Set<String> enabledCategoriesWithSubcategories, StringBuilder pluginHeader, Logger logger,
+			int serverVersion) {
 		this.mainConfig = mainConfig;
 		this.langConfig = langConfig;
 		this.guiConfig = guiConfig;
 		this.fileUpdater = fileUpdater;
 		this.namesToDisplayNames = namesToDisplayNames;
 		this.displayNamesToNames = displayNamesToNames;
+		this.namesToCategories = namesToCategories;
 		this.sortedThresholds = sortedThresholds;
 		this.disabledCategories = disabledCategories;
 		this.enabledCategoriesWithSubcategories = enabledCategoriesWithSubcategories;
@@ -274,6 +277,7 @@ public class ConfigurationParser {
 	private void parseAchievements() throws PluginLoadError {
 		namesToDisplayNames.clear();
 		displayNamesToNames.clear();
+		namesToCategories.clear();
 		sortedThresholds.clear();
 
 		// Enumerate Commands achievements.
@@ -332,7 +336,8 @@ public class ConfigurationParser {
 	}
 
 	/**
-	 * Performs validation for a single achievement and populates an entry in the namesToDisplayNames map.
+	 * Performs validation for a single achievement and populates entries in the namesToDisplayNames,
+	 * displayNamesToNames and namesToCategories maps.
 	 *
 	 * @param path
 	 * @throws PluginLoadError If the achievement fails to parse due to misconfiguration.
@@ -352,6 +357,8 @@ public class ConfigurationParser {
 			String formattedDisplayName = StringHelper
 					.removeFormattingCodes(mainConfig.getString(path + ".DisplayName", achName)).toLowerCase();
 			displayNamesToNames.put(formattedDisplayName, achName);
+			// Category or category.subcategory the achievement belongs to.
+			namesToCategories.put(achName, StringUtils.substringBeforeLast(path, "."));
 		}
 	}
 
@@ -166,6 +166,31 @@ public class FileUpdater {
 		updateSetting(config, "HideProgressiveAchievements", false,
 				"Similar to ObfuscateProgressiveAchievements, but displays not received achievements as locked in /aach list.");
 
+		// Added in 6.2.0:
+		updateSetting(config, "PeriodicTasksTickBudget", 2000,
+				"Maximum time spent per server tick on periodic player checks, such as played time and distance (microseconds).",
+				"Checks are spread over their interval; players exceeding the budget are processed during the following ticks.");
+		updateSetting(config, "PeriodicTasksMetricsInterval", 0,
+				"Frequency at which the number of players processed by each periodic check and the time spent are logged (minutes).",
+				"0 disables logging.");
+		updateSetting(config, "UseVanillaStatistics", false,
+				"Compute PlayedTime and Distance categories from the statistics already tracked by the server instead of monitoring",
+				"players, sampling them at the frequency below (seconds). Cheaper and unaffected by teleports, but llama distances are",
+				"counted as horse distances.");
+		updateSetting(config, "VanillaStatisticsTaskInterval", 30);
+		updateSetting(config, "CoalesceStatisticIncreases", false,
+				"Group Breaks, Places, Pickups and Drops statistic increases of each player and process them once per server tick.",
+				"Recommended if other plugins (tree-fellers, vein-miners, auto-pickup, ...) trigger many of these events at once.");
+		updateSetting(config, "AsyncThresholdEvaluation", false,
+				"Compare statistics to achievement thresholds on a separate thread; only awarding achievements is done on the main",
+				"server thread, in batches. Achievements may be received a few ticks later than usual.");
+		updateSetting(config, "CoalesceAchievementReceptions", false,
+				"Handle all achievements received by a player during the same server tick together: a single database write, one",
+				"summarised notification and one firework. Rewards and events are still given and fired for each achievement.");
+		updateSetting(config, "RewardsAndEffectsTickBudget", 0,
+				"Maximum time spent per server tick on reward commands, notifications and fireworks (microseconds). Actions exceeding",
+				"the budget are executed during the following ticks; identical effects for a player are merged. 0 executes immediately.");
+
 		if (updatePerformed) {
 			// Changes in the configuration: save and do a fresh load.
 			try {
@@ -2,25 +2,35 @@ package com.hm.achievement.db;
 
 import java.io.UnsupportedEncodingException;
 import java.sql.Connection;
-import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
-import java.text.DateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.IntSupplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -29,6 +39,7 @@ import org.apache.commons.lang3.StringUtils;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.data.AwardedDBAchievement;
+import com.hm.achievement.db.data.PlayerSelection;
 import com.hm.achievement.exception.PluginLoadError;
 import com.hm.achievement.lifecycle.Reloadable;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
@@ -40,6 +51,11 @@ import com.hm.mcshared.file.CommentedYamlConfiguration;
  */
 public abstract class AbstractDatabaseManager implements Reloadable {
 
+	// Maximum number of values in IN or NOT IN lists, well under SQLite's limit of 999 parameters per statement.
+	public static final int MAX_LIST_PARAMETERS = 400;
+
+	private static final int STATISTICS_FETCH_SIZE = 5000;
+
 	// Used to do perform the database write operations asynchronously.
 	ExecutorService pool;
 	// Connection to the database; remains opened and shared.
@@ -53,7 +69,8 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 	private final Map<String, String> namesToDisplayNames;
 	private final DatabaseUpdater databaseUpdater;
 
-	private DateFormat dateFormat;
+	// Immutable and thread-safe, dates being formatted on both the main server thread and asynchronous tasks.
+	private volatile DateTimeFormatter dateFormatter;
 	private boolean configBookChronologicalOrder;
 
 	public AbstractDatabaseManager(CommentedYamlConfiguration mainConfig, Logger logger,
@@ -74,11 +91,10 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 		String localeString = mainConfig.getString("DateLocale", "en");
 		boolean dateDisplayTime = mainConfig.getBoolean("DateDisplayTime");
 		Locale locale = new Locale(localeString);
-		if (dateDisplayTime) {
-			dateFormat = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.SHORT, locale);
-		} else {
-			dateFormat = DateFormat.getDateInstance(DateFormat.MEDIUM, locale);
-		}
+		DateTimeFormatter formatter = dateDisplayTime
+				? DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM, FormatStyle.SHORT)
+				: DateTimeFormatter.ofLocalizedDate(FormatStyle.MEDIUM);
+		dateFormatter = formatter.withLocale(locale).withZone(ZoneId.systemDefault());
 	}
 
 	/**
@@ -108,6 +124,7 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 
 		databaseUpdater.renameExistingTables(this);
 		databaseUpdater.initialiseTables(this);
+		databaseUpdater.createRecipientsIndex(this);
 		databaseUpdater.updateOldDBToTimestamps(this);
 		Arrays.stream(MultipleAchievements.values()).forEach(m -> databaseUpdater.updateOldDBColumnSize(this, m));
 	}
@@ -214,7 +231,7 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 				ps.setString(2, achName);
 				ResultSet rs = ps.executeQuery();
 				if (rs.next()) {
-					return dateFormat.format(new Date(rs.getTimestamp(1).getTime()));
+					return formatDate(rs.getTimestamp(1).getTime());
 				}
 			}
 			return null;
@@ -328,6 +345,30 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 		}).executeOperation(pool, logger, "registering an achievement");
 	}
 
+	/**
+	 * Registers several new achievements for a player with the reception time set to now, in a single batch.
+	 *
+	 * @param uuid
+	 * @param namesToMessages achievement names mapped to their messages
+	 */
+	public void registerAchievements(UUID uuid, Map<String, String> namesToMessages) {
+		String sql = "REPLACE INTO " + prefix + "achievements VALUES (?,?,?,?)";
+		Timestamp timestamp = new Timestamp(System.currentTimeMillis());
+		((SQLWriteOperation) () -> {
+			Connection conn = getSQLConnection();
+			try (PreparedStatement ps = conn.prepareStatement(sql)) {
+				for (Entry<String, String> nameToMessage : namesToMessages.entrySet()) {
+					ps.setObject(1, uuid, Types.CHAR);
+					ps.setString(2, nameToMessage.getKey());
+					ps.setString(3, nameToMessage.getValue() == null ? "" : nameToMessage.getValue());
+					ps.setTimestamp(4, timestamp);
+					ps.addBatch();
+				}
+				ps.executeBatch();
+			}
+		}).executeOperation(pool, logger, "registering achievements");
+	}
+
 	/**
 	 * Checks whether player has received a specific achievement.
 	 *
@@ -473,35 +514,44 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 	}
 
 	/**
-	 * Deletes an achievement from a player.
+	 * Deletes an achievement from a player, alongside its reward if it is still pending.
 	 *
 	 * @param uuid
 	 * @param achName
 	 */
 	public void deletePlayerAchievement(UUID uuid, String achName) {
-		String sql = "DELETE FROM " + prefix + "achievements WHERE playername = ? AND achievement = ?";
+		String sqlAchievements = "DELETE FROM " + prefix + "achievements WHERE playername = ? AND achievement = ?";
+		String sqlRewards = "DELETE FROM " + prefix + "pendingrewards WHERE playername = ? AND achievement = ?";
 		((SQLWriteOperation) () -> {
 			Connection conn = getSQLConnection();
-			try (PreparedStatement ps = conn.prepareStatement(sql)) {
-				ps.setObject(1, uuid, Types.CHAR);
-				ps.setString(2, achName);
-				ps.execute();
+			try (PreparedStatement psAchievements = conn.prepareStatement(sqlAchievements);
+					PreparedStatement psRewards = conn.prepareStatement(sqlRewards)) {
+				psAchievements.setObject(1, uuid, Types.CHAR);
+				psAchievements.setString(2, achName);
+				psAchievements.execute();
+				psRewards.setObject(1, uuid, Types.CHAR);
+				psRewards.setString(2, achName);
+				psRewards.execute();
 			}
 		}).executeOperation(pool, logger, "deleting an achievement");
 	}
 
 	/**
-	 * Deletes all achievements from a player.
+	 * Deletes all achievements from a player, alongside their pending rewards.
 	 *
 	 * @param uuid
 	 */
 	public void deleteAllPlayerAchievements(UUID uuid) {
-		String sql = "DELETE FROM " + prefix + "achievements WHERE playername = ?";
+		String sqlAchievements = "DELETE FROM " + prefix + "achievements WHERE playername = ?";
+		String sqlRewards = "DELETE FROM " + prefix + "pendingrewards WHERE playername = ?";
 		((SQLWriteOperation) () -> {
 			Connection conn = getSQLConnection();
-			try (PreparedStatement ps = conn.prepareStatement(sql)) {
-				ps.setObject(1, uuid, Types.CHAR);
-				ps.execute();
+			try (PreparedStatement psAchievements = conn.prepareStatement(sqlAchievements);
+					PreparedStatement psRewards = conn.prepareStatement(sqlRewards)) {
+				psAchievements.setObject(1, uuid, Types.CHAR);
+				psAchievements.execute();
+				psRewards.setObject(1, uuid, Types.CHAR);
+				psRewards.execute();
 			}
 		}).executeOperation(pool, logger, "deleting all achievements");
 	}
@@ -521,6 +571,419 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 		}).executeOperation(pool, logger, "clearing connection statistics");
 	}
 
+	/**
+	 * Executes the steps of a bulk operation one after the other on the database thread pool.
+	 *
+	 * @param steps database operations, each returning the number of affected entries
+	 * @param progressCallback called after each step with the number of completed steps and of affected entries, or
+	 *            once with no completed steps if there are none
+	 */
+	public void executeBulkOperation(List<IntSupplier> steps, BiConsumer<Integer, Integer> progressCallback) {
+		pool.execute(() -> {
+			if (steps.isEmpty()) {
+				progressCallback.accept(0, 0);
+			}
+			int affectedEntries = 0;
+			for (int i = 0; i < steps.size(); ++i) {
+				affectedEntries += steps.get(i).getAsInt();
+				progressCallback.accept(i + 1, affectedEntries);
+			}
+		});
+	}
+
+	/**
+	 * Deletes an achievement, or all achievements, from a selection of players, alongside the corresponding pending
+	 * rewards.
+	 *
+	 * @param players
+	 * @param achName the name of the achievement, or null to delete all achievements
+	 * @return the number of deleted achievements
+	 */
+	public int deleteAchievements(PlayerSelection players, String achName) {
+		String condition = achName == null ? null : "achievement = ?";
+		List<String> parameters = achName == null ? Collections.emptyList() : Collections.singletonList(achName);
+		int deletedAchievements = executeBulkUpdate("DELETE FROM " + prefix + "achievements", condition, parameters,
+				players, "deleting achievements of several players");
+		// Pending rewards would otherwise award the deleted achievements again on the next connection of the players.
+		executeBulkUpdate("DELETE FROM " + prefix + "pendingrewards", condition, parameters, players,
+				"deleting pending rewards of several players");
+		return deletedAchievements;
+	}
+
+	/**
+	 * Deletes a NormalAchievement statistic of a selection of players.
+	 *
+	 * @param players
+	 * @param category
+	 * @return the number of deleted statistics
+	 */
+	public int deleteStatistics(PlayerSelection players, NormalAchievements category) {
+		return executeBulkUpdate("DELETE FROM " + prefix + category.toDBName(), null, Collections.emptyList(), players,
+				"resetting " + category + " statistics of several players");
+	}
+
+	/**
+	 * Deletes MultipleAchievement statistics of a selection of players, with a single statement for up to
+	 * MAX_LIST_PARAMETERS subcategories.
+	 *
+	 * @param players
+	 * @param category
+	 * @param subcategories
+	 * @return the number of deleted statistics
+	 */
+	public int deleteStatistics(PlayerSelection players, MultipleAchievements category,
+			Collection<String> subcategories) {
+		List<String> subcategoryList = new ArrayList<>(subcategories);
+		int deletedStatistics = 0;
+		for (int i = 0; i < subcategoryList.size(); i += MAX_LIST_PARAMETERS) {
+			List<String> chunk = subcategoryList.subList(i, Math.min(i + MAX_LIST_PARAMETERS, subcategoryList.size()));
+			deletedStatistics += executeBulkUpdate("DELETE FROM " + prefix + category.toDBName(),
+					category.toSubcategoryDBName() + " IN (" + StringUtils.repeat("?", ",", chunk.size()) + ")", chunk,
+					players, "resetting " + category + " statistics of several players");
+		}
+		return deletedStatistics;
+	}
+
+	/**
+	 * Increases a NormalAchievement statistic of a selection of players. Players known to the database without any
+	 * recorded value for the statistic start from zero; players the server has never seen are not affected.
+	 *
+	 * @param players
+	 * @param category
+	 * @param value
+	 * @return the number of increased statistics
+	 */
+	public int increaseStatistics(PlayerSelection players, NormalAchievements category, long value) {
+		String dbName = category.toDBName();
+		// Plain INSERT ... SELECT statement skipping existing rows, supported as is by all databases.
+		executeBulkUpdate("INSERT INTO " + prefix + dbName + " (playername," + dbName + ") SELECT playername,0 FROM "
+				+ prefix + "playernames", "playername NOT IN (SELECT playername FROM " + prefix + dbName + ")",
+				Collections.emptyList(), players, "initialising " + category + " statistics of several players");
+		return executeBulkUpdate("UPDATE " + prefix + dbName + " SET " + dbName + " = " + dbName + " + ?", null,
+				Collections.singletonList(value), players, "increasing " + category + " statistics of several players");
+	}
+
+	/**
+	 * Increases a MultipleAchievement statistic of a selection of players. Players known to the database without any
+	 * recorded value for the statistic start from zero; players the server has never seen are not affected.
+	 *
+	 * @param players
+	 * @param category
+	 * @param subcategory
+	 * @param value
+	 * @return the number of increased statistics
+	 */
+	public int increaseStatistics(PlayerSelection players, MultipleAchievements category, String subcategory,
+			long value) {
+		String dbName = category.toDBName();
+		String subcategoryDBName = category.toSubcategoryDBName();
+		executeBulkUpdate("INSERT INTO " + prefix + dbName + " (playername," + subcategoryDBName + "," + dbName
+				+ ") SELECT playername,?,0 FROM " + prefix + "playernames", "playername NOT IN (SELECT playername FROM "
+				+ prefix + dbName + " WHERE " + subcategoryDBName + " = ?)", Arrays.asList(subcategory, subcategory),
+				players, "initialising " + category + "." + subcategory + " statistics of several players");
+		return executeBulkUpdate("UPDATE " + prefix + dbName + " SET " + dbName + " = " + dbName + " + ?",
+				subcategoryDBName + " = ?", Arrays.asList(value, subcategory), players,
+				"increasing " + category + "." + subcategory + " statistics of several players");
+	}
+
+	/**
+	 * Executes a statement restricted to a selection of players, with an optional additional condition. The selection
+	 * is partitioned so that each statement lists at most MAX_LIST_PARAMETERS players.
+	 *
+	 * @param statement
+	 * @param condition condition on the rows, or null
+	 * @param parameters values of the parameters of the condition, or of the statement itself
+	 * @param players
+	 * @param operationMessage
+	 * @return the number of affected rows
+	 */
+	private int executeBulkUpdate(String statement, String condition, List<?> parameters, PlayerSelection players,
+			String operationMessage) {
+		int affectedRows = 0;
+		for (PlayerSelection partition : players.partition(MAX_LIST_PARAMETERS)) {
+			affectedRows += executePartitionUpdate(statement, condition, parameters, partition, operationMessage);
+		}
+		return affectedRows;
+	}
+
+	private int executePartitionUpdate(String statement, String condition, List<?> parameters,
+			PlayerSelection players, String operationMessage) {
+		List<String> conditions = new ArrayList<>();
+		if (condition != null) {
+			conditions.add(condition);
+		}
+		String uuidPrefix = players.getUUIDPrefix();
+		if (!uuidPrefix.isEmpty()) {
+			conditions.add("playername LIKE ?");
+		}
+		if (players.isListed()) {
+			conditions.add("playername IN (" + StringUtils.repeat("?", ",", players.getPlayers().size()) + ")");
+		} else if (!players.getPlayers().isEmpty()) {
+			conditions.add("playername NOT IN (" + StringUtils.repeat("?", ",", players.getPlayers().size()) + ")");
+		}
+		String sql = conditions.isEmpty() ? statement : statement + " WHERE " + StringUtils.join(conditions, " AND ");
+		AtomicInteger affectedRows = new AtomicInteger();
+		((SQLWriteOperation) () -> {
+			Connection conn = getSQLConnection();
+			try (PreparedStatement ps = conn.prepareStatement(sql)) {
+				int index = 1;
+				for (Object parameter : parameters) {
+					ps.setObject(index++, parameter);
+				}
+				if (!uuidPrefix.isEmpty()) {
+					ps.setString(index++, uuidPrefix + "%");
+				}
+				for (UUID uuid : players.getPlayers()) {
+					ps.setObject(index++, uuid, Types.CHAR);
+				}
+				affectedRows.set(ps.executeUpdate());
+			}
+		}).attemptWrites(logger, operationMessage);
+		return affectedRows.get();
+	}
+
+	/**
+	 * Gets the last known names of all players stored in the database.
+	 *
+	 * @return map containing the name of every known player
+	 */
+	public Map<UUID, String> getPlayerNames() {
+		String sql = "SELECT playername, name FROM " + prefix + "playernames";
+		return ((SQLReadOperation<Map<UUID, String>>) () -> {
+			Map<UUID, String> playerNames = new HashMap<>();
+			Connection conn = getSQLConnection();
+			try (PreparedStatement ps = conn.prepareStatement(sql)) {
+				ps.setFetchSize(1000);
+				try (ResultSet rs = ps.executeQuery()) {
+					while (rs.next()) {
+						String uuid = rs.getString(1);
+						if (StringUtils.isNotEmpty(uuid)) {
+							playerNames.put(UUID.fromString(uuid), rs.getString(2));
+						}
+					}
+				}
+			}
+			return playerNames;
+		}).executeOperation("retrieving the names of players");
+	}
+
+	/**
+	 * Registers or updates the last known name of a player.
+	 *
+	 * @param uuid
+	 * @param name
+	 */
+	public void updatePlayerName(UUID uuid, String name) {
+		String sql = "REPLACE INTO " + prefix + "playernames VALUES (?,?)";
+		((SQLWriteOperation) () -> {
+			Connection conn = getSQLConnection();
+			try (PreparedStatement ps = conn.prepareStatement(sql)) {
+				ps.setObject(1, uuid, Types.CHAR);
+				ps.setString(2, name);
+				ps.execute();
+			}
+		}).executeOperation(pool, logger, "updating a player's name");
+	}
+
+	/**
+	 * Gets the players who have received any of the given achievements, with a single query for up to
+	 * MAX_LIST_PARAMETERS achievements. All the recipients are held in memory, the achievements should therefore be
+	 * limited to a small group, such as the achievements of a subcategory.
+	 *
+	 * @param achievementNames
+	 * @return map with keys corresponding to achievement names and values corresponding to the UUIDs of the recipients
+	 */
+	public Map<String, Set<String>> getAchievementsRecipients(Collection<String> achievementNames) {
+		List<String> nameList = new ArrayList<>(achievementNames);
+		Map<String, Set<String>> recipients = new HashMap<>();
+		for (int i = 0; i < nameList.size(); i += MAX_LIST_PARAMETERS) {
+			List<String> chunk = nameList.subList(i, Math.min(i + MAX_LIST_PARAMETERS, nameList.size()));
+			String sql = "SELECT achievement, playername FROM " + prefix + "achievements WHERE achievement IN ("
+					+ StringUtils.repeat("?", ",", chunk.size()) + ")";
+			((SQLReadOperation<Void>) () -> {
+				Connection conn = getSQLConnection();
+				try (PreparedStatement ps = conn.prepareStatement(sql)) {
+					int index = 1;
+					for (String achievementName : chunk) {
+						ps.setString(index++, achievementName);
+					}
+					ps.setFetchSize(STATISTICS_FETCH_SIZE);
+					try (ResultSet rs = ps.executeQuery()) {
+						while (rs.next()) {
+							recipients.computeIfAbsent(rs.getString(1), a -> new HashSet<>()).add(rs.getString(2));
+						}
+					}
+				}
+				return null;
+			}).executeOperation("retrieving the recipients of achievements");
+		}
+		return recipients;
+	}
+
+	/**
+	 * Streams the NormalAchievement statistics of all players that are greater than or equal to a minimum value. Rows
+	 * are fetched in large chunks, and are passed to the consumer without being retained in memory.
+	 *
+	 * @param category
+	 * @param minimum
+	 * @param consumer
+	 */
+	public void streamStatistics(NormalAchievements category, long minimum, BiConsumer<UUID, Long> consumer) {
+		String dbName = category.toDBName();
+		String sql = "SELECT playername, " + dbName + " FROM " + prefix + dbName + " WHERE " + dbName + " >= ?";
+		((SQLReadOperation<Void>) () -> {
+			Connection conn = getSQLConnection();
+			try (PreparedStatement ps = conn.prepareStatement(sql)) {
+				ps.setLong(1, minimum);
+				ps.setFetchSize(STATISTICS_FETCH_SIZE);
+				try (ResultSet rs = ps.executeQuery()) {
+					while (rs.next()) {
+						UUID uuid = parseUUID(rs.getString(1));
+						if (uuid != null) {
+							consumer.accept(uuid, rs.getLong(2));
+						}
+					}
+				}
+			}
+			return null;
+		}).executeOperation("streaming " + category + " statistics");
+	}
+
+	/**
+	 * Streams the MultipleAchievement statistics of all players for a subcategory that are greater than or equal to a
+	 * minimum value. Rows are fetched in large chunks, and are passed to the consumer without being retained in memory.
+	 *
+	 * @param category
+	 * @param subcategory
+	 * @param minimum
+	 * @param consumer
+	 */
+	public void streamStatistics(MultipleAchievements category, String subcategory, long minimum,
+			BiConsumer<UUID, Long> consumer) {
+		String dbName = category.toDBName();
+		String sql = "SELECT playername, " + dbName + " FROM " + prefix + dbName + " WHERE "
+				+ category.toSubcategoryDBName() + " = ? AND " + dbName + " >= ?";
+		((SQLReadOperation<Void>) () -> {
+			Connection conn = getSQLConnection();
+			try (PreparedStatement ps = conn.prepareStatement(sql)) {
+				ps.setString(1, subcategory);
+				ps.setLong(2, minimum);
+				ps.setFetchSize(STATISTICS_FETCH_SIZE);
+				try (ResultSet rs = ps.executeQuery()) {
+					while (rs.next()) {
+						UUID uuid = parseUUID(rs.getString(1));
+						if (uuid != null) {
+							consumer.accept(uuid, rs.getLong(2));
+						}
+					}
+				}
+			}
+			return null;
+		}).executeOperation("streaming " + category + "." + subcategory + " statistics");
+	}
+
+	/**
+	 * Registers achievements awarded retroactively in a single batch, alongside the rewards to be delivered on the next
+	 * connection of the players. Achievements that are already registered are left untouched and are not rewarded
+	 * again. The write is performed on the calling thread.
+	 *
+	 * @param achievements
+	 */
+	public void registerRetroactiveAchievements(List<AwardedDBAchievement> achievements) {
+		// SQLite does not support the INSERT IGNORE construct of MySQL, which H2 also supports in MySQL mode.
+		String insertIgnore = this instanceof SQLiteDatabaseManager ? "INSERT OR IGNORE INTO " : "INSERT IGNORE INTO ";
+		registerRetroactiveAchievements(achievements, insertIgnore + prefix + "achievements VALUES (?,?,?,?)",
+				insertIgnore + prefix + "pendingrewards VALUES (?,?)");
+	}
+
+	/**
+	 * Registers achievements awarded retroactively with statements ignoring the rows that already exist. Rewards are
+	 * only registered for the achievements that were inserted.
+	 *
+	 * @param achievements
+	 * @param sqlAchievements
+	 * @param sqlRewards
+	 */
+	void registerRetroactiveAchievements(List<AwardedDBAchievement> achievements, String sqlAchievements,
+			String sqlRewards) {
+		((SQLWriteOperation) () -> {
+			Connection conn = getSQLConnection();
+			try (PreparedStatement psAchievements = conn.prepareStatement(sqlAchievements);
+					PreparedStatement psRewards = conn.prepareStatement(sqlRewards)) {
+				for (AwardedDBAchievement achievement : achievements) {
+					psAchievements.setObject(1, achievement.getAwardedTo(), Types.CHAR);
+					psAchievements.setString(2, achievement.getName());
+					psAchievements.setString(3, achievement.getMessage() == null ? "" : achievement.getMessage());
+					psAchievements.setTimestamp(4, new Timestamp(achievement.getDateAwarded()));
+					psAchievements.addBatch();
+				}
+				int[] insertedRows = psAchievements.executeBatch();
+				for (int i = 0; i < insertedRows.length; ++i) {
+					// Achievements received in the meantime, for instance by a player who just connected.
+					if (insertedRows[i] == 0) {
+						continue;
+					}
+					psRewards.setObject(1, achievements.get(i).getAwardedTo(), Types.CHAR);
+					psRewards.setString(2, achievements.get(i).getName());
+					psRewards.addBatch();
+				}
+				psRewards.executeBatch();
+			}
+		}).attemptWrites(logger, "registering retroactive achievements");
+	}
+
+	/**
+	 * Gets the names of the achievements whose rewards are waiting to be delivered to a player.
+	 *
+	 * @param uuid
+	 * @return list of achievement names
+	 */
+	public List<String> getPendingRewards(UUID uuid) {
+		String sql = "SELECT achievement FROM " + prefix + "pendingrewards WHERE playername = ?";
+		return ((SQLReadOperation<List<String>>) () -> {
+			List<String> achievementNames = new ArrayList<>();
+			Connection conn = getSQLConnection();
+			try (PreparedStatement ps = conn.prepareStatement(sql)) {
+				ps.setObject(1, uuid, Types.CHAR);
+				try (ResultSet rs = ps.executeQuery()) {
+					while (rs.next()) {
+						achievementNames.add(rs.getString(1));
+					}
+				}
+			}
+			return achievementNames;
+		}).executeOperation("retrieving pending rewards");
+	}
+
+	/**
+	 * Deletes pending rewards of a player once they have been delivered. The write is performed on the calling thread.
+	 *
+	 * @param uuid
+	 * @param achNames
+	 */
+	public void deletePendingRewards(UUID uuid, Collection<String> achNames) {
+		String sql = "DELETE FROM " + prefix + "pendingrewards WHERE playername = ? AND achievement = ?";
+		((SQLWriteOperation) () -> {
+			Connection conn = getSQLConnection();
+			try (PreparedStatement ps = conn.prepareStatement(sql)) {
+				for (String achName : achNames) {
+					ps.setObject(1, uuid, Types.CHAR);
+					ps.setString(2, achName);
+					ps.addBatch();
+				}
+				ps.executeBatch();
+			}
+		}).attemptWrites(logger, "deleting pending rewards");
+	}
+
+	private static UUID parseUUID(String uuid) {
+		try {
+			return UUID.fromString(uuid);
+		} catch (IllegalArgumentException | NullPointerException e) {
+			return null;
+		}
+	}
+
 	String getPrefix() {
 		return prefix;
 	}
@@ -552,7 +1015,7 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 						Timestamp dateAwarded = rs.getTimestamp(4);
 
 						achievements.add(new AwardedDBAchievement(uuid, achName, achMsg, dateAwarded.getTime(),
-								dateFormat.format(dateAwarded)));
+								formatDate(dateAwarded.getTime())));
 					}
 				}
 			}
@@ -561,22 +1024,93 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 	}
 
 	/**
-	 * Retrieve matching list of achievements for a name of an achievement.
+	 * Returns the achievements received by a player, oldest first. Contrary to
+	 * {@link #getPlayerAchievementsList(UUID)}, achievement names are kept in their database format.
+	 *
+	 * @param uuid UUID of a player.
+	 * @return List of AwardedDBAchievement objects in chronological order.
+	 */
+	public List<AwardedDBAchievement> getPlayerAwardedAchievements(UUID uuid) {
+		String sql = "SELECT achievement, description, date FROM " + prefix
+				+ "achievements WHERE playername = ? ORDER BY date ASC";
+		return ((SQLReadOperation<List<AwardedDBAchievement>>) () -> {
+			List<AwardedDBAchievement> achievements = new ArrayList<>();
+			Connection conn = getSQLConnection();
+			try (PreparedStatement ps = conn.prepareStatement(sql)) {
+				ps.setFetchSize(1000);
+				ps.setObject(1, uuid, Types.CHAR);
+				try (ResultSet rs = ps.executeQuery()) {
+					while (rs.next()) {
+						Timestamp dateAwarded = rs.getTimestamp(3);
+						achievements.add(new AwardedDBAchievement(uuid, rs.getString(1), rs.getString(2),
+								dateAwarded.getTime(), formatDate(dateAwarded.getTime())));
+					}
+				}
+			}
+			return achievements;
+		}).executeOperation("retrieving the history of received achievements");
+	}
+
+	/**
+	 * Formats a reception date in the same way as the dates returned by the database manager.
+	 *
+	 * @param epochMs
+	 * @return date represented as a string
+	 */
+	String formatDate(long epochMs) {
+		return dateFormatter.format(Instant.ofEpochMilli(epochMs));
+	}
+
+	/**
+	 * Counts the number of players who have received an achievement.
+	 *
+	 * @param achievementName Name of an achievement in database format.
+	 * @return number of recipients
+	 */
+	public int getAchievementRecipientsAmount(String achievementName) {
+		String sql = "SELECT COUNT(*) FROM " + prefix + "achievements WHERE achievement = ?";
+		return ((SQLReadOperation<Integer>) () -> {
+			Connection conn = getSQLConnection();
+			try (PreparedStatement ps = conn.prepareStatement(sql)) {
+				ps.setString(1, achievementName);
+				try (ResultSet rs = ps.executeQuery()) {
+					rs.next();
+					return rs.getInt(1);
+				}
+			}
+		}).executeOperation("counting the recipients of an achievement");
+	}
+
+	/**
+	 * Retrieves a page of recipients of an achievement, most recent first.
 	 * <p>
-	 * Limited to 1000 most recent entries to save memory.
+	 * If the last recipient of the previous page is provided, keyset pagination on (date, playername) is used, which
+	 * remains efficient regardless of how deep the page is. Otherwise, the given number of recipients is skipped.
 	 *
 	 * @param achievementName Name of an achievement in database format.
+	 * @param previousRecipient Last recipient of the previous page, or null if unknown.
+	 * @param offset Number of recipients to skip, ignored if previousRecipient is provided.
+	 * @param limit Maximum number of recipients in the page.
 	 * @return List of AwardedDBAchievement objects, message field is empty to save memory.
 	 */
-	public List<AwardedDBAchievement> getAchievementsRecipientList(String achievementName) {
-		String sql = "SELECT playername, date FROM " + prefix + "achievements WHERE achievement = ?" +
-				" ORDER BY date DESC LIMIT 1000";
+	public List<AwardedDBAchievement> getAchievementRecipients(String achievementName,
+			AwardedDBAchievement previousRecipient, int offset, int limit) {
+		String sql = "SELECT playername, date FROM " + prefix + "achievements WHERE achievement = ?"
+				+ (previousRecipient == null ? "" : " AND (date < ? OR (date = ? AND playername < ?))")
+				+ " ORDER BY date DESC, playername DESC LIMIT " + limit
+				+ (previousRecipient == null && offset > 0 ? " OFFSET " + offset : "");
 		return ((SQLReadOperation<List<AwardedDBAchievement>>) () -> {
 			List<AwardedDBAchievement> achievements = new ArrayList<>();
 			Connection conn = getSQLConnection();
 			try (PreparedStatement ps = conn.prepareStatement(sql)) {
-				ps.setFetchSize(1000);
+				ps.setFetchSize(limit);
 				ps.setString(1, achievementName);
+				if (previousRecipient != null) {
+					Timestamp previousDate = new Timestamp(previousRecipient.getDateAwarded());
+					ps.setTimestamp(2, previousDate);
+					ps.setTimestamp(3, previousDate);
+					ps.setObject(4, previousRecipient.getAwardedTo(), Types.CHAR);
+				}
 				try (ResultSet rs = ps.executeQuery()) {
 					while (rs.next()) {
 						UUID uuid;
@@ -586,10 +1120,10 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 						} catch (IllegalArgumentException improperUUIDFormatException) {
 							continue;
 						}
-						Date dateAwarded = new Date(rs.getTimestamp("date").getTime());
+						long dateAwarded = rs.getTimestamp("date").getTime();
 
 						achievements.add(new AwardedDBAchievement(uuid, namesToDisplayNames.get(achievementName), "",
-								dateAwarded.getTime(), dateFormat.format(dateAwarded)));
+								dateAwarded, formatDate(dateAwarded)));
 					}
 				}
 			}
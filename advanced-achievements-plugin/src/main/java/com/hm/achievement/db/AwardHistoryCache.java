@@ -0,0 +1,300 @@
+package com.hm.achievement.db;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.commons.lang3.StringUtils;
+import org.bukkit.Bukkit;
+
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.db.data.AwardedDBAchievement;
+import com.hm.achievement.lifecycle.Cleanable;
+import com.hm.achievement.lifecycle.Reloadable;
+import com.hm.mcshared.file.CommentedYamlConfiguration;
+
+/**
+ * Class in charge of keeping track of the achievements received by connected players, alongside their reception dates
+ * and messages. The history of a player is loaded from the database in a single query when the player joins, or the
+ * first time it is needed, and is then kept up to date in memory when the player receives or loses achievements.
+ * GUIs, books, advancement synchronisation and the API can therefore all share the same data instead of issuing their
+ * own queries. The database is never queried on the main server thread.
+ *
+ * @author Pyves
+ */
+@Singleton
+public class AwardHistoryCache implements Cleanable, Reloadable {
+
+	// Can be accessed by both the main server thread and asynchronous tasks, such as the book command. Inner maps are
+	// keyed by achievement names in database format and are sorted by reception date.
+	private final Map<UUID, Map<String, AwardedDBAchievement>> playersHistories = new ConcurrentHashMap<>();
+	// Histories being loaded, alongside the changes made in the meantime, applied on top of the loaded histories. The
+	// list instances identify the loads. Guarded by the instance's lock, as are insertions into playersHistories.
+	private final Map<UUID, List<Consumer<Map<String, AwardedDBAchievement>>>> pendingLoads = new HashMap<>();
+	// Tasks to run on the main server thread once the histories being loaded are available. Guarded by the instance's
+	// lock.
+	private final Map<UUID, List<Runnable>> loadCallbacks = new HashMap<>();
+	private final CommentedYamlConfiguration mainConfig;
+	private final AbstractDatabaseManager databaseManager;
+	private final Map<String, String> namesToDisplayNames;
+	private final AdvancedAchievements advancedAchievements;
+
+	private boolean configBookChronologicalOrder;
+
+	@Inject
+	public AwardHistoryCache(@Named("main") CommentedYamlConfiguration mainConfig,
+			AbstractDatabaseManager databaseManager, @Named("ntd") Map<String, String> namesToDisplayNames,
+			AdvancedAchievements advancedAchievements) {
+		this.mainConfig = mainConfig;
+		this.databaseManager = databaseManager;
+		this.namesToDisplayNames = namesToDisplayNames;
+		this.advancedAchievements = advancedAchievements;
+	}
+
+	@Override
+	public void extractConfigurationParameters() {
+		configBookChronologicalOrder = mainConfig.getBoolean("BookChronologicalOrder", true);
+	}
+
+	@Override
+	public synchronized void cleanPlayerData(UUID uuid) {
+		playersHistories.remove(uuid);
+		// A load completing after this point will be discarded.
+		pendingLoads.remove(uuid);
+		loadCallbacks.remove(uuid);
+	}
+
+	/**
+	 * Loads the history of a player asynchronously, unless it is already loaded or being loaded.
+	 *
+	 * @param uuid
+	 */
+	public void loadHistory(UUID uuid) {
+		List<Consumer<Map<String, AwardedDBAchievement>>> load = startLoad(uuid);
+		if (load != null) {
+			Bukkit.getScheduler().runTaskAsynchronously(advancedAchievements,
+					() -> completeLoad(uuid, load, databaseManager.getPlayerAwardedAchievements(uuid)));
+		}
+	}
+
+	/**
+	 * Runs a task on the main server thread once the history of a player has been loaded, straight away if it already
+	 * is. The history starts being loaded if needed. The task is discarded if the player's data is cleaned beforehand.
+	 * Must be called on the main server thread.
+	 *
+	 * @param uuid
+	 * @param callback
+	 */
+	public void whenLoaded(UUID uuid, Runnable callback) {
+		synchronized (this) {
+			if (!playersHistories.containsKey(uuid)) {
+				loadCallbacks.computeIfAbsent(uuid, u -> new ArrayList<>()).add(callback);
+				loadHistory(uuid);
+				return;
+			}
+		}
+		callback.run();
+	}
+
+	/**
+	 * @param uuid
+	 * @return true if the history of the player has been loaded, false otherwise
+	 */
+	public boolean isLoaded(UUID uuid) {
+		return playersHistories.containsKey(uuid);
+	}
+
+	/**
+	 * Returns the names of the achievements received by a player. When called on the main server thread before the
+	 * history is loaded, the list is empty and the history starts being loaded.
+	 *
+	 * @param uuid
+	 * @return list of achievement names in database format
+	 */
+	public List<String> getAchievementNames(UUID uuid) {
+		Map<String, AwardedDBAchievement> history = getHistory(uuid);
+		synchronized (history) {
+			return new ArrayList<>(history.keySet());
+		}
+	}
+
+	/**
+	 * Returns the formatted reception date of a specific achievement. When called on the main server thread before
+	 * the history is loaded, null is returned and the history starts being loaded.
+	 *
+	 * @param uuid
+	 * @param achName
+	 * @return date represented as a string, or null if the player has not received the achievement
+	 */
+	public String getAchievementDate(UUID uuid, String achName) {
+		AwardedDBAchievement achievement = getHistory(uuid).get(achName);
+		return achievement == null ? null : databaseManager.formatDate(achievement.getDateAwarded());
+	}
+
+	/**
+	 * Returns the achievements received by a player, with their display names, ordered according to the
+	 * BookChronologicalOrder parameter. When called on the main server thread before the history is loaded, the list
+	 * is empty and the history starts being loaded.
+	 *
+	 * @param uuid
+	 * @return list of received achievements
+	 */
+	public List<AwardedDBAchievement> getAchievementsList(UUID uuid) {
+		Map<String, AwardedDBAchievement> history = getHistory(uuid);
+		List<AwardedDBAchievement> achievements = new ArrayList<>(history.size());
+		synchronized (history) {
+			for (AwardedDBAchievement achievement : history.values()) {
+				String displayName = namesToDisplayNames.get(achievement.getName());
+				String name = StringUtils.isNotBlank(displayName) ? displayName : achievement.getName();
+				// Dates are formatted when read, as the date format may change when the plugin is reloaded.
+				achievements.add(new AwardedDBAchievement(uuid, name, achievement.getMessage(),
+						achievement.getDateAwarded(), databaseManager.formatDate(achievement.getDateAwarded())));
+			}
+		}
+		if (!configBookChronologicalOrder) {
+			Collections.reverse(achievements);
+		}
+		return achievements;
+	}
+
+	/**
+	 * Appends a newly received achievement to the history of a player, if the history was loaded or is being loaded.
+	 * The achievement is moved to the end of the history if it had already been received.
+	 *
+	 * @param uuid
+	 * @param achName
+	 * @param achMessage
+	 */
+	public void registerAchievement(UUID uuid, String achName, String achMessage) {
+		AwardedDBAchievement achievement = new AwardedDBAchievement(uuid, achName,
+				achMessage == null ? "" : achMessage, System.currentTimeMillis(), null);
+		applyChange(uuid, history -> {
+			history.remove(achName);
+			history.put(achName, achievement);
+		});
+	}
+
+	/**
+	 * Removes achievements from the history of a player, if the history was loaded or is being loaded.
+	 *
+	 * @param uuid
+	 * @param achNames
+	 */
+	public void removeAchievements(UUID uuid, Collection<String> achNames) {
+		applyChange(uuid, history -> history.keySet().removeAll(achNames));
+	}
+
+	/**
+	 * Removes all achievements from the history of a player, if the history was loaded or is being loaded.
+	 *
+	 * @param uuid
+	 */
+	public void removeAllAchievements(UUID uuid) {
+		applyChange(uuid, Map::clear);
+	}
+
+	/**
+	 * Retrieves the history of a player. If not already cached, the history is loaded asynchronously when called on
+	 * the main server thread, otherwise it is loaded on the calling thread.
+	 *
+	 * @param uuid
+	 * @return synchronized map of received achievements, empty if not yet loaded on the main server thread
+	 */
+	private Map<String, AwardedDBAchievement> getHistory(UUID uuid) {
+		Map<String, AwardedDBAchievement> history = playersHistories.get(uuid);
+		if (history != null) {
+			return history;
+		}
+		if (Bukkit.isPrimaryThread()) {
+			loadHistory(uuid);
+			return Collections.emptyMap();
+		}
+		List<Consumer<Map<String, AwardedDBAchievement>>> load = startLoad(uuid);
+		List<AwardedDBAchievement> achievements = databaseManager.getPlayerAwardedAchievements(uuid);
+		if (load != null) {
+			return completeLoad(uuid, load, achievements);
+		}
+		// Loaded or being loaded by another thread in the meantime.
+		history = playersHistories.get(uuid);
+		return history == null ? toHistory(achievements) : history;
+	}
+
+	/**
+	 * Registers a new load of the history of a player.
+	 *
+	 * @param uuid
+	 * @return the list collecting the changes made during the load, or null if the history is already loaded or being
+	 *         loaded
+	 */
+	private synchronized List<Consumer<Map<String, AwardedDBAchievement>>> startLoad(UUID uuid) {
+		if (playersHistories.containsKey(uuid) || pendingLoads.containsKey(uuid)) {
+			return null;
+		}
+		List<Consumer<Map<String, AwardedDBAchievement>>> load = new ArrayList<>();
+		pendingLoads.put(uuid, load);
+		return load;
+	}
+
+	/**
+	 * Applies the changes made during a load on top of the history read from the database, and caches the result
+	 * unless the player's data was cleaned in the meantime.
+	 *
+	 * @param uuid
+	 * @param load
+	 * @param achievements
+	 * @return the history of the player
+	 */
+	private synchronized Map<String, AwardedDBAchievement> completeLoad(UUID uuid,
+			List<Consumer<Map<String, AwardedDBAchievement>>> load, List<AwardedDBAchievement> achievements) {
+		Map<String, AwardedDBAchievement> history = toHistory(achievements);
+		load.forEach(change -> change.accept(history));
+		if (pendingLoads.get(uuid) == load) {
+			pendingLoads.remove(uuid);
+			playersHistories.put(uuid, history);
+			List<Runnable> callbacks = loadCallbacks.remove(uuid);
+			if (callbacks != null) {
+				Bukkit.getScheduler().runTask(advancedAchievements, () -> callbacks.forEach(Runnable::run));
+			}
+		}
+		return history;
+	}
+
+	/**
+	 * Applies a change to the history of a player if loaded, or records it if the history is being loaded.
+	 *
+	 * @param uuid
+	 * @param change
+	 */
+	private synchronized void applyChange(UUID uuid, Consumer<Map<String, AwardedDBAchievement>> change) {
+		Map<String, AwardedDBAchievement> history = playersHistories.get(uuid);
+		if (history != null) {
+			synchronized (history) {
+				change.accept(history);
+			}
+		} else {
+			List<Consumer<Map<String, AwardedDBAchievement>>> load = pendingLoads.get(uuid);
+			if (load != null) {
+				load.add(change);
+			}
+		}
+	}
+
+	private static Map<String, AwardedDBAchievement> toHistory(List<AwardedDBAchievement> achievements) {
+		Map<String, AwardedDBAchievement> history = new LinkedHashMap<>();
+		for (AwardedDBAchievement achievement : achievements) {
+			history.put(achievement.getName(), achievement);
+		}
+		return Collections.synchronizedMap(history);
+	}
+}
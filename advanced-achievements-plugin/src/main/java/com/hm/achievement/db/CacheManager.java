@@ -2,7 +2,6 @@ package com.hm.achievement.db;
 
 import java.util.Collection;
 import java.util.EnumMap;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -10,6 +9,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -22,6 +22,7 @@ import com.hm.achievement.AdvancedAchievements;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.lifecycle.Cleanable;
+import com.hm.achievement.lifecycle.Reloadable;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -32,7 +33,7 @@ import com.hm.mcshared.file.CommentedYamlConfiguration;
  *
  */
 @Singleton
-public class CacheManager implements Cleanable {
+public class CacheManager implements Cleanable, Reloadable {
 
 	private final AdvancedAchievements advancedAchievements;
 	private final CommentedYamlConfiguration mainConfig;
@@ -47,19 +48,22 @@ public class CacheManager implements Cleanable {
 	private final Map<UUID, Set<String>> notReceivedAchievementsCache;
 	// Map corresponding to the total amount of achievements received by each player.
 	private final Map<UUID, Integer> totalPlayerAchievementsCache;
+	// Amounts of achievements received by each player in each category and category.subcategory.
+	private final Map<UUID, Map<String, Integer>> receivedCategoryCountsCache;
+	private final Map<String, String> namesToCategories;
 
 	@Inject
 	public CacheManager(AdvancedAchievements advancedAchievements, @Named("main") CommentedYamlConfiguration mainConfig,
-			AbstractDatabaseManager databaseManager) {
+			AbstractDatabaseManager databaseManager, @Named("ntc") Map<String, String> namesToCategories) {
 		this.advancedAchievements = advancedAchievements;
 		this.mainConfig = mainConfig;
 		this.databaseManager = databaseManager;
+		this.namesToCategories = namesToCategories;
 		normalAchievementsToPlayerStatistics = new EnumMap<>(NormalAchievements.class);
 		multipleAchievementsToPlayerStatistics = new EnumMap<>(MultipleAchievements.class);
-		receivedAchievementsCache = new HashMap<>();
-		notReceivedAchievementsCache = new HashMap<>();
-
 		// ConcurrentHashMaps are necessary to guarantee thread safety.
+		receivedAchievementsCache = new ConcurrentHashMap<>();
+		notReceivedAchievementsCache = new ConcurrentHashMap<>();
 		for (NormalAchievements normalAchievement : NormalAchievements.values()) {
 			normalAchievementsToPlayerStatistics.put(normalAchievement, new ConcurrentHashMap<>());
 		}
@@ -67,6 +71,13 @@ public class CacheManager implements Cleanable {
 			multipleAchievementsToPlayerStatistics.put(multipleAchievement, new ConcurrentHashMap<>());
 		}
 		totalPlayerAchievementsCache = new ConcurrentHashMap<>();
+		receivedCategoryCountsCache = new ConcurrentHashMap<>();
+	}
+
+	@Override
+	public void extractConfigurationParameters() {
+		// Achievements may have been moved to other categories, counts will be derived again when next needed.
+		receivedCategoryCountsCache.clear();
 	}
 
 	@Override
@@ -75,6 +86,7 @@ public class CacheManager implements Cleanable {
 		receivedAchievementsCache.remove(uuid);
 		notReceivedAchievementsCache.remove(uuid);
 		totalPlayerAchievementsCache.remove(uuid);
+		receivedCategoryCountsCache.remove(uuid);
 
 		// Indicate to the relevant cached statistics that the player has disconnected.
 		for (MultipleAchievements category : MultipleAchievements.values()) {
@@ -203,11 +215,13 @@ public class CacheManager implements Cleanable {
 	 * @return true if achievement received by player, false otherwise
 	 */
 	public boolean hasPlayerAchievement(UUID player, String name) {
-		Set<String> playerReceived = receivedAchievementsCache.computeIfAbsent(player, s -> new HashSet<>());
+		Set<String> playerReceived = receivedAchievementsCache.computeIfAbsent(player,
+				s -> ConcurrentHashMap.newKeySet());
 		if (playerReceived.contains(name)) {
 			return true;
 		}
-		Set<String> playerNotReceived = notReceivedAchievementsCache.computeIfAbsent(player, s -> new HashSet<>());
+		Set<String> playerNotReceived = notReceivedAchievementsCache.computeIfAbsent(player,
+				s -> ConcurrentHashMap.newKeySet());
 		if (playerNotReceived.contains(name)) {
 			return false;
 		}
@@ -217,6 +231,12 @@ public class CacheManager implements Cleanable {
 			playerReceived.add(name);
 		} else {
 			playerNotReceived.add(name);
+			// The achievement may have been received on the main thread whilst the database was being queried, before
+			// it was written to the database.
+			if (playerReceived.contains(name)) {
+				playerNotReceived.remove(name);
+				return true;
+			}
 		}
 		return received;
 	}
@@ -248,6 +268,38 @@ public class CacheManager implements Cleanable {
 		receivedAchievementsCache.get(player).add(achievementName);
 		notReceivedAchievementsCache.get(player).remove(achievementName);
 		totalPlayerAchievementsCache.put(player, getPlayerTotalAchievements(player) + 1);
+		Map<String, Integer> categoryCounts = receivedCategoryCountsCache.get(player);
+		if (categoryCounts != null) {
+			updateCategoryCounts(categoryCounts, achievementName, 1);
+		}
+	}
+
+	/**
+	 * Adds achievements that were registered directly in the database, for instance retroactively, to the achievement
+	 * received cache. The total and the category counts are only updated for achievements previously cached as not
+	 * received; they were otherwise retrieved from the database with the achievements already registered.
+	 *
+	 * @param player
+	 * @param achievementNames
+	 */
+	public void registerReceivedAchievements(UUID player, Collection<String> achievementNames) {
+		Set<String> playerReceived = receivedAchievementsCache.computeIfAbsent(player,
+				s -> ConcurrentHashMap.newKeySet());
+		Set<String> playerNotReceived = notReceivedAchievementsCache.computeIfAbsent(player,
+				s -> ConcurrentHashMap.newKeySet());
+		Map<String, Integer> categoryCounts = receivedCategoryCountsCache.get(player);
+		for (String achievementName : achievementNames) {
+			playerReceived.add(achievementName);
+			if (playerNotReceived.remove(achievementName)) {
+				Integer totalAchievements = totalPlayerAchievementsCache.get(player);
+				if (totalAchievements != null) {
+					totalPlayerAchievementsCache.put(player, totalAchievements + 1);
+				}
+				if (categoryCounts != null) {
+					updateCategoryCounts(categoryCounts, achievementName, 1);
+				}
+			}
+		}
 	}
 
 	/**
@@ -257,11 +309,70 @@ public class CacheManager implements Cleanable {
 	 * @param achievementNames
 	 */
 	public void removePreviouslyReceivedAchievements(UUID player, Collection<String> achievementNames) {
-		receivedAchievementsCache.computeIfAbsent(player, s -> new HashSet<>()).removeAll(achievementNames);
-		notReceivedAchievementsCache.computeIfAbsent(player, s -> new HashSet<>()).addAll(achievementNames);
+		Set<String> playerReceived = receivedAchievementsCache.computeIfAbsent(player,
+				s -> ConcurrentHashMap.newKeySet());
+		Map<String, Integer> categoryCounts = receivedCategoryCountsCache.get(player);
+		for (String achievementName : achievementNames) {
+			// Counts were derived from the received cache, they are only updated for achievements found in it.
+			if (playerReceived.remove(achievementName) && categoryCounts != null) {
+				updateCategoryCounts(categoryCounts, achievementName, -1);
+			}
+		}
+		notReceivedAchievementsCache.computeIfAbsent(player, s -> ConcurrentHashMap.newKeySet())
+				.addAll(achievementNames);
 		totalPlayerAchievementsCache.put(player, Math.max(0, getPlayerTotalAchievements(player) - achievementNames.size()));
 	}
 
+	/**
+	 * Returns the number of achievements received by a player in a category or subcategory. The counts of a player are
+	 * derived from all the player's received achievements the first time they are needed, and are then kept up to date
+	 * when achievements are received or deleted.
+	 *
+	 * @param player
+	 * @param categoryPath category or category.subcategory
+	 * @return the number of achievements received by the player in the category or subcategory
+	 */
+	public int getReceivedInCategory(UUID player, String categoryPath) {
+		Map<String, Integer> categoryCounts = receivedCategoryCountsCache.get(player);
+		if (categoryCounts == null) {
+			Set<String> playerReceived = receivedAchievementsCache.computeIfAbsent(player,
+					s -> ConcurrentHashMap.newKeySet());
+			Set<String> playerNotReceived = notReceivedAchievementsCache.computeIfAbsent(player,
+					s -> ConcurrentHashMap.newKeySet());
+			// Achievements deleted or received recently may not yet have been written to the database.
+			for (String achievementName : databaseManager.getPlayerAchievementNamesList(player)) {
+				if (!playerNotReceived.contains(achievementName)) {
+					playerReceived.add(achievementName);
+				}
+			}
+			categoryCounts = new ConcurrentHashMap<>();
+			for (String achievementName : playerReceived) {
+				updateCategoryCounts(categoryCounts, achievementName, 1);
+			}
+			receivedCategoryCountsCache.put(player, categoryCounts);
+		}
+		return categoryCounts.getOrDefault(categoryPath, 0);
+	}
+
+	/**
+	 * Updates the counts of the category and, if relevant, of the subcategory of an achievement.
+	 *
+	 * @param categoryCounts
+	 * @param achievementName
+	 * @param delta
+	 */
+	private void updateCategoryCounts(Map<String, Integer> categoryCounts, String achievementName, int delta) {
+		String categoryPath = namesToCategories.get(achievementName);
+		if (categoryPath == null) {
+			// Achievement no longer in the configuration or in a disabled category.
+			return;
+		}
+		categoryCounts.merge(categoryPath, delta, Integer::sum);
+		if (categoryPath.contains(".")) {
+			categoryCounts.merge(StringUtils.substringBefore(categoryPath, "."), delta, Integer::sum);
+		}
+	}
+
 	/**
 	 * Resets a player's statistics to 0.
 	 * 
@@ -299,4 +410,56 @@ public class CacheManager implements Cleanable {
 		});
 	}
 
+	/**
+	 * Resets the cached statistics of a selection of players to 0. Statistics that are not cached are left untouched.
+	 *
+	 * @param players
+	 * @param categoriesWithSubcategories
+	 */
+	public void resetCachedStatistics(Predicate<UUID> players, Collection<String> categoriesWithSubcategories) {
+		categoriesWithSubcategories.forEach(categoryWithSubcategory -> {
+			if (categoryWithSubcategory.contains(".")) {
+				String category = StringUtils.substringBefore(categoryWithSubcategory, ".");
+				String subcategory = StringUtils.substringAfter(categoryWithSubcategory, ".");
+				getHashMap(MultipleAchievements.getByName(category)).forEach((key, statistic) -> {
+					if (key.getSubcategory().equals(subcategory) && players.test(key.getUUID())) {
+						statistic.setValue(0L);
+					}
+				});
+			} else {
+				NormalAchievements category = NormalAchievements.getByName(categoryWithSubcategory);
+				if (category != NormalAchievements.CONNECTIONS) {
+					getHashMap(category).forEach((uuid, statistic) -> {
+						if (players.test(uuid)) {
+							statistic.setValue(0L);
+						}
+					});
+				}
+			}
+		});
+	}
+
+	/**
+	 * Returns the players whose statistic is currently cached for a category or category.subcategory. The cached values
+	 * take precedence over the values stored in the database.
+	 *
+	 * @param categoryWithSubcategory
+	 * @return the UUIDs of the players
+	 */
+	public Set<UUID> getCachedPlayers(String categoryWithSubcategory) {
+		Set<UUID> players = new HashSet<>();
+		if (categoryWithSubcategory.contains(".")) {
+			String category = StringUtils.substringBefore(categoryWithSubcategory, ".");
+			String subcategory = StringUtils.substringAfter(categoryWithSubcategory, ".");
+			getHashMap(MultipleAchievements.getByName(category)).keySet().forEach(key -> {
+				if (key.getSubcategory().equals(subcategory)) {
+					players.add(key.getUUID());
+				}
+			});
+		} else {
+			players.addAll(getHashMap(NormalAchievements.getByName(categoryWithSubcategory)).keySet());
+		}
+		return players;
+	}
+
 }
@@ -99,6 +99,10 @@ public class DatabaseUpdater {
 		try (Statement st = conn.createStatement()) {
 			st.addBatch("CREATE TABLE IF NOT EXISTS " + databaseManager.getPrefix()
 					+ "achievements (playername char(36),achievement varchar(64),description varchar(128),date TIMESTAMP,PRIMARY KEY (playername, achievement))");
+			st.addBatch("CREATE TABLE IF NOT EXISTS " + databaseManager.getPrefix()
+					+ "playernames (playername char(36),name varchar(16),PRIMARY KEY (playername))");
+			st.addBatch("CREATE TABLE IF NOT EXISTS " + databaseManager.getPrefix()
+					+ "pendingrewards (playername char(36),achievement varchar(64),PRIMARY KEY (playername, achievement))");
 
 			for (MultipleAchievements category : MultipleAchievements.values()) {
 				st.addBatch("CREATE TABLE IF NOT EXISTS " + databaseManager.getPrefix() + category.toDBName()
@@ -148,6 +152,33 @@ public class DatabaseUpdater {
 		}
 	}
 
+	/**
+	 * Creates an index on the achievements table to efficiently retrieve the most recent recipients of a given
+	 * achievement, as done by the /aach inspect command.
+	 * 
+	 * @param databaseManager
+	 */
+	void createRecipientsIndex(AbstractDatabaseManager databaseManager) {
+		String indexName = databaseManager.getPrefix() + "achievements_recipients";
+		Connection conn = databaseManager.getSQLConnection();
+		try (Statement st = conn.createStatement()) {
+			if (databaseManager instanceof MySQLDatabaseManager) {
+				// MySQL does not support the IF NOT EXISTS clause when creating indexes.
+				ResultSet rs = st.executeQuery("SHOW INDEX FROM " + databaseManager.getPrefix()
+						+ "achievements WHERE Key_name = '" + indexName + "'");
+				if (!rs.next()) {
+					st.execute("CREATE INDEX " + indexName + " ON " + databaseManager.getPrefix()
+							+ "achievements (achievement, date, playername)");
+				}
+			} else {
+				st.execute("CREATE INDEX IF NOT EXISTS " + indexName + " ON " + databaseManager.getPrefix()
+						+ "achievements (achievement, date, playername)");
+			}
+		} catch (SQLException e) {
+			logger.log(Level.SEVERE, "Database error while creating index on achievements table:", e);
+		}
+	}
+
 	/**
 	 * Increases the size of the sub-category column of MultipleAchievements database tables to accommodate new
 	 * parameters such as specificplayer-56c79b19-4500-466c-94ea-514a755fdd09 or grouped sub-categories.
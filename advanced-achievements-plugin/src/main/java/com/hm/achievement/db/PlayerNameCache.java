@@ -0,0 +1,81 @@
+package com.hm.achievement.db;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+/**
+ * Class in charge of keeping track of the last known names of the players. Names are persisted in the database and
+ * loaded into memory, which avoids relying on the server's offline player lookups when displaying rankings or lists of
+ * achievement recipients. These lookups can be particularly slow on servers with a large user cache.
+ *
+ * @author Pyves
+ */
+@Singleton
+public class PlayerNameCache {
+
+	// Can be accessed by both the main server thread and asynchronous tasks, such as the inspect command.
+	private final Map<UUID, String> playerNames = new ConcurrentHashMap<>();
+	// Players unknown to the server, to avoid repeating the offline player lookup for them.
+	private final Set<UUID> unknownPlayers = ConcurrentHashMap.newKeySet();
+	private final AbstractDatabaseManager databaseManager;
+
+	@Inject
+	public PlayerNameCache(AbstractDatabaseManager databaseManager) {
+		this.databaseManager = databaseManager;
+	}
+
+	/**
+	 * Loads all player names from the database in a single query. The currently connected players are also registered,
+	 * in case the plugin was loaded whilst players were already online.
+	 */
+	public void loadPlayerNames() {
+		playerNames.clear();
+		unknownPlayers.clear();
+		playerNames.putAll(databaseManager.getPlayerNames());
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			updatePlayerName(player.getUniqueId(), player.getName());
+		}
+	}
+
+	/**
+	 * Registers the name of a player. The database is only written to if the name was not known or has changed.
+	 *
+	 * @param uuid
+	 * @param name
+	 */
+	public void updatePlayerName(UUID uuid, String name) {
+		unknownPlayers.remove(uuid);
+		if (!name.equals(playerNames.put(uuid, name))) {
+			databaseManager.updatePlayerName(uuid, name);
+		}
+	}
+
+	/**
+	 * Retrieves the last known name of a player. If the player has not connected since the names started being
+	 * tracked, falls back to the server's offline player lookup, and remembers the result for subsequent calls. The
+	 * lookup is only performed on the main server thread; asynchronous callers only get the names already known.
+	 *
+	 * @param uuid
+	 * @return the name of the player, or null if the name is not known
+	 */
+	public String getPlayerName(UUID uuid) {
+		String name = playerNames.get(uuid);
+		if (name == null && Bukkit.isPrimaryThread() && !unknownPlayers.contains(uuid)) {
+			name = Bukkit.getOfflinePlayer(uuid).getName();
+			if (name == null) {
+				unknownPlayers.add(uuid);
+			} else {
+				updatePlayerName(uuid, name);
+			}
+		}
+		return name;
+	}
+}
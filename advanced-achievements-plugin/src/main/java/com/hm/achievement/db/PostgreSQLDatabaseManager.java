@@ -5,13 +5,16 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.UUID;
 import java.util.logging.Logger;
 
 import javax.inject.Named;
 
 import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.db.data.AwardedDBAchievement;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -48,6 +51,56 @@ public class PostgreSQLDatabaseManager extends AbstractRemoteDatabaseManager {
 		}).executeOperation(pool, logger, "registering an achievement");
 	}
 
+	@Override
+	public void registerAchievements(UUID uuid, Map<String, String> namesToMessages) {
+		String sql = "INSERT INTO " + prefix + "achievements VALUES (?,?,?,?)"
+				+ " ON CONFLICT (playername,achievement) DO UPDATE SET (description,date)=(?,?)";
+		Timestamp timestamp = new Timestamp(System.currentTimeMillis());
+		((SQLWriteOperation) () -> {
+			Connection conn = getSQLConnection();
+			try (PreparedStatement ps = conn.prepareStatement(sql)) {
+				for (Entry<String, String> nameToMessage : namesToMessages.entrySet()) {
+					String message = nameToMessage.getValue() == null ? "" : nameToMessage.getValue();
+					ps.setObject(1, uuid, Types.CHAR);
+					ps.setString(2, nameToMessage.getKey());
+					ps.setString(3, message);
+					ps.setTimestamp(4, timestamp);
+					ps.setString(5, message);
+					ps.setTimestamp(6, timestamp);
+					ps.addBatch();
+				}
+				ps.executeBatch();
+			}
+		}).executeOperation(pool, logger, "registering achievements");
+	}
+
+	@Override
+	public void registerRetroactiveAchievements(List<AwardedDBAchievement> achievements) {
+		// PostgreSQL has no REPLACE operator. We have to use the INSERT ... ON CONFLICT construct, which is available
+		// for PostgreSQL 9.5+.
+		String sqlAchievements = "INSERT INTO " + prefix + "achievements VALUES (?,?,?,?)"
+				+ " ON CONFLICT (playername,achievement) DO NOTHING";
+		String sqlRewards = "INSERT INTO " + prefix + "pendingrewards VALUES (?,?)"
+				+ " ON CONFLICT (playername,achievement) DO NOTHING";
+		registerRetroactiveAchievements(achievements, sqlAchievements, sqlRewards);
+	}
+
+	@Override
+	public void updatePlayerName(UUID uuid, String name) {
+		// PostgreSQL has no REPLACE operator. We have to use the INSERT ... ON CONFLICT construct, which is available
+		// for PostgreSQL 9.5+.
+		String sql = "INSERT INTO " + prefix + "playernames VALUES (?,?) ON CONFLICT (playername) DO UPDATE SET name=?";
+		((SQLWriteOperation) () -> {
+			Connection conn = getSQLConnection();
+			try (PreparedStatement ps = conn.prepareStatement(sql)) {
+				ps.setObject(1, uuid, Types.CHAR);
+				ps.setString(2, name);
+				ps.setString(3, name);
+				ps.execute();
+			}
+		}).executeOperation(pool, logger, "updating a player's name");
+	}
+
 	@Override
 	public int updateAndGetConnection(UUID uuid, String date) {
 		String dbName = NormalAchievements.CONNECTIONS.toDBName();
@@ -0,0 +1,122 @@
+package com.hm.achievement.db;
+
+import java.util.Calendar;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.hm.achievement.db.data.Ranking;
+import com.hm.achievement.exception.DatabaseReadError;
+
+/**
+ * Class in charge of computing the top, week and month rankings on a background thread. Commands only ever read the
+ * last completed snapshots and never trigger database queries themselves. The refresh interval adapts to the number
+ * of ranked players and to the time taken by the previous refresh, so that large tables or slow databases are not
+ * queried continuously.
+ *
+ * @author Pyves
+ */
+@Singleton
+public class RankingCache implements Runnable {
+
+	private static final long MIN_REFRESH_INTERVAL = 60000L;
+	private static final long MAX_REFRESH_INTERVAL = 600000L;
+	// A refresh should at most keep the database busy for 1/REFRESH_COST_FACTOR of the time.
+	private static final long REFRESH_COST_FACTOR = 50L;
+	private static final long MILLIS_PER_RANKED_PLAYER = 10L;
+
+	/**
+	 * Periods over which rankings are computed.
+	 */
+	public enum Period {
+		ALL_TIME,
+		WEEK,
+		MONTH;
+
+		/**
+		 * Returns start time for the ranking period.
+		 *
+		 * @return time (epoch) in millis
+		 */
+		public long getStartTime() {
+			Calendar c = Calendar.getInstance();
+			switch (this) {
+				case WEEK:
+					// Set calendar to the first day of the week.
+					c.set(Calendar.DAY_OF_WEEK, c.getFirstDayOfWeek());
+					return c.getTimeInMillis();
+				case MONTH:
+					// Set calendar to the first day of the month.
+					c.set(Calendar.DAY_OF_MONTH, 1);
+					return c.getTimeInMillis();
+				default:
+					// All time ranking, no time start.
+					return 0L;
+			}
+		}
+	}
+
+	private final Map<Period, Ranking> rankings = new EnumMap<>(Period.class);
+	private final Logger logger;
+	private final AbstractDatabaseManager databaseManager;
+
+	private volatile long nextRefreshTime = 0L;
+
+	@Inject
+	public RankingCache(Logger logger, AbstractDatabaseManager databaseManager) {
+		this.logger = logger;
+		this.databaseManager = databaseManager;
+	}
+
+	/**
+	 * Refreshes the rankings if the refresh interval has elapsed. Expected to be scheduled frequently on an
+	 * asynchronous task.
+	 */
+	@Override
+	public void run() {
+		if (System.currentTimeMillis() >= nextRefreshTime) {
+			refreshRankings();
+		}
+	}
+
+	/**
+	 * Queries the database for all ranking periods and replaces the previous snapshots. If a query fails, the previous
+	 * snapshots are kept and a new attempt is made after the minimum interval.
+	 */
+	public void refreshRankings() {
+		long refreshStart = System.currentTimeMillis();
+		try {
+			for (Period period : Period.values()) {
+				Ranking ranking = new Ranking(databaseManager.getTopList(period.getStartTime()));
+				synchronized (rankings) {
+					rankings.put(period, ranking);
+				}
+			}
+		} catch (DatabaseReadError e) {
+			logger.log(Level.SEVERE, "Failed to refresh rankings, previous values will be used in the meantime:", e);
+			nextRefreshTime = System.currentTimeMillis() + MIN_REFRESH_INTERVAL;
+			return;
+		}
+		long refreshDuration = System.currentTimeMillis() - refreshStart;
+		long adaptiveInterval = Math.max(refreshDuration * REFRESH_COST_FACTOR,
+				getRanking(Period.ALL_TIME).size() * MILLIS_PER_RANKED_PLAYER);
+		nextRefreshTime = System.currentTimeMillis()
+				+ Math.min(Math.max(adaptiveInterval, MIN_REFRESH_INTERVAL), MAX_REFRESH_INTERVAL);
+	}
+
+	/**
+	 * Returns the last computed ranking for a given period.
+	 *
+	 * @param period
+	 * @return the ranking snapshot, which is empty if rankings were not computed yet
+	 */
+	public Ranking getRanking(Period period) {
+		synchronized (rankings) {
+			return rankings.getOrDefault(period, Ranking.EMPTY);
+		}
+	}
+}
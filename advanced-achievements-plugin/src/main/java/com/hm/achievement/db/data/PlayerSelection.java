@@ -0,0 +1,161 @@
+package com.hm.achievement.db.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable selection of players targeted by a bulk administration command: all the players known to the database,
+ * the players who are currently offline, or an explicit list of UUIDs.
+ *
+ * @author Pyves
+ */
+public class PlayerSelection {
+
+	public static final String ALL_PLAYERS = "*";
+	public static final String OFFLINE_PLAYERS = "*offline";
+
+	private static final int UUID_LENGTH = 36;
+	private static final String UUID_FORMAT = "00000000-0000-0000-0000-000000000000";
+	private static final String HEX_DIGITS = "0123456789abcdef";
+
+	private final String description;
+	// Listed players, or players excluded from the selection if the selection is not a list.
+	private final Set<UUID> players;
+	private final boolean listed;
+	// Prefix of the string representation of the selected UUIDs, only used if the selection is not a list.
+	private final String uuidPrefix;
+
+	private PlayerSelection(String description, Set<UUID> players, boolean listed) {
+		this(description, players, listed, "");
+	}
+
+	private PlayerSelection(String description, Set<UUID> players, boolean listed, String uuidPrefix) {
+		this.description = description;
+		this.players = Collections.unmodifiableSet(players);
+		this.listed = listed;
+		this.uuidPrefix = uuidPrefix;
+	}
+
+	/**
+	 * Parses a selection of players from a command argument. Player names cannot contain wildcards or commas and are
+	 * shorter than UUIDs, therefore there is no ambiguity with the name of a single player.
+	 *
+	 * @param arg * for all players, *offline for offline players, or a comma-separated list of UUIDs
+	 * @param onlinePlayers the players currently connected to the server
+	 * @return the selection, or null if the argument does not correspond to a selection of players
+	 */
+	public static PlayerSelection parse(String arg, Collection<UUID> onlinePlayers) {
+		if (ALL_PLAYERS.equals(arg)) {
+			return new PlayerSelection(arg, new HashSet<>(), false);
+		} else if (OFFLINE_PLAYERS.equalsIgnoreCase(arg)) {
+			return new PlayerSelection(arg, new HashSet<>(onlinePlayers), false);
+		} else if (arg.indexOf(',') < 0 && arg.length() != UUID_LENGTH) {
+			return null;
+		}
+		Set<UUID> uuids = new HashSet<>();
+		for (String uuid : arg.split(",")) {
+			if (!uuid.isEmpty()) {
+				try {
+					uuids.add(UUID.fromString(uuid));
+				} catch (IllegalArgumentException e) {
+					return null;
+				}
+			}
+		}
+		return uuids.isEmpty() ? null : new PlayerSelection(arg, uuids, true);
+	}
+
+	/**
+	 * @return the argument the selection was parsed from, used in messages
+	 */
+	public String getDescription() {
+		return description;
+	}
+
+	/**
+	 * @return true if the selection is an explicit list of players, false if it contains all players except some
+	 */
+	public boolean isListed() {
+		return listed;
+	}
+
+	/**
+	 * @return the listed players if the selection is a list, otherwise the players excluded from the selection
+	 */
+	public Set<UUID> getPlayers() {
+		return players;
+	}
+
+	/**
+	 * @return the prefix of the UUIDs of the selected players, empty if the selection is not restricted to a prefix
+	 */
+	public String getUUIDPrefix() {
+		return uuidPrefix;
+	}
+
+	public boolean contains(UUID uuid) {
+		return players.contains(uuid) == listed && uuid.toString().startsWith(uuidPrefix);
+	}
+
+	/**
+	 * Returns a selection containing the players of this selection, apart from the given ones.
+	 *
+	 * @param excludedPlayers
+	 * @return the restricted selection
+	 */
+	public PlayerSelection excluding(Collection<UUID> excludedPlayers) {
+		Set<UUID> selectionPlayers = new HashSet<>(players);
+		if (listed) {
+			selectionPlayers.removeAll(excludedPlayers);
+		} else {
+			excludedPlayers.stream().filter(uuid -> uuid.toString().startsWith(uuidPrefix))
+					.forEach(selectionPlayers::add);
+		}
+		return new PlayerSelection(description, selectionPlayers, listed, uuidPrefix);
+	}
+
+	/**
+	 * Splits the selection into disjoint selections with at most maxPlayers listed or excluded players each, so that
+	 * bulk statements are processed in several steps and stay within the parameter limits of the databases. Lists are
+	 * split in chunks, other selections are split according to the first characters of the UUIDs. A partition of a
+	 * selection returned by this method only contains the selection itself.
+	 *
+	 * @param maxPlayers
+	 * @return the partitions of the selection, empty if the selection is an empty list
+	 */
+	public List<PlayerSelection> partition(int maxPlayers) {
+		List<PlayerSelection> partitions = new ArrayList<>();
+		if (listed) {
+			List<UUID> listedPlayers = new ArrayList<>(players);
+			for (int i = 0; i < listedPlayers.size(); i += maxPlayers) {
+				List<UUID> chunk = listedPlayers.subList(i, Math.min(i + maxPlayers, listedPlayers.size()));
+				partitions.add(new PlayerSelection(description, new HashSet<>(chunk), true));
+			}
+		} else if (uuidPrefix.isEmpty() || players.size() > maxPlayers) {
+			partitionByPrefix(uuidPrefix, maxPlayers, partitions);
+		} else {
+			partitions.add(this);
+		}
+		return partitions;
+	}
+
+	private void partitionByPrefix(String prefix, int maxPlayers, List<PlayerSelection> partitions) {
+		String nextCharacters = UUID_FORMAT.charAt(prefix.length()) == '-' ? "-" : HEX_DIGITS;
+		for (char nextCharacter : nextCharacters.toCharArray()) {
+			String partitionPrefix = prefix + nextCharacter;
+			Set<UUID> excludedPlayers = players.stream().filter(uuid -> uuid.toString().startsWith(partitionPrefix))
+					.collect(Collectors.toSet());
+			if (excludedPlayers.size() > maxPlayers) {
+				partitionByPrefix(partitionPrefix, maxPlayers, partitions);
+			} else {
+				partitions.add(new PlayerSelection(description, excludedPlayers, false, partitionPrefix));
+			}
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package com.hm.achievement.db.data;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of a ranking over a given period, as computed by the database.
+ *
+ * @author Pyves
+ */
+public class Ranking {
+
+	public static final Ranking EMPTY = new Ranking(Collections.emptyMap());
+
+	private final Map<String, Integer> sortedRankings;
+	// Rank of the first player for each achievement count; players with the same count share the same rank.
+	private final Map<Integer, Integer> achievementCountsToRanks = new HashMap<>();
+
+	public Ranking(Map<String, Integer> sortedRankings) {
+		this.sortedRankings = Collections.unmodifiableMap(sortedRankings);
+		int rank = 1;
+		for (Integer achievementCount : sortedRankings.values()) {
+			achievementCountsToRanks.putIfAbsent(achievementCount, rank);
+			++rank;
+		}
+	}
+
+	/**
+	 * Returns the rankings, sorted by decreasing number of achievements.
+	 *
+	 * @return map with keys corresponding to player UUIDs and values corresponding to their achievement count
+	 */
+	public Map<String, Integer> getSortedRankings() {
+		return sortedRankings;
+	}
+
+	/**
+	 * Returns the achievement count of a player.
+	 *
+	 * @param uuid
+	 * @return the achievement count, or null if the player is not ranked
+	 */
+	public Integer getAchievementCount(String uuid) {
+		return sortedRankings.get(uuid);
+	}
+
+	/**
+	 * Returns the rank of a player, i.e. the first rank with as many achievements as the player.
+	 *
+	 * @param uuid
+	 * @return the rank, or 0 if the player is not ranked
+	 */
+	public int getRank(String uuid) {
+		Integer achievementCount = sortedRankings.get(uuid);
+		return achievementCount == null ? 0 : achievementCountsToRanks.get(achievementCount);
+	}
+
+	public int size() {
+		return sortedRankings.size();
+	}
+}
@@ -3,8 +3,12 @@ package com.hm.achievement.gui;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
 
+import com.hm.achievement.category.Category;
+
 /**
- * Simple wrapper class to keep track of the plugin's inventories and their page numbers.
+ * Simple wrapper class to keep track of the plugin's inventories, their page numbers and the actions associated with
+ * each of their slots. The action table is populated when the inventory is created, so that clicks can be resolved
+ * directly from the slot without comparing items.
  * 
  * @author Pyves
  */
@@ -13,20 +17,46 @@ public class AchievementInventoryHolder implements InventoryHolder {
 	public static final int MAIN_GUI_PAGE = -1;
 
 	private final int pageIndex;
+	private final Category category;
+	private final SlotAction[] slotActions;
 	private Inventory inventory;
 
-	public AchievementInventoryHolder() {
-		this.pageIndex = MAIN_GUI_PAGE;
+	public AchievementInventoryHolder(int size) {
+		this(MAIN_GUI_PAGE, null, size);
 	}
 
-	public AchievementInventoryHolder(int pageIndex) {
+	public AchievementInventoryHolder(int pageIndex, Category category, int size) {
 		this.pageIndex = pageIndex;
+		this.category = category;
+		this.slotActions = new SlotAction[size];
 	}
 
 	public int getPageIndex() {
 		return pageIndex;
 	}
 
+	/**
+	 * @return the category displayed in the inventory, or null for the main GUI
+	 */
+	public Category getCategory() {
+		return category;
+	}
+
+	/**
+	 * Returns the action associated with a slot.
+	 * 
+	 * @param rawSlot
+	 * @return the action, or null if clicking the slot should do nothing
+	 */
+	public SlotAction getSlotAction(int rawSlot) {
+		// Raw slots beyond the size of the inventory belong to the player's own inventory.
+		return rawSlot >= 0 && rawSlot < slotActions.length ? slotActions[rawSlot] : null;
+	}
+
+	public void setSlotAction(int slot, SlotAction slotAction) {
+		slotActions[slot] = slotAction;
+	}
+
 	@Override
 	public Inventory getInventory() {
 		return inventory;
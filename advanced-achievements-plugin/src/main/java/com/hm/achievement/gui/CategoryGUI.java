@@ -6,7 +6,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -29,9 +29,11 @@ import com.hm.achievement.category.CommandAchievements;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.AbstractDatabaseManager;
+import com.hm.achievement.db.AwardHistoryCache;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.lang.GuiLang;
 import com.hm.achievement.lang.LangHelper;
+import com.hm.achievement.lifecycle.Cleanable;
 import com.hm.achievement.lifecycle.Reloadable;
 import com.hm.achievement.utils.NumberHelper;
 import com.hm.achievement.utils.RewardParser;
@@ -39,12 +41,14 @@ import com.hm.achievement.utils.StringHelper;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
- * Represents the main GUI, corresponding to more specific details about the different achievements.
+ * Represents the main GUI, corresponding to more specific details about the different achievements. Items are
+ * pre-rendered into templates the first time a category is displayed after a reload, and the pages displayed to each
+ * player are kept until their statistics or receptions change.
  *
  * @author Pyves
  */
 @Singleton
-public class CategoryGUI implements Reloadable {
+public class CategoryGUI implements Reloadable, Cleanable {
 
 	private static final int MAX_PAGE_SIZE = 54;
 	private static final int MAX_ACHIEVEMENTS_PER_PAGE = 50;
@@ -56,9 +60,14 @@ public class CategoryGUI implements Reloadable {
 	private final CommentedYamlConfiguration langConfig;
 	private final CacheManager cacheManager;
 	private final AbstractDatabaseManager databaseManager;
+	private final AwardHistoryCache awardHistoryCache;
 	private final Map<String, List<Long>> sortedThresholds;
 	private final RewardParser rewardParser;
 	private final GUIItems guiItems;
+	// Pre-rendered achievement items of each category, in display order.
+	private final Map<String, List<CategoryItemTemplate>> categoriesToTemplates = new HashMap<>();
+	// Pages previously displayed to each player; keys in the inner maps correspond to category names and page indexes.
+	private final Map<UUID, Map<String, CachedPage>> playersPages = new HashMap<>();
 
 	private boolean configObfuscateNotReceived;
 	private boolean configObfuscateProgressiveAchievements;
@@ -69,6 +78,9 @@ public class CategoryGUI implements Reloadable {
 	private ChatColor configColor;
 	private ChatColor configListColorNotReceived;
 	private String configFormatNotReceived;
+	private String progressBarTextPrefix;
+	private String receivedRewardDot;
+	private String notReceivedRewardDot;
 	private String langListGUITitle;
 	private String langListAchievementReceived;
 	private String langListAchievementNotReceived;
@@ -82,12 +94,13 @@ public class CategoryGUI implements Reloadable {
 	@Inject
 	public CategoryGUI(@Named("main") CommentedYamlConfiguration mainConfig,
 			@Named("lang") CommentedYamlConfiguration langConfig, CacheManager cacheManager,
-			AbstractDatabaseManager databaseManager, Map<String, List<Long>> sortedThresholds, RewardParser rewardParser,
-			GUIItems guiItems) {
+			AbstractDatabaseManager databaseManager, AwardHistoryCache awardHistoryCache,
+			Map<String, List<Long>> sortedThresholds, RewardParser rewardParser, GUIItems guiItems) {
 		this.mainConfig = mainConfig;
 		this.langConfig = langConfig;
 		this.cacheManager = cacheManager;
 		this.databaseManager = databaseManager;
+		this.awardHistoryCache = awardHistoryCache;
 		this.sortedThresholds = sortedThresholds;
 		this.rewardParser = rewardParser;
 		this.guiItems = guiItems;
@@ -104,6 +117,10 @@ public class CategoryGUI implements Reloadable {
 		configColor = ChatColor.getByChar(mainConfig.getString("Color", "5"));
 		configListColorNotReceived = ChatColor.getByChar(mainConfig.getString("ListColorNotReceived", "8"));
 		configFormatNotReceived = mainConfig.getBoolean("ListItaliciseNotReceived", true) ? "&o" : "";
+		progressBarTextPrefix = " " + configListColorNotReceived + configFormatNotReceived;
+		receivedRewardDot = StringEscapeUtils.unescapeJava("&r\u25CF ");
+		notReceivedRewardDot = StringEscapeUtils
+				.unescapeJava(configListColorNotReceived + "\u25CF " + configFormatNotReceived);
 
 		langListGUITitle = translateColorCodes(LangHelper.get(GuiLang.GUI_TITLE, langConfig));
 		langListAchievementReceived = StringEscapeUtils
@@ -116,88 +133,161 @@ public class CategoryGUI implements Reloadable {
 		langListProgress = translateColorCodes("&7&l" + LangHelper.get(GuiLang.PROGRESS, langConfig));
 		langListReward = translateColorCodes("&7&l" + LangHelper.get(GuiLang.REWARD, langConfig));
 		langListRewards = translateColorCodes("&7&l" + LangHelper.get(GuiLang.REWARDS, langConfig));
+
+		categoriesToTemplates.clear();
+		playersPages.clear();
+	}
+
+	@Override
+	public void cleanPlayerData(UUID uuid) {
+		playersPages.remove(uuid);
 	}
 
 	/**
-	 * Displays a category GUI, containing all the achievements from a given category.
+	 * Displays a category GUI, containing all the achievements from a given category. If the player's history of
+	 * received achievements is not yet loaded, the GUI is displayed once it is, so that received achievements are not
+	 * shown as not received.
 	 *
-	 * @param item
+	 * @param category
 	 * @param player
 	 * @param requestedPage
 	 */
-	public void displayCategoryGUI(ItemStack item, Player player, int requestedPage) {
-		for (Entry<OrderedCategory, ItemStack> achievementItem : guiItems.getOrderedAchievementItems().entrySet()) {
-			if (achievementItem.getValue().isSimilar(item)) {
-				Category category = achievementItem.getKey().getCategory();
-				List<String> achievementPaths;
-				Map<String, Long> subcategoriesToStatistics;
-				if (category instanceof MultipleAchievements) {
-					achievementPaths = getSortedMultipleAchievementPaths(category.toString());
-					subcategoriesToStatistics = getMultipleStatisticsMapping((MultipleAchievements) category, player);
-				} else if (category instanceof NormalAchievements) {
-					achievementPaths = getSortedNormalAchievementThresholds(category.toString());
-					long statistic = getNormalStatistic((NormalAchievements) category, player);
-					subcategoriesToStatistics = Collections.singletonMap(NO_SUBCATEGORY, statistic);
-				} else {
-					achievementPaths = new ArrayList<>(mainConfig.getShallowKeys(CommandAchievements.COMMANDS.toString()));
-					subcategoriesToStatistics = Collections.singletonMap(NO_SUBCATEGORY, NO_STAT);
+	public void displayCategoryGUI(Category category, Player player, int requestedPage) {
+		if (!awardHistoryCache.isLoaded(player.getUniqueId())) {
+			awardHistoryCache.whenLoaded(player.getUniqueId(), () -> {
+				if (player.isOnline()) {
+					displayCategoryGUI(category, player, requestedPage);
 				}
-				displayPage(category.toString(), player, subcategoriesToStatistics, requestedPage, item, achievementPaths);
-				return;
-			}
+			});
+			return;
+		}
+		List<String> achievementPaths;
+		Map<String, Long> subcategoriesToStatistics;
+		if (category instanceof MultipleAchievements) {
+			achievementPaths = getSortedMultipleAchievementPaths(category.toString());
+			subcategoriesToStatistics = getMultipleStatisticsMapping((MultipleAchievements) category, player);
+		} else if (category instanceof NormalAchievements) {
+			achievementPaths = getSortedNormalAchievementThresholds(category.toString());
+			long statistic = getNormalStatistic((NormalAchievements) category, player);
+			subcategoriesToStatistics = Collections.singletonMap(NO_SUBCATEGORY, statistic);
+		} else {
+			achievementPaths = new ArrayList<>(mainConfig.getShallowKeys(CommandAchievements.COMMANDS.toString()));
+			subcategoriesToStatistics = Collections.singletonMap(NO_SUBCATEGORY, NO_STAT);
 		}
+		displayPage(category, player, subcategoriesToStatistics, requestedPage, achievementPaths);
 	}
 
 	/**
-	 * Displays a category GUI page, containing up to MAX_PER_PAGE achievements from a given category.
+	 * Displays a category GUI page, containing up to MAX_PER_PAGE achievements from a given category. Items are
+	 * derived from the category's pre-rendered templates, and a previously displayed page is reused as long as the
+	 * player's statistics and receptions have not changed.
 	 *
-	 * @param categoryName
+	 * @param category
 	 * @param player
 	 * @param subcategoriesToStatistics
 	 * @param requestedIndex
-	 * @param clickedItem
 	 * @param achievementPaths
 	 */
-	private void displayPage(String categoryName, Player player, Map<String, Long> subcategoriesToStatistics,
-			int requestedIndex, ItemStack clickedItem, List<String> achievementPaths) {
+	private void displayPage(Category category, Player player, Map<String, Long> subcategoriesToStatistics,
+			int requestedIndex, List<String> achievementPaths) {
+		String categoryName = category.toString();
 		int pageIndex = getPageIndex(requestedIndex, achievementPaths.size());
 		int pageStart = MAX_ACHIEVEMENTS_PER_PAGE * pageIndex;
 		int pageEnd = Math.min(MAX_ACHIEVEMENTS_PER_PAGE * (pageIndex + 1), achievementPaths.size());
 		int navigationItems = achievementPaths.size() > MAX_ACHIEVEMENTS_PER_PAGE ? 3 : 1;
 
+		List<CategoryItemTemplate> templates = categoriesToTemplates.computeIfAbsent(categoryName,
+				c -> buildTemplates(c, achievementPaths));
+		// Reception dates of the achievements in the page, preceded by the reception date of the previous achievement.
+		String[] receptionDates = new String[pageEnd - pageStart + 1];
+		for (int index = Math.max(pageStart - 1, 0); index < pageEnd; ++index) {
+			receptionDates[index - pageStart + 1] = awardHistoryCache.getAchievementDate(player.getUniqueId(),
+					templates.get(index).getName());
+		}
+		Map<String, CachedPage> pages = playersPages.computeIfAbsent(player.getUniqueId(), u -> new HashMap<>());
+		String pageKey = categoryName + ':' + pageIndex;
+		CachedPage page = pages.get(pageKey);
+		if (page == null || !page.isUpToDate(subcategoriesToStatistics, receptionDates)) {
+			ItemStack[] items = renderPageItems(templates, player, subcategoriesToStatistics, receptionDates, pageStart,
+					pageEnd);
+			page = new CachedPage(subcategoriesToStatistics, receptionDates, items);
+			pages.put(pageKey, page);
+		}
+
 		// Create a new chest-like inventory as small as possible whilst still containing the category item, all page
 		// achievements and the navigation items.
 		int guiSize = Math.min(NumberHelper.nextMultipleOf9(achievementPaths.size() + navigationItems + 1), MAX_PAGE_SIZE);
-		AchievementInventoryHolder inventoryHolder = new AchievementInventoryHolder(pageIndex);
+		AchievementInventoryHolder inventoryHolder = new AchievementInventoryHolder(pageIndex, category, guiSize);
 		Inventory inventory = Bukkit.createInventory(inventoryHolder, guiSize, langListGUITitle);
 		inventoryHolder.setInventory(inventory);
-		// Persist clicked item (ie. category's item in the main GUI) as first item in the category GUI.
-		inventory.setItem(0, clickedItem);
+		// Persist category's item in the main GUI as first item in the category GUI.
+		inventory.setItem(0, guiItems.getCategoryItem(category));
+		// Items are copied by the inventory, cached ones can therefore safely be shared.
+		ItemStack[] items = page.getItems();
+		for (int i = 0; i < items.length; ++i) {
+			inventory.setItem(i + 1, items[i]);
+		}
+		// Add navigation items.
+		if (navigationItems > 1) {
+			int navigationStart = pageEnd - pageStart + 1;
+			setNavigationItem(inventoryHolder, navigationStart, guiItems.getPreviousButton(), SlotAction.PREVIOUS_PAGE);
+			setNavigationItem(inventoryHolder, navigationStart + 1, guiItems.getNextButton(), SlotAction.NEXT_PAGE);
+			setNavigationItem(inventoryHolder, navigationStart + 2, guiItems.getBackButton(), SlotAction.BACK);
+		} else {
+			setNavigationItem(inventoryHolder, pageEnd - pageStart + 1, guiItems.getBackButton(), SlotAction.BACK);
+		}
+
+		// Display page.
+		player.openInventory(inventory);
+	}
+
+	/**
+	 * Adds a navigation button to a category GUI page and registers the corresponding action.
+	 *
+	 * @param inventoryHolder
+	 * @param slot
+	 * @param button
+	 * @param slotAction
+	 */
+	private void setNavigationItem(AchievementInventoryHolder inventoryHolder, int slot, ItemStack button,
+			SlotAction slotAction) {
+		inventoryHolder.getInventory().setItem(slot, button);
+		inventoryHolder.setSlotAction(slot, slotAction);
+	}
 
-		String previousItemDate = null;
+	/**
+	 * Renders the achievement items of a category GUI page.
+	 *
+	 * @param templates
+	 * @param player
+	 * @param subcategoriesToStatistics
+	 * @param receptionDates
+	 * @param pageStart
+	 * @param pageEnd
+	 * @return the items to display, in page order
+	 */
+	private ItemStack[] renderPageItems(List<CategoryItemTemplate> templates, Player player,
+			Map<String, Long> subcategoriesToStatistics, String[] receptionDates, int pageStart, int pageEnd) {
+		ItemStack[] items = new ItemStack[pageEnd - pageStart];
+		String previousItemDate = receptionDates[0];
 		String previousSubcategory = NO_SUBCATEGORY;
 		int seriesStart = 0;
 		if (pageStart > 0) {
-			String previousAchievement = achievementPaths.get(pageStart - 1);
-			String achName = mainConfig.getString(categoryName + '.' + previousAchievement + ".Name", "");
-			previousItemDate = databaseManager.getPlayerAchievementDate(player.getUniqueId(), achName);
-			previousSubcategory = extractSubcategory(previousAchievement);
-			String currentSubcategory = extractSubcategory(achievementPaths.get(pageStart));
-			if (currentSubcategory != NO_SUBCATEGORY) {
-				seriesStart = IntStream.range(0, achievementPaths.size())
-						.filter(i -> achievementPaths.get(i).startsWith(currentSubcategory + "."))
+			previousSubcategory = templates.get(pageStart - 1).getSubcategory();
+			String currentSubcategory = templates.get(pageStart).getSubcategory();
+			if (!NO_SUBCATEGORY.equals(currentSubcategory)) {
+				seriesStart = IntStream.range(0, templates.size())
+						.filter(i -> templates.get(i).getSubcategory().equals(currentSubcategory))
 						.findFirst()
 						.getAsInt();
 			}
 		}
 		// Populate the current GUI page with all of the achievements for the category.
 		for (int index = pageStart; index < pageEnd; ++index) {
-			// Path can either be a threshold (eg '10', or a subcategory and threshold (eg 'skeleton.10').
-			String path = achievementPaths.get(index);
-			String subcategory = extractSubcategory(path);
+			CategoryItemTemplate template = templates.get(index);
+			String subcategory = template.getSubcategory();
 			long statistic = subcategoriesToStatistics.get(subcategory);
-			String achName = mainConfig.getString(categoryName + '.' + path + ".Name", "");
-			String receptionDate = databaseManager.getPlayerAchievementDate(player.getUniqueId(), achName);
+			String receptionDate = receptionDates[index - pageStart + 1];
 
 			boolean differentSubcategory = !previousSubcategory.equals(subcategory);
 			if (differentSubcategory) {
@@ -212,71 +302,170 @@ public class CategoryGUI implements Reloadable {
 			}
 
 			if (configHideProgressiveAchievements && ineligibleSeriesItem) {
-				inventory.setItem(index - pageStart + 1, guiItems.getAchievementLock());
+				items[index - pageStart] = guiItems.getAchievementLock();
 			} else {
-				String nameToDisplay = getNameToDisplay(categoryName, path, achName);
-				List<String> descriptions = getDescriptionsToDisplay(categoryName, path, receptionDate != null);
-				List<String> lore = buildLore(categoryName, descriptions, path, receptionDate, statistic,
-						ineligibleSeriesItem, player);
-				insertAchievement(inventory, index - pageStart + 1, statistic, nameToDisplay, receptionDate,
-						ineligibleSeriesItem, index - seriesStart + 1, lore);
+				items[index - pageStart] = renderAchievementItem(template, player, statistic, receptionDate,
+						ineligibleSeriesItem, index - seriesStart + 1);
 			}
 
 			previousItemDate = receptionDate;
 			previousSubcategory = subcategory;
 		}
-		// Add navigation items.
-		if (navigationItems > 1) {
-			inventory.setItem(pageEnd - pageStart + 1, guiItems.getPreviousButton());
-			inventory.setItem(pageEnd - pageStart + 2, guiItems.getNextButton());
-			inventory.setItem(pageEnd - pageStart + 3, guiItems.getBackButton());
-		} else {
-			inventory.setItem(pageEnd - pageStart + 1, guiItems.getBackButton());
-		}
-
-		// Display page.
-		player.openInventory(inventory);
-	}
-
-	private String extractSubcategory(String path) {
-		return path.contains(".") ? StringUtils.substringBefore(path, ".") : NO_SUBCATEGORY;
+		return items;
 	}
 
 	/**
-	 * Creates a GUI item for a given achievement.
+	 * Creates a GUI item for a given achievement by splicing the player's reception date or progress into the
+	 * achievement's template.
 	 *
-	 * @param gui
-	 * @param position
+	 * @param template
+	 * @param player
 	 * @param statistic
-	 * @param name
 	 * @param date
 	 * @param ineligibleSeriesItem
 	 * @param seriesNumber
-	 * @param lore
+	 * @return the item to display
 	 */
-	private void insertAchievement(Inventory gui, int position, long statistic, String name, String date,
-			boolean ineligibleSeriesItem, int seriesNumber, List<String> lore) {
+	private ItemStack renderAchievementItem(CategoryItemTemplate template, Player player, long statistic, String date,
+			boolean ineligibleSeriesItem, int seriesNumber) {
 		// Display an item depending on whether the achievement was received or not, or whether progress was started.
 		// Clone in order to work with an independent set of metadata.
 		ItemStack achItem;
+		String displayName;
+		List<String> lore;
 		if (date != null) {
 			achItem = guiItems.getAchievementReceived().clone();
-		} else if (statistic > 0) {
-			achItem = guiItems.getAchievementStarted().clone();
+			displayName = template.getReceivedName();
+			lore = new ArrayList<>(template.getReceivedLore());
+			lore.set(template.getDateLine(), ChatColor.RESET + date);
 		} else {
-			achItem = guiItems.getAchievementNotStarted().clone();
+			achItem = statistic > 0 ? guiItems.getAchievementStarted().clone()
+					: guiItems.getAchievementNotStarted().clone();
+			displayName = template.getNotReceivedName(ineligibleSeriesItem);
+			lore = new ArrayList<>(template.getNotReceivedLore(ineligibleSeriesItem));
+			if (template.getProgressLine() != CategoryItemTemplate.NO_LINE) {
+				lore.set(template.getProgressLine(), translateColorCodes(constructProgressBar(template.getThreshold(),
+						template.getNumericalThreshold(), statistic, template.isTimeStatistic())));
+			}
+		}
+
+		if (template.hasPlayerSpecificRewards()) {
+			// Reward lines are always at the end of the lore.
+			List<String> rewards = rewardParser.getRewardListing(template.getRewardPath(), player);
+			String dot = date == null ? notReceivedRewardDot : receivedRewardDot;
+			int rewardsStart = lore.size() - rewards.size();
+			for (int i = 0; i < rewards.size(); ++i) {
+				lore.set(rewardsStart + i, translateColorCodes(dot + rewards.get(i)));
+			}
 		}
 
-		String displayName = date == null ? langListAchievementNotReceived + notReceivedStyle(name, ineligibleSeriesItem)
-				: langListAchievementReceived + name;
 		ItemMeta itemMeta = achItem.getItemMeta();
-		itemMeta.setDisplayName(translateColorCodes(displayName));
+		itemMeta.setDisplayName(displayName);
 		itemMeta.setLore(lore);
 		achItem.setItemMeta(itemMeta);
 		if (configNumberedItemsInList) {
 			achItem.setAmount(seriesNumber);
 		}
-		gui.setItem(position, achItem);
+		return achItem;
+	}
+
+	/**
+	 * Builds the item templates of all the achievements in a category.
+	 *
+	 * @param categoryName
+	 * @param achievementPaths
+	 * @return the templates, in the same order as the paths
+	 */
+	private List<CategoryItemTemplate> buildTemplates(String categoryName, List<String> achievementPaths) {
+		boolean commandsCategory = CommandAchievements.COMMANDS.toString().equals(categoryName);
+		boolean timeStatistic = NormalAchievements.PLAYEDTIME.toString().equals(categoryName);
+		List<CategoryItemTemplate> templates = new ArrayList<>(achievementPaths.size());
+		for (String path : achievementPaths) {
+			// Path can either be a threshold (eg '10', or a subcategory and threshold (eg 'skeleton.10').
+			String achName = mainConfig.getString(categoryName + '.' + path + ".Name", "");
+			String nameToDisplay = getNameToDisplay(categoryName, path, achName);
+			String rewardPath = categoryName + '.' + path + ".Reward";
+			// Player placeholders are left as is; they are resolved when displaying if any are found.
+			List<String> rewards = configHideRewardDisplayInList ? Collections.emptyList()
+					: rewardParser.getRewardListing(rewardPath, null);
+			boolean playerSpecificRewards = !configHideRewardDisplayInList
+					&& rewardParser.getReward(rewardPath).isPlayerSpecific();
+
+			List<String> receivedLore = new ArrayList<>();
+			receivedLore.add("");
+			receivedLore.add(langListDescription);
+			getDescriptionsToDisplay(categoryName, path, true)
+					.forEach(d -> receivedLore.add(translateColorCodes("&r" + d)));
+			receivedLore.add("");
+			receivedLore.add(langListReception);
+			int dateLine = receivedLore.size();
+			receivedLore.add("");
+			receivedLore.add("");
+			addRewards(receivedLore, rewards, receivedRewardDot);
+
+			boolean displayProgress = !configObfuscateNotReceived && !commandsCategory;
+			List<String> goals = getDescriptionsToDisplay(categoryName, path, false);
+			List<String> notReceivedLore = buildNotReceivedLore(goals, displayProgress, rewards, false);
+			List<String> ineligibleLore = buildNotReceivedLore(goals, displayProgress, rewards, true);
+			// Progress bar is displayed after the empty line, the goals, another empty line and the progress header.
+			int progressLine = displayProgress ? goals.size() + 4 : CategoryItemTemplate.NO_LINE;
+
+			templates.add(new CategoryItemTemplate(achName, extractSubcategory(path),
+					StringUtils.defaultIfEmpty(StringUtils.substringAfter(path, "."), path), timeStatistic, rewardPath,
+					playerSpecificRewards, translateColorCodes(langListAchievementReceived + nameToDisplay),
+					receivedLore, dateLine,
+					translateColorCodes(langListAchievementNotReceived + notReceivedStyle(nameToDisplay, false)),
+					notReceivedLore,
+					translateColorCodes(langListAchievementNotReceived + notReceivedStyle(nameToDisplay, true)),
+					ineligibleLore, progressLine));
+		}
+		return templates;
+	}
+
+	/**
+	 * Creates the lore displayed for an achievement that was not received, with an empty line in place of the
+	 * progress bar.
+	 *
+	 * @param goals
+	 * @param displayProgress
+	 * @param rewards
+	 * @param ineligibleSeriesItem
+	 * @return the list representing the lore of a category item
+	 */
+	private List<String> buildNotReceivedLore(List<String> goals, boolean displayProgress, List<String> rewards,
+			boolean ineligibleSeriesItem) {
+		List<String> lore = new ArrayList<>();
+		lore.add("");
+		lore.add(langListGoal);
+		goals.forEach(g -> lore.add(translateColorCodes(notReceivedStyle(g, ineligibleSeriesItem))));
+		lore.add("");
+		if (displayProgress) {
+			lore.add(langListProgress);
+			lore.add("");
+			lore.add("");
+		}
+		addRewards(lore, rewards, notReceivedRewardDot);
+		return lore;
+	}
+
+	/**
+	 * Appends the rewards information to a lore.
+	 *
+	 * @param lore
+	 * @param rewards
+	 * @param dot
+	 */
+	private void addRewards(List<String> lore, List<String> rewards, String dot) {
+		if (!rewards.isEmpty()) {
+			lore.add(rewards.size() == 1 ? langListReward : langListRewards);
+			for (String reward : rewards) {
+				lore.add(translateColorCodes(dot + reward));
+			}
+		}
+	}
+
+	private String extractSubcategory(String path) {
+		return path.contains(".") ? StringUtils.substringBefore(path, ".") : NO_SUBCATEGORY;
 	}
 
 	/**
@@ -389,86 +578,28 @@ public class CategoryGUI implements Reloadable {
 		return requestedPage;
 	}
 
-	/**
-	 * Creates the lore for the current achievement, containing information about the progress, date of reception,
-	 * description, rewards.
-	 *
-	 * @param categoryName
-	 * @param descriptions
-	 * @param path
-	 * @param date
-	 * @param statistic
-	 * @param ineligibleSeriesItem
-	 * @param player
-	 * @return the list representing the lore of a category item
-	 */
-	private List<String> buildLore(String categoryName, List<String> descriptions, String path, String date, long statistic,
-			boolean ineligibleSeriesItem, Player player) {
-		List<String> lore = new ArrayList<>();
-		lore.add("");
-
-		if (date != null) {
-			lore.add(langListDescription);
-			descriptions.forEach(d -> lore.add(translateColorCodes("&r" + d)));
-			lore.add("");
-			lore.add(langListReception);
-			lore.add(translateColorCodes("&r" + date));
-			lore.add("");
-		} else {
-			lore.add(langListGoal);
-			descriptions.forEach(d -> lore.add(translateColorCodes(notReceivedStyle(d, ineligibleSeriesItem))));
-			lore.add("");
-			// Display progress if not Commands category.
-			if (!configObfuscateNotReceived && statistic != NO_STAT) {
-				String threshold = StringUtils.defaultIfEmpty(StringUtils.substringAfter(path, "."), path);
-				boolean timeStat = NormalAchievements.PLAYEDTIME.toString().equals(categoryName);
-				lore.add(langListProgress);
-				lore.add(translateColorCodes(constructProgressBar(threshold, statistic, timeStat)));
-				lore.add("");
-			}
-		}
-
-		List<String> rewards = rewardParser.getRewardListing(categoryName + '.' + path + ".Reward", player);
-		// Add the rewards information.
-		if (!rewards.isEmpty() && !configHideRewardDisplayInList) {
-			lore.add(rewards.size() == 1 ? langListReward : langListRewards);
-			String dot;
-			if (date != null) {
-				dot = StringEscapeUtils.unescapeJava("&r\u25CF ");
-			} else {
-				dot = StringEscapeUtils.unescapeJava(configListColorNotReceived + "\u25CF " + configFormatNotReceived);
-			}
-			for (String reward : rewards) {
-				lore.add(translateColorCodes(dot + reward));
-			}
-		}
-		return lore;
-	}
-
 	/**
 	 * Constructs the progress bar to be displayed in an achievement's item lore.
 	 *
 	 * @param threshold
+	 * @param numericalThreshold
 	 * @param statistic
 	 * @param time
 	 * @return progress bar
 	 */
-	private String constructProgressBar(String threshold, long statistic, boolean time) {
+	private String constructProgressBar(String threshold, long numericalThreshold, long statistic, boolean time) {
 		String middleText;
 		double statisticDouble;
 		if (time) {
 			statisticDouble = statistic / 3600000.0; // Convert from millis to hours.
 			// Display one floating digit in the progress bar.
-			middleText = String.format(" %s%s%.1f/%s ", configListColorNotReceived,
-					configFormatNotReceived, statisticDouble, threshold);
+			middleText = progressBarTextPrefix + String.format("%.1f", statisticDouble) + "/" + threshold + " ";
 		} else {
 			statisticDouble = statistic; // Cast to double.
-			middleText = String.format(" %s%s%s/%s ", configListColorNotReceived, configFormatNotReceived,
-					statistic, threshold);
+			middleText = progressBarTextPrefix + statistic + "/" + threshold + " ";
 		}
 
 		StringBuilder barDisplay = new StringBuilder().append(configListColorNotReceived).append("[").append(configColor);
-		long numericalThreshold = Long.parseLong(threshold);
 		// Approximation: colours chars account for no size, spaces ~2 vertical bars, other chars ~3 vertical bars.
 		int middleTextSize = configEnrichedProgressBars ? (middleText.length() - 6) * 3 + 4 : 0;
 		boolean hasDisplayedMiddleText = false;
@@ -531,4 +662,28 @@ public class CategoryGUI implements Reloadable {
 		return ChatColor.translateAlternateColorCodes('&', translate);
 	}
 
+	/**
+	 * Page previously displayed to a player, alongside the data it was rendered from.
+	 */
+	private static final class CachedPage {
+
+		private final Map<String, Long> subcategoriesToStatistics;
+		private final String[] receptionDates;
+		private final ItemStack[] items;
+
+		CachedPage(Map<String, Long> subcategoriesToStatistics, String[] receptionDates, ItemStack[] items) {
+			this.subcategoriesToStatistics = subcategoriesToStatistics;
+			this.receptionDates = receptionDates;
+			this.items = items;
+		}
+
+		boolean isUpToDate(Map<String, Long> currentStatistics, String[] currentReceptionDates) {
+			return subcategoriesToStatistics.equals(currentStatistics)
+					&& Arrays.equals(receptionDates, currentReceptionDates);
+		}
+
+		ItemStack[] getItems() {
+			return items;
+		}
+	}
 }
@@ -0,0 +1,115 @@
+package com.hm.achievement.gui;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable pre-rendered representation of an achievement item in a category GUI. Display names and lores are fully
+ * rendered for each state the achievement can be displayed in; only the reception date or the progress bar must be
+ * spliced in for a given player.
+ *
+ * @author Pyves
+ */
+class CategoryItemTemplate {
+
+	static final int NO_LINE = -1;
+
+	private final String name;
+	private final String subcategory;
+	private final String threshold;
+	private final long numericalThreshold;
+	private final boolean timeStatistic;
+	private final String rewardPath;
+	private final boolean playerSpecificRewards;
+
+	private final String receivedName;
+	private final List<String> receivedLore;
+	private final int dateLine;
+	private final String notReceivedName;
+	private final List<String> notReceivedLore;
+	private final String ineligibleName;
+	private final List<String> ineligibleLore;
+	private final int progressLine;
+
+	CategoryItemTemplate(String name, String subcategory, String threshold, boolean timeStatistic, String rewardPath,
+			boolean playerSpecificRewards, String receivedName, List<String> receivedLore, int dateLine,
+			String notReceivedName, List<String> notReceivedLore, String ineligibleName, List<String> ineligibleLore,
+			int progressLine) {
+		this.name = name;
+		this.subcategory = subcategory;
+		this.threshold = threshold;
+		this.numericalThreshold = progressLine == NO_LINE ? 0L : Long.parseLong(threshold);
+		this.timeStatistic = timeStatistic;
+		this.rewardPath = rewardPath;
+		this.playerSpecificRewards = playerSpecificRewards;
+		this.receivedName = receivedName;
+		this.receivedLore = Collections.unmodifiableList(receivedLore);
+		this.dateLine = dateLine;
+		this.notReceivedName = notReceivedName;
+		this.notReceivedLore = Collections.unmodifiableList(notReceivedLore);
+		this.ineligibleName = ineligibleName;
+		this.ineligibleLore = Collections.unmodifiableList(ineligibleLore);
+		this.progressLine = progressLine;
+	}
+
+	/**
+	 * @return the achievement name, as stored in the database
+	 */
+	public String getName() {
+		return name;
+	}
+
+	public String getSubcategory() {
+		return subcategory;
+	}
+
+	public String getThreshold() {
+		return threshold;
+	}
+
+	public long getNumericalThreshold() {
+		return numericalThreshold;
+	}
+
+	public boolean isTimeStatistic() {
+		return timeStatistic;
+	}
+
+	public String getRewardPath() {
+		return rewardPath;
+	}
+
+	/**
+	 * @return true if reward listings contain player placeholders and must be rendered for each player
+	 */
+	public boolean hasPlayerSpecificRewards() {
+		return playerSpecificRewards;
+	}
+
+	public String getReceivedName() {
+		return receivedName;
+	}
+
+	public List<String> getReceivedLore() {
+		return receivedLore;
+	}
+
+	public int getDateLine() {
+		return dateLine;
+	}
+
+	public String getNotReceivedName(boolean ineligibleSeriesItem) {
+		return ineligibleSeriesItem ? ineligibleName : notReceivedName;
+	}
+
+	public List<String> getNotReceivedLore(boolean ineligibleSeriesItem) {
+		return ineligibleSeriesItem ? ineligibleLore : notReceivedLore;
+	}
+
+	/**
+	 * @return the index of the progress bar in the not received lores, or NO_LINE if progress is not displayed
+	 */
+	public int getProgressLine() {
+		return progressLine;
+	}
+}
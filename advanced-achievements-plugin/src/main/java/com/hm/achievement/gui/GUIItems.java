@@ -3,6 +3,7 @@ package com.hm.achievement.gui;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -18,6 +19,7 @@ import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
+import com.hm.achievement.category.Category;
 import com.hm.achievement.category.CommandAchievements;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.category.NormalAchievements;
@@ -37,6 +39,7 @@ import com.hm.mcshared.file.CommentedYamlConfiguration;
 public class GUIItems implements Reloadable {
 
 	private final Map<OrderedCategory, ItemStack> orderedAchievementItems = new TreeMap<>();
+	private final Map<Category, ItemStack> categoriesToItems = new HashMap<>();
 
 	// Various other item stacks displayed in the GUI.
 	private ItemStack previousButton;
@@ -80,6 +83,7 @@ public class GUIItems implements Reloadable {
 		langListAchievementInCategorySingular = LangHelper.get(GuiLang.ACHIEVEMENTS_IN_CATEGORY_SINGULAR, langConfig);
 
 		orderedAchievementItems.clear();
+		categoriesToItems.clear();
 		// getShallowKeys returns a LinkedHashSet, preserving the ordering specified in the file.
 		List<String> orderedCategories = new ArrayList<>(guiConfig.getShallowKeys(""));
 		// Prepare item stacks displayed in the GUI for Multiple achievements.
@@ -93,6 +97,7 @@ public class GUIItems implements Reloadable {
 			ItemStack itemStack = createItemStack(categoryName);
 			buildItemLore(itemStack, LangHelper.get(category, langConfig), totalAchievements);
 			orderedAchievementItems.put(new OrderedCategory(orderedCategories.indexOf(categoryName), category), itemStack);
+			categoriesToItems.put(category, itemStack);
 		}
 
 		// Prepare item stacks displayed in the GUI for Normal achievements.
@@ -101,6 +106,7 @@ public class GUIItems implements Reloadable {
 			ItemStack itemStack = createItemStack(categoryName);
 			buildItemLore(itemStack, LangHelper.get(category, langConfig), mainConfig.getShallowKeys(categoryName).size());
 			orderedAchievementItems.put(new OrderedCategory(orderedCategories.indexOf(categoryName), category), itemStack);
+			categoriesToItems.put(category, itemStack);
 		}
 
 		// Prepare item stack displayed in the GUI for Commands achievements.
@@ -109,6 +115,7 @@ public class GUIItems implements Reloadable {
 				mainConfig.getShallowKeys(CommandAchievements.COMMANDS.toString()).size());
 		orderedAchievementItems.put(new OrderedCategory(orderedCategories.indexOf(CommandAchievements.COMMANDS.toString()),
 				CommandAchievements.COMMANDS), itemStack);
+		categoriesToItems.put(CommandAchievements.COMMANDS, itemStack);
 
 		achievementNotStarted = createItemStack("AchievementNotStarted");
 		achievementStarted = createItemStack("AchievementStarted");
@@ -195,6 +202,16 @@ public class GUIItems implements Reloadable {
 		return orderedAchievementItems;
 	}
 
+	/**
+	 * Returns the item representing a category in the main GUI.
+	 * 
+	 * @param category
+	 * @return the category item
+	 */
+	public ItemStack getCategoryItem(Category category) {
+		return categoriesToItems.get(category);
+	}
+
 	public ItemStack getPreviousButton() {
 		return previousButton;
 	}
@@ -69,8 +69,8 @@ public class MainGUI implements Reloadable {
 	public void displayMainGUI(Player player) {
 		int totalEnabledCategories = MultipleAchievements.values().length + NormalAchievements.values().length + 1
 				- disabledCategories.size();
-		AchievementInventoryHolder inventoryHolder = new AchievementInventoryHolder();
 		int guiSize = NumberHelper.nextMultipleOf9(totalEnabledCategories);
+		AchievementInventoryHolder inventoryHolder = new AchievementInventoryHolder(guiSize);
 		Inventory mainGUI = Bukkit.createInventory(inventoryHolder, guiSize, langListGUITitle);
 		inventoryHolder.setInventory(mainGUI);
 
@@ -79,7 +79,7 @@ public class MainGUI implements Reloadable {
 			Category category = achievementItem.getKey().getCategory();
 			ItemStack item = achievementItem.getValue();
 			if (shouldDisplayCategory(item, player, category)) {
-				displayCategory(item, mainGUI, player, category, displayedSoFar);
+				displayCategory(item, inventoryHolder, player, category, displayedSoFar);
 				++displayedSoFar;
 			}
 		}
@@ -103,45 +103,25 @@ public class MainGUI implements Reloadable {
 	}
 
 	/**
-	 * Displays an item corresponding to a category, or a barrier if the category should be hidden.
+	 * Displays an item corresponding to a category, or a barrier if the category should be hidden. Only unlocked
+	 * categories are associated with an action in the inventory holder.
 	 *
 	 * @param item
-	 * @param gui
+	 * @param inventoryHolder
 	 * @param player
 	 * @param category
 	 * @param position
 	 */
-	private void displayCategory(ItemStack item, Inventory gui, Player player, Category category, int position) {
-		if (category instanceof MultipleAchievements) {
-			for (String subcategory : mainConfig.getShallowKeys(category.toString())) {
-				if (!configHideNotReceivedCategories || hasReceivedInCategory(player, category + "." + subcategory)) {
-					gui.setItem(position, item);
-					return;
-				}
-			}
-			gui.setItem(position, guiItems.getCategoryLock());
-		} else if (!configHideNotReceivedCategories || hasReceivedInCategory(player, category.toString())) {
+	private void displayCategory(ItemStack item, AchievementInventoryHolder inventoryHolder, Player player,
+			Category category, int position) {
+		Inventory gui = inventoryHolder.getInventory();
+		// Counts of Multiple categories include the achievements of all their subcategories.
+		if (!configHideNotReceivedCategories
+				|| cacheManager.getReceivedInCategory(player.getUniqueId(), category.toString()) > 0) {
 			gui.setItem(position, item);
+			inventoryHolder.setSlotAction(position, SlotAction.category(category));
 		} else {
 			gui.setItem(position, guiItems.getCategoryLock());
 		}
 	}
-
-	/**
-	 * Determines whether the player has received at least one achievement in the category or subcategory.
-	 *
-	 * @param player
-	 * @param configPath
-	 * @return true if the player has received at least one achievement in the category, false otherwise
-	 */
-	private boolean hasReceivedInCategory(Player player, String configPath) {
-		for (String threshold : mainConfig.getShallowKeys(configPath)) {
-			if (cacheManager.hasPlayerAchievement(player.getUniqueId(),
-					mainConfig.getString(configPath + '.' + threshold + ".Name", ""))) {
-				// At least one achievement was received in the current category: it is unlocked.
-				return true;
-			}
-		}
-		return false;
-	}
 }
@@ -0,0 +1,51 @@
+package com.hm.achievement.gui;
+
+import com.hm.achievement.category.Category;
+
+/**
+ * Small wrapper representing the action triggered when clicking on a given slot of one of the plugin's inventories.
+ * 
+ * @author Pyves
+ */
+public class SlotAction {
+
+	public enum Type {
+		CATEGORY,
+		PREVIOUS_PAGE,
+		NEXT_PAGE,
+		BACK
+	}
+
+	public static final SlotAction PREVIOUS_PAGE = new SlotAction(Type.PREVIOUS_PAGE, null);
+	public static final SlotAction NEXT_PAGE = new SlotAction(Type.NEXT_PAGE, null);
+	public static final SlotAction BACK = new SlotAction(Type.BACK, null);
+
+	private final Type type;
+	private final Category category;
+
+	private SlotAction(Type type, Category category) {
+		this.type = type;
+		this.category = category;
+	}
+
+	/**
+	 * Creates an action opening the GUI of a category.
+	 * 
+	 * @param category
+	 * @return the slot action
+	 */
+	public static SlotAction category(Category category) {
+		return new SlotAction(Type.CATEGORY, category);
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * @return the category to open, or null if the action does not correspond to a category
+	 */
+	public Category getCategory() {
+		return category;
+	}
+}
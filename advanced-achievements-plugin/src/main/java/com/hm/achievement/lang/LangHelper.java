@@ -48,6 +48,20 @@ public class LangHelper {
 		return StringUtils.replaceEach(get(lang, langConfig), replace, with);
 	}
 
+	/**
+	 * Get the value in language file (with key) or default if not found, compiled into a template in which all
+	 * instances of the placeholders can be efficiently replaced.
+	 *
+	 * @param lang Lang implementation
+	 * @param langConfig Language file configuration
+	 * @param placeholders Placeholders to turn into template slots
+	 * @return template of the value in lang file or default value in Lang impl.
+	 */
+	public static MessageTemplate getTemplate(Lang lang, CommentedYamlConfiguration langConfig,
+			String... placeholders) {
+		return MessageTemplate.compile(get(lang, langConfig), placeholders);
+	}
+
 	/**
 	 * Used to turn enum names into lang.yml keys.
 	 * <p>
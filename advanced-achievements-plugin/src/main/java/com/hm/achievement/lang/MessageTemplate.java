@@ -0,0 +1,105 @@
+package com.hm.achievement.lang;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bukkit.ChatColor;
+
+/**
+ * Message parsed once into literal segments and placeholder slots. Rendering a template is a single pass that appends
+ * literals and placeholder values to a StringBuilder, without scanning the original text again.
+ *
+ * @author Pyves
+ */
+public class MessageTemplate {
+
+	// There is always one more literal than there are slots; literals surround the slots and may be empty.
+	private final String[] literals;
+	// Index of the placeholder (and therefore of the rendering value) corresponding to each slot.
+	private final int[] slots;
+	private final int literalsLength;
+
+	private MessageTemplate(String[] literals, int[] slots) {
+		this.literals = literals;
+		this.slots = slots;
+		int length = 0;
+		for (String literal : literals) {
+			length += literal.length();
+		}
+		this.literalsLength = length;
+	}
+
+	/**
+	 * Parses a text into a template. All occurrences of the placeholders are turned into slots; if several placeholders
+	 * match at the same position, the first one in the provided order is used, similarly to StringUtils.replaceEach.
+	 *
+	 * @param text
+	 * @param placeholders
+	 * @return the compiled template
+	 */
+	public static MessageTemplate compile(String text, String... placeholders) {
+		List<String> literals = new ArrayList<>();
+		List<Integer> slots = new ArrayList<>();
+		int literalStart = 0;
+		int index = 0;
+		while (index < text.length()) {
+			int placeholder = matchPlaceholder(text, index, placeholders);
+			if (placeholder < 0) {
+				++index;
+			} else {
+				literals.add(text.substring(literalStart, index));
+				slots.add(placeholder);
+				index += placeholders[placeholder].length();
+				literalStart = index;
+			}
+		}
+		literals.add(text.substring(literalStart));
+		return new MessageTemplate(literals.toArray(new String[0]),
+				slots.stream().mapToInt(Integer::intValue).toArray());
+	}
+
+	/**
+	 * Parses a text into a template, after having translated its colour codes.
+	 *
+	 * @param text
+	 * @param placeholders
+	 * @return the compiled template
+	 */
+	public static MessageTemplate compileColored(String text, String... placeholders) {
+		return compile(ChatColor.translateAlternateColorCodes('&', text), placeholders);
+	}
+
+	/**
+	 * Renders the template.
+	 *
+	 * @param values the values of the placeholders, in the order in which they were provided at compilation time
+	 * @return the rendered message
+	 */
+	public String render(String... values) {
+		if (slots.length == 0) {
+			return literals[0];
+		}
+		StringBuilder message = new StringBuilder(literalsLength + 16 * slots.length);
+		message.append(literals[0]);
+		for (int i = 0; i < slots.length; ++i) {
+			message.append(values[slots[i]]).append(literals[i + 1]);
+		}
+		return message.toString();
+	}
+
+	/**
+	 * @return true if rendering the template depends on at least one placeholder value
+	 */
+	public boolean hasSlots() {
+		return slots.length > 0;
+	}
+
+	private static int matchPlaceholder(String text, int index, String[] placeholders) {
+		for (int i = 0; i < placeholders.length; ++i) {
+			if (!placeholders[i].isEmpty() && text.startsWith(placeholders[i], index)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
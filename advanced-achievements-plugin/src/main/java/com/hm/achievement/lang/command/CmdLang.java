@@ -47,6 +47,14 @@ public enum CmdLang implements Lang {
 	// ResetCommand
 	RESET_SUCCESSFUL("CAT statistics were cleared for PLAYER."),
 	RESET_ALL_SUCCESSFUL("All statistics were cleared for PLAYER."),
+	// AbstractBulkCommand
+	BULK_OPERATION_PROGRESS("Operation for PLAYERS in progress: STEP/TOTAL steps completed."),
+	BULK_OPERATION_COMPLETED("Operation for PLAYERS completed: AMOUNT database entries were updated."),
+	// RetroactiveCommand
+	RETROACTIVE_STARTED("Evaluation of the statistics of all players started, this may take a while."),
+	RETROACTIVE_ALREADY_RUNNING("An evaluation of the statistics of all players is already running."),
+	RETROACTIVE_PROGRESS("Evaluation in progress: STEP/TOTAL categories evaluated, AMOUNT achievements awarded."),
+	RETROACTIVE_COMPLETED("Evaluation completed: AMOUNT achievements were awarded."),
 	// StatsCommand
 	NUMBER_ACHIEVEMENTS("Achievements received:"),
 	// ToggleCommand
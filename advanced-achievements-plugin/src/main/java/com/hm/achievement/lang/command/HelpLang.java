@@ -21,6 +21,7 @@ public enum HelpLang implements Lang {
 	TOGGLE("Toggle achievements of other players."),
 	RELOAD("Reload the plugin's configuration."),
 	GENERATE("Generate advancements."),
+	RETROACTIVE("Award achievements to all players."),
 	GIVE("Give achievement ACH to &7NAME."),
 	ADD("Increase a statistic."),
 	RESET("Reset statistic for category CAT."),
@@ -59,11 +60,12 @@ public enum HelpLang implements Lang {
 		TOGGLE("Your choice is saved until next server restart!"),
 		RELOAD("Reload most settings in config.yml and lang.yml files."),
 		GENERATE("Potentially slow command; use with care!"),
+		RETROACTIVE("Evaluates all statistics in the background; rewards are given on next connection."),
 		GIVE("Player must be online; only Commands achievements can be used."),
-		ADD("Player must be online; mainly used for Customs achievements."),
-		RESET("Player must be online; example: reset Places.stone DarkPyves"),
+		ADD("Player can be *, *offline or a list of UUIDs; mainly used for Customs achievements."),
+		RESET("Player can be *, *offline or a list of UUIDs; example: reset Places.stone DarkPyves"),
 		CHECK("Use the Name parameter specified in the config."),
-		DELETE("Player must be online; does not reset any associated statistics."),
+		DELETE("Player can be *, *offline or a list of UUIDs; does not reset any associated statistics."),
 		INSPECT("Lists most recent recipients of an achievement, max 1000.");
 
 		private final String defaultMessage;
@@ -1,5 +1,7 @@
 package com.hm.achievement.lifecycle;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
@@ -29,6 +31,8 @@ import com.hm.achievement.command.executor.PluginCommandExecutor;
 import com.hm.achievement.config.ConfigurationParser;
 import com.hm.achievement.db.AbstractDatabaseManager;
 import com.hm.achievement.db.AsyncCachedRequestsSender;
+import com.hm.achievement.db.PlayerNameCache;
+import com.hm.achievement.db.RankingCache;
 import com.hm.achievement.exception.PluginLoadError;
 import com.hm.achievement.listener.FireworkListener;
 import com.hm.achievement.listener.JoinListener;
@@ -36,11 +40,18 @@ import com.hm.achievement.listener.ListGUIListener;
 import com.hm.achievement.listener.PlayerAdvancedAchievementListener;
 import com.hm.achievement.listener.QuitListener;
 import com.hm.achievement.listener.TeleportListener;
+import com.hm.achievement.listener.statistics.AbstractEventDispatcher;
 import com.hm.achievement.listener.statistics.AbstractListener;
+import com.hm.achievement.listener.statistics.BucketFillDispatcher;
+import com.hm.achievement.listener.statistics.InventoryClickDispatcher;
+import com.hm.achievement.listener.statistics.PlayerInteractDispatcher;
 import com.hm.achievement.placeholder.AchievementCountBungeeTabListPlusVariable;
 import com.hm.achievement.placeholder.AchievementPlaceholderHook;
 import com.hm.achievement.runnable.AchieveDistanceRunnable;
 import com.hm.achievement.runnable.AchievePlayTimeRunnable;
+import com.hm.achievement.runnable.RewardEffectExecutor;
+import com.hm.achievement.runnable.StaggeredPlayerScheduler;
+import com.hm.achievement.runnable.VanillaStatisticsSampler;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 import com.hm.mcshared.update.UpdateChecker;
 
@@ -69,6 +80,8 @@ public class PluginLoader {
 	private final PlayerAdvancedAchievementListener playerAdvancedAchievementListener;
 	private final QuitListener quitListener;
 	private final TeleportListener teleportListener;
+	// Dispatchers, to receive events shared by several statistic listeners.
+	private final List<AbstractEventDispatcher<?>> eventDispatchers;
 
 	// Integrations with other plugins. Use lazy injection as these may or may not be used depending on runtime
 	// conditions.
@@ -78,6 +91,8 @@ public class PluginLoader {
 	// Database related.
 	private final AbstractDatabaseManager databaseManager;
 	private final AsyncCachedRequestsSender asyncCachedRequestsSender;
+	private final PlayerNameCache playerNameCache;
+	private final RankingCache rankingCache;
 
 	// Various other fields and parameters.
 	private final PluginCommandExecutor pluginCommandExecutor;
@@ -89,11 +104,14 @@ public class PluginLoader {
 	// Plugin runnable classes.
 	private final AchieveDistanceRunnable distanceRunnable;
 	private final AchievePlayTimeRunnable playTimeRunnable;
+	private final StaggeredPlayerScheduler staggeredPlayerScheduler;
+	private final VanillaStatisticsSampler vanillaStatisticsSampler;
+	private final RewardEffectExecutor rewardEffectExecutor;
 
 	// Bukkit scheduler tasks.
 	private BukkitTask asyncCachedRequestsSenderTask;
-	private BukkitTask playedTimeTask;
-	private BukkitTask distanceTask;
+	private BukkitTask rankingsTask;
+	private BukkitTask staggeredPlayerTask;
 
 	@Inject
 	public PluginLoader(AdvancedAchievements advancedAchievements, Logger logger, Set<Reloadable> reloadables,
@@ -102,11 +120,15 @@ public class PluginLoader {
 			TeleportListener teleportListener, Lazy<AchievementPlaceholderHook> achievementPlaceholderHook,
 			Lazy<AchievementCountBungeeTabListPlusVariable> achievementCountBungeeTabListPlusVariable,
 			AbstractDatabaseManager databaseManager, AsyncCachedRequestsSender asyncCachedRequestsSender,
-			PluginCommandExecutor pluginCommandExecutor, CommandTabCompleter commandTabCompleter,
-			Set<Category> disabledCategories, @Named("main") CommentedYamlConfiguration mainConfig,
-			ConfigurationParser configurationParser, AchieveDistanceRunnable distanceRunnable,
-			AchievePlayTimeRunnable playTimeRunnable, Lazy<UpdateChecker> updateChecker, ReloadCommand reloadCommand,
-			@Named("ntd") Map<String, String> namesToDisplayNames) {
+			PlayerNameCache playerNameCache, RankingCache rankingCache, PluginCommandExecutor pluginCommandExecutor,
+			CommandTabCompleter commandTabCompleter, Set<Category> disabledCategories,
+			@Named("main") CommentedYamlConfiguration mainConfig, ConfigurationParser configurationParser,
+			AchieveDistanceRunnable distanceRunnable, AchievePlayTimeRunnable playTimeRunnable,
+			Lazy<UpdateChecker> updateChecker, ReloadCommand reloadCommand,
+			@Named("ntd") Map<String, String> namesToDisplayNames, PlayerInteractDispatcher playerInteractDispatcher,
+			InventoryClickDispatcher inventoryClickDispatcher, BucketFillDispatcher bucketFillDispatcher,
+			StaggeredPlayerScheduler staggeredPlayerScheduler, VanillaStatisticsSampler vanillaStatisticsSampler,
+			RewardEffectExecutor rewardEffectExecutor) {
 		this.advancedAchievements = advancedAchievements;
 		this.logger = logger;
 		this.reloadables = reloadables;
@@ -120,6 +142,8 @@ public class PluginLoader {
 		this.achievementCountBungeeTabListPlusVariable = achievementCountBungeeTabListPlusVariable;
 		this.databaseManager = databaseManager;
 		this.asyncCachedRequestsSender = asyncCachedRequestsSender;
+		this.playerNameCache = playerNameCache;
+		this.rankingCache = rankingCache;
 		this.pluginCommandExecutor = pluginCommandExecutor;
 		this.commandTabCompleter = commandTabCompleter;
 		this.disabledCategories = disabledCategories;
@@ -127,9 +151,13 @@ public class PluginLoader {
 		this.configurationParser = configurationParser;
 		this.distanceRunnable = distanceRunnable;
 		this.playTimeRunnable = playTimeRunnable;
+		this.staggeredPlayerScheduler = staggeredPlayerScheduler;
+		this.vanillaStatisticsSampler = vanillaStatisticsSampler;
+		this.rewardEffectExecutor = rewardEffectExecutor;
 		this.updateChecker = updateChecker;
 		this.reloadCommand = reloadCommand;
 		this.namesToDisplayNames = namesToDisplayNames;
+		this.eventDispatchers = Arrays.asList(playerInteractDispatcher, inventoryClickDispatcher, bucketFillDispatcher);
 	}
 
 	/**
@@ -143,12 +171,14 @@ public class PluginLoader {
 		registerListeners();
 		if (firstLoad) {
 			databaseManager.initialise();
+			playerNameCache.loadPlayerNames();
 			initialiseCommands();
 		}
+		// Scheduled tasks depend on the parameters extracted by the reloadables, such as the sampled statistics.
+		reloadCommand.notifyObservers();
 		launchScheduledTasks();
 		launchUpdateChecker();
 		registerPermissions();
-		reloadCommand.notifyObservers();
 		if (firstLoad) {
 			linkPlaceholders();
 		}
@@ -162,13 +192,19 @@ public class PluginLoader {
 		if (asyncCachedRequestsSenderTask != null) {
 			asyncCachedRequestsSenderTask.cancel();
 		}
-		if (playedTimeTask != null) {
-			playedTimeTask.cancel();
+		if (rankingsTask != null) {
+			rankingsTask.cancel();
 		}
-		if (distanceTask != null) {
-			distanceTask.cancel();
+		if (staggeredPlayerTask != null) {
+			staggeredPlayerTask.cancel();
 		}
 
+		// Vanilla statistics increased since the previous samples are not lost.
+		Bukkit.getOnlinePlayers().forEach(vanillaStatisticsSampler::stopSampling);
+
+		// Reward commands still waiting to be executed are not lost.
+		rewardEffectExecutor.executeQueuedCommands();
+
 		// Send remaining statistics to the database and close DatabaseManager.
 		asyncCachedRequestsSender.sendBatchedRequests();
 		databaseManager.shutdown();
@@ -183,15 +219,24 @@ public class PluginLoader {
 	private void registerListeners() {
 		logger.info("Registering event listeners...");
 		PluginManager pluginManager = advancedAchievements.getServer().getPluginManager();
+		eventDispatchers.forEach(AbstractEventDispatcher::clearListeners);
 		reloadables.forEach(r -> {
 			if (r instanceof AbstractListener) {
 				AbstractListener listener = (AbstractListener) r;
 				HandlerList.unregisterAll(listener);
-				if (!disabledCategories.contains(listener.getCategory())) {
+				// Listeners sharing an event type are registered through their dispatcher rather than individually.
+				if (!disabledCategories.contains(listener.getCategory())
+						&& eventDispatchers.stream().noneMatch(d -> d.addListener(listener))) {
 					pluginManager.registerEvents(listener, advancedAchievements);
 				}
 			}
 		});
+		eventDispatchers.forEach(d -> {
+			HandlerList.unregisterAll(d);
+			if (d.hasListeners()) {
+				pluginManager.registerEvents(d, advancedAchievements);
+			}
+		});
 		HandlerList.unregisterAll(fireworkListener);
 		pluginManager.registerEvents(fireworkListener, advancedAchievements);
 		HandlerList.unregisterAll(joinListener);
@@ -231,20 +276,38 @@ public class PluginLoader {
 					configPooledRequestsTaskInterval * 20L);
 		}
 
-		// Schedule a repeating task to monitor played time for each player (not directly related to an event).
-		if (playedTimeTask != null) {
-			playedTimeTask.cancel();
+		// Schedule a repeating task to refresh the rankings used by the top, week and month commands. The task runs
+		// every second but only queries the database once the adaptive refresh interval has elapsed.
+		if (rankingsTask == null) {
+			rankingsTask = Bukkit.getScheduler().runTaskTimerAsynchronously(advancedAchievements, rankingCache, 0L, 20L);
 		}
+
+		// Schedule a repeating task spreading periodic per-player work over server ticks.
+		if (staggeredPlayerTask == null) {
+			staggeredPlayerTask = Bukkit.getScheduler().runTaskTimer(advancedAchievements, staggeredPlayerScheduler, 1L,
+					1L);
+		}
+		staggeredPlayerScheduler.clearJobs();
+
+		// Derive played time and distances from the statistics tracked by the server instead of monitoring them.
+		if (mainConfig.getBoolean("UseVanillaStatistics")) {
+			// No job if all the sampled categories are disabled.
+			if (vanillaStatisticsSampler.hasSampledStatistics()) {
+				int configVanillaStatisticsTaskInterval = mainConfig.getInt("VanillaStatisticsTaskInterval", 30);
+				staggeredPlayerScheduler.scheduleJob("VanillaStatistics", configVanillaStatisticsTaskInterval * 20,
+						vanillaStatisticsSampler::sampleStatistics);
+			}
+			return;
+		}
+
+		// Monitor played time for each player (not directly related to an event).
 		if (!disabledCategories.contains(NormalAchievements.PLAYEDTIME)) {
 			int configPlaytimeTaskInterval = mainConfig.getInt("PlaytimeTaskInterval", 60);
-			playedTimeTask = Bukkit.getScheduler().runTaskTimer(advancedAchievements, playTimeRunnable,
-					configPlaytimeTaskInterval * 10L, configPlaytimeTaskInterval * 20L);
+			staggeredPlayerScheduler.scheduleJob("PlayedTime", configPlaytimeTaskInterval * 20,
+					playTimeRunnable::updateTime);
 		}
 
-		// Schedule a repeating task to monitor distances travelled by each player (not directly related to an event).
-		if (distanceTask != null) {
-			distanceTask.cancel();
-		}
+		// Monitor distances travelled by each player (not directly related to an event).
 		if (!disabledCategories.contains(NormalAchievements.DISTANCEFOOT)
 				|| !disabledCategories.contains(NormalAchievements.DISTANCEPIG)
 				|| !disabledCategories.contains(NormalAchievements.DISTANCEHORSE)
@@ -253,8 +316,8 @@ public class PluginLoader {
 				|| !disabledCategories.contains(NormalAchievements.DISTANCEGLIDING)
 				|| !disabledCategories.contains(NormalAchievements.DISTANCELLAMA)) {
 			int configDistanceTaskInterval = mainConfig.getInt("DistanceTaskInterval", 5);
-			distanceTask = Bukkit.getScheduler().runTaskTimer(advancedAchievements, distanceRunnable,
-					configDistanceTaskInterval * 40L, configDistanceTaskInterval * 20L);
+			staggeredPlayerScheduler.scheduleJob("Distances", configDistanceTaskInterval * 20,
+					distanceRunnable::validateMovementAndUpdateDistance);
 		}
 	}
 
@@ -1,6 +1,8 @@
 package com.hm.achievement.listener;
 
+import java.util.BitSet;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -8,7 +10,6 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import org.bukkit.Bukkit;
-import org.bukkit.NamespacedKey;
 import org.bukkit.advancement.Advancement;
 import org.bukkit.advancement.AdvancementProgress;
 import org.bukkit.entity.Player;
@@ -16,16 +17,21 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.scheduler.BukkitRunnable;
 
 import com.hm.achievement.AdvancedAchievements;
 import com.hm.achievement.advancement.AchievementAdvancement;
 import com.hm.achievement.advancement.AdvancementManager;
-import com.hm.achievement.db.AbstractDatabaseManager;
+import com.hm.achievement.db.AwardHistoryCache;
+import com.hm.achievement.db.PlayerNameCache;
 import com.hm.achievement.lifecycle.Cleanable;
+import com.hm.achievement.runnable.VanillaStatisticsSampler;
+import com.hm.achievement.utils.RetroactiveAwardEngine;
 
 /**
- * Listener class to deal with advancements for Minecraft 1.12+. This class uses delays processing of tasks to avoid
- * spamming a barely connected player.
+ * Listener class to keep track of player names, to load award histories, to deliver rewards of achievements awarded
+ * retroactively and to deal with advancements for Minecraft 1.12+. This class uses delays processing of tasks to avoid spamming a barely
+ * connected player.
  * 
  * @author Pyves
  *
@@ -33,18 +39,31 @@ import com.hm.achievement.lifecycle.Cleanable;
 @Singleton
 public class JoinListener implements Listener, Cleanable {
 
+	private static final int ADVANCEMENTS_SYNCHRONISED_PER_TICK = 20;
+	private static final long PENDING_REWARDS_DELAY = 100L;
+
 	private final Set<UUID> playersConnectionProcessed = new HashSet<>();
 	private final AdvancedAchievements advancedAchievements;
-	private final AbstractDatabaseManager databaseManager;
+	private final AwardHistoryCache awardHistoryCache;
+	private final PlayerNameCache playerNameCache;
+	private final AdvancementManager advancementManager;
+	private final RetroactiveAwardEngine retroactiveAwardEngine;
+	private final VanillaStatisticsSampler vanillaStatisticsSampler;
 
 	private final int serverVersion;
 
 	@Inject
 	public JoinListener(int serverVersion, AdvancedAchievements advancedAchievements,
-			AbstractDatabaseManager databaseManager) {
+			AwardHistoryCache awardHistoryCache, PlayerNameCache playerNameCache,
+			AdvancementManager advancementManager, RetroactiveAwardEngine retroactiveAwardEngine,
+			VanillaStatisticsSampler vanillaStatisticsSampler) {
 		this.serverVersion = serverVersion;
 		this.advancedAchievements = advancedAchievements;
-		this.databaseManager = databaseManager;
+		this.awardHistoryCache = awardHistoryCache;
+		this.playerNameCache = playerNameCache;
+		this.advancementManager = advancementManager;
+		this.retroactiveAwardEngine = retroactiveAwardEngine;
+		this.vanillaStatisticsSampler = vanillaStatisticsSampler;
 	}
 
 	@Override
@@ -54,44 +73,118 @@ public class JoinListener implements Listener, Cleanable {
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
 	public void onPlayerJoin(PlayerJoinEvent event) {
+		playerNameCache.updatePlayerName(event.getPlayer().getUniqueId(), event.getPlayer().getName());
+		awardHistoryCache.loadHistory(event.getPlayer().getUniqueId());
+		vanillaStatisticsSampler.startSampling(event.getPlayer());
+		scheduleDeliverPendingRewards(event.getPlayer());
 		if (serverVersion >= 12) {
 			scheduleAwardAdvancements(event.getPlayer());
 		}
 	}
 
+	/**
+	 * Schedules a delayed task to deliver the rewards of achievements which were awarded retroactively while the
+	 * player was offline.
+	 * 
+	 * @param player
+	 */
+	private void scheduleDeliverPendingRewards(Player player) {
+		Bukkit.getScheduler().scheduleSyncDelayedTask(advancedAchievements, () -> {
+			// Check that the player is still connected.
+			if (player.isOnline()) {
+				retroactiveAwardEngine.deliverPendingRewards(player);
+			}
+		}, PENDING_REWARDS_DELAY);
+	}
+
 	/**
 	 * Schedules a delayed task to award advancements created by Advanced Achievements. This method can be seen as a
 	 * synchronisation to give advancements which were generated after the corresponding achievement was received for a
-	 * given player.
+	 * given player. The advancements are checked over several ticks, to avoid stalling the server when players with
+	 * many achievements join, and only once the player's history of received achievements has been loaded.
 	 * 
 	 * @param player
 	 */
 	private void scheduleAwardAdvancements(Player player) {
 		Bukkit.getScheduler().scheduleSyncDelayedTask(advancedAchievements, () -> {
 			// Check that the player is still connected.
-			if (!player.isOnline()) {
-				return;
-			}
-			Advancement advancement = Bukkit.getAdvancement(new NamespacedKey(advancedAchievements,
-					AdvancementManager.ADVANCED_ACHIEVEMENTS_PARENT));
-			// If no parent, user has not used /aach generate, do not do anything.
-			if (advancement != null) {
-				AdvancementProgress advancementProgress = player.getAdvancementProgress(advancement);
-				if (!advancementProgress.isDone()) {
-					advancementProgress.awardCriteria(AchievementAdvancement.CRITERIA_NAME);
-				}
-				for (String achName : databaseManager.getPlayerAchievementNamesList(player.getUniqueId())) {
-					advancement = Bukkit.getAdvancement(new NamespacedKey(advancedAchievements,
-							AdvancementManager.getKey(achName)));
-					// Matching advancement might not exist if user has not called /aach generate.
-					if (advancement != null) {
-						advancementProgress = player.getAdvancementProgress(advancement);
-						if (!advancementProgress.isDone()) {
-							advancementProgress.awardCriteria(AchievementAdvancement.CRITERIA_NAME);
-						}
-					}
-				}
+			if (player.isOnline()) {
+				awardHistoryCache.whenLoaded(player.getUniqueId(), () -> awardAdvancements(player));
 			}
 		}, 200);
 	}
+
+	/**
+	 * Awards the advancements of the achievements received by a player.
+	 * 
+	 * @param player
+	 */
+	private void awardAdvancements(Player player) {
+		if (!player.isOnline()) {
+			return;
+		}
+		Advancement parentAdvancement = advancementManager.getParentAdvancement();
+		// If no parent, user has not used /aach generate, do not do anything.
+		if (parentAdvancement == null) {
+			return;
+		}
+		awardAdvancement(player, parentAdvancement);
+		List<Advancement> advancements = advancementManager.getAdvancements();
+		BitSet receivedAdvancements = new BitSet(advancements.size());
+		for (String achName : awardHistoryCache.getAchievementNames(player.getUniqueId())) {
+			int index = advancementManager.getAdvancementIndex(achName);
+			// Matching advancement might not exist if user has not called /aach generate.
+			if (index >= 0) {
+				receivedAdvancements.set(index);
+			}
+		}
+		if (!receivedAdvancements.isEmpty()) {
+			new AdvancementSynchronisation(player, advancements, receivedAdvancements)
+					.runTaskTimer(advancedAchievements, 0L, 1L);
+		}
+	}
+
+	/**
+	 * Awards an advancement to a player if it is not already done.
+	 * 
+	 * @param player
+	 * @param advancement
+	 */
+	private static void awardAdvancement(Player player, Advancement advancement) {
+		AdvancementProgress advancementProgress = player.getAdvancementProgress(advancement);
+		if (!advancementProgress.isDone()) {
+			advancementProgress.awardCriteria(AchievementAdvancement.CRITERIA_NAME);
+		}
+	}
+
+	/**
+	 * Task awarding the advancements of a player's received achievements, a limited number per tick.
+	 */
+	private static final class AdvancementSynchronisation extends BukkitRunnable {
+
+		private final Player player;
+		private final List<Advancement> advancements;
+		private final BitSet receivedAdvancements;
+
+		private int nextIndex;
+
+		private AdvancementSynchronisation(Player player, List<Advancement> advancements,
+				BitSet receivedAdvancements) {
+			this.player = player;
+			this.advancements = advancements;
+			this.receivedAdvancements = receivedAdvancements;
+			this.nextIndex = receivedAdvancements.nextSetBit(0);
+		}
+
+		@Override
+		public void run() {
+			for (int i = 0; i < ADVANCEMENTS_SYNCHRONISED_PER_TICK && nextIndex >= 0 && player.isOnline(); ++i) {
+				awardAdvancement(player, advancements.get(nextIndex));
+				nextIndex = receivedAdvancements.nextSetBit(nextIndex + 1);
+			}
+			if (nextIndex < 0 || !player.isOnline()) {
+				cancel();
+			}
+		}
+	}
 }
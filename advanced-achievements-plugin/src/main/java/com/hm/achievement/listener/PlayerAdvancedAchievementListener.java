@@ -2,9 +2,12 @@ package com.hm.achievement.listener;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.UUID;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -20,7 +23,6 @@ import org.bukkit.Color;
 import org.bukkit.FireworkEffect;
 import org.bukkit.FireworkEffect.Type;
 import org.bukkit.Location;
-import org.bukkit.NamespacedKey;
 import org.bukkit.Particle;
 import org.bukkit.advancement.Advancement;
 import org.bukkit.attribute.Attribute;
@@ -37,12 +39,17 @@ import org.bukkit.inventory.meta.ItemMeta;
 import com.hm.achievement.AdvancedAchievements;
 import com.hm.achievement.advancement.AchievementAdvancement;
 import com.hm.achievement.advancement.AdvancementManager;
+import com.hm.achievement.command.executable.BookCommand;
 import com.hm.achievement.command.executable.ToggleCommand;
 import com.hm.achievement.db.AbstractDatabaseManager;
+import com.hm.achievement.db.AwardHistoryCache;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.lang.LangHelper;
 import com.hm.achievement.lang.ListenerLang;
+import com.hm.achievement.lang.MessageTemplate;
 import com.hm.achievement.lifecycle.Reloadable;
+import com.hm.achievement.runnable.RewardEffectExecutor;
+import com.hm.achievement.runnable.RewardEffectExecutor.Priority;
 import com.hm.achievement.utils.PlayerAdvancedAchievementEvent;
 import com.hm.achievement.utils.RewardParser;
 import com.hm.achievement.utils.SoundPlayer;
@@ -61,6 +68,8 @@ import net.milkbowl.vault.economy.Economy;
 public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 
 	private static final Random RANDOM = new Random();
+	// Maximum number of achievement names displayed when several receptions are coalesced.
+	private static final int MAX_COALESCED_NAMES = 3;
 
 	private final CommentedYamlConfiguration mainConfig;
 	private final CommentedYamlConfiguration langConfig;
@@ -68,14 +77,21 @@ public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 	private final Logger logger;
 	private final StringBuilder pluginHeader;
 	private final CacheManager cacheManager;
+	private final AwardHistoryCache awardHistoryCache;
 	private final AdvancedAchievements advancedAchievements;
 	private final RewardParser rewardParser;
 	private final Map<String, String> namesToDisplayNames;
 	private final AbstractDatabaseManager databaseManager;
 	private final ToggleCommand toggleCommand;
+	private final BookCommand bookCommand;
 	private final FireworkListener fireworkListener;
 	private final SoundPlayer soundPlayer;
+	private final RewardEffectExecutor rewardEffectExecutor;
+	private final AdvancementManager advancementManager;
+	// Receptions waiting to be handled during the next tick, when CoalesceAchievementReceptions is enabled.
+	private final Map<UUID, List<PendingReception>> pendingReceptions = new HashMap<>();
 
+	private boolean receptionsTaskScheduled;
 	private String configFireworkStyle;
 	private boolean configFirework;
 	private boolean configSimplifiedReception;
@@ -84,38 +100,45 @@ public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 	private boolean configActionBarNotify;
 	private boolean configHoverableReceiverChatText;
 	private boolean configReceiverChatMessages;
+	private boolean configCoalesceAchievementReceptions;
 
 	private String langCommandReward;
-	private String langAchievementReceived;
-	private String langItemRewardReceived;
-	private String langMoneyRewardReceived;
-	private String langExperienceRewardReceived;
-	private String langIncreaseMaxHealthRewardReceived;
-	private String langIncreaseMaxOxygenRewardReceived;
+	private MessageTemplate langAchievementReceived;
+	private MessageTemplate langItemRewardReceived;
+	private MessageTemplate langMoneyRewardReceived;
+	private MessageTemplate langExperienceRewardReceived;
+	private MessageTemplate langIncreaseMaxHealthRewardReceived;
+	private MessageTemplate langIncreaseMaxOxygenRewardReceived;
 	private String langAchievementNew;
-	private String langCustomMessageCommandReward;
+	private MessageTemplate langCustomMessageCommandReward;
 	private String langAllAchievementsReceived;
+	private MessageTemplate langAchievementNewOthers;
 
 	@Inject
 	public PlayerAdvancedAchievementListener(@Named("main") CommentedYamlConfiguration mainConfig,
 			@Named("lang") CommentedYamlConfiguration langConfig, int serverVersion, Logger logger,
-			StringBuilder pluginHeader, CacheManager cacheManager, AdvancedAchievements advancedAchievements,
-			RewardParser rewardParser, @Named("ntd") Map<String, String> namesToDisplayNames,
-			AbstractDatabaseManager databaseManager, ToggleCommand toggleCommand, FireworkListener fireworkListener,
-			SoundPlayer soundPlayer) {
+			StringBuilder pluginHeader, CacheManager cacheManager, AwardHistoryCache awardHistoryCache,
+			AdvancedAchievements advancedAchievements, RewardParser rewardParser,
+			@Named("ntd") Map<String, String> namesToDisplayNames, AbstractDatabaseManager databaseManager,
+			ToggleCommand toggleCommand, BookCommand bookCommand, FireworkListener fireworkListener,
+			SoundPlayer soundPlayer, RewardEffectExecutor rewardEffectExecutor, AdvancementManager advancementManager) {
 		this.mainConfig = mainConfig;
 		this.langConfig = langConfig;
 		this.serverVersion = serverVersion;
 		this.logger = logger;
 		this.pluginHeader = pluginHeader;
 		this.cacheManager = cacheManager;
+		this.awardHistoryCache = awardHistoryCache;
 		this.advancedAchievements = advancedAchievements;
 		this.rewardParser = rewardParser;
 		this.namesToDisplayNames = namesToDisplayNames;
 		this.databaseManager = databaseManager;
 		this.toggleCommand = toggleCommand;
+		this.bookCommand = bookCommand;
 		this.fireworkListener = fireworkListener;
 		this.soundPlayer = soundPlayer;
+		this.rewardEffectExecutor = rewardEffectExecutor;
+		this.advancementManager = advancementManager;
 	}
 
 	@Override
@@ -145,17 +168,27 @@ public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 			configHoverableReceiverChatText = false;
 		}
 		configReceiverChatMessages = mainConfig.getBoolean("ReceiverChatMessages", true);
+		configCoalesceAchievementReceptions = mainConfig.getBoolean("CoalesceAchievementReceptions");
 
 		langCommandReward = LangHelper.get(ListenerLang.COMMAND_REWARD, langConfig);
-		langAchievementReceived = LangHelper.get(ListenerLang.ACHIEVEMENT_RECEIVED, langConfig) + " " + ChatColor.WHITE;
-		langItemRewardReceived = LangHelper.get(ListenerLang.ITEM_REWARD_RECEIVED, langConfig) + " ";
-		langMoneyRewardReceived = LangHelper.get(ListenerLang.MONEY_REWARD_RECEIVED, langConfig);
-		langExperienceRewardReceived = LangHelper.get(ListenerLang.EXPERIENCE_REWARD_RECEIVED, langConfig);
-		langIncreaseMaxHealthRewardReceived = LangHelper.get(ListenerLang.INCREASE_MAX_HEALTH_REWARD_RECEIVED, langConfig);
-		langIncreaseMaxOxygenRewardReceived = LangHelper.get(ListenerLang.INCREASE_MAX_OXYGEN_REWARD_RECEIVED, langConfig);
+		langAchievementReceived = MessageTemplate.compile(
+				LangHelper.get(ListenerLang.ACHIEVEMENT_RECEIVED, langConfig) + " " + ChatColor.WHITE, "PLAYER");
+		langItemRewardReceived = MessageTemplate
+				.compile(LangHelper.get(ListenerLang.ITEM_REWARD_RECEIVED, langConfig) + " ", "AMOUNT", "ITEM");
+		langMoneyRewardReceived = MessageTemplate
+				.compileColored(LangHelper.get(ListenerLang.MONEY_REWARD_RECEIVED, langConfig), "AMOUNT");
+		langExperienceRewardReceived = MessageTemplate
+				.compileColored(LangHelper.get(ListenerLang.EXPERIENCE_REWARD_RECEIVED, langConfig), "AMOUNT");
+		langIncreaseMaxHealthRewardReceived = MessageTemplate
+				.compileColored(LangHelper.get(ListenerLang.INCREASE_MAX_HEALTH_REWARD_RECEIVED, langConfig), "AMOUNT");
+		langIncreaseMaxOxygenRewardReceived = MessageTemplate
+				.compileColored(LangHelper.get(ListenerLang.INCREASE_MAX_OXYGEN_REWARD_RECEIVED, langConfig), "AMOUNT");
 		langAchievementNew = pluginHeader + LangHelper.get(ListenerLang.ACHIEVEMENT_NEW, langConfig) + " " + ChatColor.WHITE;
-		langCustomMessageCommandReward = LangHelper.get(ListenerLang.CUSTOM_COMMAND_REWARD, langConfig);
+		langCustomMessageCommandReward = LangHelper.getTemplate(ListenerLang.CUSTOM_COMMAND_REWARD, langConfig,
+				"MESSAGE");
 		langAllAchievementsReceived = pluginHeader + LangHelper.get(ListenerLang.ALL_ACHIEVEMENTS_RECEIVED, langConfig);
+		langAchievementNewOthers = MessageTemplate
+				.compileColored(LangHelper.get(ListenerLang.ACHIEVEMENT_NEW_OTHERS, langConfig), "AMOUNT");
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -164,28 +197,111 @@ public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 		// Achievement could have already been received if MultiCommand is set to true in the configuration.
 		if (!cacheManager.hasPlayerAchievement(player.getUniqueId(), event.getName())) {
 			cacheManager.registerNewlyReceivedAchievement(player.getUniqueId(), event.getName());
+			bookCommand.invalidateBookPages(player.getUniqueId());
 
 			if (serverVersion >= 12) {
-				Advancement advancement = Bukkit.getAdvancement(new NamespacedKey(advancedAchievements,
-						AdvancementManager.getKey(event.getName())));
+				Advancement advancement = advancementManager.getAdvancement(event.getName());
 				// Matching advancement might not exist if user has not called /aach generate.
 				if (advancement != null) {
 					player.getAdvancementProgress(advancement).awardCriteria(AchievementAdvancement.CRITERIA_NAME);
 				}
 			}
 		}
+
+		if (configCoalesceAchievementReceptions) {
+			// Rewards are given straight away, whilst the player is known to be online. Only the registration and the
+			// notification of the reception are coalesced.
+			List<String> rewardTexts = giveRewardsAndPrepareTexts(player, event);
+			pendingReceptions.computeIfAbsent(player.getUniqueId(), uuid -> new ArrayList<>())
+					.add(new PendingReception(event, rewardTexts));
+			if (cacheManager.getPlayerTotalAchievements(player.getUniqueId()) == namesToDisplayNames.size()) {
+				handleAllAchievementsReceived(player);
+			}
+			if (!receptionsTaskScheduled) {
+				receptionsTaskScheduled = true;
+				Bukkit.getScheduler().runTask(advancedAchievements, this::handlePendingReceptions);
+			}
+		} else {
+			handleReception(player, event);
+		}
+	}
+
+	/**
+	 * Registers a single achievement reception, gives the rewards and displays the achievement.
+	 * 
+	 * @param player
+	 * @param event
+	 */
+	private void handleReception(Player player, PlayerAdvancedAchievementEvent event) {
 		databaseManager.registerAchievement(player.getUniqueId(), event.getName(), event.getMessage());
+		awardHistoryCache.registerAchievement(player.getUniqueId(), event.getName(), event.getMessage());
 
-		List<String> rewardTexts = giveRewardsAndPrepareTexts(player, event.getCommandRewards(), event.getCommandMessages(),
-				event.getItemRewards(), event.getMoneyReward(), event.getExperienceReward(), event.getMaxHealthReward(),
-				event.getMaxOxygenReward());
-		displayAchievement(player, event.getName(), event.getDisplayName(), event.getMessage(), rewardTexts);
+		List<String> rewardTexts = giveRewardsAndPrepareTexts(player, event);
+		displayAchievement(player, getNameToShowUser(player, event.getName(), event.getDisplayName()),
+				ChatColor.translateAlternateColorCodes('&', event.getMessage()), rewardTexts);
 
 		if (cacheManager.getPlayerTotalAchievements(player.getUniqueId()) == namesToDisplayNames.size()) {
 			handleAllAchievementsReceived(player);
 		}
 	}
 
+	/**
+	 * Handles all the receptions of the previous tick, player by player.
+	 */
+	private void handlePendingReceptions() {
+		receptionsTaskScheduled = false;
+		// Handling receptions can trigger further receptions (for instance via command rewards), which will be added
+		// to the map and handled during the next tick.
+		List<List<PendingReception>> receptions = new ArrayList<>(pendingReceptions.values());
+		pendingReceptions.clear();
+		for (List<PendingReception> playerReceptions : receptions) {
+			handleCoalescedReceptions(playerReceptions);
+		}
+	}
+
+	/**
+	 * Registers the achievement receptions of a player in a single database operation and displays a single
+	 * summarised notification, with the texts of the rewards given when the achievements were received. Only the
+	 * receptions are registered if the player disconnected since receiving the achievements.
+	 * 
+	 * @param receptions
+	 */
+	private void handleCoalescedReceptions(List<PendingReception> receptions) {
+		Player player = receptions.get(0).event.getPlayer();
+		Map<String, String> namesToMessages = new LinkedHashMap<>();
+		List<String> rewardTexts = new ArrayList<>();
+		List<String> namesToShowUser = new ArrayList<>();
+		for (PendingReception reception : receptions) {
+			PlayerAdvancedAchievementEvent event = reception.event;
+			namesToMessages.put(event.getName(), event.getMessage());
+			awardHistoryCache.registerAchievement(player.getUniqueId(), event.getName(), event.getMessage());
+			rewardTexts.addAll(reception.rewardTexts);
+			namesToShowUser.add(getNameToShowUser(player, event.getName(), event.getDisplayName()));
+		}
+		databaseManager.registerAchievements(player.getUniqueId(), namesToMessages);
+		if (!player.isOnline()) {
+			return;
+		}
+
+		// The message of the last achievement, usually the one with the highest threshold, is displayed.
+		String lastMessage = receptions.get(receptions.size() - 1).event.getMessage();
+		displayAchievement(player, joinNamesToShowUser(namesToShowUser),
+				ChatColor.translateAlternateColorCodes('&', lastMessage), rewardTexts);
+	}
+
+	/**
+	 * Gives the rewards of an achievement and prepares the texts to be displayed to the receiver.
+	 * 
+	 * @param player
+	 * @param event
+	 * @return all the reward texts to be displayed to the user
+	 */
+	private List<String> giveRewardsAndPrepareTexts(Player player, PlayerAdvancedAchievementEvent event) {
+		return giveRewardsAndPrepareTexts(player, event.getCommandRewards(), event.getCommandMessages(),
+				event.getItemRewards(), event.getMoneyReward(), event.getExperienceReward(), event.getMaxHealthReward(),
+				event.getMaxOxygenReward());
+	}
+
 	/**
 	 * Gives relevant rewards and prepares the texts to be displayed to the receiver.
 	 * 
@@ -232,7 +348,8 @@ public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 	 */
 	private List<String> rewardCommands(String[] commands, List<String> messages) {
 		for (String command : commands) {
-			advancedAchievements.getServer().dispatchCommand(advancedAchievements.getServer().getConsoleSender(), command);
+			rewardEffectExecutor.execute(Priority.COMMAND, () -> advancedAchievements.getServer()
+					.dispatchCommand(advancedAchievements.getServer().getConsoleSender(), command));
 		}
 		if (langCommandReward.isEmpty()) {
 			return Collections.emptyList();
@@ -242,7 +359,7 @@ public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 			return Collections.singletonList(langCommandReward);
 		}
 		return messages.stream()
-				.map(message -> StringUtils.replace(langCustomMessageCommandReward, "MESSAGE", message))
+				.map(langCustomMessageCommandReward::render)
 				.collect(Collectors.toList());
 	}
 
@@ -263,8 +380,7 @@ public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 			}
 			ItemMeta itemMeta = item.getItemMeta();
 			String name = itemMeta.hasDisplayName() ? itemMeta.getDisplayName() : rewardParser.getItemName(item);
-			itemNames.add(StringUtils.replaceEach(langItemRewardReceived, new String[] { "AMOUNT", "ITEM" },
-					new String[] { Integer.toString(item.getAmount()), name }));
+			itemNames.add(langItemRewardReceived.render(Integer.toString(item.getAmount()), name));
 		}
 		return itemNames;
 	}
@@ -282,8 +398,7 @@ public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 			economy.depositPlayer(player, amount);
 
 			String currencyName = rewardParser.getCurrencyName(amount);
-			return ChatColor.translateAlternateColorCodes('&',
-					StringUtils.replaceOnce(langMoneyRewardReceived, "AMOUNT", amount + " " + currencyName));
+			return langMoneyRewardReceived.render(amount + " " + currencyName);
 		}
 		logger.warning("You have specified a money reward but Vault was not linked successfully.");
 		return "";
@@ -298,8 +413,7 @@ public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 	 */
 	private String rewardExperience(Player player, int amount) {
 		player.giveExp(amount);
-		return ChatColor.translateAlternateColorCodes('&',
-				StringUtils.replaceOnce(langExperienceRewardReceived, "AMOUNT", Integer.toString(amount)));
+		return langExperienceRewardReceived.render(Integer.toString(amount));
 	}
 
 	/**
@@ -317,8 +431,7 @@ public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 		} else {
 			player.setMaxHealth(player.getMaxHealth() + amount);
 		}
-		return ChatColor.translateAlternateColorCodes('&',
-				StringUtils.replaceOnce(langIncreaseMaxHealthRewardReceived, "AMOUNT", Integer.toString(amount)));
+		return langIncreaseMaxHealthRewardReceived.render(Integer.toString(amount));
 	}
 
 	/**
@@ -330,34 +443,54 @@ public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 	 */
 	private String rewardMaxOxygen(Player player, int amount) {
 		player.setMaximumAir(player.getMaximumAir() + amount);
-		return ChatColor.translateAlternateColorCodes('&',
-				StringUtils.replaceOnce(langIncreaseMaxOxygenRewardReceived, "AMOUNT", Integer.toString(amount)));
+		return langIncreaseMaxOxygenRewardReceived.render(Integer.toString(amount));
 	}
 
 	/**
-	 * Displays chat messages, screen title and launches a firework when a player receives an achievement.
+	 * Logs the reception of an achievement and determines the name to display to users.
 	 *
 	 * @param player
 	 * @param name
 	 * @param displayName
-	 * @param message
-	 * @param rewardTexts
+	 * @return the display name if defined, the achievement name otherwise, with colours translated
 	 */
-	private void displayAchievement(Player player, String name, String displayName, String message,
-			List<String> rewardTexts) {
-		String nameToShowUser;
+	private String getNameToShowUser(Player player, String name, String displayName) {
 		if (StringUtils.isNotBlank(displayName)) {
 			// Display name is defined; use it.
-			nameToShowUser = ChatColor.translateAlternateColorCodes('&', displayName);
 			logger.info("Player " + player.getName() + " received the achievement: " + name + " (" + displayName + ")");
-		} else {
-			// Use the achievement key name (this name is used in the achievements table in the database).
-			nameToShowUser = ChatColor.translateAlternateColorCodes('&', name);
-			logger.info("Player " + player.getName() + " received the achievement: " + name);
+			return ChatColor.translateAlternateColorCodes('&', displayName);
+		}
+		// Use the achievement key name (this name is used in the achievements table in the database).
+		logger.info("Player " + player.getName() + " received the achievement: " + name);
+		return ChatColor.translateAlternateColorCodes('&', name);
+	}
 
+	/**
+	 * Joins the names of coalesced achievements, only displaying the first ones if there are too many of them.
+	 *
+	 * @param namesToShowUser
+	 * @return the names separated by commas, for instance "A, B and 3 more"
+	 */
+	private String joinNamesToShowUser(List<String> namesToShowUser) {
+		if (namesToShowUser.size() <= MAX_COALESCED_NAMES) {
+			return String.join(ChatColor.WHITE + ", ", namesToShowUser);
 		}
-		String messageToShowUser = ChatColor.translateAlternateColorCodes('&', message);
+		int displayedNames = MAX_COALESCED_NAMES - 1;
+		return String.join(ChatColor.WHITE + ", ", namesToShowUser.subList(0, displayedNames)) + ChatColor.WHITE + " "
+				+ langAchievementNewOthers.render(Integer.toString(namesToShowUser.size() - displayedNames));
+	}
 
+	/**
+	 * Displays chat messages, screen title and launches a firework when a player receives one or several
+	 * achievements.
+	 *
+	 * @param player
+	 * @param nameToShowUser
+	 * @param messageToShowUser
+	 * @param rewardTexts
+	 */
+	private void displayAchievement(Player player, String nameToShowUser, String messageToShowUser,
+			List<String> rewardTexts) {
 		if (configReceiverChatMessages) {
 			displayReceiverMessages(player, nameToShowUser, messageToShowUser, rewardTexts);
 		}
@@ -367,14 +500,14 @@ public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 			// Notify other players only if NotifyOtherPlayers is enabled and player has not used /aach toggle, or if
 			// NotifyOtherPlayers is disabled and player has used /aach toggle.
 			if (!p.getName().equals(player.getName()) && (configNotifyOtherPlayers ^ toggleCommand.isPlayerToggled(p))) {
-				displayNotification(player, nameToShowUser, p);
+				rewardEffectExecutor.execute(Priority.MESSAGE, () -> displayNotification(player, nameToShowUser, p));
 			}
 		}
 
 		if (configFirework) {
-			displayFirework(player);
+			rewardEffectExecutor.executeEffect(player, "Firework", () -> displayFirework(player));
 		} else if (configSimplifiedReception) {
-			displaySimplifiedReception(player);
+			rewardEffectExecutor.executeEffect(player, "SimplifiedReception", () -> displaySimplifiedReception(player));
 		}
 
 		if (configTitleScreen) {
@@ -423,15 +556,13 @@ public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 		if (configActionBarNotify) {
 			try {
 				FancyMessageSender.sendActionBarMessage(otherPlayer,
-						"&o" + StringUtils.replaceOnce(langAchievementReceived, "PLAYER", achievementReceiver.getName())
-								+ nameToShowUser);
+						"&o" + langAchievementReceived.render(achievementReceiver.getName()) + nameToShowUser);
 			} catch (Exception e) {
 				logger.warning("Failed to display action bar message for achievement reception notification.");
 			}
 		} else {
 			otherPlayer.sendMessage(
-					pluginHeader + StringUtils.replaceOnce(langAchievementReceived, "PLAYER", achievementReceiver.getName())
-							+ nameToShowUser);
+					pluginHeader + langAchievementReceived.render(achievementReceiver.getName()) + nameToShowUser);
 		}
 	}
 
@@ -538,4 +669,19 @@ public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 		rewardTexts.stream().filter(StringUtils::isNotBlank)
 				.forEach(t -> player.sendMessage(pluginHeader + ChatColor.translateAlternateColorCodes('&', t)));
 	}
+
+	/**
+	 * Achievement reception waiting to be registered and displayed, alongside the texts of the rewards that were
+	 * already given.
+	 */
+	private static final class PendingReception {
+
+		private final PlayerAdvancedAchievementEvent event;
+		private final List<String> rewardTexts;
+
+		private PendingReception(PlayerAdvancedAchievementEvent event, List<String> rewardTexts) {
+			this.event = event;
+			this.rewardTexts = rewardTexts;
+		}
+	}
 }
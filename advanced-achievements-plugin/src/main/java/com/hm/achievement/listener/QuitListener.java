@@ -14,6 +14,7 @@ import org.bukkit.event.player.PlayerQuitEvent;
 
 import com.hm.achievement.AdvancedAchievements;
 import com.hm.achievement.lifecycle.Cleanable;
+import com.hm.achievement.runnable.VanillaStatisticsSampler;
 
 /**
  * Listener class to deal with Distance and PlayedTime achievements.
@@ -26,16 +27,21 @@ public class QuitListener implements Listener {
 
 	private final AdvancedAchievements advancedAchievements;
 	private final Set<Cleanable> cleanables;
+	private final VanillaStatisticsSampler vanillaStatisticsSampler;
 
 	@Inject
-	public QuitListener(AdvancedAchievements advancedAchievements, Set<Cleanable> cleanables) {
+	public QuitListener(AdvancedAchievements advancedAchievements, Set<Cleanable> cleanables,
+			VanillaStatisticsSampler vanillaStatisticsSampler) {
 		this.advancedAchievements = advancedAchievements;
 		this.cleanables = cleanables;
+		this.vanillaStatisticsSampler = vanillaStatisticsSampler;
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
 	public void onPlayerQuit(PlayerQuitEvent event) {
 		UUID uuid = event.getPlayer().getUniqueId();
+		// Statistics increased since the previous sample would otherwise be lost.
+		vanillaStatisticsSampler.stopSampling(event.getPlayer());
 
 		// Delay cleaning up to avoid invalidating data immediately: players frequently disconnect and reconnect just
 		// after. This also avoids players taking advantage of the reset of cooldowns.
@@ -0,0 +1,78 @@
+package com.hm.achievement.listener.statistics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bukkit.entity.Player;
+
+import com.hm.achievement.category.Category;
+import com.hm.achievement.category.MultipleAchievements;
+import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
+import com.hm.mcshared.file.CommentedYamlConfiguration;
+
+/**
+ * Abstract class in charge of factoring out common functionality for the listener classes of high frequency categories,
+ * whose statistic increases can be aggregated over a tick by the StatisticIncreaseCoalescer.
+ *
+ * @author Pyves
+ */
+public abstract class AbstractCoalescingListener extends AbstractListener {
+
+	private final StatisticIncreaseCoalescer statisticIncreaseCoalescer;
+
+	AbstractCoalescingListener(Category category, CommentedYamlConfiguration mainConfig, int serverVersion,
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline,
+			StatisticIncreaseCoalescer statisticIncreaseCoalescer) {
+		super(category, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
+				thresholdEvaluationPipeline);
+		this.statisticIncreaseCoalescer = statisticIncreaseCoalescer;
+	}
+
+	@Override
+	void updateStatisticAndAwardAchievementsIfAvailable(Player player, int incrementValue) {
+		if (!statisticIncreaseCoalescer.isEnabled()) {
+			super.updateStatisticAndAwardAchievementsIfAvailable(player, incrementValue);
+		} else if (shouldIncreaseBeTakenIntoAccount(player, category)) {
+			statisticIncreaseCoalescer.addIncrease(this, player, null, incrementValue);
+		}
+	}
+
+	@Override
+	void updateStatisticAndAwardAchievementsIfAvailable(Player player, Set<String> subcategories, int incrementValue) {
+		if (!statisticIncreaseCoalescer.isEnabled()) {
+			super.updateStatisticAndAwardAchievementsIfAvailable(player, subcategories, incrementValue);
+		} else if (shouldIncreaseBeTakenIntoAccount(player, category)) {
+			subcategories.forEach(s -> statisticIncreaseCoalescer.addIncrease(this, player, s, incrementValue));
+		}
+	}
+
+	/**
+	 * Applies an aggregated statistic increase and awards achievements if available. Thresholds are not checked if the
+	 * player disconnected in the meantime; they will be upon the next increase.
+	 *
+	 * @param player
+	 * @param subcategory null for a NormalAchievements category
+	 * @param incrementValue
+	 */
+	void applyIncrease(Player player, String subcategory, int incrementValue) {
+		long amount;
+		String categorySubcategory;
+		if (subcategory == null) {
+			amount = cacheManager.getAndIncrementStatisticAmount((NormalAchievements) category, player.getUniqueId(),
+					incrementValue);
+			categorySubcategory = category.toString();
+		} else {
+			amount = cacheManager.getAndIncrementStatisticAmount((MultipleAchievements) category, subcategory,
+					player.getUniqueId(), incrementValue);
+			categorySubcategory = category + "." + subcategory;
+		}
+		if (player.isOnline()) {
+			checkThresholdsAndAchievements(player, categorySubcategory, amount);
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package com.hm.achievement.listener.statistics;
+
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.event.Listener;
+
+import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.StatisticIncreaseHandler;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
+import com.hm.mcshared.file.CommentedYamlConfiguration;
+
+/**
+ * Abstract class in charge of receiving a given type of Bukkit event on behalf of several statistic listeners. Checks
+ * shared by these listeners, on the event and on the player, are performed once, and the event is then only handed
+ * over to the enabled listeners whose pre-filter matches it. The listeners only check the category permission.
+ *
+ * @author Pyves
+ */
+public abstract class AbstractEventDispatcher<T> extends StatisticIncreaseHandler implements Listener {
+
+	private final Class<T> listenerType;
+
+	AbstractEventDispatcher(Class<T> listenerType, CommentedYamlConfiguration mainConfig, int serverVersion,
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline) {
+		super(mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser, thresholdEvaluationPipeline);
+		this.listenerType = listenerType;
+	}
+
+	/**
+	 * Takes over the reception of events on behalf of a listener, if the listener relies on this dispatcher.
+	 *
+	 * @param listener
+	 * @return true if the listener's events are dispatched by this class, false if it must be registered with Bukkit
+	 */
+	public boolean addListener(AbstractListener listener) {
+		if (listenerType.isInstance(listener)) {
+			addDispatchedListener(listenerType.cast(listener));
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Removes all the listeners previously added to the dispatcher.
+	 */
+	public abstract void clearListeners();
+
+	/**
+	 * @return true if at least one listener relies on this dispatcher, false otherwise
+	 */
+	public abstract boolean hasListeners();
+
+	abstract void addDispatchedListener(T listener);
+}
@@ -14,6 +14,7 @@ import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.RewardParser;
 import com.hm.achievement.utils.StatisticIncreaseHandler;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -27,8 +28,9 @@ public abstract class AbstractListener extends StatisticIncreaseHandler implemen
 	Set<String> categoryKeys;
 
 	AbstractListener(Category category, CommentedYamlConfiguration mainConfig, int serverVersion,
-			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser) {
-		super(mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser);
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline) {
+		super(mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser, thresholdEvaluationPipeline);
 		this.category = category;
 	}
 
@@ -42,6 +44,16 @@ public abstract class AbstractListener extends StatisticIncreaseHandler implemen
 		return category;
 	}
 
+	@Override
+	protected boolean shouldIncreaseBeTakenIntoAccount(Player player, Category category) {
+		// Players of dispatched events were already checked by the dispatcher, only the permission remains.
+		if (this instanceof PlayerInteractStatistic || this instanceof InventoryClickStatistic
+				|| this instanceof BucketFillStatistic) {
+			return player.hasPermission(category.toPermName());
+		}
+		return super.shouldIncreaseBeTakenIntoAccount(player, category);
+	}
+
 	/**
 	 * Updates the statistic in the database for a NormalAchievement and awards an achievement if an available one is
 	 * found.
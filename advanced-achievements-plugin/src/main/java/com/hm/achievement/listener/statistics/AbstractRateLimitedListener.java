@@ -1,12 +1,12 @@
 package com.hm.achievement.listener.statistics;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.logging.Logger;
 
-import org.apache.commons.lang3.StringUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
@@ -16,8 +16,10 @@ import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.lang.LangHelper;
 import com.hm.achievement.lang.ListenerLang;
+import com.hm.achievement.lang.MessageTemplate;
 import com.hm.achievement.lifecycle.Cleanable;
 import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 import com.hm.mcshared.particle.FancyMessageSender;
 
@@ -28,7 +30,7 @@ import com.hm.mcshared.particle.FancyMessageSender;
  */
 public class AbstractRateLimitedListener extends AbstractListener implements Cleanable {
 
-	private final Map<Integer, Map<UUID, Long>> slotsToPlayersLastActionTimes = new HashMap<>();
+	private final Map<UUID, PlayerCooldowns> playersCooldowns = new HashMap<>();
 	private final AdvancedAchievements advancedAchievements;
 	private final CommentedYamlConfiguration langConfig;
 	private final Logger logger;
@@ -37,12 +39,16 @@ public class AbstractRateLimitedListener extends AbstractListener implements Cle
 	private long hardestCategoryThreshold;
 	private boolean configCooldownActionBar;
 
-	private String langStatisticCooldown;
+	private MessageTemplate langStatisticCooldown;
+	// Cooldown messages, lazily rendered for each tenth of a second of remaining time.
+	private String[] cooldownMessages;
 
 	AbstractRateLimitedListener(Category category, CommentedYamlConfiguration mainConfig, int serverVersion,
 			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
-			AdvancedAchievements advancedAchievements, CommentedYamlConfiguration langConfig, Logger logger) {
-		super(category, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser);
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline, AdvancedAchievements advancedAchievements,
+			CommentedYamlConfiguration langConfig, Logger logger) {
+		super(category, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
+				thresholdEvaluationPipeline);
 		this.advancedAchievements = advancedAchievements;
 		this.langConfig = langConfig;
 		this.logger = logger;
@@ -66,45 +72,48 @@ public class AbstractRateLimitedListener extends AbstractListener implements Cle
 			configCooldownActionBar = false;
 		}
 
-		langStatisticCooldown = LangHelper.get(ListenerLang.STATISTIC_COOLDOWN, langConfig);
+		langStatisticCooldown = MessageTemplate
+				.compile("&o" + LangHelper.get(ListenerLang.STATISTIC_COOLDOWN, langConfig), "TIME");
+		cooldownMessages = new String[Math.max(categoryCooldown, 0) / 100 + 1];
+		// Thresholds may have changed.
+		playersCooldowns.values().forEach(c -> c.allThresholdsReached = false);
 	}
 
 	@Override
 	public void cleanPlayerData(UUID uuid) {
-		slotsToPlayersLastActionTimes.values().forEach(m -> m.remove(uuid));
+		playersCooldowns.remove(uuid);
 	}
 
 	void updateStatisticAndAwardAchievementsIfAvailable(Player player, int incrementValue, int slotNumber) {
-		if (!isInCooldownPeriod(player, slotNumber)) {
-			super.updateStatisticAndAwardAchievementsIfAvailable(player, incrementValue);
+		if (shouldIncreaseBeTakenIntoAccount(player, category)) {
+			UUID uuid = player.getUniqueId();
+			PlayerCooldowns cooldowns = playersCooldowns.computeIfAbsent(uuid, u -> new PlayerCooldowns());
+			// Ignore cooldown if player has received all achievements in the category.
+			if (cooldowns.allThresholdsReached || !isInCooldownPeriod(player, cooldowns, slotNumber)) {
+				long amount = cacheManager.getAndIncrementStatisticAmount((NormalAchievements) category, uuid,
+						incrementValue);
+				cooldowns.allThresholdsReached = amount >= hardestCategoryThreshold;
+				checkThresholdsAndAchievements(player, category.toString(), amount);
+			}
 		}
 	}
 
 	@Override
 	void updateStatisticAndAwardAchievementsIfAvailable(Player player, int incrementValue) {
-		if (!isInCooldownPeriod(player, 0)) {
-			super.updateStatisticAndAwardAchievementsIfAvailable(player, incrementValue);
-		}
+		updateStatisticAndAwardAchievementsIfAvailable(player, incrementValue, 0);
 	}
 
 	/**
 	 * Determines whether the player is in cooldown, i.e. a similar action was taken into account too recently.
 	 *
 	 * @param player
+	 * @param cooldowns
 	 * @param slotNumber
 	 * @return true if the player is still in cooldown, false otherwise
 	 */
-	private boolean isInCooldownPeriod(Player player, int slotNumber) {
-		UUID uuid = player.getUniqueId();
-		long currentPlayerStatistic = cacheManager.getAndIncrementStatisticAmount((NormalAchievements) category, uuid, 0);
-		// Ignore cooldown if player has received all achievements in the category.
-		if (currentPlayerStatistic >= hardestCategoryThreshold) {
-			return false;
-		}
-
-		Map<UUID, Long> playersLastActionTimes = slotsToPlayersLastActionTimes.computeIfAbsent(slotNumber, HashMap::new);
+	private boolean isInCooldownPeriod(Player player, PlayerCooldowns cooldowns, int slotNumber) {
 		long currentTimeMillis = System.currentTimeMillis();
-		long timeToWait = playersLastActionTimes.getOrDefault(uuid, 0L) + categoryCooldown - currentTimeMillis;
+		long timeToWait = cooldowns.getLastActionTime(slotNumber) + categoryCooldown - currentTimeMillis;
 		if (timeToWait > 0) {
 			if (configCooldownActionBar) {
 				if (category == NormalAchievements.MUSICDISCS) {
@@ -117,7 +126,7 @@ public class AbstractRateLimitedListener extends AbstractListener implements Cle
 			}
 			return true;
 		}
-		playersLastActionTimes.put(uuid, currentTimeMillis);
+		cooldowns.setLastActionTime(slotNumber, currentTimeMillis);
 		return false;
 	}
 
@@ -128,12 +137,37 @@ public class AbstractRateLimitedListener extends AbstractListener implements Cle
 	 * @param timeToWait
 	 */
 	private void displayActionBarMessage(Player player, long timeToWait) {
-		String timeWithOneDecimal = String.format("%.1f", (double) timeToWait / 1000);
-		String message = "&o" + StringUtils.replaceOnce(langStatisticCooldown, "TIME", timeWithOneDecimal);
+		// Remaining time rounded to the nearest tenth of a second, similarly to the "%.1f" format.
+		int tenths = (int) Math.min((timeToWait + 50) / 100, cooldownMessages.length - 1);
+		String message = cooldownMessages[tenths];
+		if (message == null) {
+			message = langStatisticCooldown.render(String.format("%.1f", tenths / 10.0));
+			cooldownMessages[tenths] = message;
+		}
 		try {
 			FancyMessageSender.sendActionBarMessage(player, message);
 		} catch (Exception e) {
 			logger.warning("Failed to display action bar message for cooldown.");
 		}
 	}
+
+	/**
+	 * Cooldown state of a player, with the times of the last actions taken into account for each slot.
+	 */
+	private static final class PlayerCooldowns {
+
+		private long[] lastActionTimes = new long[1];
+		private boolean allThresholdsReached;
+
+		private long getLastActionTime(int slotNumber) {
+			return slotNumber < lastActionTimes.length ? lastActionTimes[slotNumber] : 0L;
+		}
+
+		private void setLastActionTime(int slotNumber, long time) {
+			if (slotNumber >= lastActionTimes.length) {
+				lastActionTimes = Arrays.copyOf(lastActionTimes, slotNumber + 1);
+			}
+			lastActionTimes[slotNumber] = time;
+		}
+	}
 }
@@ -14,6 +14,7 @@ import org.bukkit.event.player.PlayerAdvancementDoneEvent;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -27,9 +28,10 @@ public class AdvancementsCompletedListener extends AbstractListener {
 
 	@Inject
 	public AdvancementsCompletedListener(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
-			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser) {
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline) {
 		super(NormalAchievements.ADVANCEMENTSCOMPLETED, mainConfig, serverVersion, sortedThresholds, cacheManager,
-				rewardParser);
+				rewardParser, thresholdEvaluationPipeline);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
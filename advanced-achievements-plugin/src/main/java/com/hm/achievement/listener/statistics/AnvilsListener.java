@@ -9,16 +9,13 @@ import javax.inject.Singleton;
 
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.EventPriority;
-import org.bukkit.event.inventory.ClickType;
-import org.bukkit.event.inventory.InventoryAction;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryType;
 
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -28,20 +25,25 @@ import com.hm.mcshared.file.CommentedYamlConfiguration;
  *
  */
 @Singleton
-public class AnvilsListener extends AbstractListener {
+public class AnvilsListener extends AbstractListener implements InventoryClickStatistic {
 
 	@Inject
 	public AnvilsListener(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
-			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser) {
-		super(NormalAchievements.ANVILS, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser);
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline) {
+		super(NormalAchievements.ANVILS, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
+				thresholdEvaluationPipeline);
 	}
 
-	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	@Override
+	public InventoryType getInventoryType() {
+		return InventoryType.ANVIL;
+	}
+
+	@Override
 	public void onInventoryClick(InventoryClickEvent event) {
-		if (event.getRawSlot() != 2 || event.getInventory().getType() != InventoryType.ANVIL
-				|| event.getCurrentItem() == null || event.getCurrentItem().getType() == Material.AIR
-				|| event.getAction() == InventoryAction.NOTHING
-				|| event.getClick() == ClickType.NUMBER_KEY && event.getAction() == InventoryAction.HOTBAR_MOVE_AND_READD) {
+		if (event.getRawSlot() != 2 || event.getCurrentItem() == null
+				|| event.getCurrentItem().getType() == Material.AIR) {
 			return;
 		}
 
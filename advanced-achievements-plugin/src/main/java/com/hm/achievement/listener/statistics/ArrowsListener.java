@@ -15,6 +15,7 @@ import org.bukkit.event.entity.EntityShootBowEvent;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -28,8 +29,10 @@ public class ArrowsListener extends AbstractListener {
 
 	@Inject
 	public ArrowsListener(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
-			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser) {
-		super(NormalAchievements.ARROWS, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser);
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline) {
+		super(NormalAchievements.ARROWS, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
+				thresholdEvaluationPipeline);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
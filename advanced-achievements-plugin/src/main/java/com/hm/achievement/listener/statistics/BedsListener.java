@@ -16,6 +16,7 @@ import com.hm.achievement.AdvancedAchievements;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -30,9 +31,10 @@ public class BedsListener extends AbstractRateLimitedListener {
 	@Inject
 	public BedsListener(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
 			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
-			AdvancedAchievements advancedAchievements, @Named("lang") CommentedYamlConfiguration langConfig, Logger logger) {
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline, AdvancedAchievements advancedAchievements,
+			@Named("lang") CommentedYamlConfiguration langConfig, Logger logger) {
 		super(NormalAchievements.BEDS, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
-				advancedAchievements, langConfig, logger);
+				thresholdEvaluationPipeline, advancedAchievements, langConfig, logger);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -20,6 +20,7 @@ import org.bukkit.inventory.ItemStack;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -29,15 +30,18 @@ import com.hm.mcshared.file.CommentedYamlConfiguration;
  *
  */
 @Singleton
-public class BreaksListener extends AbstractListener {
+public class BreaksListener extends AbstractCoalescingListener {
 
 	private boolean disableSilkTouchBreaks;
 	private boolean disableSilkTouchOreBreaks;
 
 	@Inject
 	public BreaksListener(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
-			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser) {
-		super(MultipleAchievements.BREAKS, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser);
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline,
+			StatisticIncreaseCoalescer statisticIncreaseCoalescer) {
+		super(MultipleAchievements.BREAKS, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
+				thresholdEvaluationPipeline, statisticIncreaseCoalescer);
 	}
 
 	@Override
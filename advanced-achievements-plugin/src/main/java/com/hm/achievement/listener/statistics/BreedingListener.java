@@ -16,6 +16,7 @@ import org.bukkit.event.entity.EntityBreedEvent;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -26,8 +27,10 @@ public class BreedingListener extends AbstractListener {
 
 	@Inject
 	public BreedingListener(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
-			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser) {
-		super(MultipleAchievements.BREEDING, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser);
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline) {
+		super(MultipleAchievements.BREEDING, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
+				thresholdEvaluationPipeline);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
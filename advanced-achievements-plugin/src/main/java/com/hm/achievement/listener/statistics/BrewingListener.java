@@ -10,10 +10,6 @@ import javax.inject.Singleton;
 
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.EventPriority;
-import org.bukkit.event.inventory.ClickType;
-import org.bukkit.event.inventory.InventoryAction;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.inventory.ItemStack;
@@ -24,6 +20,7 @@ import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.InventoryHelper;
 import com.hm.achievement.utils.MaterialHelper;
 import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -33,7 +30,7 @@ import com.hm.mcshared.file.CommentedYamlConfiguration;
  *
  */
 @Singleton
-public class BrewingListener extends AbstractRateLimitedListener {
+public class BrewingListener extends AbstractRateLimitedListener implements InventoryClickStatistic {
 
 	private final MaterialHelper materialHelper;
 	private final InventoryHelper inventoryHelper;
@@ -41,19 +38,23 @@ public class BrewingListener extends AbstractRateLimitedListener {
 	@Inject
 	public BrewingListener(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
 			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
-			AdvancedAchievements advancedAchievements, @Named("lang") CommentedYamlConfiguration langConfig, Logger logger,
-			MaterialHelper materialHelper, InventoryHelper inventoryHelper) {
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline, AdvancedAchievements advancedAchievements,
+			@Named("lang") CommentedYamlConfiguration langConfig, Logger logger, MaterialHelper materialHelper,
+			InventoryHelper inventoryHelper) {
 		super(NormalAchievements.BREWING, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
-				advancedAchievements, langConfig, logger);
+				thresholdEvaluationPipeline, advancedAchievements, langConfig, logger);
 		this.materialHelper = materialHelper;
 		this.inventoryHelper = inventoryHelper;
 	}
 
-	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	@Override
+	public InventoryType getInventoryType() {
+		return InventoryType.BREWING;
+	}
+
+	@Override
 	public void onInventoryClick(InventoryClickEvent event) {
-		if (event.getInventory().getType() != InventoryType.BREWING || event.getAction() == InventoryAction.NOTHING
-				|| event.getClick() == ClickType.NUMBER_KEY && event.getAction() == InventoryAction.HOTBAR_MOVE_AND_READD
-				|| !isBrewablePotion(event)) {
+		if (!isBrewablePotion(event)) {
 			return;
 		}
 
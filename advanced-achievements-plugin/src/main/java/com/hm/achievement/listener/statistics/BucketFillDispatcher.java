@@ -0,0 +1,62 @@
+package com.hm.achievement.listener.statistics;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.bukkit.Material;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerBucketFillEvent;
+
+import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
+import com.hm.mcshared.file.CommentedYamlConfiguration;
+
+/**
+ * Class in charge of dispatching PlayerBucketFillEvents to the LavaBuckets, Milks and WaterBuckets listeners, based on
+ * the type of the filled bucket.
+ *
+ * @author Pyves
+ */
+@Singleton
+public class BucketFillDispatcher extends AbstractEventDispatcher<BucketFillStatistic> {
+
+	private final Map<Material, BucketFillStatistic> bucketTypesToListeners = new EnumMap<>(Material.class);
+
+	@Inject
+	public BucketFillDispatcher(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline) {
+		super(BucketFillStatistic.class, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
+				thresholdEvaluationPipeline);
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onPlayerBucketFill(PlayerBucketFillEvent event) {
+		BucketFillStatistic listener = bucketTypesToListeners.get(event.getItemStack().getType());
+		if (listener != null && isPlayerEligible(event.getPlayer())) {
+			listener.onPlayerBucketFill(event);
+		}
+	}
+
+	@Override
+	public void clearListeners() {
+		bucketTypesToListeners.clear();
+	}
+
+	@Override
+	public boolean hasListeners() {
+		return !bucketTypesToListeners.isEmpty();
+	}
+
+	@Override
+	void addDispatchedListener(BucketFillStatistic listener) {
+		bucketTypesToListeners.put(listener.getBucketType(), listener);
+	}
+}
@@ -0,0 +1,19 @@
+package com.hm.achievement.listener.statistics;
+
+import org.bukkit.Material;
+import org.bukkit.event.player.PlayerBucketFillEvent;
+
+/**
+ * Interface for statistic listeners receiving PlayerBucketFillEvents through the BucketFillDispatcher.
+ *
+ * @author Pyves
+ */
+interface BucketFillStatistic {
+
+	/**
+	 * @return the type of filled bucket increasing the statistic
+	 */
+	Material getBucketType();
+
+	void onPlayerBucketFill(PlayerBucketFillEvent event);
+}
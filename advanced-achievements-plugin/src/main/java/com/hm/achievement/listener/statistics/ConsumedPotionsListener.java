@@ -15,6 +15,7 @@ import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.MaterialHelper;
 import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -31,8 +32,9 @@ public class ConsumedPotionsListener extends AbstractListener {
 	@Inject
 	public ConsumedPotionsListener(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
 			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
-			MaterialHelper materialHelper) {
-		super(NormalAchievements.CONSUMEDPOTIONS, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser);
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline, MaterialHelper materialHelper) {
+		super(NormalAchievements.CONSUMEDPOTIONS, mainConfig, serverVersion, sortedThresholds, cacheManager,
+				rewardParser, thresholdEvaluationPipeline);
 		this.materialHelper = materialHelper;
 	}
 
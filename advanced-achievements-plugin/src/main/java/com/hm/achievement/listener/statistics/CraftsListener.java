@@ -21,6 +21,7 @@ import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.InventoryHelper;
 import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -37,8 +38,9 @@ public class CraftsListener extends AbstractListener {
 	@Inject
 	public CraftsListener(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
 			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
-			InventoryHelper inventoryHelper) {
-		super(MultipleAchievements.CRAFTS, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser);
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline, InventoryHelper inventoryHelper) {
+		super(MultipleAchievements.CRAFTS, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
+				thresholdEvaluationPipeline);
 		this.inventoryHelper = inventoryHelper;
 	}
 
@@ -14,6 +14,7 @@ import org.bukkit.event.player.PlayerDropItemEvent;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -23,12 +24,15 @@ import com.hm.mcshared.file.CommentedYamlConfiguration;
  *
  */
 @Singleton
-public class DropsListener extends AbstractListener {
+public class DropsListener extends AbstractCoalescingListener {
 
 	@Inject
 	public DropsListener(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
-			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser) {
-		super(NormalAchievements.DROPS, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser);
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline,
+			StatisticIncreaseCoalescer statisticIncreaseCoalescer) {
+		super(NormalAchievements.DROPS, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
+				thresholdEvaluationPipeline, statisticIncreaseCoalescer);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -10,9 +10,6 @@ import javax.inject.Singleton;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
-import org.bukkit.event.Event.Result;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.EventPriority;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
@@ -20,6 +17,7 @@ import org.bukkit.inventory.ItemStack;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -29,18 +27,25 @@ import com.hm.mcshared.file.CommentedYamlConfiguration;
  *
  */
 @Singleton
-public class FertilisingLegacyListener extends AbstractListener {
+public class FertilisingLegacyListener extends AbstractListener implements PlayerInteractStatistic {
 
 	@Inject
 	public FertilisingLegacyListener(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
-			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser) {
-		super(NormalAchievements.FERTILISING, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser);
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline) {
+		super(NormalAchievements.FERTILISING, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
+				thresholdEvaluationPipeline);
 	}
 
-	@EventHandler(priority = EventPriority.MONITOR) // Do NOT set ignoreCancelled to true, deprecated for this event.
+	@Override
+	public boolean isRelevantMaterial(Material material) {
+		return "INK_SACK".equals(material.name());
+	}
+
+	@Override
 	public void onPlayerInteract(PlayerInteractEvent event) {
-		if (event.useItemInHand() == Result.DENY || event.getAction() != Action.RIGHT_CLICK_BLOCK
-				|| !isBoneMeal(event.getItem()) || !canBeFertilised(event.getClickedBlock())) {
+		if (event.getAction() != Action.RIGHT_CLICK_BLOCK || !isBoneMeal(event.getItem())
+				|| !canBeFertilised(event.getClickedBlock())) {
 			return;
 		}
 
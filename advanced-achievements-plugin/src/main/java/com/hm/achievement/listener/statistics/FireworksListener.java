@@ -11,15 +11,13 @@ import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.data.Ageable;
 import org.bukkit.entity.Player;
-import org.bukkit.event.Event.Result;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.EventPriority;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
 
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -29,23 +27,25 @@ import com.hm.mcshared.file.CommentedYamlConfiguration;
  *
  */
 @Singleton
-public class FireworksListener extends AbstractListener {
+public class FireworksListener extends AbstractListener implements PlayerInteractStatistic {
 
 	@Inject
 	public FireworksListener(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
-			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser) {
-		super(NormalAchievements.FIREWORKS, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser);
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline) {
+		super(NormalAchievements.FIREWORKS, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
+				thresholdEvaluationPipeline);
 	}
 
-	@EventHandler(priority = EventPriority.MONITOR) // Do NOT set ignoreCancelled to true, see SPIGOT-4793.
-	public void onPlayerInteract(PlayerInteractEvent event) {
-		if (event.useItemInHand() == Result.DENY || !event.hasItem()) {
-			return;
-		}
+	@Override
+	public boolean isRelevantMaterial(Material material) {
+		return isFirework(material);
+	}
 
+	@Override
+	public void onPlayerInteract(PlayerInteractEvent event) {
 		Player player = event.getPlayer();
-		if (!isFirework(event.getMaterial())
-				|| !canAccommodateFireworkLaunch(event.getClickedBlock(), player, event.getAction())) {
+		if (!canAccommodateFireworkLaunch(event.getClickedBlock(), player, event.getAction())) {
 			return;
 		}
 
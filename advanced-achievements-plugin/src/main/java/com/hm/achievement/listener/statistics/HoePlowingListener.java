@@ -10,15 +10,13 @@ import javax.inject.Singleton;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
-import org.bukkit.event.Event.Result;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.EventPriority;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
 
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -28,18 +26,24 @@ import com.hm.mcshared.file.CommentedYamlConfiguration;
  *
  */
 @Singleton
-public class HoePlowingListener extends AbstractListener {
+public class HoePlowingListener extends AbstractListener implements PlayerInteractStatistic {
 
 	@Inject
 	public HoePlowingListener(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
-			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser) {
-		super(NormalAchievements.HOEPLOWING, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser);
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline) {
+		super(NormalAchievements.HOEPLOWING, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
+				thresholdEvaluationPipeline);
 	}
 
-	@EventHandler(priority = EventPriority.MONITOR) // Do NOT set ignoreCancelled to true, deprecated for this event.
+	@Override
+	public boolean isRelevantMaterial(Material material) {
+		return material.name().contains("HOE");
+	}
+
+	@Override
 	public void onPlayerInteract(PlayerInteractEvent event) {
-		if (event.useItemInHand() == Result.DENY || event.getAction() != Action.RIGHT_CLICK_BLOCK
-				|| !event.getMaterial().name().contains("HOE") || !canBePlowed(event.getClickedBlock())) {
+		if (event.getAction() != Action.RIGHT_CLICK_BLOCK || !canBePlowed(event.getClickedBlock())) {
 			return;
 		}
 
@@ -0,0 +1,71 @@
+package com.hm.achievement.listener.statistics;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+
+import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
+import com.hm.mcshared.file.CommentedYamlConfiguration;
+
+/**
+ * Class in charge of dispatching InventoryClickEvents to the Anvils, Brewing, Smelting and Trades listeners, based on
+ * the type of the clicked inventory.
+ *
+ * @author Pyves
+ */
+@Singleton
+public class InventoryClickDispatcher extends AbstractEventDispatcher<InventoryClickStatistic> {
+
+	private final Map<InventoryType, InventoryClickStatistic> inventoryTypesToListeners = new EnumMap<>(
+			InventoryType.class);
+
+	@Inject
+	public InventoryClickDispatcher(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline) {
+		super(InventoryClickStatistic.class, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
+				thresholdEvaluationPipeline);
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onInventoryClick(InventoryClickEvent event) {
+		if (event.getAction() == InventoryAction.NOTHING
+				|| event.getClick() == ClickType.NUMBER_KEY && event.getAction() == InventoryAction.HOTBAR_MOVE_AND_READD) {
+			return;
+		}
+
+		InventoryClickStatistic listener = inventoryTypesToListeners.get(event.getInventory().getType());
+		if (listener != null && isPlayerEligible((Player) event.getWhoClicked())) {
+			listener.onInventoryClick(event);
+		}
+	}
+
+	@Override
+	public void clearListeners() {
+		inventoryTypesToListeners.clear();
+	}
+
+	@Override
+	public boolean hasListeners() {
+		return !inventoryTypesToListeners.isEmpty();
+	}
+
+	@Override
+	void addDispatchedListener(InventoryClickStatistic listener) {
+		inventoryTypesToListeners.put(listener.getInventoryType(), listener);
+	}
+}
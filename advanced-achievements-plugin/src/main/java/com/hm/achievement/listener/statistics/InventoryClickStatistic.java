@@ -0,0 +1,19 @@
+package com.hm.achievement.listener.statistics;
+
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+
+/**
+ * Interface for statistic listeners receiving InventoryClickEvents through the InventoryClickDispatcher.
+ *
+ * @author Pyves
+ */
+interface InventoryClickStatistic {
+
+	/**
+	 * @return the type of inventory in which clicks may increase the statistic
+	 */
+	InventoryType getInventoryType();
+
+	void onInventoryClick(InventoryClickEvent event);
+}
@@ -9,14 +9,13 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 
 import org.bukkit.Material;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.EventPriority;
 import org.bukkit.event.player.PlayerBucketFillEvent;
 
 import com.hm.achievement.AdvancedAchievements;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -25,20 +24,24 @@ import com.hm.mcshared.file.CommentedYamlConfiguration;
  * @author Pyves
  */
 @Singleton
-public class LavaBucketsListener extends AbstractRateLimitedListener {
+public class LavaBucketsListener extends AbstractRateLimitedListener implements BucketFillStatistic {
 
 	@Inject
 	public LavaBucketsListener(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
 			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
-			AdvancedAchievements advancedAchievements, @Named("lang") CommentedYamlConfiguration langConfig, Logger logger) {
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline, AdvancedAchievements advancedAchievements,
+			@Named("lang") CommentedYamlConfiguration langConfig, Logger logger) {
 		super(NormalAchievements.LAVABUCKETS, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
-				advancedAchievements, langConfig, logger);
+				thresholdEvaluationPipeline, advancedAchievements, langConfig, logger);
 	}
 
-	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	@Override
+	public Material getBucketType() {
+		return Material.LAVA_BUCKET;
+	}
+
+	@Override
 	public void onPlayerBucketFill(PlayerBucketFillEvent event) {
-		if (event.getItemStack().getType() == Material.LAVA_BUCKET) {
-			updateStatisticAndAwardAchievementsIfAvailable(event.getPlayer(), 1);
-		}
+		updateStatisticAndAwardAchievementsIfAvailable(event.getPlayer(), 1);
 	}
 }
@@ -9,9 +9,6 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 
 import org.bukkit.Material;
-import org.bukkit.event.Event.Result;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.EventPriority;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
 
@@ -19,6 +16,7 @@ import com.hm.achievement.AdvancedAchievements;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -28,21 +26,25 @@ import com.hm.mcshared.file.CommentedYamlConfiguration;
  *
  */
 @Singleton
-public class MusicDiscsListener extends AbstractRateLimitedListener {
+public class MusicDiscsListener extends AbstractRateLimitedListener implements PlayerInteractStatistic {
 
 	@Inject
-	public MusicDiscsListener(@Named("main") CommentedYamlConfiguration mainConfig,
-			int serverVersion, Map<String, List<Long>> sortedThresholds, CacheManager cacheManager,
-			RewardParser rewardParser, AdvancedAchievements advancedAchievements,
+	public MusicDiscsListener(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline, AdvancedAchievements advancedAchievements,
 			@Named("lang") CommentedYamlConfiguration langConfig, Logger logger) {
 		super(NormalAchievements.MUSICDISCS, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
-				advancedAchievements, langConfig, logger);
+				thresholdEvaluationPipeline, advancedAchievements, langConfig, logger);
 	}
 
-	@EventHandler(priority = EventPriority.MONITOR) // Do NOT set ignoreCancelled to true, deprecated for this event.
+	@Override
+	public boolean isRelevantMaterial(Material material) {
+		return material.isRecord();
+	}
+
+	@Override
 	public void onPlayerInteract(PlayerInteractEvent event) {
-		if (event.useItemInHand() == Result.DENY || event.getAction() != Action.RIGHT_CLICK_BLOCK
-				|| !event.getMaterial().isRecord() || event.getClickedBlock().getType() != Material.JUKEBOX) {
+		if (event.getAction() != Action.RIGHT_CLICK_BLOCK || event.getClickedBlock().getType() != Material.JUKEBOX) {
 			return;
 		}
 
@@ -14,6 +14,7 @@ import org.bukkit.event.player.PlayerPickupItemEvent;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -25,12 +26,15 @@ import com.hm.mcshared.file.CommentedYamlConfiguration;
  */
 @SuppressWarnings("deprecation")
 @Singleton
-public class PickupsListener extends AbstractListener {
+public class PickupsListener extends AbstractCoalescingListener {
 
 	@Inject
 	public PickupsListener(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
-			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser) {
-		super(NormalAchievements.PICKUPS, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser);
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline,
+			StatisticIncreaseCoalescer statisticIncreaseCoalescer) {
+		super(NormalAchievements.PICKUPS, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
+				thresholdEvaluationPipeline, statisticIncreaseCoalescer);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
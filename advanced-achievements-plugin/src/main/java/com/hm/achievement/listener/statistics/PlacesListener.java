@@ -17,6 +17,7 @@ import org.bukkit.event.block.BlockPlaceEvent;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -26,12 +27,15 @@ import com.hm.mcshared.file.CommentedYamlConfiguration;
  *
  */
 @Singleton
-public class PlacesListener extends AbstractListener {
+public class PlacesListener extends AbstractCoalescingListener {
 
 	@Inject
 	public PlacesListener(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
-			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser) {
-		super(MultipleAchievements.PLACES, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser);
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline,
+			StatisticIncreaseCoalescer statisticIncreaseCoalescer) {
+		super(MultipleAchievements.PLACES, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
+				thresholdEvaluationPipeline, statisticIncreaseCoalescer);
 	}
 
 	@SuppressWarnings("deprecation")
@@ -0,0 +1,81 @@
+package com.hm.achievement.listener.statistics;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.bukkit.Material;
+import org.bukkit.event.Event.Result;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.player.PlayerInteractEvent;
+
+import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
+import com.hm.mcshared.file.CommentedYamlConfiguration;
+
+/**
+ * Class in charge of dispatching PlayerInteractEvents to the Fireworks, HoePlowing, MusicDiscs and legacy Fertilising
+ * listeners.
+ *
+ * @author Pyves
+ */
+@Singleton
+public class PlayerInteractDispatcher extends AbstractEventDispatcher<PlayerInteractStatistic> {
+
+	private final List<PlayerInteractStatistic> listeners = new ArrayList<>();
+	// Listeners whose pre-filter matches a given material, computed the first time the material is used.
+	private final Map<Material, List<PlayerInteractStatistic>> materialsToListeners = new EnumMap<>(Material.class);
+
+	@Inject
+	public PlayerInteractDispatcher(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline) {
+		super(PlayerInteractStatistic.class, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
+				thresholdEvaluationPipeline);
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR) // Do NOT set ignoreCancelled to true, see SPIGOT-4793.
+	public void onPlayerInteract(PlayerInteractEvent event) {
+		// None of the statistics are increased by left clicks, physical interactions or interactions with empty hands.
+		Action action = event.getAction();
+		if (event.useItemInHand() == Result.DENY || !event.hasItem()
+				|| action != Action.RIGHT_CLICK_BLOCK && action != Action.RIGHT_CLICK_AIR) {
+			return;
+		}
+
+		List<PlayerInteractStatistic> relevantListeners = materialsToListeners.computeIfAbsent(event.getMaterial(),
+				m -> listeners.stream().filter(l -> l.isRelevantMaterial(m)).collect(Collectors.toList()));
+		if (relevantListeners.isEmpty() || !isPlayerEligible(event.getPlayer())) {
+			return;
+		}
+		for (PlayerInteractStatistic listener : relevantListeners) {
+			listener.onPlayerInteract(event);
+		}
+	}
+
+	@Override
+	public void clearListeners() {
+		listeners.clear();
+		materialsToListeners.clear();
+	}
+
+	@Override
+	public boolean hasListeners() {
+		return !listeners.isEmpty();
+	}
+
+	@Override
+	void addDispatchedListener(PlayerInteractStatistic listener) {
+		listeners.add(listener);
+		materialsToListeners.clear();
+	}
+}
@@ -0,0 +1,22 @@
+package com.hm.achievement.listener.statistics;
+
+import org.bukkit.Material;
+import org.bukkit.event.player.PlayerInteractEvent;
+
+/**
+ * Interface for statistic listeners receiving PlayerInteractEvents through the PlayerInteractDispatcher.
+ *
+ * @author Pyves
+ */
+interface PlayerInteractStatistic {
+
+	/**
+	 * Cheap pre-filter, evaluated once per material and cached by the dispatcher.
+	 *
+	 * @param material the material of the item in the player's hand
+	 * @return true if interactions with this material may increase the statistic
+	 */
+	boolean isRelevantMaterial(Material material);
+
+	void onPlayerInteract(PlayerInteractEvent event);
+}
@@ -9,10 +9,6 @@ import javax.inject.Singleton;
 
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.EventPriority;
-import org.bukkit.event.inventory.ClickType;
-import org.bukkit.event.inventory.InventoryAction;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryType;
 
@@ -20,6 +16,7 @@ import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.InventoryHelper;
 import com.hm.achievement.utils.RewardParser;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -29,24 +26,28 @@ import com.hm.mcshared.file.CommentedYamlConfiguration;
  *
  */
 @Singleton
-public class SmeltingListener extends AbstractListener {
+public class SmeltingListener extends AbstractListener implements InventoryClickStatistic {
 
 	private final InventoryHelper inventoryHelper;
 
 	@Inject
 	public SmeltingListener(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
 			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
-			InventoryHelper inventoryHelper) {
-		super(NormalAchievements.SMELTING, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser);
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline, InventoryHelper inventoryHelper) {
+		super(NormalAchievements.SMELTING, mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser,
+				thresholdEvaluationPipeline);
 		this.inventoryHelper = inventoryHelper;
 	}
 
-	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	@Override
+	public InventoryType getInventoryType() {
+		return InventoryType.FURNACE;
+	}
+
+	@Override
 	public void onInventoryClick(InventoryClickEvent event) {
-		if (event.getRawSlot() != 2 || event.getInventory().getType() != InventoryType.FURNACE
-				|| event.getCurrentItem() == null || event.getCurrentItem().getType() == Material.AIR
-				|| event.getAction() == InventoryAction.NOTHING
-				|| event.getClick() == ClickType.NUMBER_KEY && event.getAction() == InventoryAction.HOTBAR_MOVE_AND_READD) {
+		if (event.getRawSlot() != 2 || event.getCurrentItem() == null
+				|| event.getCurrentItem().getType() == Material.AIR) {
 			return;
 		}
 
@@ -0,0 +1,115 @@
+package com.hm.achievement.listener.statistics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.lifecycle.Reloadable;
+import com.hm.mcshared.file.CommentedYamlConfiguration;
+
+/**
+ * Class in charge of aggregating the statistic increases of high frequency categories when the
+ * CoalesceStatisticIncreases parameter is enabled. Increases received during a server tick are summed per player and
+ * per statistic; a single task scheduled for the next tick then applies them, thresholds being checked once per
+ * statistic.
+ *
+ * @author Pyves
+ */
+@Singleton
+public class StatisticIncreaseCoalescer implements Reloadable {
+
+	private final Map<UUID, PlayerIncreases> playersPendingIncreases = new HashMap<>();
+	private final CommentedYamlConfiguration mainConfig;
+	private final AdvancedAchievements advancedAchievements;
+
+	private boolean configCoalesceStatisticIncreases;
+	private boolean taskScheduled;
+
+	@Inject
+	public StatisticIncreaseCoalescer(@Named("main") CommentedYamlConfiguration mainConfig,
+			AdvancedAchievements advancedAchievements) {
+		this.mainConfig = mainConfig;
+		this.advancedAchievements = advancedAchievements;
+	}
+
+	@Override
+	public void extractConfigurationParameters() {
+		configCoalesceStatisticIncreases = mainConfig.getBoolean("CoalesceStatisticIncreases");
+	}
+
+	public boolean isEnabled() {
+		return configCoalesceStatisticIncreases;
+	}
+
+	/**
+	 * Records a statistic increase, which will be applied by a task running during the next server tick.
+	 *
+	 * @param listener
+	 * @param player
+	 * @param subcategory null for a NormalAchievements category
+	 * @param value
+	 */
+	void addIncrease(AbstractCoalescingListener listener, Player player, String subcategory, int value) {
+		PlayerIncreases playerIncreases = playersPendingIncreases.computeIfAbsent(player.getUniqueId(),
+				uuid -> new PlayerIncreases(player));
+		String key = subcategory == null ? listener.getCategory().toString()
+				: listener.getCategory() + "." + subcategory;
+		PendingIncrease increase = playerIncreases.statisticsToIncreases.get(key);
+		if (increase == null) {
+			playerIncreases.statisticsToIncreases.put(key, new PendingIncrease(listener, subcategory, value));
+		} else {
+			increase.value += value;
+		}
+		if (!taskScheduled) {
+			taskScheduled = true;
+			// Scheduler tasks run at the start of the next tick, once all the events of the current tick were received.
+			Bukkit.getScheduler().runTask(advancedAchievements, this::applyPendingIncreases);
+		}
+	}
+
+	private void applyPendingIncreases() {
+		taskScheduled = false;
+		// Awarding achievements can trigger further increases (for instance via command rewards), which will be
+		// processed during the next tick.
+		List<PlayerIncreases> increasesToApply = new ArrayList<>(playersPendingIncreases.values());
+		playersPendingIncreases.clear();
+		for (PlayerIncreases playerIncreases : increasesToApply) {
+			for (PendingIncrease increase : playerIncreases.statisticsToIncreases.values()) {
+				increase.listener.applyIncrease(playerIncreases.player, increase.subcategory, increase.value);
+			}
+		}
+	}
+
+	private static final class PlayerIncreases {
+
+		private final Player player;
+		private final Map<String, PendingIncrease> statisticsToIncreases = new HashMap<>();
+
+		private PlayerIncreases(Player player) {
+			this.player = player;
+		}
+	}
+
+	private static final class PendingIncrease {
+
+		private final AbstractCoalescingListener listener;
+		private final String subcategory;
+		private int value;
+
+		private PendingIncrease(AbstractCoalescingListener listener, String subcategory, int value) {
+			this.listener = listener;
+			this.subcategory = subcategory;
+			this.value = value;
+		}
+	}
+}
@@ -1,7 +1,9 @@
 package com.hm.achievement.module;
 
 import com.hm.achievement.command.executable.BookCommand;
+import com.hm.achievement.db.AwardHistoryCache;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.gui.CategoryGUI;
 import com.hm.achievement.lifecycle.Cleanable;
 import com.hm.achievement.listener.JoinListener;
 import com.hm.achievement.listener.statistics.BedsListener;
@@ -11,6 +13,8 @@ import com.hm.achievement.listener.statistics.MilksListener;
 import com.hm.achievement.listener.statistics.MusicDiscsListener;
 import com.hm.achievement.listener.statistics.WaterBucketsListener;
 import com.hm.achievement.runnable.AchieveDistanceRunnable;
+import com.hm.achievement.runnable.AchievePlayTimeRunnable;
+import com.hm.achievement.runnable.VanillaStatisticsSampler;
 
 import dagger.Binds;
 import dagger.Module;
@@ -23,6 +27,14 @@ public interface CleanableModule {
 	@IntoSet
 	Cleanable bindAchieveDistanceRunnable(AchieveDistanceRunnable achieveDistanceRunnable);
 
+	@Binds
+	@IntoSet
+	Cleanable bindAchievePlayTimeRunnable(AchievePlayTimeRunnable achievePlayTimeRunnable);
+
+	@Binds
+	@IntoSet
+	Cleanable bindAwardHistoryCache(AwardHistoryCache awardHistoryCache);
+
 	@Binds
 	@IntoSet
 	Cleanable bindBedsListener(BedsListener bedsListener);
@@ -35,6 +47,10 @@ public interface CleanableModule {
 	@IntoSet
 	Cleanable bindCacheManager(CacheManager cacheManager);
 
+	@Binds
+	@IntoSet
+	Cleanable bindCategoryGUI(CategoryGUI categoryGUI);
+
 	@Binds
 	@IntoSet
 	Cleanable bindConnectionsListener(ConnectionsListener connectionsListener);
@@ -55,6 +71,10 @@ public interface CleanableModule {
 	@IntoSet
 	Cleanable bindMusicDiscsListener(MusicDiscsListener musicDiscsListener);
 
+	@Binds
+	@IntoSet
+	Cleanable bindVanillaStatisticsSampler(VanillaStatisticsSampler vanillaStatisticsSampler);
+
 	@Binds
 	@IntoSet
 	Cleanable bindWaterBucketsListener(WaterBucketsListener waterBucketsListener);
@@ -14,6 +14,7 @@ import com.hm.achievement.command.executable.InspectCommand;
 import com.hm.achievement.command.executable.ListCommand;
 import com.hm.achievement.command.executable.MonthCommand;
 import com.hm.achievement.command.executable.ReloadCommand;
+import com.hm.achievement.command.executable.RetroactiveCommand;
 import com.hm.achievement.command.executable.ResetCommand;
 import com.hm.achievement.command.executable.StatsCommand;
 import com.hm.achievement.command.executable.ToggleCommand;
@@ -60,6 +61,10 @@ public interface CommandModule {
 	@IntoSet
 	AbstractCommand bindGenerateCommand(GenerateCommand generateCommand);
 
+	@Binds
+	@IntoSet
+	AbstractCommand bindRetroactiveCommand(RetroactiveCommand retroactiveCommand);
+
 	@Binds
 	@IntoSet
 	AbstractCommand bindEasterEggCommand(EasterEggCommand easterEggCommand);
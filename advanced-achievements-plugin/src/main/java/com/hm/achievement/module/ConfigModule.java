@@ -32,6 +32,13 @@ public class ConfigModule {
 		return new HashMap<>();
 	}
 
+	@Provides
+	@Singleton
+	@Named("ntc")
+	Map<String, String> provideNamesToCategories() {
+		return new HashMap<>();
+	}
+
 	@Provides
 	@Singleton
 	@Named("dtn")
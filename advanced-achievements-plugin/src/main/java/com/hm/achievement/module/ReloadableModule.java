@@ -3,9 +3,12 @@ package com.hm.achievement.module;
 import java.util.Set;
 
 import com.hm.achievement.advancement.AdvancementManager;
+import com.hm.achievement.command.completer.CommandTabCompleter;
 import com.hm.achievement.command.executable.AbstractCommand;
 import com.hm.achievement.command.executor.PluginCommandExecutor;
 import com.hm.achievement.db.AbstractDatabaseManager;
+import com.hm.achievement.db.AwardHistoryCache;
+import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.gui.CategoryGUI;
 import com.hm.achievement.gui.GUIItems;
 import com.hm.achievement.gui.MainGUI;
@@ -19,6 +22,7 @@ import com.hm.achievement.listener.statistics.RiptidesListener;
 import com.hm.achievement.listener.statistics.BreaksListener;
 import com.hm.achievement.listener.statistics.BreedingListener;
 import com.hm.achievement.listener.statistics.BrewingListener;
+import com.hm.achievement.listener.statistics.BucketFillDispatcher;
 import com.hm.achievement.listener.statistics.ConnectionsListener;
 import com.hm.achievement.listener.statistics.ConsumedPotionsListener;
 import com.hm.achievement.listener.statistics.CraftsListener;
@@ -33,6 +37,7 @@ import com.hm.achievement.listener.statistics.FertilisingListener;
 import com.hm.achievement.listener.statistics.FireworksListener;
 import com.hm.achievement.listener.statistics.FishListener;
 import com.hm.achievement.listener.statistics.HoePlowingListener;
+import com.hm.achievement.listener.statistics.InventoryClickDispatcher;
 import com.hm.achievement.listener.statistics.ItemBreaksListener;
 import com.hm.achievement.listener.statistics.KillsListener;
 import com.hm.achievement.listener.statistics.LavaBucketsListener;
@@ -44,9 +49,11 @@ import com.hm.achievement.listener.statistics.PetMasterReceiveListener;
 import com.hm.achievement.listener.statistics.PickupsListener;
 import com.hm.achievement.listener.statistics.PlacesListener;
 import com.hm.achievement.listener.statistics.PlayerCommandsListener;
+import com.hm.achievement.listener.statistics.PlayerInteractDispatcher;
 import com.hm.achievement.listener.statistics.ShearsListener;
 import com.hm.achievement.listener.statistics.SmeltingListener;
 import com.hm.achievement.listener.statistics.SnowballsListener;
+import com.hm.achievement.listener.statistics.StatisticIncreaseCoalescer;
 import com.hm.achievement.listener.statistics.TamesListener;
 import com.hm.achievement.listener.statistics.TargetsShotListener;
 import com.hm.achievement.listener.statistics.TradesListener;
@@ -55,8 +62,13 @@ import com.hm.achievement.listener.statistics.WaterBucketsListener;
 import com.hm.achievement.listener.statistics.WinRaidListener;
 import com.hm.achievement.runnable.AchieveDistanceRunnable;
 import com.hm.achievement.runnable.AchievePlayTimeRunnable;
+import com.hm.achievement.runnable.RewardEffectExecutor;
+import com.hm.achievement.runnable.StaggeredPlayerScheduler;
+import com.hm.achievement.runnable.VanillaStatisticsSampler;
+import com.hm.achievement.utils.RetroactiveAwardEngine;
 import com.hm.achievement.utils.RewardParser;
 import com.hm.achievement.utils.StatisticIncreaseHandler;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 
 import dagger.Binds;
 import dagger.Module;
@@ -102,6 +114,10 @@ public abstract class ReloadableModule {
 	@IntoSet
 	abstract Reloadable bindArrowsListener(ArrowsListener arrowsListener);
 
+	@Binds
+	@IntoSet
+	abstract Reloadable bindAwardHistoryCache(AwardHistoryCache awardHistoryCache);
+
 	@Binds
 	@IntoSet
 	abstract Reloadable bindBedsListener(BedsListener bedsListener);
@@ -118,10 +134,22 @@ public abstract class ReloadableModule {
 	@IntoSet
 	abstract Reloadable bindBrewingListener(BrewingListener brewingListener);
 
+	@Binds
+	@IntoSet
+	abstract Reloadable bindCacheManager(CacheManager cacheManager);
+
+	@Binds
+	@IntoSet
+	abstract Reloadable bindBucketFillDispatcher(BucketFillDispatcher bucketFillDispatcher);
+
 	@Binds
 	@IntoSet
 	abstract Reloadable bindCategoryGUI(CategoryGUI categoryGUI);
 
+	@Binds
+	@IntoSet
+	abstract Reloadable bindCommandTabCompleter(CommandTabCompleter commandTabCompleter);
+
 	@Binds
 	@IntoSet
 	abstract Reloadable bindConnectionsListener(ConnectionsListener connectionsListener);
@@ -174,6 +202,10 @@ public abstract class ReloadableModule {
 	@IntoSet
 	abstract Reloadable bindHoePlowingListener(HoePlowingListener hoePlowingListener);
 
+	@Binds
+	@IntoSet
+	abstract Reloadable bindInventoryClickDispatcher(InventoryClickDispatcher inventoryClickDispatcher);
+
 	@Binds
 	@IntoSet
 	abstract Reloadable bindItemBreaksListener(ItemBreaksListener itemBreaksListener);
@@ -227,10 +259,18 @@ public abstract class ReloadableModule {
 	@IntoSet
 	abstract Reloadable bindPlayerCommandsListener(PlayerCommandsListener playerCommandsListener);
 
+	@Binds
+	@IntoSet
+	abstract Reloadable bindPlayerInteractDispatcher(PlayerInteractDispatcher playerInteractDispatcher);
+
 	@Binds
 	@IntoSet
 	abstract Reloadable bindPluginCommandExecutor(PluginCommandExecutor pluginCommandExecutor);
 
+	@Binds
+	@IntoSet
+	abstract Reloadable bindRetroactiveAwardEngine(RetroactiveAwardEngine retroactiveAwardEngine);
+
 	@Binds
 	@IntoSet
 	abstract Reloadable bindRewardParser(RewardParser rewardParser);
@@ -247,6 +287,18 @@ public abstract class ReloadableModule {
 	@IntoSet
 	abstract Reloadable bindSnowballsListener(SnowballsListener snowballsListener);
 
+	@Binds
+	@IntoSet
+	abstract Reloadable bindRewardEffectExecutor(RewardEffectExecutor rewardEffectExecutor);
+
+	@Binds
+	@IntoSet
+	abstract Reloadable bindStaggeredPlayerScheduler(StaggeredPlayerScheduler staggeredPlayerScheduler);
+
+	@Binds
+	@IntoSet
+	abstract Reloadable bindStatisticIncreaseCoalescer(StatisticIncreaseCoalescer statisticIncreaseCoalescer);
+
 	@Binds
 	@IntoSet
 	abstract Reloadable bindStatisticIncreaseHandler(StatisticIncreaseHandler statisticIncreaseHandler);
@@ -259,6 +311,10 @@ public abstract class ReloadableModule {
 	@IntoSet
 	abstract Reloadable bindTargetsShotListener(TargetsShotListener targetsShotListener);
 
+	@Binds
+	@IntoSet
+	abstract Reloadable bindThresholdEvaluationPipeline(ThresholdEvaluationPipeline thresholdEvaluationPipeline);
+
 	@Binds
 	@IntoSet
 	abstract Reloadable bindTradesListener(TradesListener tradesListener);
@@ -267,6 +323,10 @@ public abstract class ReloadableModule {
 	@IntoSet
 	abstract Reloadable bindTreasuresListener(TreasuresListener treasuresListener);
 
+	@Binds
+	@IntoSet
+	abstract Reloadable bindVanillaStatisticsSampler(VanillaStatisticsSampler vanillaStatisticsSampler);
+
 	@Binds
 	@IntoSet
 	abstract Reloadable bindWaterBucketsListener(WaterBucketsListener waterBucketsListener);
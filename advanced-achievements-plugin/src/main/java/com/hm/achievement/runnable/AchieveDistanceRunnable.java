@@ -1,5 +1,6 @@
 package com.hm.achievement.runnable;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -10,11 +11,9 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
-import org.bukkit.util.NumberConversions;
 
 import com.hm.achievement.category.Category;
 import com.hm.achievement.category.NormalAchievements;
@@ -22,18 +21,26 @@ import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.lifecycle.Cleanable;
 import com.hm.achievement.utils.RewardParser;
 import com.hm.achievement.utils.StatisticIncreaseHandler;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
- * Class used to monitor distances travelled by players for the different available categories.
+ * Class used to monitor distances travelled by players for the different available categories. Players are processed
+ * one at a time by the StaggeredPlayerScheduler.
  * 
  * @author Pyves
  *
  */
 @Singleton
-public class AchieveDistanceRunnable extends StatisticIncreaseHandler implements Cleanable, Runnable {
+public class AchieveDistanceRunnable extends StatisticIncreaseHandler implements Cleanable {
 
-	private final Map<UUID, Location> playerLocations = new HashMap<>();
+	private static final int CATEGORIES_COUNT = NormalAchievements.values().length;
+
+	private final Map<UUID, PlayerPosition> playerPositions = new HashMap<>();
+	// Worlds are identified by their index in this list, to avoid comparing UUIDs for each player.
+	private final List<UUID> worldUIDs = new ArrayList<>();
+	// Reused to retrieve player locations without allocating new objects.
+	private final Location location = new Location(null, 0, 0, 0);
 	private final Set<Category> disabledCategories;
 
 	private boolean configIgnoreVerticalDistance;
@@ -41,8 +48,8 @@ public class AchieveDistanceRunnable extends StatisticIncreaseHandler implements
 	@Inject
 	public AchieveDistanceRunnable(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
 			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
-			Set<Category> disabledCategories) {
-		super(mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser);
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline, Set<Category> disabledCategories) {
+		super(mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser, thresholdEvaluationPipeline);
 		this.disabledCategories = disabledCategories;
 	}
 
@@ -55,85 +62,102 @@ public class AchieveDistanceRunnable extends StatisticIncreaseHandler implements
 
 	@Override
 	public void cleanPlayerData(UUID uuid) {
-		playerLocations.remove(uuid);
-	}
-
-	@Override
-	public void run() {
-		Bukkit.getOnlinePlayers().stream().forEach(this::validateMovementAndUpdateDistance);
+		playerPositions.remove(uuid);
 	}
 
 	public void updateLocation(UUID uuid, Location location) {
-		playerLocations.put(uuid, location);
+		playerPositions.computeIfAbsent(uuid, u -> new PlayerPosition()).update(location.getX(), location.getY(),
+				location.getZ(), getWorldIndex(location.getWorld().getUID()));
 	}
 
 	/**
-	 * Update distances and store them into server's memory until player disconnects.
+	 * Update distances and store them into server's memory until player disconnects. Distances are accumulated as
+	 * decimal numbers, so that movements smaller than a block between two checks are not lost.
 	 * 
 	 * @param player
 	 */
-	private void validateMovementAndUpdateDistance(Player player) {
-		Location currentLocation = player.getLocation();
-		Location previousLocation = playerLocations.put(player.getUniqueId(), currentLocation);
+	public void validateMovementAndUpdateDistance(Player player) {
+		player.getLocation(location);
+		int worldIndex = getWorldIndex(location.getWorld().getUID());
+		PlayerPosition position = playerPositions.get(player.getUniqueId());
+		if (position == null) {
+			position = new PlayerPosition();
+			position.update(location.getX(), location.getY(), location.getZ(), worldIndex);
+			playerPositions.put(player.getUniqueId(), position);
+			return;
+		}
 
-		// If player location not found or if player has changed world, ignore previous location.
-		// Evaluating distance would give an exception.
-		if (previousLocation == null || !previousLocation.getWorld().getUID().equals(player.getWorld().getUID())) {
+		double xDifference = location.getX() - position.x;
+		double yDifference = configIgnoreVerticalDistance ? 0.0 : location.getY() - position.y;
+		double zDifference = location.getZ() - position.z;
+		// If player has changed world, ignore previous location.
+		boolean sameWorld = position.worldIndex == worldIndex;
+		position.update(location.getX(), location.getY(), location.getZ(), worldIndex);
+		if (!sameWorld) {
 			return;
 		}
 
-		int difference = getDistanceDifference(previousLocation, currentLocation);
-		if (difference == 0L) { // Player has not moved.
+		double squaredDistance = xDifference * xDifference + yDifference * yDifference + zDifference * zDifference;
+		if (squaredDistance == 0.0) { // Player has not moved.
 			return;
 		}
 
+		NormalAchievements category = getMovementCategory(player);
+		if (category != null) {
+			double pendingDistance = position.pendingDistances[category.ordinal()] + Math.sqrt(squaredDistance);
+			int difference = (int) pendingDistance;
+			position.pendingDistances[category.ordinal()] = pendingDistance - difference;
+			if (difference > 0) {
+				updateDistance(difference, player, category);
+			}
+		}
+	}
+
+	/**
+	 * Determines the category corresponding to the way the player is currently moving.
+	 * 
+	 * @param player
+	 * @return the distance category, or null if the player's movements are not monitored
+	 */
+	private NormalAchievements getMovementCategory(Player player) {
 		if (player.isInsideVehicle()) {
 			EntityType vehicleType = player.getVehicle().getType();
 			if (vehicleType == EntityType.HORSE) {
-				updateDistance(difference, player, NormalAchievements.DISTANCEHORSE);
+				return NormalAchievements.DISTANCEHORSE;
 			} else if (vehicleType == EntityType.PIG) {
-				updateDistance(difference, player, NormalAchievements.DISTANCEPIG);
+				return NormalAchievements.DISTANCEPIG;
 			} else if (vehicleType == EntityType.MINECART) {
-				updateDistance(difference, player, NormalAchievements.DISTANCEMINECART);
+				return NormalAchievements.DISTANCEMINECART;
 			} else if (vehicleType == EntityType.BOAT) {
-				updateDistance(difference, player, NormalAchievements.DISTANCEBOAT);
+				return NormalAchievements.DISTANCEBOAT;
 			} else if (serverVersion >= 11 && vehicleType == EntityType.LLAMA) {
-				updateDistance(difference, player, NormalAchievements.DISTANCELLAMA);
+				return NormalAchievements.DISTANCELLAMA;
 			}
 		} else if (serverVersion >= 9 && player.isGliding()) {
-			updateDistance(difference, player, NormalAchievements.DISTANCEGLIDING);
+			return NormalAchievements.DISTANCEGLIDING;
 		} else if (!player.isFlying()) {
-			updateDistance(difference, player, NormalAchievements.DISTANCEFOOT);
+			return NormalAchievements.DISTANCEFOOT;
 		}
+		return null;
 	}
 
-	/**
-	 * Calculates the difference between the player's last location and his current one. May ignore the vertical axis or
-	 * not depending on configuration..
-	 * 
-	 * @param previousLocation
-	 * @param currentLocation
-	 * 
-	 * @return difference
-	 */
-	private int getDistanceDifference(Location previousLocation, Location currentLocation) {
-		if (configIgnoreVerticalDistance) {
-			double xSquared = NumberConversions.square(previousLocation.getX() - currentLocation.getX());
-			double zSquared = NumberConversions.square(previousLocation.getZ() - currentLocation.getZ());
-			return (int) Math.sqrt(xSquared + zSquared);
-		} else {
-			return (int) previousLocation.distance(currentLocation);
+	private int getWorldIndex(UUID worldUID) {
+		int index = worldUIDs.indexOf(worldUID);
+		if (index < 0) {
+			worldUIDs.add(worldUID);
+			index = worldUIDs.size() - 1;
 		}
+		return index;
 	}
 
 	/**
 	 * Updates distance if all conditions are met and awards achievements if necessary.
 	 * 
-	 * @param difference
+	 * @param difference the distance travelled, in blocks
 	 * @param player
 	 * @param category
 	 */
-	private void updateDistance(int difference, Player player, NormalAchievements category) {
+	public void updateDistance(int difference, Player player, NormalAchievements category) {
 		if (!shouldIncreaseBeTakenIntoAccount(player, category) || disabledCategories.contains(category)) {
 			return;
 		}
@@ -141,4 +165,24 @@ public class AchieveDistanceRunnable extends StatisticIncreaseHandler implements
 		long distance = cacheManager.getAndIncrementStatisticAmount(category, player.getUniqueId(), difference);
 		checkThresholdsAndAchievements(player, category.toString(), distance);
 	}
+
+	/**
+	 * Last known position of a player, alongside the fractions of blocks travelled in each category which have not
+	 * yet been taken into account.
+	 */
+	private static final class PlayerPosition {
+
+		private final double[] pendingDistances = new double[CATEGORIES_COUNT];
+		private double x;
+		private double y;
+		private double z;
+		private int worldIndex;
+
+		private void update(double x, double y, double z, int worldIndex) {
+			this.x = x;
+			this.y = y;
+			this.z = z;
+			this.worldIndex = worldIndex;
+		}
+	}
 }
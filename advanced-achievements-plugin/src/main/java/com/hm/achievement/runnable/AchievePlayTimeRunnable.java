@@ -1,7 +1,9 @@
 package com.hm.achievement.runnable;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
@@ -14,36 +16,40 @@ import org.bukkit.entity.Player;
 import com.earth2me.essentials.Essentials;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.lifecycle.Cleanable;
 import com.hm.achievement.utils.RewardParser;
 import com.hm.achievement.utils.StatisticIncreaseHandler;
+import com.hm.achievement.utils.ThresholdEvaluationPipeline;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
- * Class used to monitor players' played times.
+ * Class used to monitor players' played times. Players are processed one at a time by the StaggeredPlayerScheduler.
  * 
  * @author Pyves
  *
  */
 @Singleton
-public class AchievePlayTimeRunnable extends StatisticIncreaseHandler implements Runnable {
+public class AchievePlayTimeRunnable extends StatisticIncreaseHandler implements Cleanable {
 
 	private static final long MILLIS_PER_HOUR = TimeUnit.HOURS.toMillis(1);
 
+	// Times at which the played times of connected players were last updated.
+	private final Map<UUID, Long> playersPreviousTimeMillis = new HashMap<>();
+
 	private Essentials essentials;
-	private long previousTimeMillis;
 
 	private boolean configIgnoreAFKPlayedTime;
+	private long configPlaytimeTaskIntervalMillis;
 
 	@Inject
 	public AchievePlayTimeRunnable(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
-			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser) {
-		super(mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser);
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline) {
+		super(mainConfig, serverVersion, sortedThresholds, cacheManager, rewardParser, thresholdEvaluationPipeline);
 
 		if (Bukkit.getPluginManager().isPluginEnabled("Essentials")) {
 			essentials = (Essentials) Bukkit.getPluginManager().getPlugin("Essentials");
 		}
-
-		previousTimeMillis = System.currentTimeMillis();
 	}
 
 	@Override
@@ -51,23 +57,36 @@ public class AchievePlayTimeRunnable extends StatisticIncreaseHandler implements
 		super.extractConfigurationParameters();
 
 		configIgnoreAFKPlayedTime = essentials != null && mainConfig.getBoolean("IgnoreAFKPlayedTime");
+		configPlaytimeTaskIntervalMillis = TimeUnit.SECONDS.toMillis(mainConfig.getInt("PlaytimeTaskInterval", 60));
 	}
 
 	@Override
-	public void run() {
-		long currentTimeMillis = System.currentTimeMillis();
-		int millisSincePreviousRun = (int) (currentTimeMillis - previousTimeMillis);
-		Bukkit.getOnlinePlayers().stream().forEach(p -> updateTime(p, millisSincePreviousRun));
-		previousTimeMillis = currentTimeMillis;
+	public void cleanPlayerData(UUID uuid) {
+		playersPreviousTimeMillis.remove(uuid);
 	}
 
 	/**
 	 * Updates play time if all conditions are met and awards achievements if necessary.
 	 * 
 	 * @param player
-	 * @param millisSincePreviousRun
 	 */
-	private void updateTime(Player player, int millisSincePreviousRun) {
+	public void updateTime(Player player) {
+		long currentTimeMillis = System.currentTimeMillis();
+		// Players seen for the first time are credited a full interval, similarly to when all players were processed
+		// at once.
+		Long previousTimeMillis = playersPreviousTimeMillis.put(player.getUniqueId(), currentTimeMillis);
+		int millisSincePreviousRun = previousTimeMillis == null ? (int) configPlaytimeTaskIntervalMillis
+				: (int) (currentTimeMillis - previousTimeMillis);
+		updateTime(player, millisSincePreviousRun);
+	}
+
+	/**
+	 * Increases play time by the given amount if all conditions are met and awards achievements if necessary.
+	 * 
+	 * @param player
+	 * @param millis the time played since the previous update
+	 */
+	public void updateTime(Player player, int millis) {
 		if (!shouldIncreaseBeTakenIntoAccount(player, NormalAchievements.PLAYEDTIME)) {
 			return;
 		}
@@ -80,7 +99,7 @@ public class AchievePlayTimeRunnable extends StatisticIncreaseHandler implements
 		}
 
 		long totalMillis = cacheManager.getAndIncrementStatisticAmount(NormalAchievements.PLAYEDTIME, player.getUniqueId(),
-				millisSincePreviousRun);
+				millis);
 		// Thresholds in the configuration are in hours.
 		checkThresholdsAndAchievements(player, NormalAchievements.PLAYEDTIME.toString(), totalMillis / MILLIS_PER_HOUR);
 	}
@@ -0,0 +1,158 @@
+package com.hm.achievement.runnable;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.lifecycle.Reloadable;
+import com.hm.mcshared.file.CommentedYamlConfiguration;
+
+/**
+ * Class in charge of executing reward commands, notifications and visual or sound effects related to achievement
+ * receptions. If the RewardsAndEffectsTickBudget parameter is set, actions are queued and executed on the main server
+ * thread during the following ticks, without exceeding the budget in each tick. Commands are executed first, then
+ * messages, then effects; identical effects queued for the same player are only executed once.
+ *
+ * @author Pyves
+ */
+@Singleton
+public class RewardEffectExecutor implements Reloadable {
+
+	public enum Priority {
+		COMMAND,
+		MESSAGE
+	}
+
+	private final Queue<Runnable> commands = new ArrayDeque<>();
+	private final Queue<Runnable> messages = new ArrayDeque<>();
+	private final Queue<QueuedEffect> effects = new ArrayDeque<>();
+	// Keys of the effects currently queued, to merge duplicate effects for the same player.
+	private final Set<String> queuedEffectKeys = new HashSet<>();
+	private final CommentedYamlConfiguration mainConfig;
+	private final AdvancedAchievements advancedAchievements;
+
+	private long tickBudgetNanos;
+	private boolean taskScheduled;
+
+	@Inject
+	public RewardEffectExecutor(@Named("main") CommentedYamlConfiguration mainConfig,
+			AdvancedAchievements advancedAchievements) {
+		this.mainConfig = mainConfig;
+		this.advancedAchievements = advancedAchievements;
+	}
+
+	@Override
+	public void extractConfigurationParameters() {
+		tickBudgetNanos = TimeUnit.MICROSECONDS.toNanos(mainConfig.getInt("RewardsAndEffectsTickBudget", 0));
+	}
+
+	/**
+	 * Executes an action, or queues it if actions are rate-limited.
+	 *
+	 * @param priority
+	 * @param action
+	 */
+	public void execute(Priority priority, Runnable action) {
+		if (tickBudgetNanos <= 0) {
+			action.run();
+			return;
+		}
+		if (priority == Priority.COMMAND) {
+			commands.add(action);
+		} else {
+			messages.add(action);
+		}
+		scheduleTask();
+	}
+
+	/**
+	 * Executes an effect, or queues it if actions are rate-limited. An effect is not queued if the same effect is
+	 * already waiting to be executed for the player, and is discarded if the player has disconnected in the meantime.
+	 *
+	 * @param player
+	 * @param effectName
+	 * @param effect
+	 */
+	public void executeEffect(Player player, String effectName, Runnable effect) {
+		if (tickBudgetNanos <= 0) {
+			effect.run();
+			return;
+		}
+		String key = player.getUniqueId() + effectName;
+		if (queuedEffectKeys.add(key)) {
+			effects.add(new QueuedEffect(key, player, effect));
+			scheduleTask();
+		}
+	}
+
+	/**
+	 * Executes all queued commands, for instance when the plugin is disabled. Messages and effects are discarded.
+	 */
+	public void executeQueuedCommands() {
+		Runnable command;
+		while ((command = commands.poll()) != null) {
+			command.run();
+		}
+		messages.clear();
+		effects.clear();
+		queuedEffectKeys.clear();
+	}
+
+	private void scheduleTask() {
+		if (!taskScheduled) {
+			taskScheduled = true;
+			Bukkit.getScheduler().runTask(advancedAchievements, this::executeQueuedActions);
+		}
+	}
+
+	private void executeQueuedActions() {
+		taskScheduled = false;
+		long deadline = System.nanoTime() + tickBudgetNanos;
+		try {
+			// At least one action is executed per tick to guarantee progress, regardless of the budget.
+			do {
+				if (!commands.isEmpty()) {
+					commands.poll().run();
+				} else if (!messages.isEmpty()) {
+					messages.poll().run();
+				} else if (!effects.isEmpty()) {
+					QueuedEffect effect = effects.poll();
+					queuedEffectKeys.remove(effect.key);
+					if (effect.player.isOnline()) {
+						effect.action.run();
+					}
+				} else {
+					return;
+				}
+			} while (System.nanoTime() < deadline);
+		} finally {
+			// Remaining actions are executed during the next tick, even if one of the actions failed.
+			if (!commands.isEmpty() || !messages.isEmpty() || !effects.isEmpty()) {
+				scheduleTask();
+			}
+		}
+	}
+
+	private static final class QueuedEffect {
+
+		private final String key;
+		private final Player player;
+		private final Runnable action;
+
+		private QueuedEffect(String key, Player player, Runnable action) {
+			this.key = key;
+			this.player = player;
+			this.action = action;
+		}
+	}
+}
@@ -0,0 +1,212 @@
+package com.hm.achievement.runnable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import com.hm.achievement.lifecycle.Reloadable;
+import com.hm.mcshared.file.CommentedYamlConfiguration;
+
+/**
+ * Class in charge of running periodic per-player jobs, such as played time or distance checks. Instead of processing
+ * every online player in a single tick once per period, each job spreads its players evenly over the ticks of the
+ * period. The time spent per tick is capped by the PeriodicTasksTickBudget parameter; players which could not be
+ * processed within the budget are carried over to the following ticks. Metrics of each job are logged periodically if
+ * the PeriodicTasksMetricsInterval parameter is set.
+ *
+ * @author Pyves
+ */
+@Singleton
+public class StaggeredPlayerScheduler implements Reloadable, Runnable {
+
+	private final List<ScheduledJob> jobs = new ArrayList<>();
+	private final CommentedYamlConfiguration mainConfig;
+	private final Logger logger;
+
+	private long tickBudgetNanos;
+	private long metricsIntervalTicks;
+	private long currentTick;
+	// Index of the job processed first, rotated every tick so that no job is starved when the budget is exceeded.
+	private int firstJobIndex;
+
+	@Inject
+	public StaggeredPlayerScheduler(@Named("main") CommentedYamlConfiguration mainConfig, Logger logger) {
+		this.mainConfig = mainConfig;
+		this.logger = logger;
+	}
+
+	@Override
+	public void extractConfigurationParameters() {
+		tickBudgetNanos = TimeUnit.MICROSECONDS.toNanos(mainConfig.getInt("PeriodicTasksTickBudget", 2000));
+		metricsIntervalTicks = TimeUnit.MINUTES.toSeconds(mainConfig.getInt("PeriodicTasksMetricsInterval")) * 20;
+	}
+
+	/**
+	 * Schedules a job to be run for each online player once per period.
+	 *
+	 * @param name the name of the job, used in metrics and log messages
+	 * @param periodTicks the number of ticks over which each cycle of the job is spread
+	 * @param job the action to run for each player
+	 */
+	public void scheduleJob(String name, int periodTicks, Consumer<Player> job) {
+		jobs.add(new ScheduledJob(name, Math.max(1, periodTicks), job));
+	}
+
+	/**
+	 * Removes all scheduled jobs, for instance before rescheduling them when the plugin is reloaded.
+	 */
+	public void clearJobs() {
+		jobs.clear();
+	}
+
+	@Override
+	public void run() {
+		++currentTick;
+		if (metricsIntervalTicks > 0 && currentTick % metricsIntervalTicks == 0) {
+			logJobMetrics();
+		}
+		if (jobs.isEmpty()) {
+			return;
+		}
+		long deadline = System.nanoTime() + tickBudgetNanos;
+		boolean processedAny = false;
+		firstJobIndex = (firstJobIndex + 1) % jobs.size();
+		for (int i = 0; i < jobs.size(); ++i) {
+			ScheduledJob job = jobs.get((firstJobIndex + i) % jobs.size());
+			if (job.isCycleComplete()) {
+				if (currentTick < job.nextCycleTick) {
+					continue;
+				}
+				job.startCycle(currentTick);
+			}
+			int share = job.getShare(currentTick);
+			for (int processed = 0; processed < share && !job.isCycleComplete(); ++processed) {
+				// At least one player is processed per tick to guarantee progress, regardless of the budget.
+				if (processedAny && System.nanoTime() > deadline) {
+					return;
+				}
+				job.processNextPlayer();
+				processedAny = true;
+			}
+			if (job.isCycleComplete()) {
+				job.completeCycle(currentTick);
+			}
+		}
+	}
+
+	/**
+	 * Logs the metrics of the currently scheduled jobs, accumulated since they were scheduled.
+	 */
+	private void logJobMetrics() {
+		for (ScheduledJob job : jobs) {
+			JobMetrics metrics = job.metrics;
+			long averageMicros = metrics.processedPlayers == 0 ? 0
+					: TimeUnit.NANOSECONDS.toMicros(metrics.totalNanos / metrics.processedPlayers);
+			logger.info("Periodic task " + metrics.name + ": " + metrics.completedCycles + " cycles completed ("
+					+ metrics.delayedCycles + " delayed), " + metrics.processedPlayers + " players processed, "
+					+ averageMicros + " microseconds on average and "
+					+ TimeUnit.NANOSECONDS.toMicros(metrics.maxPlayerNanos) + " at most per player.");
+		}
+	}
+
+	/**
+	 * Metrics of a periodic job, updated on the main server thread.
+	 */
+	private static final class JobMetrics {
+
+		private final String name;
+		private long completedCycles;
+		// Cycles which could not be completed within the job's period.
+		private long delayedCycles;
+		private long processedPlayers;
+		private long totalNanos;
+		private long maxPlayerNanos;
+
+		private JobMetrics(String name) {
+			this.name = name;
+		}
+	}
+
+	private final class ScheduledJob {
+
+		private final int periodTicks;
+		private final Consumer<Player> job;
+		private final JobMetrics metrics;
+
+		private List<Player> cyclePlayers = Collections.emptyList();
+		private int nextPlayerIndex;
+		private long cycleStartTick;
+		private long nextCycleTick;
+		private boolean delayWarningLogged;
+
+		private ScheduledJob(String name, int periodTicks, Consumer<Player> job) {
+			this.periodTicks = periodTicks;
+			this.job = job;
+			this.metrics = new JobMetrics(name);
+		}
+
+		private boolean isCycleComplete() {
+			return nextPlayerIndex >= cyclePlayers.size();
+		}
+
+		private void startCycle(long tick) {
+			cyclePlayers = new ArrayList<>(Bukkit.getOnlinePlayers());
+			nextPlayerIndex = 0;
+			cycleStartTick = tick;
+			nextCycleTick = tick + periodTicks;
+		}
+
+		private void completeCycle(long tick) {
+			++metrics.completedCycles;
+			cyclePlayers = Collections.emptyList();
+			nextPlayerIndex = 0;
+			if (tick >= cycleStartTick + periodTicks) {
+				++metrics.delayedCycles;
+				if (!delayWarningLogged) {
+					delayWarningLogged = true;
+					logger.warning("Periodic task " + metrics.name + " could not process all players within its "
+							+ "interval. Consider increasing its interval or the PeriodicTasksTickBudget parameter.");
+				}
+			}
+		}
+
+		/**
+		 * Computes the number of players to process during this tick so that the remaining players are evenly spread
+		 * over the remaining ticks of the cycle.
+		 *
+		 * @param tick
+		 * @return the number of players to process
+		 */
+		private int getShare(long tick) {
+			int remainingPlayers = cyclePlayers.size() - nextPlayerIndex;
+			long remainingTicks = cycleStartTick + periodTicks - tick;
+			if (remainingTicks <= 1) {
+				return remainingPlayers;
+			}
+			return (int) ((remainingPlayers + remainingTicks - 1) / remainingTicks);
+		}
+
+		private void processNextPlayer() {
+			Player player = cyclePlayers.get(nextPlayerIndex++);
+			if (!player.isOnline()) {
+				return;
+			}
+			long start = System.nanoTime();
+			job.accept(player);
+			long elapsed = System.nanoTime() - start;
+			++metrics.processedPlayers;
+			metrics.totalNanos += elapsed;
+			metrics.maxPlayerNanos = Math.max(metrics.maxPlayerNanos, elapsed);
+		}
+	}
+}
@@ -0,0 +1,212 @@
+package com.hm.achievement.runnable;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.commons.lang3.EnumUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.Statistic;
+import org.bukkit.entity.Player;
+
+import com.hm.achievement.category.Category;
+import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.lifecycle.Cleanable;
+import com.hm.achievement.lifecycle.Reloadable;
+import com.hm.mcshared.file.CommentedYamlConfiguration;
+
+/**
+ * Class used to monitor played times and distances travelled by players based on the statistics already tracked by the
+ * server. Instead of polling locations or measuring wall-clock time, the differences of the vanilla statistics since
+ * the previous sample are mapped onto the corresponding categories. Players are processed one at a time by the
+ * StaggeredPlayerScheduler; the reference sample is taken when they join and the remaining differences are taken into
+ * account when they quit.
+ *
+ * @author Pyves
+ */
+@Singleton
+public class VanillaStatisticsSampler implements Reloadable, Cleanable {
+
+	private static final int CENTIMETRES_PER_BLOCK = 100;
+	private static final int MILLIS_PER_TICK = 50;
+	private static final int CATEGORIES_COUNT = NormalAchievements.values().length;
+
+	private final Map<UUID, PlayerSamples> playerSamples = new HashMap<>();
+	private final List<SampledStatistic> sampledStatistics = new ArrayList<>();
+	private final Set<NormalAchievements> sampledCategories = EnumSet.noneOf(NormalAchievements.class);
+	private final CommentedYamlConfiguration mainConfig;
+	private final Set<Category> disabledCategories;
+	private final AchieveDistanceRunnable distanceRunnable;
+	private final AchievePlayTimeRunnable playTimeRunnable;
+
+	@Inject
+	public VanillaStatisticsSampler(@Named("main") CommentedYamlConfiguration mainConfig,
+			Set<Category> disabledCategories, AchieveDistanceRunnable distanceRunnable,
+			AchievePlayTimeRunnable playTimeRunnable) {
+		this.mainConfig = mainConfig;
+		this.disabledCategories = disabledCategories;
+		this.distanceRunnable = distanceRunnable;
+		this.playTimeRunnable = playTimeRunnable;
+	}
+
+	@Override
+	public void extractConfigurationParameters() {
+		// Previous samples may not match the statistics sampled after the reload.
+		Bukkit.getOnlinePlayers().forEach(this::stopSampling);
+		sampledStatistics.clear();
+		sampledCategories.clear();
+		if (!mainConfig.getBoolean("UseVanillaStatistics")) {
+			return;
+		}
+
+		// Statistics were renamed in Minecraft 1.13; the first valid name is used. The play time statistic is counted
+		// in ticks despite its newer name.
+		addStatistic(NormalAchievements.PLAYEDTIME, "PLAY_ONE_MINUTE", "PLAY_ONE_TICK");
+		addStatistic(NormalAchievements.DISTANCEFOOT, "WALK_ONE_CM");
+		addStatistic(NormalAchievements.DISTANCEFOOT, "SPRINT_ONE_CM");
+		addStatistic(NormalAchievements.DISTANCEFOOT, "CROUCH_ONE_CM");
+		addStatistic(NormalAchievements.DISTANCEFOOT, "SWIM_ONE_CM");
+		addStatistic(NormalAchievements.DISTANCEFOOT, "WALK_ON_WATER_ONE_CM");
+		addStatistic(NormalAchievements.DISTANCEFOOT, "WALK_UNDER_WATER_ONE_CM", "DIVE_ONE_CM");
+		if (!mainConfig.getBoolean("IgnoreVerticalDistance")) {
+			addStatistic(NormalAchievements.DISTANCEFOOT, "CLIMB_ONE_CM");
+		}
+		addStatistic(NormalAchievements.DISTANCEPIG, "PIG_ONE_CM");
+		// Llamas are counted as horses by the server, DISTANCELLAMA cannot be sampled separately.
+		addStatistic(NormalAchievements.DISTANCEHORSE, "HORSE_ONE_CM");
+		addStatistic(NormalAchievements.DISTANCEMINECART, "MINECART_ONE_CM");
+		addStatistic(NormalAchievements.DISTANCEBOAT, "BOAT_ONE_CM");
+		addStatistic(NormalAchievements.DISTANCEGLIDING, "AVIATE_ONE_CM");
+		Bukkit.getOnlinePlayers().forEach(this::startSampling);
+	}
+
+	@Override
+	public void cleanPlayerData(UUID uuid) {
+		playerSamples.remove(uuid);
+	}
+
+	/**
+	 * @return true if at least one of the categories handled by this class is enabled on this server
+	 */
+	public boolean hasSampledStatistics() {
+		return !sampledStatistics.isEmpty();
+	}
+
+	/**
+	 * Takes the reference sample of the vanilla statistics of a player, typically when the player joins.
+	 *
+	 * @param player
+	 */
+	public void startSampling(Player player) {
+		if (sampledStatistics.isEmpty()) {
+			return;
+		}
+		PlayerSamples samples = new PlayerSamples(sampledStatistics.size());
+		for (int i = 0; i < sampledStatistics.size(); ++i) {
+			samples.previousValues[i] = player.getStatistic(sampledStatistics.get(i).statistic);
+		}
+		playerSamples.put(player.getUniqueId(), samples);
+	}
+
+	/**
+	 * Takes into account the differences since the previous sample of a player and stops sampling the player's
+	 * statistics, typically when the player quits or when the plugin is disabled.
+	 *
+	 * @param player
+	 */
+	public void stopSampling(Player player) {
+		if (playerSamples.containsKey(player.getUniqueId())) {
+			sampleStatistics(player);
+			playerSamples.remove(player.getUniqueId());
+		}
+	}
+
+	/**
+	 * Samples the vanilla statistics of a player and increases the corresponding categories by the differences since
+	 * the previous sample. If the player has no reference sample, this sample only serves as a reference.
+	 *
+	 * @param player
+	 */
+	public void sampleStatistics(Player player) {
+		PlayerSamples samples = playerSamples.get(player.getUniqueId());
+		if (samples == null) {
+			startSampling(player);
+			return;
+		}
+
+		for (int i = 0; i < sampledStatistics.size(); ++i) {
+			SampledStatistic sampledStatistic = sampledStatistics.get(i);
+			int value = player.getStatistic(sampledStatistic.statistic);
+			int difference = value - samples.previousValues[i];
+			samples.previousValues[i] = value;
+			// Statistics may have been reset by an administrator, in which case the difference is ignored.
+			if (difference > 0) {
+				samples.pendingAmounts[sampledStatistic.category.ordinal()] += difference;
+			}
+		}
+
+		for (NormalAchievements category : sampledCategories) {
+			long pendingAmount = samples.pendingAmounts[category.ordinal()];
+			if (pendingAmount == 0) {
+				continue;
+			}
+			if (category == NormalAchievements.PLAYEDTIME) {
+				samples.pendingAmounts[category.ordinal()] = 0;
+				playTimeRunnable.updateTime(player, (int) (pendingAmount * MILLIS_PER_TICK));
+			} else {
+				// Remaining centimetres are kept until they add up to a full block.
+				long blocks = pendingAmount / CENTIMETRES_PER_BLOCK;
+				if (blocks > 0) {
+					samples.pendingAmounts[category.ordinal()] = pendingAmount - blocks * CENTIMETRES_PER_BLOCK;
+					distanceRunnable.updateDistance((int) blocks, player, category);
+				}
+			}
+		}
+	}
+
+	private void addStatistic(NormalAchievements category, String... statisticNames) {
+		if (disabledCategories.contains(category)) {
+			return;
+		}
+		for (String statisticName : statisticNames) {
+			if (EnumUtils.isValidEnum(Statistic.class, statisticName)) {
+				sampledStatistics.add(new SampledStatistic(Statistic.valueOf(statisticName), category));
+				sampledCategories.add(category);
+				return;
+			}
+		}
+	}
+
+	private static final class SampledStatistic {
+
+		private final Statistic statistic;
+		private final NormalAchievements category;
+
+		private SampledStatistic(Statistic statistic, NormalAchievements category) {
+			this.statistic = statistic;
+			this.category = category;
+		}
+	}
+
+	/**
+	 * Statistic values of a player at the time of the previous sample, alongside the amounts which have not yet been
+	 * taken into account, in the units of the vanilla statistics.
+	 */
+	private static final class PlayerSamples {
+
+		private final int[] previousValues;
+		private final long[] pendingAmounts = new long[CATEGORIES_COUNT];
+
+		private PlayerSamples(int sampledStatisticsCount) {
+			previousValues = new int[sampledStatisticsCount];
+		}
+	}
+}
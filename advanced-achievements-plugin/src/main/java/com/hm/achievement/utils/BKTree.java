@@ -0,0 +1,94 @@
+package com.hm.achievement.utils;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.commons.text.similarity.LevenshteinDistance;
+
+/**
+ * Burkhard-Keller tree used to find the closest match of a string amongst a fixed set of strings without computing the
+ * Levenshtein distance to every candidate. Children of a node are indexed by their distance to the node; the triangle
+ * inequality allows to skip all subtrees which cannot contain a closer match than the best one found so far.
+ * 
+ * @author Pyves
+ */
+public class BKTree {
+
+	private static final LevenshteinDistance LEVENSHTEIN_DISTANCE = LevenshteinDistance.getDefaultInstance();
+
+	private Node root;
+
+	public BKTree(Collection<String> words) {
+		words.forEach(this::add);
+	}
+
+	/**
+	 * Returns the closest match of a string, similarly to {@link StringHelper#getClosestMatch(String, Collection)}.
+	 * 
+	 * @param toMatch
+	 * @return the string in the tree with the smallest distance to toMatch, or an empty string if the tree is empty
+	 */
+	public String getClosestMatch(String toMatch) {
+		if (root == null) {
+			return "";
+		}
+		int smallestDistance = Integer.MAX_VALUE;
+		String closestMatch = "";
+		Deque<Node> nodesToVisit = new ArrayDeque<>();
+		nodesToVisit.push(root);
+		while (!nodesToVisit.isEmpty()) {
+			Node node = nodesToVisit.pop();
+			int distance = LEVENSHTEIN_DISTANCE.apply(toMatch, node.word);
+			if (distance < smallestDistance) {
+				smallestDistance = distance;
+				closestMatch = node.word;
+				if (distance == 0) {
+					break;
+				}
+			}
+			for (Entry<Integer, Node> child : node.children.entrySet()) {
+				// A closer match can only be found in children whose distance to the node is within smallestDistance of
+				// the distance between the node and toMatch.
+				if (Math.abs(child.getKey() - distance) < smallestDistance) {
+					nodesToVisit.push(child.getValue());
+				}
+			}
+		}
+		return closestMatch;
+	}
+
+	private void add(String word) {
+		if (root == null) {
+			root = new Node(word);
+			return;
+		}
+		Node node = root;
+		while (true) {
+			int distance = LEVENSHTEIN_DISTANCE.apply(word, node.word);
+			if (distance == 0) {
+				// Word already in the tree.
+				return;
+			}
+			Node child = node.children.get(distance);
+			if (child == null) {
+				node.children.put(distance, new Node(word));
+				return;
+			}
+			node = child;
+		}
+	}
+
+	private static final class Node {
+
+		private final String word;
+		private final Map<Integer, Node> children = new HashMap<>();
+
+		private Node(String word) {
+			this.word = word;
+		}
+	}
+}
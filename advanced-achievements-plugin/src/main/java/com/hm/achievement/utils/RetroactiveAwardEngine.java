@@ -0,0 +1,372 @@
+package com.hm.achievement.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.commons.lang3.StringUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.advancement.Advancement;
+import org.bukkit.entity.Player;
+
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.advancement.AchievementAdvancement;
+import com.hm.achievement.advancement.AdvancementManager;
+import com.hm.achievement.category.Category;
+import com.hm.achievement.category.MultipleAchievements;
+import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.command.executable.BookCommand;
+import com.hm.achievement.db.AbstractDatabaseManager;
+import com.hm.achievement.db.AwardHistoryCache;
+import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.db.data.AwardedDBAchievement;
+import com.hm.achievement.lifecycle.Reloadable;
+import com.hm.mcshared.file.CommentedYamlConfiguration;
+
+/**
+ * Class in charge of awarding achievements retroactively, for instance after new thresholds were added to the
+ * configuration. The statistics of each subcategory are streamed on a background thread and compared to the
+ * thresholds. Online players are awarded missing achievements on the main server thread, as with any other
+ * achievement; the ones of offline players are registered in throttled batches, alongside rewards that are delivered
+ * on their next connection. Permissions of offline players cannot be checked, therefore all players exceeding a
+ * threshold are awarded the corresponding achievement. Statistics that have not yet been written to the database are
+ * taken into account the next time they increase, as usual.
+ *
+ * @author Pyves
+ */
+@Singleton
+public class RetroactiveAwardEngine implements Reloadable {
+
+	private static final long MILLIS_PER_HOUR = TimeUnit.HOURS.toMillis(1);
+	private static final int AWARDS_PER_BATCH = 500;
+	private static final long PAUSE_BETWEEN_BATCHES_MILLIS = 250L;
+
+	/**
+	 * Callback notified on the main server thread each time a statistic table has been evaluated.
+	 */
+	@FunctionalInterface
+	public interface ProgressListener {
+
+		void onProgress(int evaluatedCategories, int totalCategories, int awardedAchievements);
+	}
+
+	private final AtomicBoolean evaluationRunning = new AtomicBoolean();
+	// Players whose pending rewards are being delivered, to avoid delivering them twice.
+	private final Set<UUID> deliveriesInProgress = ConcurrentHashMap.newKeySet();
+	private final CommentedYamlConfiguration mainConfig;
+	private final Map<String, List<Long>> sortedThresholds;
+	private final AbstractDatabaseManager databaseManager;
+	private final CacheManager cacheManager;
+	private final AwardHistoryCache awardHistoryCache;
+	private final ThresholdEvaluationPipeline thresholdEvaluationPipeline;
+	private final BookCommand bookCommand;
+	private final AdvancementManager advancementManager;
+	private final AdvancedAchievements advancedAchievements;
+	private final int serverVersion;
+	private final Logger logger;
+
+	// Immutable snapshot of the achievements of each category, keyed by subcategory, read by the evaluation thread.
+	private volatile Map<Category, Map<String, RetroactiveAchievement[]>> categoriesToAchievements = Collections
+			.emptyMap();
+	private volatile Map<String, RetroactiveAchievement> namesToAchievements = Collections.emptyMap();
+
+	@Inject
+	public RetroactiveAwardEngine(@Named("main") CommentedYamlConfiguration mainConfig,
+			Map<String, List<Long>> sortedThresholds, AbstractDatabaseManager databaseManager,
+			CacheManager cacheManager, AwardHistoryCache awardHistoryCache,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline, BookCommand bookCommand,
+			AdvancementManager advancementManager, AdvancedAchievements advancedAchievements, int serverVersion,
+			Logger logger) {
+		this.mainConfig = mainConfig;
+		this.sortedThresholds = sortedThresholds;
+		this.databaseManager = databaseManager;
+		this.cacheManager = cacheManager;
+		this.awardHistoryCache = awardHistoryCache;
+		this.thresholdEvaluationPipeline = thresholdEvaluationPipeline;
+		this.bookCommand = bookCommand;
+		this.advancementManager = advancementManager;
+		this.advancedAchievements = advancedAchievements;
+		this.serverVersion = serverVersion;
+		this.logger = logger;
+	}
+
+	@Override
+	public void extractConfigurationParameters() {
+		Map<Category, Map<String, RetroactiveAchievement[]>> achievements = new LinkedHashMap<>();
+		Map<String, RetroactiveAchievement> names = new HashMap<>();
+		sortedThresholds.forEach((categorySubcategory, thresholds) -> {
+			Category category = getCategory(StringUtils.substringBefore(categorySubcategory, "."));
+			if (category == null) {
+				return;
+			}
+			// Played time is stored in milliseconds in the database, whereas thresholds are expressed in hours.
+			long unit = category == NormalAchievements.PLAYEDTIME ? MILLIS_PER_HOUR : 1L;
+			RetroactiveAchievement[] retroactiveAchievements = new RetroactiveAchievement[thresholds.size()];
+			for (int i = 0; i < retroactiveAchievements.length; ++i) {
+				String achievementPath = categorySubcategory + "." + thresholds.get(i);
+				retroactiveAchievements[i] = new RetroactiveAchievement(thresholds.get(i) * unit,
+						mainConfig.getString(achievementPath + ".Name"),
+						mainConfig.getString(achievementPath + ".DisplayName"),
+						mainConfig.getString(achievementPath + ".Message"), achievementPath + ".Reward");
+				names.put(retroactiveAchievements[i].name, retroactiveAchievements[i]);
+			}
+			// Subcategories are stored without whitespaces in the database.
+			String subcategory = StringUtils.deleteWhitespace(StringUtils.substringAfter(categorySubcategory, "."));
+			achievements.computeIfAbsent(category, c -> new HashMap<>()).put(subcategory, retroactiveAchievements);
+		});
+		categoriesToAchievements = achievements;
+		namesToAchievements = names;
+	}
+
+	/**
+	 * Starts evaluating the statistics of all players against the thresholds, unless an evaluation is already running.
+	 *
+	 * @param progressListener
+	 * @return true if the evaluation was started, false if an evaluation is already running
+	 */
+	public boolean startEvaluation(ProgressListener progressListener) {
+		if (!evaluationRunning.compareAndSet(false, true)) {
+			return false;
+		}
+		Map<Category, Map<String, RetroactiveAchievement[]>> achievements = categoriesToAchievements;
+		Bukkit.getScheduler().runTaskAsynchronously(advancedAchievements, () -> {
+			try {
+				evaluateCategories(achievements, progressListener);
+			} catch (InterruptedException e) {
+				logger.log(Level.SEVERE, "Thread interrupted while awarding achievements retroactively:", e);
+				Thread.currentThread().interrupt();
+			} catch (CancellationException ignored) {
+				// Task can be cancelled when plugin disabled.
+			} catch (ExecutionException | RuntimeException e) {
+				logger.log(Level.SEVERE, "Error while awarding achievements retroactively:", e);
+			} finally {
+				evaluationRunning.set(false);
+			}
+		});
+		return true;
+	}
+
+	/**
+	 * Delivers the rewards of the achievements a player was awarded retroactively. Must be called on the main server
+	 * thread; the pending rewards are retrieved and deleted asynchronously.
+	 *
+	 * @param player
+	 */
+	public void deliverPendingRewards(Player player) {
+		UUID uuid = player.getUniqueId();
+		if (!deliveriesInProgress.add(uuid)) {
+			return;
+		}
+		Bukkit.getScheduler().runTaskAsynchronously(advancedAchievements, () -> {
+			try {
+				List<String> achNames = databaseManager.getPendingRewards(uuid);
+				if (!achNames.isEmpty() && Bukkit.getScheduler()
+						.callSyncMethod(advancedAchievements, () -> awardPendingAchievements(player, achNames)).get()) {
+					databaseManager.deletePendingRewards(uuid, achNames);
+				}
+			} catch (InterruptedException e) {
+				logger.log(Level.SEVERE, "Thread interrupted while delivering pending rewards:", e);
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				logger.log(Level.SEVERE, "Unexpected execution exception while delivering pending rewards:", e);
+			} catch (CancellationException ignored) {
+				// Task can be cancelled when plugin disabled.
+			} finally {
+				deliveriesInProgress.remove(uuid);
+			}
+		});
+	}
+
+	private static Category getCategory(String categoryName) {
+		Category category = NormalAchievements.getByName(categoryName);
+		return category == null ? MultipleAchievements.getByName(categoryName) : category;
+	}
+
+	private void evaluateCategories(Map<Category, Map<String, RetroactiveAchievement[]>> achievements,
+			ProgressListener progressListener) throws InterruptedException, ExecutionException {
+		if (achievements.isEmpty()) {
+			Bukkit.getScheduler().runTask(advancedAchievements, () -> progressListener.onProgress(0, 0, 0));
+			return;
+		}
+		int evaluatedCategories = 0;
+		int awardedAchievements = 0;
+		for (Entry<Category, Map<String, RetroactiveAchievement[]>> entry : achievements.entrySet()) {
+			for (Entry<String, RetroactiveAchievement[]> subcategory : entry.getValue().entrySet()) {
+				List<AwardedDBAchievement> awards = findMissingAchievements(entry.getKey(), subcategory.getKey(),
+						subcategory.getValue());
+				for (int i = 0; i < awards.size(); i += AWARDS_PER_BATCH) {
+					if (!advancedAchievements.isEnabled()) {
+						return;
+					}
+					List<AwardedDBAchievement> batch = awards.subList(i, Math.min(i + AWARDS_PER_BATCH, awards.size()));
+					List<AwardedDBAchievement> offlineAwards = Bukkit.getScheduler()
+							.callSyncMethod(advancedAchievements, () -> awardOnlinePlayers(batch)).get();
+					databaseManager.registerRetroactiveAchievements(offlineAwards);
+					awardedAchievements += batch.size();
+					// Players may have connected after the online ones were awarded.
+					Set<UUID> players = offlineAwards.stream().map(AwardedDBAchievement::getAwardedTo)
+							.collect(Collectors.toSet());
+					Bukkit.getScheduler().runTask(advancedAchievements, () -> players.stream().map(Bukkit::getPlayer)
+							.filter(Objects::nonNull).forEach(this::deliverPendingRewards));
+					// Leave some room to other database operations and to the server.
+					Thread.sleep(PAUSE_BETWEEN_BATCHES_MILLIS);
+				}
+			}
+			if (!advancedAchievements.isEnabled()) {
+				return;
+			}
+			int evaluated = ++evaluatedCategories;
+			int awarded = awardedAchievements;
+			Bukkit.getScheduler().runTask(advancedAchievements,
+					() -> progressListener.onProgress(evaluated, achievements.size(), awarded));
+			Thread.sleep(PAUSE_BETWEEN_BATCHES_MILLIS);
+		}
+	}
+
+	/**
+	 * Streams the statistics of a subcategory and compares them to the thresholds. Only the recipients of the
+	 * achievements of the subcategory are held in memory. The awards are only registered once all the statistics have
+	 * been read, as the database connection is shared.
+	 *
+	 * @param category
+	 * @param subcategory
+	 * @param retroactiveAchievements
+	 * @return the achievements that were not yet received by the players exceeding their thresholds
+	 */
+	private List<AwardedDBAchievement> findMissingAchievements(Category category, String subcategory,
+			RetroactiveAchievement[] retroactiveAchievements) {
+		List<String> achNames = new ArrayList<>();
+		for (RetroactiveAchievement achievement : retroactiveAchievements) {
+			achNames.add(achievement.name);
+		}
+		Map<String, Set<String>> recipients = databaseManager.getAchievementsRecipients(achNames);
+		long now = System.currentTimeMillis();
+		long minimum = retroactiveAchievements[0].threshold;
+		List<AwardedDBAchievement> awards = new ArrayList<>();
+		if (category instanceof NormalAchievements) {
+			databaseManager.streamStatistics((NormalAchievements) category, minimum,
+					(uuid, value) -> addMissingAchievements(retroactiveAchievements, uuid, value, recipients, now,
+							awards));
+		} else {
+			databaseManager.streamStatistics((MultipleAchievements) category, subcategory, minimum,
+					(uuid, value) -> addMissingAchievements(retroactiveAchievements, uuid, value, recipients, now,
+							awards));
+		}
+		return awards;
+	}
+
+	private void addMissingAchievements(RetroactiveAchievement[] retroactiveAchievements, UUID uuid, long value,
+			Map<String, Set<String>> recipients, long now, List<AwardedDBAchievement> awards) {
+		for (RetroactiveAchievement achievement : retroactiveAchievements) {
+			if (value < achievement.threshold) {
+				// Thresholds sorted in increasing order, all subsequent thresholds will fail the condition.
+				break;
+			}
+			if (recipients.computeIfAbsent(achievement.name, n -> new HashSet<>()).add(uuid.toString())) {
+				awards.add(new AwardedDBAchievement(uuid, achievement.name, achievement.message, now, null));
+			}
+		}
+	}
+
+	/**
+	 * Awards the achievements of online players like any other achievement, so that they are not rewarded a second
+	 * time on their next connection. Must be called on the main server thread.
+	 *
+	 * @param awards
+	 * @return the achievements of the players that are offline
+	 */
+	private List<AwardedDBAchievement> awardOnlinePlayers(List<AwardedDBAchievement> awards) {
+		List<AwardedDBAchievement> offlineAwards = new ArrayList<>();
+		Map<String, RetroactiveAchievement> achievements = namesToAchievements;
+		for (AwardedDBAchievement award : awards) {
+			Player player = Bukkit.getPlayer(award.getAwardedTo());
+			if (player == null) {
+				offlineAwards.add(award);
+				continue;
+			}
+			RetroactiveAchievement achievement = achievements.get(award.getName());
+			// Achievement may have been received since the recipients were retrieved.
+			if (achievement != null && !cacheManager.hasPlayerAchievement(player.getUniqueId(), achievement.name)) {
+				thresholdEvaluationPipeline.awardAchievement(player, achievement.name, achievement.displayName,
+						achievement.message, achievement.rewardPath);
+			}
+		}
+		return offlineAwards;
+	}
+
+	/**
+	 * Fires the reception events of achievements already registered in the database, so that rewards are given and
+	 * the achievements are displayed. The achievements are directly added to the caches and the advancements are
+	 * awarded beforehand, as the reception events are ignored for achievements already cached as received.
+	 *
+	 * @param player
+	 * @param achNames
+	 * @return true if the player was still online, false otherwise
+	 */
+	private boolean awardPendingAchievements(Player player, List<String> achNames) {
+		if (!player.isOnline()) {
+			return false;
+		}
+		UUID uuid = player.getUniqueId();
+		cacheManager.registerReceivedAchievements(uuid, achNames);
+		// History does not include the achievements registered retroactively, it will be loaded again when needed.
+		awardHistoryCache.cleanPlayerData(uuid);
+		bookCommand.invalidateBookPages(uuid);
+		Map<String, RetroactiveAchievement> achievements = namesToAchievements;
+		for (String achName : achNames) {
+			RetroactiveAchievement achievement = achievements.get(achName);
+			// Achievement may have been removed from the configuration in the meantime.
+			if (achievement == null) {
+				continue;
+			}
+			if (serverVersion >= 12) {
+				Advancement advancement = advancementManager.getAdvancement(achName);
+				// Matching advancement might not exist if user has not called /aach generate.
+				if (advancement != null) {
+					player.getAdvancementProgress(advancement).awardCriteria(AchievementAdvancement.CRITERIA_NAME);
+				}
+			}
+			thresholdEvaluationPipeline.awardAchievement(player, achievement.name, achievement.displayName,
+					achievement.message, achievement.rewardPath);
+		}
+		return true;
+	}
+
+	private static final class RetroactiveAchievement {
+
+		private final long threshold;
+		private final String name;
+		private final String displayName;
+		private final String message;
+		private final String rewardPath;
+
+		private RetroactiveAchievement(long threshold, String name, String displayName, String message,
+				String rewardPath) {
+			this.threshold = threshold;
+			this.name = name;
+			this.displayName = displayName;
+			this.message = message;
+			this.rewardPath = rewardPath;
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package com.hm.achievement.utils;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Immutable representation of the rewards of an achievement, parsed once from the configuration. Item display names
+ * and commands may still contain player placeholders, which are resolved by the RewardParser when the reward is given.
+ *
+ * @author Pyves
+ */
+public class Reward {
+
+	public static final Reward NONE = new Reward(0, 0, 0, 0, Collections.emptyList(), Collections.emptyList(),
+			Collections.emptyList(), Collections.emptyList());
+
+	private final int money;
+	private final int experience;
+	private final int maxHealth;
+	private final int maxOxygen;
+	// Templates which must be cloned before being handed out.
+	private final List<ItemStack> items;
+	private final List<String> commands;
+	private final List<String> commandMessages;
+	private final List<String> listing;
+	private final boolean playerSpecific;
+
+	public Reward(int money, int experience, int maxHealth, int maxOxygen, List<ItemStack> items, List<String> commands,
+			List<String> commandMessages, List<String> listing) {
+		this.money = money;
+		this.experience = experience;
+		this.maxHealth = maxHealth;
+		this.maxOxygen = maxOxygen;
+		this.items = Collections.unmodifiableList(items);
+		this.commands = Collections.unmodifiableList(commands);
+		this.commandMessages = Collections.unmodifiableList(commandMessages);
+		this.listing = Collections.unmodifiableList(listing);
+		this.playerSpecific = items.stream()
+				.anyMatch(i -> i.getItemMeta().hasDisplayName() && i.getItemMeta().getDisplayName().contains("PLAYER"));
+	}
+
+	public int getMoney() {
+		return money;
+	}
+
+	public int getExperience() {
+		return experience;
+	}
+
+	public int getMaxHealth() {
+		return maxHealth;
+	}
+
+	public int getMaxOxygen() {
+		return maxOxygen;
+	}
+
+	public List<ItemStack> getItems() {
+		return items;
+	}
+
+	public List<String> getCommands() {
+		return commands;
+	}
+
+	public List<String> getCommandMessages() {
+		return commandMessages;
+	}
+
+	/**
+	 * @return the texts describing the reward in the GUIs, with unresolved player placeholders
+	 */
+	public List<String> getListing() {
+		return listing;
+	}
+
+	/**
+	 * @return true if item display names contain player placeholders
+	 */
+	public boolean isPlayerSpecific() {
+		return playerSpecific;
+	}
+}
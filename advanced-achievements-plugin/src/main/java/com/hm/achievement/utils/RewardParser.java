@@ -1,11 +1,15 @@
 package com.hm.achievement.utils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -15,6 +19,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.text.WordUtils;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
@@ -22,6 +27,7 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.plugin.RegisteredServiceProvider;
 
 import com.hm.achievement.lang.LangHelper;
+import com.hm.achievement.lang.MessageTemplate;
 import com.hm.achievement.lang.RewardLang;
 import com.hm.achievement.lifecycle.Reloadable;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
@@ -29,7 +35,8 @@ import com.hm.mcshared.file.CommentedYamlConfiguration;
 import net.milkbowl.vault.economy.Economy;
 
 /**
- * Class in charge of handling the rewards for achievements.
+ * Class in charge of handling the rewards for achievements. Rewards are parsed once when the configuration is loaded;
+ * retrieving or listing them afterwards is a pure in-memory operation.
  *
  * @author Pyves
  */
@@ -37,10 +44,16 @@ import net.milkbowl.vault.economy.Economy;
 public class RewardParser implements Reloadable {
 
 	private static final Pattern MULTIPLE_REWARDS_SPLITTER = Pattern.compile(";\\s*");
+	private static final String REWARD_SUFFIX = ".Reward";
+	private static final String ALL_ACHIEVEMENTS_RECEIVED_REWARDS = "AllAchievementsReceivedRewards";
+	private static final String[] PLAYER_PLACEHOLDERS = { "PLAYER_WORLD", "PLAYER_X", "PLAYER_Y", "PLAYER_Z",
+			"PLAYER" };
 
 	private final CommentedYamlConfiguration mainConfig;
 	private final CommentedYamlConfiguration langConfig;
 	private final MaterialHelper materialHelper;
+	// Item names and commands compiled into templates the first time player placeholders are resolved in them.
+	private final Map<String, MessageTemplate> playerPlaceholderTemplates = new ConcurrentHashMap<>();
 
 	private String langListRewardMoney;
 	private String langListRewardItem;
@@ -50,6 +63,9 @@ public class RewardParser implements Reloadable {
 	private String langListRewardIncreaseMaxOxygen;
 	// Used for Vault plugin integration.
 	private Economy economy;
+	// Parsed rewards; keys correspond to reward paths in the configuration. Also read by the threshold evaluation
+	// worker thread.
+	private volatile Map<String, Reward> pathsToRewards = Collections.emptyMap();
 
 	@Inject
 	public RewardParser(@Named("main") CommentedYamlConfiguration mainConfig,
@@ -74,62 +90,46 @@ public class RewardParser implements Reloadable {
 		langListRewardExperience = LangHelper.get(RewardLang.EXPERIENCE, langConfig);
 		langListRewardIncreaseMaxHealth = LangHelper.get(RewardLang.INCREASE_MAX_HEALTH, langConfig);
 		langListRewardIncreaseMaxOxygen = LangHelper.get(RewardLang.INCREASE_MAX_OXYGEN, langConfig);
+
+		// Deep keys of the configuration are only scanned once, instead of every time a reward is listed.
+		Map<String, Reward> parsedRewards = new HashMap<>();
+		for (String path : mainConfig.getKeys(true)) {
+			if ((path.endsWith(REWARD_SUFFIX) || ALL_ACHIEVEMENTS_RECEIVED_REWARDS.equals(path))
+					&& mainConfig.isConfigurationSection(path)) {
+				parsedRewards.put(path, parseReward(path));
+			}
+		}
+		pathsToRewards = parsedRewards;
+		playerPlaceholderTemplates.clear();
 	}
 
 	public Economy getEconomy() {
 		return economy;
 	}
 
+	/**
+	 * Returns the parsed rewards for a given achievement.
+	 *
+	 * @param path achievement configuration path
+	 * @return the reward, or an empty reward if none is defined
+	 */
+	public Reward getReward(String path) {
+		return pathsToRewards.getOrDefault(path, Reward.NONE);
+	}
+
 	/**
 	 * Constructs the listing of an achievement's rewards with strings coming from language file.
 	 *
 	 * @param path achievement path
-	 * @param player
+	 * @param player the player to resolve placeholders for, or null to leave them as is
 	 * @return type(s) of the achievement reward as an array of strings
 	 */
 	public List<String> getRewardListing(String path, Player player) {
-		List<String> rewardTypes = new ArrayList<>();
-		Set<String> keyNames = mainConfig.getKeys(true);
-
-		if (economy != null && keyNames.contains(path + ".Money")) {
-			int amount = getRewardAmount(path, "Money");
-			rewardTypes.add(StringUtils.replaceOnce(langListRewardMoney, "AMOUNT", amount + " " + getCurrencyName(amount)));
-		}
-
-		if (keyNames.contains(path + ".Item")) {
-			ItemStack[] items = getItemRewards(path, player);
-			for (ItemStack item : items) {
-				ItemMeta itemMeta = item.getItemMeta();
-				String name = itemMeta.hasDisplayName() ? itemMeta.getDisplayName() : getItemName(item);
-				rewardTypes.add(StringUtils.replaceEach(langListRewardItem, new String[] { "AMOUNT", "ITEM" },
-						new String[] { Integer.toString(item.getAmount()), name }));
-			}
-		}
-
-		if (keyNames.contains(path + ".Experience")) {
-			int amount = getRewardAmount(path, "Experience");
-			rewardTypes.add(StringUtils.replaceOnce(langListRewardExperience, "AMOUNT", Integer.toString(amount)));
-		}
-
-		if (keyNames.contains(path + ".IncreaseMaxHealth")) {
-			int amount = getRewardAmount(path, "IncreaseMaxHealth");
-			rewardTypes.add(StringUtils.replaceOnce(langListRewardIncreaseMaxHealth, "AMOUNT", Integer.toString(amount)));
-		}
-
-		if (keyNames.contains(path + ".IncreaseMaxOxygen")) {
-			int amount = getRewardAmount(path, "IncreaseMaxOxygen");
-			rewardTypes.add(StringUtils.replaceOnce(langListRewardIncreaseMaxOxygen, "AMOUNT", Integer.toString(amount)));
-		}
-
-		if (keyNames.contains(path + ".Command")) {
-			List<String> messages = getCustomCommandMessages(path);
-			if (messages.isEmpty()) {
-				rewardTypes.add(langListRewardCommand);
-			} else {
-				rewardTypes.addAll(messages);
-			}
+		Reward reward = getReward(path);
+		if (player == null || !reward.isPlayerSpecific()) {
+			return reward.getListing();
 		}
-		return rewardTypes;
+		return reward.getListing().stream().map(r -> replacePlayerPlaceholders(r, player)).collect(Collectors.toList());
 	}
 
 	/**
@@ -153,61 +153,186 @@ public class RewardParser implements Reloadable {
 	}
 
 	/**
-	 * Extracts the money, experience, increased max health or increased max oxygen rewards amount from the
-	 * configuration.
+	 * Returns the money, experience, increased max health or increased max oxygen rewards amount.
 	 *
 	 * @param path achievement configuration path
 	 * @param type reward type
 	 * @return the reward amount
 	 */
 	public int getRewardAmount(String path, String type) {
-		return mainConfig.getInt(path + "." + type);
+		Reward reward = getReward(path);
+		switch (type) {
+			case "Money":
+				return reward.getMoney();
+			case "Experience":
+				return reward.getExperience();
+			case "IncreaseMaxHealth":
+				return reward.getMaxHealth();
+			case "IncreaseMaxOxygen":
+				return reward.getMaxOxygen();
+			default:
+				return mainConfig.getInt(path + "." + type);
+		}
 	}
 
 	/**
-	 * Returns an item reward for a given achievement (specified in configuration file). Reward is of the form: "Item:
-	 * coal 5 Christmas Coal"
+	 * Returns the item rewards for a given achievement, with player placeholders resolved.
 	 *
 	 * @param path achievement configuration path
 	 * @param player
-	 * @return ItemStack object corresponding to the reward
+	 * @return ItemStack objects corresponding to the reward, or null if there are none
 	 */
 	public ItemStack[] getItemRewards(String path, Player player) {
+		return getItemRewards(getReward(path), player);
+	}
+
+	/**
+	 * Returns the items of a previously retrieved reward, with player placeholders resolved.
+	 *
+	 * @param reward
+	 * @param player
+	 * @return ItemStack objects corresponding to the reward, or null if there are none
+	 */
+	public ItemStack[] getItemRewards(Reward reward, Player player) {
+		List<ItemStack> itemTemplates = reward.getItems();
+		if (itemTemplates.isEmpty()) {
+			return null;
+		}
+		ItemStack[] items = new ItemStack[itemTemplates.size()];
+		for (int i = 0; i < items.length; ++i) {
+			ItemStack item = itemTemplates.get(i).clone();
+			ItemMeta meta = item.getItemMeta();
+			if (meta.hasDisplayName()) {
+				meta.setDisplayName(replacePlayerPlaceholders(meta.getDisplayName(), player));
+				item.setItemMeta(meta);
+			}
+			items[i] = item;
+		}
+		return items;
+	}
+
+	/**
+	 * Returns the list of commands to be executed as rewards, with player placeholders resolved.
+	 *
+	 * @param path achievement configuration path
+	 * @param player the player to parse commands for
+	 * @return the array containing the commands to be performed as a reward
+	 */
+	public String[] getCommandRewards(String path, Player player) {
+		return getCommandRewards(getReward(path), player);
+	}
+
+	/**
+	 * Returns the commands of a previously retrieved reward, with player placeholders resolved.
+	 *
+	 * @param reward
+	 * @param player the player to parse commands for
+	 * @return the array containing the commands to be performed as a reward
+	 */
+	public String[] getCommandRewards(Reward reward, Player player) {
+		return reward.getCommands().stream()
+				.map(command -> replacePlayerPlaceholders(command, player))
+				.toArray(String[]::new);
+	}
+
+	/**
+	 * Returns custom command messages.
+	 *
+	 * @param path achievement configuration path
+	 * @return the custom command messages (empty if not present)
+	 * @author tassu
+	 */
+	public List<String> getCustomCommandMessages(String path) {
+		return getReward(path).getCommandMessages();
+	}
+
+	/**
+	 * Parses the rewards of an achievement from the configuration.
+	 *
+	 * @param path achievement configuration path
+	 * @return the parsed reward
+	 */
+	private Reward parseReward(String path) {
+		List<ItemStack> items = parseItemRewards(path);
+		List<String> commandMessages = parseCustomCommandMessages(path);
+		int money = mainConfig.getInt(path + ".Money");
+		int experience = mainConfig.getInt(path + ".Experience");
+		int maxHealth = mainConfig.getInt(path + ".IncreaseMaxHealth");
+		int maxOxygen = mainConfig.getInt(path + ".IncreaseMaxOxygen");
+
+		List<String> listing = new ArrayList<>();
+		if (economy != null && mainConfig.contains(path + ".Money")) {
+			listing.add(StringUtils.replaceOnce(langListRewardMoney, "AMOUNT", money + " " + getCurrencyName(money)));
+		}
+		for (ItemStack item : items) {
+			ItemMeta itemMeta = item.getItemMeta();
+			String name = itemMeta.hasDisplayName() ? itemMeta.getDisplayName() : getItemName(item);
+			listing.add(StringUtils.replaceEach(langListRewardItem, new String[] { "AMOUNT", "ITEM" },
+					new String[] { Integer.toString(item.getAmount()), name }));
+		}
+		if (mainConfig.contains(path + ".Experience")) {
+			listing.add(StringUtils.replaceOnce(langListRewardExperience, "AMOUNT", Integer.toString(experience)));
+		}
+		if (mainConfig.contains(path + ".IncreaseMaxHealth")) {
+			listing.add(
+					StringUtils.replaceOnce(langListRewardIncreaseMaxHealth, "AMOUNT", Integer.toString(maxHealth)));
+		}
+		if (mainConfig.contains(path + ".IncreaseMaxOxygen")) {
+			listing.add(
+					StringUtils.replaceOnce(langListRewardIncreaseMaxOxygen, "AMOUNT", Integer.toString(maxOxygen)));
+		}
+		if (mainConfig.contains(path + ".Command")) {
+			if (commandMessages.isEmpty()) {
+				listing.add(langListRewardCommand);
+			} else {
+				listing.addAll(commandMessages);
+			}
+		}
+		return new Reward(money, experience, maxHealth, maxOxygen, items, parseCommandRewards(path), commandMessages,
+				listing);
+	}
+
+	/**
+	 * Parses the item rewards of an achievement. Reward is of the form: "Item: coal 5 Christmas Coal"
+	 *
+	 * @param path achievement configuration path
+	 * @return item templates, whose display names may contain player placeholders, or an empty list if an item is
+	 *         invalid
+	 */
+	private List<ItemStack> parseItemRewards(String path) {
 		String itemString = StringUtils.normalizeSpace(mainConfig.getString(path + ".Item", ""));
 		if (!itemString.contains(" ")) {
-			return null;
+			return Collections.emptyList();
 		}
 
 		String[] itemStrings = MULTIPLE_REWARDS_SPLITTER.split(itemString);
-		ItemStack[] itemData = new ItemStack[itemStrings.length];
-		for (int i = 0; i < itemStrings.length; i++) {
-			String[] parts = StringUtils.split(itemStrings[i]);
+		List<ItemStack> items = new ArrayList<>(itemStrings.length);
+		for (String itemStringPart : itemStrings) {
+			String[] parts = StringUtils.split(itemStringPart);
 			Optional<Material> rewardMaterial = materialHelper.matchMaterial(parts[0],
 					"config.yml (" + (path + ".Item") + ")");
-			if (rewardMaterial.isPresent()) {
-				ItemStack item = new ItemStack(rewardMaterial.get(), NumberUtils.toInt(parts[1], 1));
-				ItemMeta meta = item.getItemMeta();
-				String name = replacePlayerPlaceholders(StringUtils.join(parts, " ", 2, parts.length), player);
-				if (!name.isEmpty()) {
-					meta.setDisplayName(name);
-				}
-				item.setItemMeta(meta);
-				itemData[i] = item;
-			} else {
-				return null;
+			if (!rewardMaterial.isPresent()) {
+				return Collections.emptyList();
+			}
+			ItemStack item = new ItemStack(rewardMaterial.get(), NumberUtils.toInt(parts[1], 1));
+			ItemMeta meta = item.getItemMeta();
+			String name = StringUtils.join(parts, " ", 2, parts.length);
+			if (!name.isEmpty()) {
+				meta.setDisplayName(name);
 			}
+			item.setItemMeta(meta);
+			items.add(item);
 		}
-		return itemData;
+		return items;
 	}
 
 	/**
-	 * Extracts the list of commands to be executed as rewards.
+	 * Parses the list of commands to be executed as rewards.
 	 *
 	 * @param path achievement configuration path
-	 * @param player the player to parse commands for
-	 * @return the array containing the commands to be performed as a reward
+	 * @return the commands, which may contain player placeholders
 	 */
-	public String[] getCommandRewards(String path, Player player) {
+	private List<String> parseCommandRewards(String path) {
 		String searchFrom = path + ".Command";
 		if (mainConfig.isConfigurationSection(path + ".Command")) {
 			searchFrom += ".Execute";
@@ -215,20 +340,19 @@ public class RewardParser implements Reloadable {
 
 		String commandReward = mainConfig.getString(searchFrom, null);
 		if (commandReward == null) {
-			return new String[0];
+			return Collections.emptyList();
 		}
 		// Multiple reward commands can be set, separated by a semicolon and space. Extra parsing needed.
-		return MULTIPLE_REWARDS_SPLITTER.split(replacePlayerPlaceholders(commandReward, player));
+		return Arrays.asList(MULTIPLE_REWARDS_SPLITTER.split(commandReward));
 	}
 
 	/**
-	 * Extracts custom command message from config. Might be null.
+	 * Parses custom command messages from config.
 	 *
 	 * @param path achievement configuration path
-	 * @return the custom command message (null if not present)
-	 * @author tassu
+	 * @return the custom command messages (empty if not present)
 	 */
-	public List<String> getCustomCommandMessages(String path) {
+	private List<String> parseCustomCommandMessages(String path) {
 		if (!mainConfig.contains(path + ".Command.Display")) {
 			return Collections.emptyList();
 		}
@@ -246,13 +370,19 @@ public class RewardParser implements Reloadable {
 	 * @param str
 	 * @param player
 	 * 
-	 * @return the input string with all placeholders resolved
+	 * @return the input string with all placeholders resolved, or unchanged if player is null
 	 */
 	private String replacePlayerPlaceholders(String str, Player player) {
-		return StringUtils.replaceEach(str,
-				new String[] { "PLAYER_WORLD", "PLAYER_X", "PLAYER_Y", "PLAYER_Z", "PLAYER" },
-				new String[] { player.getWorld().getName(), Integer.toString(player.getLocation().getBlockX()),
-						Integer.toString(player.getLocation().getBlockY()),
-						Integer.toString(player.getLocation().getBlockZ()), player.getName() });
+		if (player == null) {
+			return str;
+		}
+		MessageTemplate template = playerPlaceholderTemplates.computeIfAbsent(str,
+				s -> MessageTemplate.compile(s, PLAYER_PLACEHOLDERS));
+		if (!template.hasSlots()) {
+			return str;
+		}
+		Location location = player.getLocation();
+		return template.render(player.getWorld().getName(), Integer.toString(location.getBlockX()),
+				Integer.toString(location.getBlockY()), Integer.toString(location.getBlockZ()), player.getName());
 	}
 }
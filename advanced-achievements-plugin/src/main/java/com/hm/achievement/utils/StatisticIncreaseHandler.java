@@ -9,14 +9,12 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
-import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
 import org.bukkit.entity.Player;
 
 import com.hm.achievement.category.Category;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.lifecycle.Reloadable;
-import com.hm.achievement.utils.PlayerAdvancedAchievementEvent.PlayerAdvancedAchievementEventBuilder;
 import com.hm.mcshared.file.CommentedYamlConfiguration;
 
 /**
@@ -33,6 +31,7 @@ public class StatisticIncreaseHandler implements Reloadable {
 	protected final Map<String, List<Long>> sortedThresholds;
 	protected final CacheManager cacheManager;
 	protected final RewardParser rewardParser;
+	private final ThresholdEvaluationPipeline thresholdEvaluationPipeline;
 
 	private boolean configRestrictCreative;
 	private boolean configRestrictSpectator;
@@ -41,12 +40,14 @@ public class StatisticIncreaseHandler implements Reloadable {
 
 	@Inject
 	public StatisticIncreaseHandler(@Named("main") CommentedYamlConfiguration mainConfig, int serverVersion,
-			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser) {
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			ThresholdEvaluationPipeline thresholdEvaluationPipeline) {
 		this.mainConfig = mainConfig;
 		this.serverVersion = serverVersion;
 		this.sortedThresholds = sortedThresholds;
 		this.cacheManager = cacheManager;
 		this.rewardParser = rewardParser;
+		this.thresholdEvaluationPipeline = thresholdEvaluationPipeline;
 	}
 
 	@Override
@@ -63,13 +64,18 @@ public class StatisticIncreaseHandler implements Reloadable {
 
 	/**
 	 * Compares the current value to the achievement thresholds. If a threshold is reached, awards the achievement if it
-	 * wasn't previously received.
+	 * wasn't previously received. If AsyncThresholdEvaluation is enabled, the comparison is deferred to the
+	 * ThresholdEvaluationPipeline.
 	 * 
 	 * @param player
 	 * @param categorySubcategory
 	 * @param currentValue
 	 */
 	public void checkThresholdsAndAchievements(Player player, String categorySubcategory, long currentValue) {
+		if (thresholdEvaluationPipeline.isEnabled()) {
+			thresholdEvaluationPipeline.submit(player.getUniqueId(), categorySubcategory, currentValue);
+			return;
+		}
 		// Iterate through all the different thresholds.
 		for (long threshold : sortedThresholds.get(categorySubcategory)) {
 			// Check whether player has met the threshold.
@@ -79,21 +85,11 @@ public class StatisticIncreaseHandler implements Reloadable {
 				// Check whether player has received the achievement and has permission to do so.
 				if (!cacheManager.hasPlayerAchievement(player.getUniqueId(), achievementName)
 						&& player.hasPermission("achievement." + achievementName)) {
-					String rewardPath = achievementPath + ".Reward";
 					// Fire achievement event.
-					PlayerAdvancedAchievementEventBuilder playerAdvancedAchievementEventBuilder = new PlayerAdvancedAchievementEventBuilder()
-							.player(player).name(achievementName)
-							.displayName(mainConfig.getString(achievementPath + ".DisplayName"))
-							.message(mainConfig.getString(achievementPath + ".Message"))
-							.commandRewards(rewardParser.getCommandRewards(rewardPath, player))
-							.commandMessage(rewardParser.getCustomCommandMessages(rewardPath))
-							.itemRewards(rewardParser.getItemRewards(rewardPath, player))
-							.moneyReward(rewardParser.getRewardAmount(rewardPath, "Money"))
-							.experienceReward(rewardParser.getRewardAmount(rewardPath, "Experience"))
-							.maxHealthReward(rewardParser.getRewardAmount(rewardPath, "IncreaseMaxHealth"))
-							.maxOxygenReward(rewardParser.getRewardAmount(rewardPath, "IncreaseMaxOxygen"));
-
-					Bukkit.getPluginManager().callEvent(playerAdvancedAchievementEventBuilder.build());
+					thresholdEvaluationPipeline.awardAchievement(player, achievementName,
+							mainConfig.getString(achievementPath + ".DisplayName"),
+							mainConfig.getString(achievementPath + ".Message"),
+							rewardParser.getReward(achievementPath + ".Reward"));
 				}
 			} else {
 				// Entries in List sorted in increasing order, all subsequent thresholds will fail the condition.
@@ -110,9 +106,18 @@ public class StatisticIncreaseHandler implements Reloadable {
 	 * @return true if the increase should be taken into account, false otherwise
 	 */
 	protected boolean shouldIncreaseBeTakenIntoAccount(Player player, Category category) {
+		return isPlayerEligible(player) && player.hasPermission(category.toPermName());
+	}
+
+	/**
+	 * Determines whether the statistic increases of a player can be taken into account, regardless of the category.
+	 * 
+	 * @param player
+	 * @return true if the player is not an NPC, is not in a restricted game mode and is not in an excluded world
+	 */
+	protected boolean isPlayerEligible(Player player) {
 		GameMode gameMode = player.getGameMode();
 		return !player.hasMetadata("NPC")
-				&& player.hasPermission(category.toPermName())
 				&& (!configRestrictCreative || gameMode != GameMode.CREATIVE)
 				&& (!configRestrictSpectator || gameMode != GameMode.SPECTATOR)
 				&& (!configRestrictAdventure || gameMode != GameMode.ADVENTURE)
@@ -0,0 +1,244 @@
+package com.hm.achievement.utils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.lifecycle.Reloadable;
+import com.hm.achievement.utils.PlayerAdvancedAchievementEvent.PlayerAdvancedAchievementEventBuilder;
+import com.hm.mcshared.file.CommentedYamlConfiguration;
+
+/**
+ * Class in charge of evaluating achievement thresholds off the main server thread. Statistic handlers only capture the
+ * new statistic values into a queue; a worker thread keeps the latest value of each statistic, compares it to the
+ * thresholds, looks up which achievements have already been received and retrieves their rewards. The resulting awards
+ * are then handed back to the main server thread in batches, where permissions are checked, player placeholders are
+ * resolved in the rewards and PlayerAdvancedAchievementEvents are fired.
+ *
+ * @author Pyves
+ */
+@Singleton
+public class ThresholdEvaluationPipeline implements Reloadable {
+
+	private final Queue<StatisticUpdate> statisticUpdates = new ConcurrentLinkedQueue<>();
+	private final Queue<PendingAward> pendingAwards = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean evaluationScheduled = new AtomicBoolean();
+	private final AtomicBoolean awardingScheduled = new AtomicBoolean();
+	private final CommentedYamlConfiguration mainConfig;
+	private final Map<String, List<Long>> sortedThresholds;
+	private final CacheManager cacheManager;
+	private final RewardParser rewardParser;
+	private final AdvancedAchievements advancedAchievements;
+
+	// Immutable snapshot of the achievements of each category or category + subcategory, read by the worker thread.
+	private volatile Map<String, AchievementThreshold[]> categoriesToAchievements = Collections.emptyMap();
+	private boolean configAsyncThresholdEvaluation;
+
+	@Inject
+	public ThresholdEvaluationPipeline(@Named("main") CommentedYamlConfiguration mainConfig,
+			Map<String, List<Long>> sortedThresholds, CacheManager cacheManager, RewardParser rewardParser,
+			AdvancedAchievements advancedAchievements) {
+		this.mainConfig = mainConfig;
+		this.sortedThresholds = sortedThresholds;
+		this.cacheManager = cacheManager;
+		this.rewardParser = rewardParser;
+		this.advancedAchievements = advancedAchievements;
+	}
+
+	@Override
+	public void extractConfigurationParameters() {
+		configAsyncThresholdEvaluation = mainConfig.getBoolean("AsyncThresholdEvaluation");
+
+		Map<String, AchievementThreshold[]> achievements = new HashMap<>();
+		sortedThresholds.forEach((categorySubcategory, thresholds) -> {
+			AchievementThreshold[] achievementThresholds = new AchievementThreshold[thresholds.size()];
+			for (int i = 0; i < achievementThresholds.length; ++i) {
+				String achievementPath = categorySubcategory + "." + thresholds.get(i);
+				achievementThresholds[i] = new AchievementThreshold(thresholds.get(i),
+						mainConfig.getString(achievementPath + ".Name"),
+						mainConfig.getString(achievementPath + ".DisplayName"),
+						mainConfig.getString(achievementPath + ".Message"), achievementPath + ".Reward");
+			}
+			achievements.put(categorySubcategory, achievementThresholds);
+		});
+		categoriesToAchievements = achievements;
+	}
+
+	/**
+	 * @return true if thresholds are evaluated off the main server thread
+	 */
+	public boolean isEnabled() {
+		return configAsyncThresholdEvaluation;
+	}
+
+	/**
+	 * Captures a new statistic value, to be compared to the achievement thresholds by the worker thread.
+	 *
+	 * @param player
+	 * @param categorySubcategory
+	 * @param currentValue
+	 */
+	public void submit(UUID player, String categorySubcategory, long currentValue) {
+		statisticUpdates.add(new StatisticUpdate(player, categorySubcategory, currentValue));
+		if (advancedAchievements.isEnabled() && evaluationScheduled.compareAndSet(false, true)) {
+			Bukkit.getScheduler().runTaskAsynchronously(advancedAchievements, this::evaluateThresholds);
+		}
+	}
+
+	/**
+	 * Fires the event corresponding to the reception of an achievement. Must be called on the main server thread.
+	 *
+	 * @param player
+	 * @param name
+	 * @param displayName
+	 * @param message
+	 * @param rewardPath
+	 */
+	public void awardAchievement(Player player, String name, String displayName, String message, String rewardPath) {
+		awardAchievement(player, name, displayName, message, rewardParser.getReward(rewardPath));
+	}
+
+	/**
+	 * Fires the event corresponding to the reception of an achievement whose reward was already retrieved. Only
+	 * player placeholders remain to be resolved. Must be called on the main server thread.
+	 *
+	 * @param player
+	 * @param name
+	 * @param displayName
+	 * @param message
+	 * @param reward
+	 */
+	public void awardAchievement(Player player, String name, String displayName, String message, Reward reward) {
+		PlayerAdvancedAchievementEventBuilder eventBuilder = new PlayerAdvancedAchievementEventBuilder()
+				.player(player)
+				.name(name)
+				.displayName(displayName)
+				.message(message)
+				.commandRewards(rewardParser.getCommandRewards(reward, player))
+				.commandMessage(reward.getCommandMessages())
+				.itemRewards(rewardParser.getItemRewards(reward, player))
+				.moneyReward(reward.getMoney())
+				.experienceReward(reward.getExperience())
+				.maxHealthReward(reward.getMaxHealth())
+				.maxOxygenReward(reward.getMaxOxygen());
+
+		Bukkit.getPluginManager().callEvent(eventBuilder.build());
+	}
+
+	private void evaluateThresholds() {
+		do {
+			evaluateQueuedUpdates();
+			// The flag is only cleared once the queue was drained, so that a single worker runs at any given time.
+			// Updates submitted just before the flag was cleared did not schedule a worker and are evaluated here.
+			evaluationScheduled.set(false);
+		} while (!statisticUpdates.isEmpty() && evaluationScheduled.compareAndSet(false, true));
+	}
+
+	private void evaluateQueuedUpdates() {
+		// Only the highest value of each statistic needs to be compared to the thresholds.
+		Map<String, StatisticUpdate> latestUpdates = new LinkedHashMap<>();
+		StatisticUpdate update;
+		while ((update = statisticUpdates.poll()) != null) {
+			latestUpdates.merge(update.player + update.categorySubcategory, update,
+					(previous, current) -> current.value >= previous.value ? current : previous);
+		}
+
+		Map<String, AchievementThreshold[]> achievements = categoriesToAchievements;
+		boolean awardsFound = false;
+		for (StatisticUpdate latestUpdate : latestUpdates.values()) {
+			AchievementThreshold[] achievementThresholds = achievements.get(latestUpdate.categorySubcategory);
+			if (achievementThresholds == null) {
+				continue;
+			}
+			for (AchievementThreshold achievement : achievementThresholds) {
+				if (latestUpdate.value < achievement.threshold) {
+					// Thresholds sorted in increasing order, all subsequent thresholds will fail the condition.
+					break;
+				}
+				if (!cacheManager.hasPlayerAchievement(latestUpdate.player, achievement.name)) {
+					pendingAwards.add(new PendingAward(latestUpdate.player, achievement,
+							rewardParser.getReward(achievement.rewardPath)));
+					awardsFound = true;
+				}
+			}
+		}
+
+		if (awardsFound && advancedAchievements.isEnabled() && awardingScheduled.compareAndSet(false, true)) {
+			Bukkit.getScheduler().runTask(advancedAchievements, this::awardPendingAchievements);
+		}
+	}
+
+	private void awardPendingAchievements() {
+		awardingScheduled.set(false);
+		PendingAward award;
+		while ((award = pendingAwards.poll()) != null) {
+			Player player = Bukkit.getPlayer(award.player);
+			AchievementThreshold achievement = award.achievement;
+			// The achievement may have been received in the meantime, for instance if it was submitted several times.
+			if (player != null && !cacheManager.hasPlayerAchievement(award.player, achievement.name)
+					&& player.hasPermission("achievement." + achievement.name)) {
+				awardAchievement(player, achievement.name, achievement.displayName, achievement.message,
+						award.reward);
+			}
+		}
+	}
+
+	private static final class StatisticUpdate {
+
+		private final UUID player;
+		private final String categorySubcategory;
+		private final long value;
+
+		private StatisticUpdate(UUID player, String categorySubcategory, long value) {
+			this.player = player;
+			this.categorySubcategory = categorySubcategory;
+			this.value = value;
+		}
+	}
+
+	private static final class AchievementThreshold {
+
+		private final long threshold;
+		private final String name;
+		private final String displayName;
+		private final String message;
+		private final String rewardPath;
+
+		private AchievementThreshold(long threshold, String name, String displayName, String message,
+				String rewardPath) {
+			this.threshold = threshold;
+			this.name = name;
+			this.displayName = displayName;
+			this.message = message;
+			this.rewardPath = rewardPath;
+		}
+	}
+
+	private static final class PendingAward {
+
+		private final UUID player;
+		private final AchievementThreshold achievement;
+		private final Reward reward;
+
+		private PendingAward(UUID player, AchievementThreshold achievement, Reward reward) {
+			this.player = player;
+			this.achievement = achievement;
+			this.reward = reward;
+		}
+	}
+}
@@ -0,0 +1,248 @@
+package com.hm.achievement.advancement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.UnsafeValues;
+import org.bukkit.advancement.Advancement;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.category.Category;
+import com.hm.achievement.category.CommandAchievements;
+import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.utils.MaterialHelper;
+import com.hm.mcshared.file.CommentedYamlConfiguration;
+
+/**
+ * Class for testing the incremental generation of advancements, based on the hashes of their contents.
+ *
+ * @author Pyves
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AdvancementManagerTest {
+
+	private static final String ACHIEVEMENT_KEY = "connect_1";
+	private static final Pattern PARENT_PATTERN = Pattern.compile("\"parent\":\"advancedachievements:([^\"]+)\"");
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Mock
+	private CommentedYamlConfiguration mainConfig;
+	@Mock
+	private CommentedYamlConfiguration guiConfig;
+	@Mock
+	private AdvancedAchievements advancedAchievements;
+	@Mock
+	private MaterialHelper materialHelper;
+	@Mock
+	private BukkitScheduler scheduler;
+	@Mock
+	private UnsafeValues unsafeValues;
+	@Mock
+	private Runnable onCompletion;
+
+	// Simulated server state: advancements currently registered, the ones only removed from persistent storage, and
+	// the parents of the loaded advancements.
+	private final Set<String> registeredKeys = new HashSet<>();
+	private final Set<String> removedKeys = new HashSet<>();
+	private final Map<String, String> keysToParents = new HashMap<>();
+	private MockedStatic<Bukkit> bukkit;
+	private AdvancementManager underTest;
+
+	@Before
+	public void setUp() {
+		bukkit = mockStatic(Bukkit.class);
+		bukkit.when(Bukkit::getUnsafe).thenReturn(unsafeValues);
+		bukkit.when(Bukkit::getScheduler).thenReturn(scheduler);
+		bukkit.when(Bukkit::advancementIterator).thenAnswer(invocation -> registeredKeys.stream()
+				.map(this::mockAdvancement)
+				.collect(Collectors.toList())
+				.iterator());
+		bukkit.when(Bukkit::reloadData).thenAnswer(invocation -> reloadData());
+		lenient().doAnswer(invocation -> loadAdvancement(invocation.getArgument(0, NamespacedKey.class).getKey(),
+				invocation.getArgument(1, String.class))).when(unsafeValues).loadAdvancement(any(), anyString());
+		lenient().doAnswer(invocation -> removedKeys.add(invocation.getArgument(0, NamespacedKey.class).getKey()))
+				.when(unsafeValues).removeAdvancement(any());
+		when(scheduler.runTaskAsynchronously(eq(advancedAchievements), any(Runnable.class))).thenAnswer(invocation -> {
+			invocation.getArgument(1, Runnable.class).run();
+			return null;
+		});
+		when(scheduler.runTask(eq(advancedAchievements), any(Runnable.class))).thenAnswer(invocation -> {
+			invocation.getArgument(1, Runnable.class).run();
+			return null;
+		});
+		when(advancedAchievements.getName()).thenReturn("AdvancedAchievements");
+		when(advancedAchievements.getDataFolder()).thenReturn(temporaryFolder.getRoot());
+		when(mainConfig.getString("RootAdvancementTitle", "Advanced Achievements")).thenReturn("Advanced Achievements");
+		when(mainConfig.getString(eq("AdvancementsBackground"), anyString()))
+				.thenReturn("minecraft:textures/item/book.png");
+		when(mainConfig.getString("Connections.1.Name", "")).thenReturn(ACHIEVEMENT_KEY);
+		when(mainConfig.getString("Connections.1.DisplayName", "")).thenReturn("Connection");
+		when(materialHelper.matchMaterial(null, Material.BOOK, "gui.yml (Connections.Item)")).thenReturn(Material.BOOK);
+
+		// Only the Connections category is enabled, with a single achievement.
+		Set<Category> disabledCategories = Stream
+				.concat(Stream.of(NormalAchievements.values()), Stream.of(CommandAchievements.COMMANDS))
+				.filter(category -> category != NormalAchievements.CONNECTIONS)
+				.collect(Collectors.toSet());
+		underTest = new AdvancementManager(mainConfig, guiConfig, advancedAchievements, Logger.getLogger("TestLogger"),
+				Collections.singletonMap("Connections", Collections.singletonList(1L)), disabledCategories,
+				materialHelper, 16, Collections.singletonMap(ACHIEVEMENT_KEY, "Connection"));
+		underTest.extractConfigurationParameters();
+	}
+
+	@After
+	public void tearDown() {
+		bukkit.close();
+	}
+
+	@Test
+	public void itShouldGenerateAllAdvancementsTheFirstTime() {
+		underTest.registerAdvancements(onCompletion);
+
+		verify(unsafeValues).loadAdvancement(eq(key(AdvancementManager.ADVANCED_ACHIEVEMENTS_PARENT)), anyString());
+		verify(unsafeValues).loadAdvancement(eq(key(ACHIEVEMENT_KEY)), anyString());
+		verify(unsafeValues, never()).removeAdvancement(any());
+		verify(onCompletion).run();
+		YamlConfiguration hashes = YamlConfiguration
+				.loadConfiguration(new File(temporaryFolder.getRoot(), "advancement-hashes.yml"));
+		assertEquals(2, hashes.getKeys(false).size());
+		assertEquals(64, hashes.getString(ACHIEVEMENT_KEY).length());
+	}
+
+	@Test
+	public void itShouldLeaveUnchangedAdvancementsAsIs() {
+		underTest.registerAdvancements(onCompletion);
+		underTest.registerAdvancements(onCompletion);
+
+		verify(unsafeValues, times(2)).loadAdvancement(any(), anyString());
+		verify(unsafeValues, never()).removeAdvancement(any());
+		verify(onCompletion, times(2)).run();
+	}
+
+	@Test
+	public void itShouldRegenerateChangedAdvancementsAndReloadDataOnce() {
+		underTest.registerAdvancements(onCompletion);
+		when(mainConfig.getString("Connections.1.DisplayName", "")).thenReturn("First Connection");
+		underTest.registerAdvancements(onCompletion);
+
+		verify(unsafeValues).removeAdvancement(key(ACHIEVEMENT_KEY));
+		verify(unsafeValues, never()).removeAdvancement(key(AdvancementManager.ADVANCED_ACHIEVEMENTS_PARENT));
+		verify(unsafeValues, times(2)).loadAdvancement(eq(key(ACHIEVEMENT_KEY)), anyString());
+		verify(unsafeValues).loadAdvancement(eq(key(AdvancementManager.ADVANCED_ACHIEVEMENTS_PARENT)), anyString());
+		bukkit.verify(Bukkit::reloadData);
+		assertTrue(registeredKeys.contains(ACHIEVEMENT_KEY));
+	}
+
+	@Test
+	public void itShouldRegenerateUnchangedChildrenOfChangedAdvancements() {
+		underTest.registerAdvancements(onCompletion);
+		when(mainConfig.getString("RootAdvancementTitle", "Advanced Achievements")).thenReturn("Achievements");
+		underTest.extractConfigurationParameters();
+		underTest.registerAdvancements(onCompletion);
+
+		verify(unsafeValues).removeAdvancement(key(AdvancementManager.ADVANCED_ACHIEVEMENTS_PARENT));
+		verify(unsafeValues, never()).removeAdvancement(key(ACHIEVEMENT_KEY));
+		// The unchanged child was dropped by the server when data was reloaded without its parent.
+		verify(unsafeValues, times(2)).loadAdvancement(eq(key(ACHIEVEMENT_KEY)), anyString());
+		assertEquals(new HashSet<>(Arrays.asList(ACHIEVEMENT_KEY, AdvancementManager.ADVANCED_ACHIEVEMENTS_PARENT)),
+				registeredKeys);
+	}
+
+	@Test
+	public void itShouldRemoveAdvancementsWithoutMatchingAchievementOrKnownHash() {
+		registeredKeys.add("old_achievement");
+		registeredKeys.add(ACHIEVEMENT_KEY);
+
+		underTest.registerAdvancements(onCompletion);
+
+		verify(unsafeValues).removeAdvancement(key("old_achievement"));
+		// No hash was stored for the existing advancement, its contents are unknown.
+		verify(unsafeValues).removeAdvancement(key(ACHIEVEMENT_KEY));
+		verify(unsafeValues).loadAdvancement(eq(key(ACHIEVEMENT_KEY)), anyString());
+		bukkit.verify(Bukkit::reloadData);
+		assertEquals(new HashSet<>(Arrays.asList(ACHIEVEMENT_KEY, AdvancementManager.ADVANCED_ACHIEVEMENTS_PARENT)),
+				registeredKeys);
+	}
+
+	@Test
+	public void itShouldRunCompletionCallbackEvenIfGenerationFails() {
+		doAnswer(invocation -> {
+			throw new IllegalArgumentException("Advancement already exists.");
+		}).when(unsafeValues).loadAdvancement(any(), anyString());
+
+		assertThrows(IllegalArgumentException.class, () -> underTest.registerAdvancements(onCompletion));
+
+		verify(onCompletion).run();
+	}
+
+	private boolean loadAdvancement(String key, String json) {
+		Matcher parent = PARENT_PATTERN.matcher(json);
+		if (parent.find()) {
+			keysToParents.put(key, parent.group(1));
+		}
+		removedKeys.remove(key);
+		return registeredKeys.add(key);
+	}
+
+	private boolean reloadData() {
+		registeredKeys.removeAll(removedKeys);
+		// The server cannot register advancements whose parent is missing, nor their own descendants.
+		boolean orphansRemoved;
+		do {
+			orphansRemoved = registeredKeys.removeIf(k -> keysToParents.containsKey(k)
+					&& !registeredKeys.contains(keysToParents.get(k)));
+		} while (orphansRemoved);
+		return true;
+	}
+
+	private NamespacedKey key(String key) {
+		return new NamespacedKey(advancedAchievements, key);
+	}
+
+	private Advancement mockAdvancement(String key) {
+		Advancement advancement = mock(Advancement.class);
+		when(advancement.getKey()).thenReturn(key(key));
+		return advancement;
+	}
+}
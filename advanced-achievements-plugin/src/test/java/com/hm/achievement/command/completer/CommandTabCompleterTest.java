@@ -93,6 +93,7 @@ public class CommandTabCompleterTest {
 				"Breaks.someSubcategory", "Breeding.someSubcategory", "Brewing"));
 		underTest = new CommandTabCompleter(mainConfig, namesToDisplayNames, displayNamesToNames,
 				enabledCategoriesWithSubcategories, commands, 13);
+		underTest.extractConfigurationParameters();
 	}
 
 	@Test
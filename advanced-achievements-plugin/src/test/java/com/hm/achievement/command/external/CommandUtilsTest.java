@@ -0,0 +1,161 @@
+package com.hm.achievement.command.external;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Score;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.ScoreboardManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Class for testing the parsing and matching of target selectors such as @a[l=5].
+ *
+ * @author Pyves
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CommandUtilsTest {
+
+	@Mock
+	private ConsoleCommandSender console;
+	@Mock
+	private ScoreboardManager scoreboardManager;
+	@Mock
+	private Scoreboard scoreboard;
+
+	private MockedStatic<Bukkit> bukkit;
+	private Player pyves;
+	private Player steve;
+	private Player alex;
+
+	@Before
+	public void setUp() {
+		pyves = mockPlayer("DarkPyves", 3, 0.0f, 90.0f);
+		steve = mockPlayer("Steve", 5, 45.0f, 180.0f);
+		alex = mockPlayer("Alex", 30, -60.0f, -90.0f);
+		List<Player> onlinePlayers = Arrays.asList(pyves, steve, alex);
+		bukkit = mockStatic(Bukkit.class);
+		bukkit.when(Bukkit::getOnlinePlayers).thenAnswer(invocation -> onlinePlayers);
+	}
+
+	@After
+	public void tearDown() {
+		bukkit.close();
+	}
+
+	@Test
+	public void itShouldLimitTheNumberOfTargets() {
+		assertArrayEquals(new Entity[] { pyves, steve, alex }, CommandUtils.getTargets(console, "@a"));
+		assertArrayEquals(new Entity[] { pyves }, CommandUtils.getTargets(console, "@a[c=1]"));
+		assertArrayEquals(new Entity[] { pyves, steve }, CommandUtils.getTargets(console, "@a[limit=2]"));
+	}
+
+	@Test
+	public void itShouldSelectAsManyRandomTargetsAsTheLimit() {
+		assertEquals(1, CommandUtils.getTargets(console, "@r").length);
+		assertEquals(3, CommandUtils.getTargets(console, "@r[limit=5]").length);
+
+		Entity[] targets = CommandUtils.getTargets(console, "@r[c=2]");
+		assertEquals(2, targets.length);
+		assertNotSame(targets[0], targets[1]);
+		assertTrue(Arrays.asList(pyves, steve, alex).containsAll(Arrays.asList(targets)));
+	}
+
+	@Test
+	public void itShouldFilterOnLevels() {
+		assertArrayEquals(new Entity[] { pyves, steve }, CommandUtils.getTargets(console, "@a[l=5]"));
+		assertArrayEquals(new Entity[] { steve, alex }, CommandUtils.getTargets(console, "@a[lm=5]"));
+		assertArrayEquals(new Entity[] { steve }, CommandUtils.getTargets(console, "@a[level=4..10]"));
+		assertArrayEquals(new Entity[] { alex }, CommandUtils.getTargets(console, "@a[level=!..10]"));
+	}
+
+	@Test
+	public void itShouldFilterOnRotations() {
+		assertArrayEquals(new Entity[] { pyves }, CommandUtils.getTargets(console, "@a[x_rotation=-10..10]"));
+		assertArrayEquals(new Entity[] { pyves, alex }, CommandUtils.getTargets(console, "@a[rx=0]"));
+		assertArrayEquals(new Entity[] { steve }, CommandUtils.getTargets(console, "@a[rxm=30]"));
+		assertArrayEquals(new Entity[] { steve }, CommandUtils.getTargets(console, "@a[y_rotation=100..]"));
+		assertArrayEquals(new Entity[] { alex }, CommandUtils.getTargets(console, "@a[ry=0,rym=-100]"));
+	}
+
+	@Test
+	public void itShouldMatchPlayersByName() {
+		assertArrayEquals(new Entity[] { pyves }, CommandUtils.getTargets(console, "@a[name=darkpyves]"));
+		assertArrayEquals(new Entity[] { steve, alex }, CommandUtils.getTargets(console, "@a[name=!DarkPyves]"));
+		assertArrayEquals(new Entity[] {}, CommandUtils.getTargets(console, "@a[name=Notch]"));
+	}
+
+	@Test
+	public void itShouldMatchNothingForMalformedOrUnknownTags() {
+		assertArrayEquals(new Entity[] {}, CommandUtils.getTargets(console, "@a[l=abc]"));
+		assertArrayEquals(new Entity[] {}, CommandUtils.getTargets(console, "@a[c=one]"));
+		assertArrayEquals(new Entity[] {}, CommandUtils.getTargets(console, "@a[x_rotation=a..b]"));
+		assertArrayEquals(new Entity[] {}, CommandUtils.getTargets(console, "@a[foo=bar]"));
+		assertArrayEquals(new Entity[] {}, CommandUtils.getTargets(console, "@a[name=DarkPyves,foo=bar]"));
+	}
+
+	@Test
+	public void itShouldTreatUnsupportedSelectorsAsPlayerNames() {
+		bukkit.when(() -> Bukkit.getPlayer("DarkPyves")).thenReturn(pyves);
+
+		assertArrayEquals(new Entity[] { null }, CommandUtils.getTargets(console, "@x"));
+		assertArrayEquals(new Entity[] { pyves }, CommandUtils.getTargets(console, "DarkPyves"));
+	}
+
+	@Test
+	public void itShouldOnlyRetrieveTheScoresOfTheSelectedObjective() {
+		Objective kills = mock(Objective.class);
+		bukkit.when(Bukkit::getScoreboardManager).thenReturn(scoreboardManager);
+		when(scoreboardManager.getMainScoreboard()).thenReturn(scoreboard);
+		when(scoreboard.getObjective("kills")).thenReturn(kills);
+		mockScore(kills, "DarkPyves", 12);
+		mockScore(kills, "Steve", 2);
+		mockScore(kills, "Alex", 7);
+
+		assertArrayEquals(new Entity[] { pyves, alex }, CommandUtils.getTargets(console, "@a[scores={kills=5..}]"));
+		assertArrayEquals(new Entity[] { steve, alex }, CommandUtils.getTargets(console, "@a[score_kills=10]"));
+		assertArrayEquals(new Entity[] { pyves }, CommandUtils.getTargets(console, "@a[score_kills_min=10]"));
+		// Objectives which do not exist are ignored by scores={...}, but match nothing with score_---.
+		assertArrayEquals(new Entity[] { pyves, steve, alex },
+				CommandUtils.getTargets(console, "@a[scores={deaths=1..}]"));
+		assertArrayEquals(new Entity[] {}, CommandUtils.getTargets(console, "@a[score_deaths_min=1]"));
+		verify(scoreboard, never()).getObjectives();
+	}
+
+	private static Player mockPlayer(String name, int level, float pitch, float yaw) {
+		Player player = mock(Player.class);
+		lenient().when(player.getName()).thenReturn(name);
+		lenient().when(player.getLevel()).thenReturn(level);
+		lenient().when(player.getLocation()).thenAnswer(invocation -> new Location(null, 0, 64, 0, yaw, pitch));
+		return player;
+	}
+
+	private static void mockScore(Objective objective, String name, int value) {
+		Score score = mock(Score.class);
+		when(objective.getScore(name)).thenReturn(score);
+		when(score.getScore()).thenReturn(value);
+	}
+}
@@ -0,0 +1,175 @@
+package com.hm.achievement.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.hm.achievement.db.data.AwardedDBAchievement;
+
+import utilities.MockUtility;
+
+/**
+ * Class for testing the award history cache, backed by an SQLite database.
+ *
+ * @author Pyves
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AwardHistoryCacheTest extends SQLiteDatabaseTest {
+
+	@ClassRule
+	public static final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private static MockUtility mockUtility;
+
+	private final BukkitScheduler scheduler = mock(BukkitScheduler.class);
+	private MockedStatic<Bukkit> bukkit;
+	private AwardHistoryCache underTest;
+
+	@BeforeClass
+	public static void setUpClass() throws Exception {
+		mockUtility = MockUtility.setUp()
+				.withPluginDescription()
+				.withLogger()
+				.withDataFolder(temporaryFolder.getRoot())
+				.withPluginFile("config.yml");
+		initDB(mockUtility);
+	}
+
+	@Before
+	public void setUp() throws Exception {
+		clearDatabase();
+		bukkit = mockStatic(Bukkit.class);
+		underTest = new AwardHistoryCache(mockUtility.getLoadedConfig("config.yml"), db, Collections.emptyMap(),
+				mockUtility.getPluginMock());
+		underTest.extractConfigurationParameters();
+	}
+
+	@After
+	public void tearDown() {
+		bukkit.close();
+	}
+
+	@AfterClass
+	public static void tearDownClass() {
+		if (db != null) {
+			db.shutdown();
+		}
+	}
+
+	@Test
+	public void itShouldLoadHistoryOnCallingThreadWhenNotOnMainThread() {
+		registerAchievement();
+		bukkit.when(Bukkit::isPrimaryThread).thenReturn(false);
+
+		List<AwardedDBAchievement> achievements = underTest.getAchievementsList(testUUID);
+
+		assertEquals(1, achievements.size());
+		assertEquals(testAchievement, achievements.get(0).getName());
+		assertEquals(testAchievementMsg, achievements.get(0).getMessage());
+		assertNotNull(achievements.get(0).getFormattedDate());
+		assertTrue(underTest.isLoaded(testUUID));
+	}
+
+	@Test
+	public void itShouldLoadHistoryAsynchronouslyWhenOnMainThread() {
+		registerAchievement();
+		bukkit.when(Bukkit::isPrimaryThread).thenReturn(true);
+		bukkit.when(Bukkit::getScheduler).thenReturn(scheduler);
+
+		assertEquals(Collections.emptyList(), underTest.getAchievementNames(testUUID));
+		assertFalse(underTest.isLoaded(testUUID));
+
+		runAsyncLoad();
+		assertEquals(Collections.singletonList(testAchievement), underTest.getAchievementNames(testUUID));
+	}
+
+	@Test
+	public void itShouldApplyChangesMadeWhilstHistoryIsBeingLoaded() {
+		registerAchievement();
+		bukkit.when(Bukkit::getScheduler).thenReturn(scheduler);
+
+		underTest.loadHistory(testUUID);
+		underTest.registerAchievement(testUUID, "Other", "Message");
+		underTest.removeAchievements(testUUID, Collections.singletonList(testAchievement));
+		underTest.registerAchievement(testUUID, "Last", "Message");
+		runAsyncLoad();
+
+		assertEquals(Arrays.asList("Other", "Last"), underTest.getAchievementNames(testUUID));
+	}
+
+	@Test
+	public void itShouldDiscardLoadCompletingAfterPlayerDataWasCleaned() {
+		registerAchievement();
+		bukkit.when(Bukkit::getScheduler).thenReturn(scheduler);
+
+		underTest.loadHistory(testUUID);
+		underTest.cleanPlayerData(testUUID);
+		runAsyncLoad();
+
+		assertFalse(underTest.isLoaded(testUUID));
+	}
+
+	@Test
+	public void itShouldRunCallbacksOnMainThreadOnceHistoryIsLoaded() {
+		registerAchievement();
+		bukkit.when(Bukkit::getScheduler).thenReturn(scheduler);
+		Runnable callback = mock(Runnable.class);
+
+		underTest.whenLoaded(testUUID, callback);
+		verify(callback, never()).run();
+		runAsyncLoad();
+		ArgumentCaptor<Runnable> callbacks = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler).runTask(eq(mockUtility.getPluginMock()), callbacks.capture());
+		callbacks.getValue().run();
+		verify(callback).run();
+
+		// Already loaded, the callback is run straight away.
+		underTest.whenLoaded(testUUID, callback);
+		verify(callback, times(2)).run();
+	}
+
+	@Test
+	public void itShouldDiscardCallbacksOfPlayersWhoseDataWasCleaned() {
+		bukkit.when(Bukkit::getScheduler).thenReturn(scheduler);
+		Runnable callback = mock(Runnable.class);
+
+		underTest.whenLoaded(testUUID, callback);
+		underTest.cleanPlayerData(testUUID);
+		runAsyncLoad();
+
+		verify(scheduler, never()).runTask(eq(mockUtility.getPluginMock()), any(Runnable.class));
+		verify(callback, never()).run();
+	}
+
+	private void runAsyncLoad() {
+		ArgumentCaptor<Runnable> load = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler).runTaskAsynchronously(eq(mockUtility.getPluginMock()), load.capture());
+		load.getValue().run();
+	}
+}
@@ -0,0 +1,117 @@
+package com.hm.achievement.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.mcshared.file.CommentedYamlConfiguration;
+
+/**
+ * Class for testing the counts of achievements received in each category kept by the cache manager.
+ *
+ * @author Pyves
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CacheManagerTest {
+
+	private static final UUID PLAYER_UUID = UUID.randomUUID();
+
+	@Mock
+	private AdvancedAchievements advancedAchievements;
+	@Mock
+	private CommentedYamlConfiguration mainConfig;
+	@Mock
+	private AbstractDatabaseManager databaseManager;
+
+	private final Map<String, String> namesToCategories = new HashMap<>();
+	private CacheManager underTest;
+
+	@Before
+	public void setUp() {
+		namesToCategories.put("connect_1", "Connections");
+		namesToCategories.put("stone_1", "Breaks.stone");
+		namesToCategories.put("dirt_1", "Breaks.dirt");
+		underTest = new CacheManager(advancedAchievements, mainConfig, databaseManager, namesToCategories);
+	}
+
+	@Test
+	public void itShouldCountReceivedAchievementsPerCategoryAndSubcategory() {
+		when(databaseManager.getPlayerAchievementNamesList(PLAYER_UUID))
+				.thenReturn(Arrays.asList("connect_1", "stone_1", "dirt_1", "removed_from_config"));
+
+		assertEquals(1, underTest.getReceivedInCategory(PLAYER_UUID, "Connections"));
+		assertEquals(2, underTest.getReceivedInCategory(PLAYER_UUID, "Breaks"));
+		assertEquals(1, underTest.getReceivedInCategory(PLAYER_UUID, "Breaks.stone"));
+		assertEquals(0, underTest.getReceivedInCategory(PLAYER_UUID, "Places"));
+		verify(databaseManager).getPlayerAchievementNamesList(PLAYER_UUID);
+	}
+
+	@Test
+	public void itShouldKeepCountsUpToDateWhenAchievementsAreReceivedOrRemoved() {
+		when(databaseManager.getPlayerAchievementNamesList(PLAYER_UUID))
+				.thenReturn(Collections.singletonList("connect_1"));
+		assertEquals(1, underTest.getReceivedInCategory(PLAYER_UUID, "Connections"));
+
+		underTest.hasPlayerAchievement(PLAYER_UUID, "stone_1");
+		underTest.registerNewlyReceivedAchievement(PLAYER_UUID, "stone_1");
+		underTest.removePreviouslyReceivedAchievements(PLAYER_UUID, Collections.singletonList("connect_1"));
+
+		assertEquals(0, underTest.getReceivedInCategory(PLAYER_UUID, "Connections"));
+		assertEquals(1, underTest.getReceivedInCategory(PLAYER_UUID, "Breaks"));
+		assertEquals(1, underTest.getReceivedInCategory(PLAYER_UUID, "Breaks.stone"));
+		verify(databaseManager).getPlayerAchievementNamesList(PLAYER_UUID);
+	}
+
+	@Test
+	public void itShouldNotCacheAchievementsReceivedWhilstTheDatabaseWasQueriedAsNotReceived() {
+		when(databaseManager.hasPlayerAchievement(PLAYER_UUID, "stone_1")).thenAnswer(invocation -> {
+			// Received on the main thread, but not yet written to the database.
+			underTest.registerNewlyReceivedAchievement(PLAYER_UUID, "stone_1");
+			return false;
+		});
+
+		assertTrue(underTest.hasPlayerAchievement(PLAYER_UUID, "stone_1"));
+		assertTrue(underTest.hasPlayerAchievement(PLAYER_UUID, "stone_1"));
+		underTest.registerReceivedAchievements(PLAYER_UUID, Collections.singletonList("stone_1"));
+		assertEquals(1, underTest.getPlayerTotalAchievements(PLAYER_UUID));
+	}
+
+	@Test
+	public void itShouldNotCountAchievementsRemovedButStillInDatabase() {
+		when(databaseManager.getPlayerAchievementNamesList(PLAYER_UUID)).thenReturn(Arrays.asList("stone_1", "dirt_1"));
+		underTest.removePreviouslyReceivedAchievements(PLAYER_UUID, Collections.singletonList("stone_1"));
+
+		assertEquals(1, underTest.getReceivedInCategory(PLAYER_UUID, "Breaks"));
+		assertEquals(0, underTest.getReceivedInCategory(PLAYER_UUID, "Breaks.stone"));
+	}
+
+	@Test
+	public void itShouldDeriveCountsAgainAfterAReload() {
+		when(databaseManager.getPlayerAchievementNamesList(PLAYER_UUID)).thenReturn(Arrays.asList("stone_1", "dirt_1"));
+		assertEquals(1, underTest.getReceivedInCategory(PLAYER_UUID, "Breaks.stone"));
+
+		// The achievement was moved to another subcategory in the configuration.
+		namesToCategories.put("stone_1", "Breaks.cobblestone");
+		underTest.extractConfigurationParameters();
+
+		assertEquals(0, underTest.getReceivedInCategory(PLAYER_UUID, "Breaks.stone"));
+		assertEquals(1, underTest.getReceivedInCategory(PLAYER_UUID, "Breaks.cobblestone"));
+		assertEquals(2, underTest.getReceivedInCategory(PLAYER_UUID, "Breaks"));
+		verify(databaseManager, times(2)).getPlayerAchievementNamesList(PLAYER_UUID);
+	}
+}
@@ -81,6 +81,18 @@ public class SQLiteDatabaseBasicTest extends SQLiteDatabaseTest {
 		assertEquals(expected, actual);
 	}
 
+	@Test
+	public void testBatchedAchievementsRegistration() {
+		Map<String, String> namesToMessages = new LinkedHashMap<>();
+		namesToMessages.put(testAchievement, testAchievementMsg);
+		namesToMessages.put("TestAchievement2", "TestMessage2");
+		db.registerAchievements(testUUID, namesToMessages);
+
+		assertTrue(db.hasPlayerAchievement(testUUID, testAchievement));
+		assertTrue(db.hasPlayerAchievement(testUUID, "TestAchievement2"));
+		assertEquals(2, db.getPlayerAchievementsAmount(testUUID));
+	}
+
 	@Test
 	public void testAchievementDateRegistration() {
 		String date = db.getPlayerAchievementDate(testUUID, testAchievement);
@@ -163,6 +175,19 @@ public class SQLiteDatabaseBasicTest extends SQLiteDatabaseTest {
 		assertEquals(expected, topListSecond);
 	}
 
+	@Test
+	public void testGetAwardedAchievements() {
+		registerAchievement(testUUID, testAchievement + "2", testAchievementMsg, 200L);
+		registerAchievement(testUUID, testAchievement, testAchievementMsg, 100L);
+
+		List<AwardedDBAchievement> achievements = db.getPlayerAwardedAchievements(testUUID);
+		assertEquals(2, achievements.size());
+		assertEquals(testAchievement, achievements.get(0).getName());
+		assertEquals(testAchievementMsg, achievements.get(0).getMessage());
+		assertEquals(testAchievement + "2", achievements.get(1).getName());
+		assertNotNull(achievements.get(1).getFormattedDate());
+	}
+
 	@Test
 	public void testGetAchievementNameList() {
 		registerAchievement();
@@ -201,6 +226,40 @@ public class SQLiteDatabaseBasicTest extends SQLiteDatabaseTest {
 		assertNull(db.getPlayerConnectionDate(testUUID));
 	}
 
+	@Test
+	public void testGetAchievementRecipients() {
+		UUID secondUUID = UUID.randomUUID();
+		UUID thirdUUID = UUID.randomUUID();
+		registerAchievement(testUUID, testAchievement, testAchievementMsg, 100L);
+		registerAchievement(secondUUID, testAchievement, testAchievementMsg, 300L);
+		registerAchievement(thirdUUID, testAchievement, testAchievementMsg, 200L);
+		registerAchievement(thirdUUID, testAchievement + "2", testAchievementMsg, 400L);
+
+		assertEquals(3, db.getAchievementRecipientsAmount(testAchievement));
+
+		List<AwardedDBAchievement> firstPage = db.getAchievementRecipients(testAchievement, null, 0, 2);
+		assertEquals(2, firstPage.size());
+		assertEquals(secondUUID, firstPage.get(0).getAwardedTo());
+		assertEquals(thirdUUID, firstPage.get(1).getAwardedTo());
+
+		List<AwardedDBAchievement> secondPageKeyset = db.getAchievementRecipients(testAchievement, firstPage.get(1), 0, 2);
+		List<AwardedDBAchievement> secondPageOffset = db.getAchievementRecipients(testAchievement, null, 2, 2);
+		assertEquals(1, secondPageKeyset.size());
+		assertEquals(testUUID, secondPageKeyset.get(0).getAwardedTo());
+		assertEquals(secondPageOffset, secondPageKeyset);
+	}
+
+	@Test
+	public void testUpdatePlayerName() {
+		assertNull(db.getPlayerNames().get(testUUID));
+
+		db.updatePlayerName(testUUID, "Pyves");
+		assertEquals("Pyves", db.getPlayerNames().get(testUUID));
+
+		db.updatePlayerName(testUUID, "Sevyp");
+		assertEquals("Sevyp", db.getPlayerNames().get(testUUID));
+	}
+
 	private String createDateString() {
 		return new Date(System.currentTimeMillis()).toString();
 	}
@@ -0,0 +1,207 @@
+package com.hm.achievement.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.hm.achievement.category.MultipleAchievements;
+import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.db.data.PlayerSelection;
+
+import utilities.MockUtility;
+
+/**
+ * Class for testing the statements of bulk administration commands with the SQLite Database.
+ *
+ * @author Pyves
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SQLiteDatabaseBulkTest extends SQLiteDatabaseTest {
+
+	// More players than the number of parameters allowed in a single SQLite statement.
+	private static final int MANY_PLAYERS = 1200;
+
+	@ClassRule
+	public static final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private final UUID otherUUID = UUID.randomUUID();
+
+	@BeforeClass
+	public static void setUpClass() throws Exception {
+		MockUtility mockUtility = MockUtility.setUp()
+				.withPluginDescription()
+				.withLogger()
+				.withDataFolder(temporaryFolder.getRoot())
+				.withPluginFile("config.yml");
+		initDB(mockUtility);
+	}
+
+	@Before
+	public void setUp() {
+		clearDatabase();
+		clearTable("deaths");
+		clearTable("breaks");
+		clearTable("playernames");
+	}
+
+	@AfterClass
+	public static void tearDownClass() {
+		if (db != null) {
+			db.shutdown();
+		}
+	}
+
+	@Test
+	public void testDeleteAchievementOfListedPlayers() {
+		UUID unlistedUUID = UUID.randomUUID();
+		registerAchievement(testUUID, testAchievement, testAchievementMsg);
+		registerAchievement(otherUUID, testAchievement, testAchievementMsg);
+		registerAchievement(otherUUID, "TestAchievement2", testAchievementMsg);
+		registerAchievement(unlistedUUID, testAchievement, testAchievementMsg);
+
+		PlayerSelection players = PlayerSelection.parse(testUUID + "," + otherUUID, Collections.emptySet());
+
+		assertEquals(2, db.deleteAchievements(players, testAchievement));
+		assertFalse(db.hasPlayerAchievement(testUUID, testAchievement));
+		assertTrue(db.hasPlayerAchievement(otherUUID, "TestAchievement2"));
+		assertTrue(db.hasPlayerAchievement(unlistedUUID, testAchievement));
+	}
+
+	@Test
+	public void testDeleteAllAchievementsOfOfflinePlayers() {
+		registerAchievement(testUUID, testAchievement, testAchievementMsg);
+		registerAchievement(otherUUID, testAchievement, testAchievementMsg);
+		registerAchievement(otherUUID, "TestAchievement2", testAchievementMsg);
+
+		PlayerSelection players = PlayerSelection.parse(PlayerSelection.OFFLINE_PLAYERS,
+				Collections.singleton(testUUID));
+
+		assertEquals(2, db.deleteAchievements(players, null));
+		assertEquals(1, db.getPlayerAchievementsAmount(testUUID));
+		assertEquals(0, db.getPlayerAchievementsAmount(otherUUID));
+	}
+
+	@Test
+	public void testIncreaseStatisticsOfMoreListedPlayersThanAllowedInAStatement() {
+		List<UUID> uuids = randomUUIDs(MANY_PLAYERS);
+		UUID unlistedUUID = UUID.randomUUID();
+		insertDeaths(uuids, 1);
+		insertDeaths(Collections.singletonList(unlistedUUID), 1);
+
+		String arg = uuids.stream().map(UUID::toString).collect(Collectors.joining(","));
+		PlayerSelection players = PlayerSelection.parse(arg, Collections.emptySet());
+
+		assertEquals(MANY_PLAYERS, db.increaseStatistics(players, NormalAchievements.DEATHS, 2));
+		assertEquals(3, db.getNormalAchievementAmount(uuids.get(0), NormalAchievements.DEATHS));
+		assertEquals(3, db.getNormalAchievementAmount(uuids.get(MANY_PLAYERS - 1), NormalAchievements.DEATHS));
+		assertEquals(1, db.getNormalAchievementAmount(unlistedUUID, NormalAchievements.DEATHS));
+	}
+
+	@Test
+	public void testIncreaseStatisticsExcludingMorePlayersThanAllowedInAStatement() {
+		List<UUID> onlineUUIDs = randomUUIDs(MANY_PLAYERS);
+		insertDeaths(onlineUUIDs, 1);
+		insertDeaths(Arrays.asList(testUUID, otherUUID), 1);
+
+		PlayerSelection players = PlayerSelection.parse(PlayerSelection.OFFLINE_PLAYERS, onlineUUIDs)
+				.excluding(Collections.singleton(otherUUID));
+
+		assertEquals(1, db.increaseStatistics(players, NormalAchievements.DEATHS, 5));
+		assertEquals(6, db.getNormalAchievementAmount(testUUID, NormalAchievements.DEATHS));
+		assertEquals(1, db.getNormalAchievementAmount(otherUUID, NormalAchievements.DEATHS));
+		assertEquals(1, db.getNormalAchievementAmount(onlineUUIDs.get(0), NormalAchievements.DEATHS));
+	}
+
+	@Test
+	public void testIncreaseStatisticsOfKnownPlayersWithoutRecordedValues() {
+		UUID unknownUUID = UUID.randomUUID();
+		insertDeaths(Collections.singletonList(testUUID), 1);
+		db.updatePlayerName(testUUID, "Pyves");
+		db.updatePlayerName(otherUUID, "Sevyp");
+
+		PlayerSelection listedPlayers = PlayerSelection.parse(otherUUID + "," + unknownUUID, Collections.emptySet());
+		PlayerSelection allPlayers = PlayerSelection.parse(PlayerSelection.ALL_PLAYERS, Collections.emptySet());
+
+		assertEquals(1, db.increaseStatistics(listedPlayers, NormalAchievements.DEATHS, 2));
+		assertEquals(2, db.increaseStatistics(allPlayers, NormalAchievements.DEATHS, 3));
+		assertEquals(2, db.increaseStatistics(allPlayers, MultipleAchievements.BREAKS, "stone", 4));
+		assertEquals(4, db.getNormalAchievementAmount(testUUID, NormalAchievements.DEATHS));
+		assertEquals(5, db.getNormalAchievementAmount(otherUUID, NormalAchievements.DEATHS));
+		assertEquals(0, db.getNormalAchievementAmount(unknownUUID, NormalAchievements.DEATHS));
+		assertEquals(4, db.getMultipleAchievementAmount(testUUID, MultipleAchievements.BREAKS, "stone"));
+		assertEquals(4, db.getMultipleAchievementAmount(otherUUID, MultipleAchievements.BREAKS, "stone"));
+	}
+
+	@Test
+	public void testIncreaseStatisticOfASubcategory() {
+		insertBreaks(testUUID, "stone", 10);
+		insertBreaks(testUUID, "dirt", 10);
+		insertBreaks(otherUUID, "stone", 20);
+
+		PlayerSelection players = PlayerSelection.parse(PlayerSelection.ALL_PLAYERS, Collections.emptySet());
+
+		assertEquals(2, db.increaseStatistics(players, MultipleAchievements.BREAKS, "stone", 1));
+		assertEquals(11, db.getMultipleAchievementAmount(testUUID, MultipleAchievements.BREAKS, "stone"));
+		assertEquals(10, db.getMultipleAchievementAmount(testUUID, MultipleAchievements.BREAKS, "dirt"));
+		assertEquals(21, db.getMultipleAchievementAmount(otherUUID, MultipleAchievements.BREAKS, "stone"));
+	}
+
+	@Test
+	public void testDeleteStatisticsOfSeveralSubcategories() {
+		insertBreaks(testUUID, "stone", 10);
+		insertBreaks(testUUID, "dirt", 10);
+		insertBreaks(testUUID, "sand", 10);
+		insertBreaks(otherUUID, "stone", 20);
+
+		PlayerSelection players = PlayerSelection.parse(PlayerSelection.ALL_PLAYERS, Collections.emptySet());
+		List<String> subcategories = new ArrayList<>(Arrays.asList("stone", "dirt"));
+		// Subcategories without statistics, enough to require several statements.
+		for (int i = 0; i < 1000; ++i) {
+			subcategories.add("block" + i);
+		}
+
+		assertEquals(3, db.deleteStatistics(players, MultipleAchievements.BREAKS, subcategories));
+		assertEquals(0, db.getMultipleAchievementAmount(testUUID, MultipleAchievements.BREAKS, "stone"));
+		assertEquals(10, db.getMultipleAchievementAmount(testUUID, MultipleAchievements.BREAKS, "sand"));
+		assertEquals(0, db.getMultipleAchievementAmount(otherUUID, MultipleAchievements.BREAKS, "stone"));
+	}
+
+	@Test
+	public void testDeleteStatisticOfAllPlayersInSeveralPartitions() {
+		List<UUID> uuids = randomUUIDs(100);
+		insertDeaths(uuids, 1);
+
+		PlayerSelection players = PlayerSelection.parse(PlayerSelection.ALL_PLAYERS, Collections.emptySet());
+		int deletedStatistics = 0;
+		for (PlayerSelection partition : players.partition(AbstractDatabaseManager.MAX_LIST_PARAMETERS)) {
+			deletedStatistics += db.deleteStatistics(partition, NormalAchievements.DEATHS);
+		}
+
+		assertEquals(100, deletedStatistics);
+		assertEquals(0, db.getNormalAchievementAmount(uuids.get(0), NormalAchievements.DEATHS));
+	}
+
+	private static List<UUID> randomUUIDs(int amount) {
+		List<UUID> uuids = new ArrayList<>();
+		for (int i = 0; i < amount; ++i) {
+			uuids.add(UUID.randomUUID());
+		}
+		return uuids;
+	}
+}
@@ -0,0 +1,165 @@
+package com.hm.achievement.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.hm.achievement.category.MultipleAchievements;
+import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.db.data.AwardedDBAchievement;
+import com.hm.achievement.db.data.PlayerSelection;
+
+import utilities.MockUtility;
+
+/**
+ * Class for testing the statements used to award achievements retroactively with the SQLite Database.
+ *
+ * @author Pyves
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SQLiteDatabaseRetroactiveTest extends SQLiteDatabaseTest {
+
+	@ClassRule
+	public static final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private final UUID otherUUID = UUID.randomUUID();
+
+	@BeforeClass
+	public static void setUpClass() throws Exception {
+		MockUtility mockUtility = MockUtility.setUp()
+				.withPluginDescription()
+				.withLogger()
+				.withDataFolder(temporaryFolder.getRoot())
+				.withPluginFile("config.yml");
+		initDB(mockUtility);
+	}
+
+	@Before
+	public void setUp() {
+		clearDatabase();
+		clearTable("pendingrewards");
+		clearTable("deaths");
+		clearTable("breaks");
+	}
+
+	@AfterClass
+	public static void tearDownClass() {
+		if (db != null) {
+			db.shutdown();
+		}
+	}
+
+	@Test
+	public void testStreamNormalStatisticsAboveMinimum() {
+		insertDeaths(Collections.singletonList(testUUID), 5);
+		insertDeaths(Collections.singletonList(otherUUID), 4);
+
+		Map<UUID, Long> statistics = new HashMap<>();
+		db.streamStatistics(NormalAchievements.DEATHS, 5, statistics::put);
+
+		assertEquals(Collections.singletonMap(testUUID, 5L), statistics);
+	}
+
+	@Test
+	public void testStreamMultipleStatisticsOfASubcategoryAboveMinimum() {
+		insertBreaks(testUUID, "stone", 10);
+		insertBreaks(testUUID, "dirt", 20);
+		insertBreaks(otherUUID, "stone", 9);
+
+		Map<UUID, Long> statistics = new HashMap<>();
+		db.streamStatistics(MultipleAchievements.BREAKS, "stone", 10, statistics::put);
+
+		assertEquals(Collections.singletonMap(testUUID, 10L), statistics);
+	}
+
+	@Test
+	public void testRegisterRetroactiveAchievementsWithoutReplacingExistingOnes() {
+		registerAchievement(testUUID, testAchievement, testAchievementMsg, 1000L);
+
+		db.registerRetroactiveAchievements(Arrays.asList(
+				new AwardedDBAchievement(testUUID, testAchievement, "Retroactive", 2000L, null),
+				new AwardedDBAchievement(testUUID, "TestAchievement2", "Retroactive", 2000L, null),
+				new AwardedDBAchievement(otherUUID, testAchievement, "Retroactive", 2000L, null)));
+
+		List<AwardedDBAchievement> achievements = db.getPlayerAchievementsList(testUUID);
+		assertEquals(2, achievements.size());
+		AwardedDBAchievement existing = achievements.stream().filter(a -> testAchievement.equals(a.getName()))
+				.findFirst().get();
+		assertEquals(testAchievementMsg, existing.getMessage());
+		assertEquals(1000L, existing.getDateAwarded());
+		assertTrue(db.hasPlayerAchievement(otherUUID, testAchievement));
+		// Only the achievements that were inserted are rewarded.
+		assertEquals(Collections.singletonList("TestAchievement2"), db.getPendingRewards(testUUID));
+		assertEquals(Collections.singletonList(testAchievement), db.getPendingRewards(otherUUID));
+	}
+
+	@Test
+	public void testDeletePendingRewards() {
+		db.registerRetroactiveAchievements(Arrays.asList(
+				new AwardedDBAchievement(testUUID, testAchievement, testAchievementMsg, 2000L, null),
+				new AwardedDBAchievement(testUUID, "TestAchievement2", testAchievementMsg, 2000L, null),
+				new AwardedDBAchievement(otherUUID, testAchievement, testAchievementMsg, 2000L, null)));
+
+		db.deletePendingRewards(testUUID, Collections.singletonList(testAchievement));
+
+		assertEquals(Collections.singletonList("TestAchievement2"), db.getPendingRewards(testUUID));
+		assertEquals(Collections.singletonList(testAchievement), db.getPendingRewards(otherUUID));
+		assertEquals(2, db.getPlayerAchievementsAmount(testUUID));
+	}
+
+	@Test
+	public void testDeleteAchievementsAlongsidePendingRewards() {
+		UUID thirdUUID = UUID.randomUUID();
+		db.registerRetroactiveAchievements(Arrays.asList(
+				new AwardedDBAchievement(testUUID, testAchievement, testAchievementMsg, 2000L, null),
+				new AwardedDBAchievement(testUUID, "TestAchievement2", testAchievementMsg, 2000L, null),
+				new AwardedDBAchievement(otherUUID, testAchievement, testAchievementMsg, 2000L, null),
+				new AwardedDBAchievement(otherUUID, "TestAchievement2", testAchievementMsg, 2000L, null),
+				new AwardedDBAchievement(thirdUUID, testAchievement, testAchievementMsg, 2000L, null)));
+
+		db.deletePlayerAchievement(testUUID, testAchievement);
+		db.deleteAllPlayerAchievements(otherUUID);
+		db.deleteAchievements(PlayerSelection.parse(PlayerSelection.ALL_PLAYERS, Collections.emptySet()),
+				testAchievement);
+
+		assertEquals(Collections.singletonList("TestAchievement2"), db.getPendingRewards(testUUID));
+		assertEquals(Collections.emptyList(), db.getPendingRewards(otherUUID));
+		assertEquals(Collections.emptyList(), db.getPendingRewards(thirdUUID));
+		assertEquals(1, db.getPlayerAchievementsAmount(testUUID));
+	}
+
+	@Test
+	public void testGetRecipientsOfMoreAchievementsThanAllowedInAStatement() {
+		registerAchievement(testUUID, testAchievement, testAchievementMsg);
+		registerAchievement(otherUUID, testAchievement, testAchievementMsg);
+		registerAchievement(otherUUID, "TestAchievement999", testAchievementMsg);
+		List<String> achNames = new ArrayList<>();
+		achNames.add(testAchievement);
+		for (int i = 0; i < 1000; ++i) {
+			achNames.add("TestAchievement" + i);
+		}
+
+		Map<String, Set<String>> recipients = db.getAchievementsRecipients(achNames);
+
+		assertEquals(2, recipients.size());
+		assertEquals(2, recipients.get(testAchievement).size());
+		assertEquals(Collections.singleton(otherUUID.toString()), recipients.get("TestAchievement999"));
+	}
+}
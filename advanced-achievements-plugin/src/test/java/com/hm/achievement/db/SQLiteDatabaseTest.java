@@ -2,7 +2,9 @@ package com.hm.achievement.db;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.Types;
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import java.util.logging.Logger;
 
@@ -57,4 +59,46 @@ public class SQLiteDatabaseTest {
 			}
 		}).executeOperation(db.pool, null, "Clearing achievements table");
 	}
+
+	void insertDeaths(List<UUID> uuids, long deaths) {
+		String sql = "INSERT INTO deaths VALUES (?,?)";
+		((SQLWriteOperation) () -> {
+			Connection conn = db.getSQLConnection();
+			conn.setAutoCommit(false);
+			try (PreparedStatement ps = conn.prepareStatement(sql)) {
+				for (UUID uuid : uuids) {
+					ps.setObject(1, uuid, Types.CHAR);
+					ps.setLong(2, deaths);
+					ps.addBatch();
+				}
+				ps.executeBatch();
+				conn.commit();
+			} finally {
+				conn.setAutoCommit(true);
+			}
+		}).executeOperation(db.pool, null, "inserting test statistics");
+	}
+
+	void insertBreaks(UUID uuid, String block, long breaks) {
+		String sql = "INSERT INTO breaks VALUES (?,?,?)";
+		((SQLWriteOperation) () -> {
+			Connection conn = db.getSQLConnection();
+			try (PreparedStatement ps = conn.prepareStatement(sql)) {
+				ps.setObject(1, uuid, Types.CHAR);
+				ps.setString(2, block);
+				ps.setLong(3, breaks);
+				ps.execute();
+			}
+		}).executeOperation(db.pool, null, "inserting a test statistic");
+	}
+
+	void clearTable(String table) {
+		String sql = "DELETE FROM " + table;
+		((SQLWriteOperation) () -> {
+			Connection conn = db.getSQLConnection();
+			try (PreparedStatement ps = conn.prepareStatement(sql)) {
+				ps.execute();
+			}
+		}).executeOperation(db.pool, null, "clearing a test table");
+	}
 }
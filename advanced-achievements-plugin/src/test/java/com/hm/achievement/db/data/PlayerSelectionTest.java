@@ -0,0 +1,153 @@
+package com.hm.achievement.db.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * Class for testing the selections of players targeted by bulk administration commands.
+ *
+ * @author Pyves
+ */
+public class PlayerSelectionTest {
+
+	private static final UUID UUID_1 = UUID.fromString("0a1b2c3d-0000-4000-8000-000000000001");
+	private static final UUID UUID_2 = UUID.fromString("fa1b2c3d-0000-4000-8000-000000000002");
+
+	@Test
+	public void itShouldParseAllPlayers() {
+		PlayerSelection selection = PlayerSelection.parse("*", Collections.singleton(UUID_1));
+
+		assertFalse(selection.isListed());
+		assertTrue(selection.getPlayers().isEmpty());
+		assertTrue(selection.contains(UUID_1));
+		assertEquals("*", selection.getDescription());
+	}
+
+	@Test
+	public void itShouldParseOfflinePlayers() {
+		PlayerSelection selection = PlayerSelection.parse("*OFFLINE", Collections.singleton(UUID_1));
+
+		assertFalse(selection.isListed());
+		assertFalse(selection.contains(UUID_1));
+		assertTrue(selection.contains(UUID_2));
+	}
+
+	@Test
+	public void itShouldParseListsOfUUIDs() {
+		PlayerSelection single = PlayerSelection.parse(UUID_1.toString(), Collections.emptySet());
+		PlayerSelection several = PlayerSelection.parse(UUID_1 + "," + UUID_2 + ",", Collections.emptySet());
+
+		assertTrue(single.isListed());
+		assertEquals(Collections.singleton(UUID_1), single.getPlayers());
+		assertFalse(single.contains(UUID_2));
+		assertEquals(new HashSet<>(Arrays.asList(UUID_1, UUID_2)), several.getPlayers());
+	}
+
+	@Test
+	public void itShouldNotParsePlayerNamesOrInvalidUUIDs() {
+		assertNull(PlayerSelection.parse("DarkPyves", Collections.emptySet()));
+		assertNull(PlayerSelection.parse("*online", Collections.emptySet()));
+		assertNull(PlayerSelection.parse(UUID_1 + ",DarkPyves", Collections.emptySet()));
+		assertNull(PlayerSelection.parse(",", Collections.emptySet()));
+		assertNull(PlayerSelection.parse("0a1b2c3d-0000-4000-8000-00000000000z", Collections.emptySet()));
+	}
+
+	@Test
+	public void itShouldExcludePlayers() {
+		PlayerSelection listed = PlayerSelection.parse(UUID_1 + "," + UUID_2, Collections.emptySet())
+				.excluding(Collections.singleton(UUID_1));
+		PlayerSelection offline = PlayerSelection.parse("*offline", Collections.singleton(UUID_1))
+				.excluding(Collections.singleton(UUID_2));
+
+		assertEquals(Collections.singleton(UUID_2), listed.getPlayers());
+		assertFalse(offline.contains(UUID_1));
+		assertFalse(offline.contains(UUID_2));
+		assertEquals("*offline", offline.getDescription());
+	}
+
+	@Test
+	public void itShouldPartitionListsInChunks() {
+		List<UUID> uuids = randomUUIDs(25);
+		String arg = uuids.stream().map(UUID::toString).collect(Collectors.joining(","));
+		List<PlayerSelection> partitions = PlayerSelection.parse(arg, Collections.emptySet()).partition(10);
+
+		assertEquals(3, partitions.size());
+		Set<UUID> partitionedPlayers = new HashSet<>();
+		for (PlayerSelection partition : partitions) {
+			assertTrue(partition.isListed());
+			assertTrue(partition.getPlayers().size() <= 10);
+			partitionedPlayers.addAll(partition.getPlayers());
+		}
+		assertEquals(new HashSet<>(uuids), partitionedPlayers);
+	}
+
+	@Test
+	public void itShouldPartitionOtherSelectionsAccordingToUUIDPrefixes() {
+		List<PlayerSelection> partitions = PlayerSelection.parse("*offline", Arrays.asList(UUID_1, UUID_2))
+				.partition(10);
+
+		assertEquals(16, partitions.size());
+		assertEquals("0", partitions.get(0).getUUIDPrefix());
+		assertEquals(Collections.singleton(UUID_1), partitions.get(0).getPlayers());
+		assertEquals("f", partitions.get(15).getUUIDPrefix());
+		assertEquals(Collections.singleton(UUID_2), partitions.get(15).getPlayers());
+		for (PlayerSelection partition : partitions) {
+			assertFalse(partition.isListed());
+			assertEquals(partition.getUUIDPrefix().equals("0"), partition.contains(UUID.fromString(
+					"0fffffff-0000-4000-8000-000000000000")));
+		}
+	}
+
+	@Test
+	public void itShouldSplitPrefixesFurtherIfTooManyPlayersAreExcluded() {
+		List<UUID> excluded = new ArrayList<>();
+		for (int i = 0; i < 12; ++i) {
+			// All the excluded players share the same first eight characters.
+			excluded.add(UUID.fromString(String.format("aaaaaaaa-%04x-4000-8000-000000000000", i * 0x1000)));
+		}
+		List<PlayerSelection> partitions = PlayerSelection.parse("*offline", excluded).partition(10);
+
+		Set<UUID> excludedPlayers = new HashSet<>();
+		for (PlayerSelection partition : partitions) {
+			assertTrue(partition.getPlayers().size() <= 10);
+			excludedPlayers.addAll(partition.getPlayers());
+		}
+		assertEquals(new HashSet<>(excluded), excludedPlayers);
+		// 15 other characters for each of the eight first characters, then 16 possible characters after the hyphen.
+		assertEquals(8 * 15 + 16, partitions.size());
+		assertTrue(partitions.stream().anyMatch(p -> "aaaaaaaa-1".equals(p.getUUIDPrefix())));
+		for (UUID uuid : excluded) {
+			assertEquals(1, partitions.stream().filter(p -> uuid.toString().startsWith(p.getUUIDPrefix())).count());
+		}
+	}
+
+	@Test
+	public void itShouldNotPartitionPartitionsFurther() {
+		PlayerSelection partition = PlayerSelection.parse("*", Collections.emptySet()).partition(10).get(3);
+
+		assertEquals(Collections.singletonList(partition), partition.partition(10));
+		assertSame(partition, partition.partition(10).get(0));
+	}
+
+	private static List<UUID> randomUUIDs(int amount) {
+		List<UUID> uuids = new ArrayList<>();
+		for (int i = 0; i < amount; ++i) {
+			uuids.add(UUID.randomUUID());
+		}
+		return uuids;
+	}
+}
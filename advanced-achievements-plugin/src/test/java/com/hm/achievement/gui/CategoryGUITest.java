@@ -0,0 +1,174 @@
+package com.hm.achievement.gui;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.db.AbstractDatabaseManager;
+import com.hm.achievement.db.AwardHistoryCache;
+import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.Reward;
+import com.hm.achievement.utils.RewardParser;
+
+import utilities.MockUtility;
+
+/**
+ * Class for testing the category GUI. Currently covers rewards hidden with HideRewardDisplayInList.
+ *
+ * @author Pyves
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CategoryGUITest {
+
+	private static final UUID PLAYER_UUID = UUID.randomUUID();
+	private static final String REWARD_PATH = "Connections.1.Reward";
+
+	@ClassRule
+	public static final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Mock
+	private Player player;
+	@Mock
+	private CacheManager cacheManager;
+	@Mock
+	private AbstractDatabaseManager databaseManager;
+	@Mock
+	private AwardHistoryCache awardHistoryCache;
+	@Mock
+	private RewardParser rewardParser;
+	@Mock
+	private Reward reward;
+	@Mock
+	private GUIItems guiItems;
+	@Mock
+	private ItemStack item;
+	@Mock
+	private ItemStack itemClone;
+	@Mock
+	private ItemMeta itemMeta;
+	@Mock
+	private Inventory inventory;
+
+	private MockedStatic<Bukkit> bukkit;
+	private CategoryGUI underTest;
+
+	@Before
+	public void setUp() throws Exception {
+		MockUtility mockUtility = MockUtility.setUp()
+				.withDataFolder(temporaryFolder.getRoot())
+				.withPluginFile("config-hidden-rewards.yml")
+				.withPluginFile("lang.yml");
+		Map<String, List<Long>> sortedThresholds = Collections.singletonMap("Connections",
+				Collections.singletonList(1L));
+		underTest = new CategoryGUI(mockUtility.getLoadedConfig("config-hidden-rewards.yml"),
+				mockUtility.getLoadedConfig("lang.yml"), cacheManager, databaseManager, awardHistoryCache,
+				sortedThresholds, rewardParser, guiItems);
+		underTest.extractConfigurationParameters();
+
+		bukkit = mockStatic(Bukkit.class);
+		bukkit.when(() -> Bukkit.createInventory(any(InventoryHolder.class), anyInt(), anyString()))
+				.thenReturn(inventory);
+		when(player.getUniqueId()).thenReturn(PLAYER_UUID);
+		lenient().when(awardHistoryCache.isLoaded(PLAYER_UUID)).thenReturn(true);
+		when(item.clone()).thenReturn(itemClone);
+		when(itemClone.getItemMeta()).thenReturn(itemMeta);
+		// The reward contains player placeholders, but must not be displayed.
+		lenient().when(rewardParser.getReward(REWARD_PATH)).thenReturn(reward);
+		lenient().when(reward.isPlayerSpecific()).thenReturn(true);
+		lenient().when(rewardParser.getRewardListing(REWARD_PATH, player))
+				.thenReturn(Collections.singletonList("DarkPyves's Diamond"));
+	}
+
+	@After
+	public void tearDown() {
+		bukkit.close();
+	}
+
+	@Test
+	public void itShouldNotDisplayHiddenPlayerSpecificRewardsForReceivedAchievements() {
+		when(awardHistoryCache.getAchievementDate(PLAYER_UUID, "connect_1")).thenReturn("19/10/2026");
+		when(guiItems.getAchievementReceived()).thenReturn(item);
+
+		underTest.displayCategoryGUI(NormalAchievements.CONNECTIONS, player, 0);
+
+		List<String> expectedLore = Arrays.asList("", color("&7&lDescription:"),
+				color("&rYou connected to our server for the first time!"), "", color("&7&lReception date:"),
+				ChatColor.RESET + "19/10/2026", "");
+		assertEquals(expectedLore, captureLore());
+		verify(player).openInventory(inventory);
+	}
+
+	@Test
+	public void itShouldNotDisplayHiddenPlayerSpecificRewardsForAchievementsNotReceived() {
+		when(guiItems.getAchievementNotStarted()).thenReturn(item);
+
+		underTest.displayCategoryGUI(NormalAchievements.CONNECTIONS, player, 0);
+
+		// Goal is obfuscated, the lore otherwise only contains its header and spacers.
+		List<String> lore = captureLore();
+		assertEquals(4, lore.size());
+		assertEquals(color("&7&lGoal:"), lore.get(1));
+		assertEquals("", lore.get(3));
+		verify(player).openInventory(inventory);
+	}
+
+	@Test
+	public void itShouldDisplayGUIOnceHistoryIsLoaded() {
+		when(awardHistoryCache.isLoaded(PLAYER_UUID)).thenReturn(false);
+		when(player.isOnline()).thenReturn(true);
+		when(guiItems.getAchievementNotStarted()).thenReturn(item);
+
+		underTest.displayCategoryGUI(NormalAchievements.CONNECTIONS, player, 0);
+
+		verify(player, never()).openInventory(inventory);
+		ArgumentCaptor<Runnable> callback = ArgumentCaptor.forClass(Runnable.class);
+		verify(awardHistoryCache).whenLoaded(eq(PLAYER_UUID), callback.capture());
+		when(awardHistoryCache.isLoaded(PLAYER_UUID)).thenReturn(true);
+		callback.getValue().run();
+
+		verify(player).openInventory(inventory);
+	}
+
+	private List<String> captureLore() {
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<String>> lore = ArgumentCaptor.forClass(List.class);
+		verify(itemMeta).setLore(lore.capture());
+		return lore.getValue();
+	}
+
+	private static String color(String text) {
+		return ChatColor.translateAlternateColorCodes('&', text);
+	}
+}
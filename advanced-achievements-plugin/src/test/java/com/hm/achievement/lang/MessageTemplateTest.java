@@ -0,0 +1,32 @@
+package com.hm.achievement.lang;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+public class MessageTemplateTest {
+
+	@Test
+	public void shouldRenderAllPlaceholderOccurrences() {
+		MessageTemplate template = MessageTemplate.compile("You received AMOUNT ITEM, AMOUNT in total!", "AMOUNT",
+				"ITEM");
+
+		assertEquals("You received 3 Diamond, 3 in total!", template.render("3", "Diamond"));
+	}
+
+	@Test
+	public void shouldPreferFirstPlaceholderMatchingAtSamePosition() {
+		MessageTemplate template = MessageTemplate.compile("PLAYER_WORLD PLAYER", "PLAYER_WORLD", "PLAYER");
+
+		assertEquals("world Pyves", template.render("world", "Pyves"));
+	}
+
+	@Test
+	public void shouldRenderTextWithoutPlaceholders() {
+		MessageTemplate template = MessageTemplate.compile("Achievement received!", "PLAYER");
+
+		assertFalse(template.hasSlots());
+		assertEquals("Achievement received!", template.render("Pyves"));
+	}
+}
@@ -1,7 +1,10 @@
 package com.hm.achievement.listener;
 
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -12,19 +15,26 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.logging.Logger;
 
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitScheduler;
 import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.MockedStatic;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.command.executable.BookCommand;
 import com.hm.achievement.db.AbstractDatabaseManager;
+import com.hm.achievement.db.AwardHistoryCache;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.lang.ListenerLang;
+import com.hm.achievement.runnable.RewardEffectExecutor;
 import com.hm.achievement.utils.PlayerAdvancedAchievementEvent;
 import com.hm.achievement.utils.PlayerAdvancedAchievementEvent.PlayerAdvancedAchievementEventBuilder;
 import com.hm.achievement.utils.RewardParser;
@@ -52,8 +62,13 @@ public class PlayerAdvancedAchievementListenerTest {
 	private AbstractDatabaseManager abstractDatabaseManager;
 	@Mock
 	private RewardParser rewardParser;
+	@Mock
+	private BookCommand bookCommand;
+	@Mock
+	private AwardHistoryCache awardHistoryCache;
 
 	private AdvancedAchievements plugin;
+	private CommentedYamlConfiguration mainConfig;
 
 	private PlayerAdvancedAchievementListener underTest;
 
@@ -72,11 +87,12 @@ public class PlayerAdvancedAchievementListenerTest {
 				.withPluginFile("lang.yml");
 		plugin = mockUtility.getPluginMock();
 
-		CommentedYamlConfiguration mainConfig = mockUtility.getLoadedConfig("config-reward-reception.yml");
+		mainConfig = mockUtility.getLoadedConfig("config-reward-reception.yml");
 		underTest = new PlayerAdvancedAchievementListener(mainConfig, mockUtility.getLoadedConfig("lang.yml"), 11,
 				mock(Logger.class), new StringBuilder(PLUGIN_HEADER),
-				new CacheManager(plugin, mainConfig, abstractDatabaseManager),
-				plugin, rewardParser, namesToDisplayNames, abstractDatabaseManager, null, null, null);
+				new CacheManager(plugin, mainConfig, abstractDatabaseManager, new HashMap<>()), awardHistoryCache,
+				plugin, rewardParser, namesToDisplayNames, abstractDatabaseManager, null, bookCommand, null,
+				null, new RewardEffectExecutor(mainConfig, plugin), null);
 		underTest.extractConfigurationParameters();
 		when(player.getUniqueId()).thenReturn(PLAYER_UUID);
 		when(player.getName()).thenReturn("DarkPyves");
@@ -116,4 +132,32 @@ public class PlayerAdvancedAchievementListenerTest {
 		verify(player, never()).sendMessage(PLUGIN_HEADER + ListenerLang.ALL_ACHIEVEMENTS_RECEIVED.toLangDefault());
 	}
 
+	@Test
+	public void itShouldGiveRewardsOfCoalescedReceptionsToPlayersDisconnectingBeforeTheNextTick() {
+		mainConfig.set("CoalesceAchievementReceptions", true);
+		underTest.extractConfigurationParameters();
+		when(player.getMaximumAir()).thenReturn(100);
+		BukkitScheduler scheduler = mock(BukkitScheduler.class);
+
+		PlayerAdvancedAchievementEvent event = new PlayerAdvancedAchievementEventBuilder().player(player)
+				.name("connect_1").displayName("Good Choice").message("Connected for the first time!")
+				.commandRewards(new String[0]).commandMessage(Collections.emptyList()).itemRewards(null)
+				.moneyReward(0).experienceReward(0).maxHealthReward(0).maxOxygenReward(10).build();
+
+		try (MockedStatic<Bukkit> bukkit = mockStatic(Bukkit.class)) {
+			bukkit.when(Bukkit::getScheduler).thenReturn(scheduler);
+			underTest.onPlayerAdvancedAchievementReception(event);
+			verify(player).setMaximumAir(110);
+
+			// The player is no longer online when the coalesced receptions are handled.
+			ArgumentCaptor<Runnable> receptions = ArgumentCaptor.forClass(Runnable.class);
+			verify(scheduler).runTask(eq(plugin), receptions.capture());
+			receptions.getValue().run();
+		}
+
+		verify(abstractDatabaseManager).registerAchievements(PLAYER_UUID,
+				Collections.singletonMap("connect_1", "Connected for the first time!"));
+		verify(player, never()).sendMessage(anyString());
+	}
+
 }
@@ -0,0 +1,132 @@
+package com.hm.achievement.listener.statistics;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.category.MultipleAchievements;
+import com.hm.achievement.category.NormalAchievements;
+import com.hm.mcshared.file.CommentedYamlConfiguration;
+
+/**
+ * Class for testing the aggregation of statistic increases over a server tick.
+ *
+ * @author Pyves
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class StatisticIncreaseCoalescerTest {
+
+	@Mock
+	private CommentedYamlConfiguration mainConfig;
+	@Mock
+	private AdvancedAchievements advancedAchievements;
+	@Mock
+	private BukkitScheduler scheduler;
+	@Mock
+	private AbstractCoalescingListener breaksListener;
+	@Mock
+	private AbstractCoalescingListener dropsListener;
+	@Mock
+	private Player player1;
+	@Mock
+	private Player player2;
+
+	private MockedStatic<Bukkit> bukkit;
+	private StatisticIncreaseCoalescer underTest;
+
+	@Before
+	public void setUp() {
+		bukkit = mockStatic(Bukkit.class);
+		bukkit.when(Bukkit::getScheduler).thenReturn(scheduler);
+		when(breaksListener.getCategory()).thenReturn(MultipleAchievements.BREAKS);
+		when(player1.getUniqueId()).thenReturn(UUID.randomUUID());
+		underTest = new StatisticIncreaseCoalescer(mainConfig, advancedAchievements);
+	}
+
+	@After
+	public void tearDown() {
+		bukkit.close();
+	}
+
+	@Test
+	public void itShouldSumIncreasesOfEachPlayerAndStatisticUntilTheNextTick() {
+		when(dropsListener.getCategory()).thenReturn(NormalAchievements.DROPS);
+		when(player2.getUniqueId()).thenReturn(UUID.randomUUID());
+
+		underTest.addIncrease(breaksListener, player1, "stone", 1);
+		underTest.addIncrease(breaksListener, player1, "stone", 2);
+		underTest.addIncrease(breaksListener, player1, "dirt", 1);
+		underTest.addIncrease(breaksListener, player2, "stone", 1);
+		underTest.addIncrease(dropsListener, player1, null, 1);
+		underTest.addIncrease(dropsListener, player1, null, 4);
+
+		verify(breaksListener, never()).applyIncrease(any(), any(), anyInt());
+		runScheduledTasks(1);
+		verify(breaksListener).applyIncrease(player1, "stone", 3);
+		verify(breaksListener).applyIncrease(player1, "dirt", 1);
+		verify(breaksListener).applyIncrease(player2, "stone", 1);
+		verify(dropsListener).applyIncrease(eq(player1), isNull(), eq(5));
+	}
+
+	@Test
+	public void itShouldScheduleANewTaskOnceThePendingIncreasesWereApplied() {
+		underTest.addIncrease(breaksListener, player1, "stone", 1);
+		runScheduledTasks(1);
+
+		underTest.addIncrease(breaksListener, player1, "stone", 2);
+		runScheduledTasks(2);
+
+		verify(breaksListener).applyIncrease(player1, "stone", 1);
+		verify(breaksListener).applyIncrease(player1, "stone", 2);
+	}
+
+	@Test
+	public void itShouldApplyIncreasesTriggeredByAppliedIncreasesDuringTheFollowingTick() {
+		doAnswer(invocation -> {
+			underTest.addIncrease(breaksListener, player1, "dirt", 1);
+			return null;
+		}).when(breaksListener).applyIncrease(player1, "stone", 1);
+
+		underTest.addIncrease(breaksListener, player1, "stone", 1);
+		runScheduledTasks(1);
+		verify(breaksListener, never()).applyIncrease(player1, "dirt", 1);
+
+		runScheduledTasks(2);
+		verify(breaksListener).applyIncrease(player1, "dirt", 1);
+	}
+
+	/**
+	 * Runs the most recent task scheduled by the coalescer, after checking the total number of scheduled tasks.
+	 *
+	 * @param expectedTasks
+	 */
+	private void runScheduledTasks(int expectedTasks) {
+		ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler, times(expectedTasks)).runTask(eq(advancedAchievements), task.capture());
+		List<Runnable> tasks = task.getAllValues();
+		tasks.get(tasks.size() - 1).run();
+	}
+}
@@ -0,0 +1,47 @@
+package com.hm.achievement.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.text.similarity.LevenshteinDistance;
+import org.junit.Test;
+
+/**
+ * Class for testing the BK-tree used to find closest matches.
+ *
+ * @author Pyves
+ */
+public class BKTreeTest {
+
+	@Test
+	public void shouldReturnClosestMatchingString() {
+		List<String> possibleMatches = Arrays.asList("nothing", "something", "random text", "amasing");
+		String result = new BKTree(possibleMatches).getClosestMatch("somaeThing");
+
+		assertEquals("something", result);
+	}
+
+	@Test
+	public void shouldReturnSameClosestMatchesAsExhaustiveSearch() {
+		List<String> possibleMatches = Arrays.asList("Beds", "Breaks.stone", "Breaks.sand", "Breeding.cow", "Brewing",
+				"Connections", "Custom.jumps", "DistanceFoot", "DistanceHorse", "Kills.zombie", "Kills.skeleton");
+		BKTree underTest = new BKTree(possibleMatches);
+
+		LevenshteinDistance distance = LevenshteinDistance.getDefaultInstance();
+		for (String toMatch : Arrays.asList("Bed", "breaks.stone", "Brewng", "Kills.zombi", "Distancefoot", "xyz")) {
+			// Several strings may be at the same distance, compare distances rather than the matches themselves.
+			String expected = StringHelper.getClosestMatch(toMatch, possibleMatches);
+			String result = underTest.getClosestMatch(toMatch);
+			assertEquals(distance.apply(toMatch, expected), distance.apply(toMatch, result));
+		}
+	}
+
+	@Test
+	public void shouldReturnEmptyStringIfNoPossibleMatches() {
+		assertEquals("", new BKTree(Collections.emptyList()).getClosestMatch("something"));
+	}
+
+}
@@ -0,0 +1,188 @@
+package com.hm.achievement.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.advancement.AdvancementManager;
+import com.hm.achievement.category.MultipleAchievements;
+import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.command.executable.BookCommand;
+import com.hm.achievement.db.AbstractDatabaseManager;
+import com.hm.achievement.db.AwardHistoryCache;
+import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.db.data.AwardedDBAchievement;
+import com.hm.mcshared.file.CommentedYamlConfiguration;
+
+/**
+ * Class for testing the retroactive evaluation of the statistics of all players against the thresholds.
+ *
+ * @author Pyves
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RetroactiveAwardEngineTest {
+
+	private static final long MILLIS_PER_HOUR = TimeUnit.HOURS.toMillis(1);
+	private static final UUID UUID_1 = UUID.randomUUID();
+	private static final UUID UUID_2 = UUID.randomUUID();
+
+	@Mock
+	private CommentedYamlConfiguration mainConfig;
+	@Mock
+	private AbstractDatabaseManager databaseManager;
+	@Mock
+	private CacheManager cacheManager;
+	@Mock
+	private AwardHistoryCache awardHistoryCache;
+	@Mock
+	private ThresholdEvaluationPipeline thresholdEvaluationPipeline;
+	@Mock
+	private BookCommand bookCommand;
+	@Mock
+	private AdvancementManager advancementManager;
+	@Mock
+	private AdvancedAchievements advancedAchievements;
+	@Mock
+	private BukkitScheduler scheduler;
+	@Mock
+	private RetroactiveAwardEngine.ProgressListener progressListener;
+	@Mock
+	private Player player;
+
+	private MockedStatic<Bukkit> bukkit;
+	private RetroactiveAwardEngine underTest;
+
+	@Before
+	public void setUp() {
+		bukkit = mockStatic(Bukkit.class);
+		bukkit.when(Bukkit::getScheduler).thenReturn(scheduler);
+		when(scheduler.runTaskAsynchronously(eq(advancedAchievements), any(Runnable.class))).thenAnswer(invocation -> {
+			invocation.getArgument(1, Runnable.class).run();
+			return null;
+		});
+		when(scheduler.runTask(eq(advancedAchievements), any(Runnable.class))).thenAnswer(invocation -> {
+			invocation.getArgument(1, Runnable.class).run();
+			return null;
+		});
+		when(scheduler.callSyncMethod(eq(advancedAchievements), any()))
+				.thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(1, Callable.class)
+						.call()));
+		when(advancedAchievements.isEnabled()).thenReturn(true);
+		when(mainConfig.getString("PlayedTime.1.Name")).thenReturn("played_1");
+		when(mainConfig.getString("PlayedTime.2.Name")).thenReturn("played_2");
+		when(mainConfig.getString("Breaks.stone.10.Name")).thenReturn("stone_10");
+		// UUID_2 already received the first achievement of the PlayedTime category.
+		when(databaseManager.getAchievementsRecipients(anyCollection())).thenAnswer(invocation -> {
+			Map<String, Set<String>> recipients = new HashMap<>();
+			if (invocation.getArgument(0, List.class).contains("played_1")) {
+				recipients.put("played_1", new HashSet<>(Collections.singleton(UUID_2.toString())));
+			}
+			return recipients;
+		});
+		mockStatistics();
+
+		Map<String, List<Long>> sortedThresholds = new LinkedHashMap<>();
+		sortedThresholds.put("PlayedTime", Arrays.asList(1L, 2L));
+		sortedThresholds.put("Breaks.stone", Collections.singletonList(10L));
+		underTest = new RetroactiveAwardEngine(mainConfig, sortedThresholds, databaseManager, cacheManager,
+				awardHistoryCache, thresholdEvaluationPipeline, bookCommand, advancementManager, advancedAchievements,
+				16, Logger.getLogger("TestLogger"));
+		underTest.extractConfigurationParameters();
+	}
+
+	@After
+	public void tearDown() {
+		bukkit.close();
+	}
+
+	@Test
+	public void itShouldRegisterMissingAchievementsOfOfflinePlayersExceedingThresholds() {
+		assertTrue(underTest.startEvaluation(progressListener));
+
+		verify(progressListener).onProgress(2, 2, 3);
+		// Played time thresholds are expressed in hours, but statistics are stored in milliseconds.
+		verify(databaseManager).streamStatistics(eq(NormalAchievements.PLAYEDTIME), eq(MILLIS_PER_HOUR), any());
+		verify(databaseManager).streamStatistics(eq(MultipleAchievements.BREAKS), eq("stone"), eq(10L), any());
+		assertEquals(new HashSet<>(Arrays.asList(UUID_1 + ":played_1", UUID_2 + ":played_2", UUID_1 + ":stone_10")),
+				captureRegisteredAchievements());
+		verify(thresholdEvaluationPipeline, never()).awardAchievement(any(), any(), any(), any(), any(String.class));
+	}
+
+	@Test
+	public void itShouldAwardAchievementsOfOnlinePlayersDirectly() {
+		bukkit.when(() -> Bukkit.getPlayer(UUID_1)).thenReturn(player);
+		when(player.getUniqueId()).thenReturn(UUID_1);
+
+		assertTrue(underTest.startEvaluation(progressListener));
+
+		verify(progressListener).onProgress(2, 2, 3);
+		verify(thresholdEvaluationPipeline).awardAchievement(player, "played_1", null, null, "PlayedTime.1.Reward");
+		verify(thresholdEvaluationPipeline).awardAchievement(player, "stone_10", null, null, "Breaks.stone.10.Reward");
+		assertEquals(Collections.singleton(UUID_2 + ":played_2"), captureRegisteredAchievements());
+	}
+
+	@SuppressWarnings("unchecked")
+	private void mockStatistics() {
+		doAnswer(invocation -> {
+			BiConsumer<UUID, Long> consumer = invocation.getArgument(2, BiConsumer.class);
+			// Just under two hours: only the first threshold is exceeded.
+			consumer.accept(UUID_1, 2 * MILLIS_PER_HOUR - 1);
+			consumer.accept(UUID_2, 3 * MILLIS_PER_HOUR);
+			return null;
+		}).when(databaseManager).streamStatistics(eq(NormalAchievements.PLAYEDTIME), anyLong(), any());
+		doAnswer(invocation -> {
+			BiConsumer<UUID, Long> consumer = invocation.getArgument(3, BiConsumer.class);
+			consumer.accept(UUID_1, 10L);
+			consumer.accept(UUID_2, 9L);
+			return null;
+		}).when(databaseManager).streamStatistics(eq(MultipleAchievements.BREAKS), eq("stone"), anyLong(), any());
+	}
+
+	@SuppressWarnings("unchecked")
+	private Set<String> captureRegisteredAchievements() {
+		ArgumentCaptor<List<AwardedDBAchievement>> captor = ArgumentCaptor.forClass(List.class);
+		verify(databaseManager, atLeastOnce()).registerRetroactiveAchievements(captor.capture());
+		return captor.getAllValues().stream()
+				.flatMap(List::stream)
+				.map(achievement -> achievement.getAwardedTo() + ":" + achievement.getName())
+				.collect(Collectors.toSet());
+	}
+}
@@ -0,0 +1,216 @@
+package com.hm.achievement.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.db.CacheManager;
+import com.hm.mcshared.file.CommentedYamlConfiguration;
+
+/**
+ * Class for testing the asynchronous evaluation of achievement thresholds.
+ *
+ * @author Pyves
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ThresholdEvaluationPipelineTest {
+
+	private static final String STONE = "Breaks.stone";
+	private static final Reward REWARD_10 = new Reward(10, 0, 0, 0, Collections.emptyList(), Collections.emptyList(),
+			Collections.singletonList("Stone medal"), Collections.emptyList());
+	private static final Reward REWARD_100 = new Reward(100, 0, 0, 0, Collections.emptyList(),
+			Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+
+	@Mock
+	private CommentedYamlConfiguration mainConfig;
+	@Mock
+	private CacheManager cacheManager;
+	@Mock
+	private RewardParser rewardParser;
+	@Mock
+	private AdvancedAchievements advancedAchievements;
+	@Mock
+	private BukkitScheduler scheduler;
+	@Mock
+	private PluginManager pluginManager;
+	@Mock
+	private Player player;
+
+	private final UUID playerUUID = UUID.randomUUID();
+	private MockedStatic<Bukkit> bukkit;
+	private ThresholdEvaluationPipeline underTest;
+
+	@Before
+	public void setUp() {
+		bukkit = mockStatic(Bukkit.class);
+		bukkit.when(Bukkit::getScheduler).thenReturn(scheduler);
+		when(mainConfig.getBoolean("AsyncThresholdEvaluation")).thenReturn(true);
+		when(mainConfig.getString(STONE + ".10.Name")).thenReturn("stone_10");
+		when(mainConfig.getString(STONE + ".10.DisplayName")).thenReturn("Stone Age");
+		when(mainConfig.getString(STONE + ".10.Message")).thenReturn("You broke 10 stones!");
+		when(mainConfig.getString(STONE + ".100.Name")).thenReturn("stone_100");
+		when(mainConfig.getString(STONE + ".100.DisplayName")).thenReturn("Stone Master");
+		when(mainConfig.getString(STONE + ".100.Message")).thenReturn("You broke 100 stones!");
+		when(advancedAchievements.isEnabled()).thenReturn(true);
+		Map<String, List<Long>> sortedThresholds = Collections.singletonMap(STONE, Arrays.asList(10L, 100L));
+		underTest = new ThresholdEvaluationPipeline(mainConfig, sortedThresholds, cacheManager, rewardParser,
+				advancedAchievements);
+		underTest.extractConfigurationParameters();
+	}
+
+	@After
+	public void tearDown() {
+		bukkit.close();
+	}
+
+	@Test
+	public void itShouldOnlyEvaluateTheHighestValueOfEachStatistic() {
+		underTest.submit(playerUUID, STONE, 5);
+		underTest.submit(playerUUID, STONE, 12);
+		underTest.submit(playerUUID, STONE, 8);
+		runAsyncEvaluation();
+
+		verify(cacheManager).hasPlayerAchievement(playerUUID, "stone_10");
+		verify(cacheManager, never()).hasPlayerAchievement(playerUUID, "stone_100");
+		verify(rewardParser).getReward(STONE + ".10.Reward");
+	}
+
+	@Test
+	public void itShouldRetrieveRewardsOffTheMainThreadAndOnlyResolvePlayerPlaceholdersWhenAwarding() {
+		bukkit.when(() -> Bukkit.getPlayer(playerUUID)).thenReturn(player);
+		bukkit.when(Bukkit::getPluginManager).thenReturn(pluginManager);
+		when(player.hasPermission(anyString())).thenReturn(true);
+		when(rewardParser.getReward(STONE + ".10.Reward")).thenReturn(REWARD_10);
+		when(rewardParser.getCommandRewards(REWARD_10, player)).thenReturn(new String[] { "say DarkPyves" });
+
+		underTest.submit(playerUUID, STONE, 50);
+		runAsyncEvaluation();
+		verify(rewardParser).getReward(STONE + ".10.Reward");
+		verifyNoInteractions(pluginManager);
+		runMainThreadAwarding();
+
+		List<PlayerAdvancedAchievementEvent> events = captureEvents(1);
+		assertEquals("stone_10", events.get(0).getName());
+		assertEquals("Stone Age", events.get(0).getDisplayName());
+		assertEquals("You broke 10 stones!", events.get(0).getMessage());
+		assertEquals(10, events.get(0).getMoneyReward());
+		assertEquals(Collections.singletonList("Stone medal"), events.get(0).getCommandMessages());
+		assertArrayEquals(new String[] { "say DarkPyves" }, events.get(0).getCommandRewards());
+		verify(rewardParser, times(1)).getReward(anyString());
+	}
+
+	@Test
+	public void itShouldSkipAchievementsAlreadyReceived() {
+		bukkit.when(() -> Bukkit.getPlayer(playerUUID)).thenReturn(player);
+		bukkit.when(Bukkit::getPluginManager).thenReturn(pluginManager);
+		when(player.hasPermission(anyString())).thenReturn(true);
+		when(cacheManager.hasPlayerAchievement(playerUUID, "stone_10")).thenReturn(true);
+		when(rewardParser.getReward(STONE + ".100.Reward")).thenReturn(REWARD_100);
+
+		underTest.submit(playerUUID, STONE, 100);
+		runAsyncEvaluation();
+		runMainThreadAwarding();
+
+		List<PlayerAdvancedAchievementEvent> events = captureEvents(1);
+		assertEquals("stone_100", events.get(0).getName());
+		assertEquals(100, events.get(0).getMoneyReward());
+	}
+
+	@Test
+	public void itShouldHandAllAwardsBackToTheMainThreadInASingleBatch() {
+		UUID otherUUID = UUID.randomUUID();
+		Player other = mock(Player.class);
+		bukkit.when(() -> Bukkit.getPlayer(playerUUID)).thenReturn(player);
+		bukkit.when(() -> Bukkit.getPlayer(otherUUID)).thenReturn(other);
+		bukkit.when(Bukkit::getPluginManager).thenReturn(pluginManager);
+		when(player.hasPermission(anyString())).thenReturn(true);
+		when(other.hasPermission(anyString())).thenReturn(true);
+		when(rewardParser.getReward(anyString())).thenReturn(Reward.NONE);
+
+		underTest.submit(playerUUID, STONE, 100);
+		underTest.submit(otherUUID, STONE, 10);
+		runAsyncEvaluation();
+		runMainThreadAwarding();
+
+		assertEquals(3, captureEvents(3).size());
+	}
+
+	@Test
+	public void itShouldEvaluateUpdatesSubmittedDuringAnEvaluationWithTheSameWorker() {
+		when(cacheManager.hasPlayerAchievement(playerUUID, "stone_10")).thenAnswer(invocation -> {
+			// Submitted by the main thread whilst the worker is evaluating the thresholds.
+			underTest.submit(playerUUID, STONE, 100);
+			return true;
+		}).thenReturn(true);
+
+		underTest.submit(playerUUID, STONE, 10);
+		runAsyncEvaluation();
+
+		verify(cacheManager).hasPlayerAchievement(playerUUID, "stone_100");
+		verify(scheduler).runTaskAsynchronously(eq(advancedAchievements), any(Runnable.class));
+	}
+
+	@Test
+	public void itShouldNotAwardOfflinePlayersOrPlayersWithoutPermission() {
+		UUID offlineUUID = UUID.randomUUID();
+		bukkit.when(() -> Bukkit.getPlayer(playerUUID)).thenReturn(player);
+		when(player.hasPermission("achievement.stone_10")).thenReturn(false);
+		when(rewardParser.getReward(anyString())).thenReturn(Reward.NONE);
+
+		underTest.submit(playerUUID, STONE, 10);
+		underTest.submit(offlineUUID, STONE, 10);
+		runAsyncEvaluation();
+		// The plugin manager is not mocked, firing an event would fail the test.
+		runMainThreadAwarding();
+
+		verify(player).hasPermission("achievement.stone_10");
+	}
+
+	private void runAsyncEvaluation() {
+		ArgumentCaptor<Runnable> evaluation = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler).runTaskAsynchronously(eq(advancedAchievements), evaluation.capture());
+		evaluation.getValue().run();
+	}
+
+	private void runMainThreadAwarding() {
+		ArgumentCaptor<Runnable> awarding = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler).runTask(eq(advancedAchievements), awarding.capture());
+		awarding.getValue().run();
+	}
+
+	private List<PlayerAdvancedAchievementEvent> captureEvents(int expectedEvents) {
+		ArgumentCaptor<PlayerAdvancedAchievementEvent> event = ArgumentCaptor
+				.forClass(PlayerAdvancedAchievementEvent.class);
+		verify(pluginManager, times(expectedEvents)).callEvent(event.capture());
+		return event.getAllValues();
+	}
+}